@@ -0,0 +1,115 @@
+package org.bff.javampd;
+
+import org.bff.javampd.server.Status;
+import org.bff.javampd.song.SongProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lines per second through the prefix lookups of the status and song responses, against the
+ * {@code substring} and {@link HashMap} lookup they replaced.  Run with
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=LookupBenchmark
+ * </pre>
+ *
+ * @author bill
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+    private static final String[] STATUS_LINES = {
+            "volume: 100",
+            "repeat: 0",
+            "random: 0",
+            "single: 0",
+            "consume: 0",
+            "playlist: 12",
+            "playlistlength: 230",
+            "state: play",
+            "song: 4",
+            "songid: 5",
+            "time: 37:244",
+            "elapsed: 36.817",
+            "bitrate: 320",
+            "duration: 243.853",
+            "audio: 44100:24:2",
+            "nextsong: 5",
+    };
+
+    private static final String[] SONG_LINES = {
+            "file: Artist/Album/05 Title.flac",
+            "Last-Modified: 2020-06-12T19:02:17Z",
+            "Artist: Some Artist",
+            "AlbumArtist: Some Artist",
+            "Title: Some Title",
+            "Album: Some Album",
+            "Track: 5/12",
+            "Date: 2019",
+            "Genre: Rock",
+            "Disc: 1/1",
+            "Time: 244",
+            "Pos: 4",
+            "Id: 5",
+            "duration: 243.853",
+            "Format: 44100:24:2",
+            "Composer: Some Composer",
+    };
+
+    private static final Map<String, Status> STATUS_MAP = new HashMap<>();
+    private static final Map<String, SongProcessor> SONG_MAP = new HashMap<>();
+
+    static {
+        for (Status status : Status.values()) {
+            STATUS_MAP.put(status.getStatusPrefix(), status);
+        }
+        for (SongProcessor processor : SongProcessor.values()) {
+            SONG_MAP.put(processor.getProcessor().getPrefix(), processor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void statusSubstring(Blackhole blackhole) {
+        for (String line : STATUS_LINES) {
+            blackhole.consume(STATUS_MAP.get(line.substring(0, line.indexOf(':') + 1)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void statusLookup(Blackhole blackhole) {
+        for (String line : STATUS_LINES) {
+            blackhole.consume(Status.lookup(line));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void songSubstring(Blackhole blackhole) {
+        for (String line : SONG_LINES) {
+            blackhole.consume(SONG_MAP.get(line.substring(0, line.indexOf(':') + 1)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void songLookup(Blackhole blackhole) {
+        for (String line : SONG_LINES) {
+            blackhole.consume(SongProcessor.lookup(line));
+        }
+    }
+}
@@ -6,4 +6,11 @@ public interface Clock {
     LocalDateTime now();
 
     LocalDateTime min();
+
+    /**
+     * Monotonic time for measuring intervals, see {@link System#nanoTime()}
+     *
+     * @return the current value of the time source in nanoseconds
+     */
+    long nanoTime();
 }
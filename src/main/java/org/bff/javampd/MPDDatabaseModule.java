@@ -5,12 +5,21 @@ import org.bff.javampd.album.AlbumDatabase;
 import org.bff.javampd.album.MPDAlbumDatabase;
 import org.bff.javampd.artist.ArtistDatabase;
 import org.bff.javampd.artist.MPDArtistDatabase;
+import org.bff.javampd.database.DatabaseProperties;
 import org.bff.javampd.database.MPDMusicDatabase;
 import org.bff.javampd.database.MusicDatabase;
 import org.bff.javampd.file.FileDatabase;
 import org.bff.javampd.file.MPDFileDatabase;
 import org.bff.javampd.genre.GenreDatabase;
 import org.bff.javampd.genre.MPDGenreDatabase;
+import org.bff.javampd.library.IndexedSongSearcher;
+import org.bff.javampd.library.LibraryDatabase;
+import org.bff.javampd.library.MPDLibraryDatabase;
+import org.bff.javampd.library.MirrorAlbumDatabase;
+import org.bff.javampd.library.MirrorArtistDatabase;
+import org.bff.javampd.library.MirrorDateDatabase;
+import org.bff.javampd.library.MirrorGenreDatabase;
+import org.bff.javampd.library.MirrorSongSearcher;
 import org.bff.javampd.playlist.MPDPlaylistDatabase;
 import org.bff.javampd.playlist.PlaylistDatabase;
 import org.bff.javampd.song.MPDSongDatabase;
@@ -21,21 +30,35 @@ import org.bff.javampd.year.DateDatabase;
 import org.bff.javampd.year.MPDDateDatabase;
 
 /**
- * Initializes the DI bindings
+ * Initializes the DI bindings.  With db.mirror set the song, album, artist, genre and date
+ * databases answer from a {@link org.bff.javampd.library.LibraryMirror}, through an
+ * {@link IndexedSongSearcher} if db.mirror.index is set as well.
  *
  * @author bill
  */
 public class MPDDatabaseModule extends AbstractModule {
     @Override
     protected void configure() {
-        bind(ArtistDatabase.class).to(MPDArtistDatabase.class);
-        bind(AlbumDatabase.class).to(MPDAlbumDatabase.class);
+        DatabaseProperties databaseProperties = new DatabaseProperties();
+        if (databaseProperties.isMirror()) {
+            bind(ArtistDatabase.class).to(MirrorArtistDatabase.class);
+            bind(AlbumDatabase.class).to(MirrorAlbumDatabase.class);
+            bind(GenreDatabase.class).to(MirrorGenreDatabase.class);
+            bind(DateDatabase.class).to(MirrorDateDatabase.class);
+            bind(SongSearcher.class).to(databaseProperties.isMirrorIndex()
+                    ? IndexedSongSearcher.class
+                    : MirrorSongSearcher.class);
+        } else {
+            bind(ArtistDatabase.class).to(MPDArtistDatabase.class);
+            bind(AlbumDatabase.class).to(MPDAlbumDatabase.class);
+            bind(GenreDatabase.class).to(MPDGenreDatabase.class);
+            bind(DateDatabase.class).to(MPDDateDatabase.class);
+            bind(SongSearcher.class).to(MPDSongSearcher.class);
+        }
         bind(SongDatabase.class).to(MPDSongDatabase.class);
-        bind(GenreDatabase.class).to(MPDGenreDatabase.class);
         bind(PlaylistDatabase.class).to(MPDPlaylistDatabase.class);
         bind(FileDatabase.class).to(MPDFileDatabase.class);
-        bind(DateDatabase.class).to(MPDDateDatabase.class);
+        bind(LibraryDatabase.class).to(MPDLibraryDatabase.class);
         bind(MusicDatabase.class).to(MPDMusicDatabase.class);
-        bind(SongSearcher.class).to(MPDSongSearcher.class);
     }
 }
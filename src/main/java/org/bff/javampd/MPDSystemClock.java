@@ -12,4 +12,9 @@ public class MPDSystemClock implements Clock {
     public LocalDateTime min() {
         return LocalDateTime.MIN;
     }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
 }
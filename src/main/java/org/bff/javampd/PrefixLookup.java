@@ -0,0 +1,88 @@
+package org.bff.javampd;
+
+import java.util.function.Function;
+
+/**
+ * Finds the value registered for the {@code key:} prefix of a response line without
+ * cutting the key out of the line.  The key is hashed and compared where it stands, so a
+ * lookup allocates nothing however many lines go through it.  Hashes are compatible with
+ * {@link String#hashCode()} so the table is built from the plain prefixes.
+ * <p>
+ * Like the {@code substring(0, indexOf(":") + 1)} it replaces, the key of a line is
+ * everything up to and including the first colon, or the empty string if there is none.
+ * <p>
+ * Immutable and thread safe once built.
+ *
+ * @param <T> the type of the values
+ * @author bill
+ */
+public final class PrefixLookup<T> {
+    private static final char SEPARATOR = ':';
+
+    private final String[] keys;
+    private final T[] values;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    private PrefixLookup(T[] all, Function<T, String> prefix) {
+        int size = Integer.highestOneBit(Math.max(1, all.length) * 4);
+        this.keys = new String[size];
+        this.values = (T[]) new Object[size];
+        this.mask = size - 1;
+
+        for (T value : all) {
+            put(prefix.apply(value), value);
+        }
+    }
+
+    /**
+     * Builds the lookup of the values by their prefix.  Should two values share a prefix the
+     * last one wins, as it would in a map.
+     *
+     * @param values the values to look up
+     * @param prefix gives the prefix of a value, including the colon
+     * @param <T>    the type of the values
+     * @return the lookup
+     */
+    public static <T> PrefixLookup<T> of(T[] values, Function<T, String> prefix) {
+        return new PrefixLookup<>(values, prefix);
+    }
+
+    /**
+     * @param line the response line
+     * @return the value registered for the key of the line, null if there is none
+     */
+    public T lookup(String line) {
+        int length = line.indexOf(SEPARATOR) + 1;
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + line.charAt(i);
+        }
+
+        for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key.length() == length && line.startsWith(key)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    private void put(String key, T value) {
+        int i = spread(key.hashCode()) & mask;
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.bff.javampd.output.OutputChangeEvent.OUTPUT_EVENT;
 
@@ -25,9 +26,9 @@ import static org.bff.javampd.output.OutputChangeEvent.OUTPUT_EVENT;
 public class MPDAdmin implements Admin {
 
     private List<MPDChangeListener> listeners =
-            new ArrayList<>();
+            new CopyOnWriteArrayList<>();
     private List<OutputChangeListener> outputListeners =
-            new ArrayList<>();
+            new CopyOnWriteArrayList<>();
 
     protected static final String OUTPUT_PREFIX_ID = "outputid:";
     protected static final String OUTPUT_PREFIX_NAME = "outputname:";
@@ -102,12 +103,12 @@ public class MPDAdmin implements Admin {
     }
 
     @Override
-    public synchronized void addMPDChangeListener(MPDChangeListener mcl) {
+    public void addMPDChangeListener(MPDChangeListener mcl) {
         listeners.add(mcl);
     }
 
     @Override
-    public synchronized void removeMPDChangeListener(MPDChangeListener mcl) {
+    public void removeMPDChangeListener(MPDChangeListener mcl) {
         listeners.remove(mcl);
     }
 
@@ -117,7 +118,7 @@ public class MPDAdmin implements Admin {
      *
      * @param event the {@link MPDChangeEvent.Event} to send
      */
-    protected synchronized void fireMPDChangeEvent(MPDChangeEvent.Event event) {
+    protected void fireMPDChangeEvent(MPDChangeEvent.Event event) {
         MPDChangeEvent mce = new MPDChangeEvent(this, event);
 
         for (MPDChangeListener mcl : listeners) {
@@ -149,12 +150,12 @@ public class MPDAdmin implements Admin {
     }
 
     @Override
-    public synchronized void addOutputChangeListener(OutputChangeListener pcl) {
+    public void addOutputChangeListener(OutputChangeListener pcl) {
         outputListeners.add(pcl);
     }
 
     @Override
-    public synchronized void removeOutputChangeListener(OutputChangeListener pcl) {
+    public void removeOutputChangeListener(OutputChangeListener pcl) {
         outputListeners.remove(pcl);
     }
 
@@ -164,7 +165,7 @@ public class MPDAdmin implements Admin {
      *
      * @param event the event id to send
      */
-    protected synchronized void fireOutputChangeEvent(OUTPUT_EVENT event) {
+    protected void fireOutputChangeEvent(OUTPUT_EVENT event) {
         OutputChangeEvent oce = new OutputChangeEvent(this, event);
 
         for (OutputChangeListener pcl : outputListeners) {
@@ -1,10 +1,8 @@
 package org.bff.javampd.album;
 
+import org.bff.javampd.PrefixLookup;
 import org.bff.javampd.processor.*;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public enum AlbumProcessor {
     ARTIST(new ArtistTagProcessor()),
     DATE(new DateTagProcessor()),
@@ -12,20 +10,15 @@ public enum AlbumProcessor {
     GENRE(new GenreTagProcessor());
 
     private final transient AlbumTagResponseProcessor albumTagResponseProcessor;
-    private static final Map<String, AlbumProcessor> lookup = new HashMap<>();
-
-    static {
-        for (AlbumProcessor a : AlbumProcessor.values()) {
-            lookup.put(a.getProcessor().getPrefix(), a);
-        }
-    }
+    private static final PrefixLookup<AlbumProcessor> lookup =
+            PrefixLookup.of(values(), a -> a.getProcessor().getPrefix());
 
     AlbumProcessor(AlbumTagResponseProcessor albumTagResponseProcessor) {
         this.albumTagResponseProcessor = albumTagResponseProcessor;
     }
 
     public static AlbumProcessor lookup(String line) {
-        return lookup.get(line.substring(0, line.indexOf(":") + 1));
+        return lookup.lookup(line);
     }
 
     public AlbumTagResponseProcessor getProcessor() {
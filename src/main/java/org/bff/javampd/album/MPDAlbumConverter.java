@@ -1,6 +1,8 @@
 package org.bff.javampd.album;
 
+import com.google.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
+import org.bff.javampd.database.StringPool;
 
 import java.util.*;
 
@@ -14,6 +16,22 @@ public class MPDAlbumConverter implements AlbumConverter {
 
     private static String delimitingPrefix = AlbumProcessor.getDelimitingPrefix();
 
+    private final StringPool stringPool;
+
+    public MPDAlbumConverter() {
+        this(new StringPool(0));
+    }
+
+    /**
+     * Creates the converter sharing the repeated tag values of its albums through the pool
+     *
+     * @param stringPool the pool of tag values
+     */
+    @Inject
+    public MPDAlbumConverter(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
     @Override
     public List<MPDAlbum> convertResponseToAlbum(List<String> list) {
         List<MPDAlbum> albumList = new ArrayList<>();
@@ -48,11 +66,23 @@ public class MPDAlbumConverter implements AlbumConverter {
             }
         }
 
+        intern(album);
         albums.add(album);
 
         return line;
     }
 
+    private void intern(MPDAlbum album) {
+        if (!stringPool.isEnabled()) {
+            return;
+        }
+
+        album.setName(stringPool.intern(album.getName()));
+        album.setArtistName(stringPool.intern(album.getArtistName()));
+        album.setDate(stringPool.intern(album.getDate()));
+        album.setGenre(stringPool.intern(album.getGenre()));
+    }
+
     public void processLine(MPDAlbum album, String line) {
         var albumProcessor = AlbumProcessor.lookup(line);
         if (albumProcessor != null) {
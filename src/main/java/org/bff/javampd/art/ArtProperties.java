@@ -0,0 +1,55 @@
+package org.bff.javampd.art;
+
+import org.bff.javampd.server.MPDProperties;
+
+/**
+ * Properties for fetching artwork from the server
+ *
+ * @author bill
+ */
+public class ArtProperties extends MPDProperties {
+
+    private enum Command {
+        ALBUMART("art.albumart"),
+        READPICTURE("art.readpicture"),
+        BINARYLIMIT("art.binarylimit"),
+        CHUNKSIZE("art.chunk.size"),
+        PIPELINEDEPTH("art.pipeline.depth");
+
+        private final String key;
+
+        Command(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    public String getAlbumArt() {
+        return getPropertyString(Command.ALBUMART.getKey());
+    }
+
+    public String getReadPicture() {
+        return getPropertyString(Command.READPICTURE.getKey());
+    }
+
+    public String getBinaryLimit() {
+        return getPropertyString(Command.BINARYLIMIT.getKey());
+    }
+
+    /**
+     * @return the number of bytes to fetch per chunk
+     */
+    public int getChunkSize() {
+        return Integer.parseInt(getPropertyString(Command.CHUNKSIZE.getKey()));
+    }
+
+    /**
+     * @return the number of chunk requests sent in each round trip
+     */
+    public int getPipelineDepth() {
+        return Integer.parseInt(getPropertyString(Command.PIPELINEDEPTH.getKey()));
+    }
+}
@@ -2,7 +2,9 @@ package org.bff.javampd.art;
 
 import org.bff.javampd.album.MPDAlbum;
 import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.song.MPDSong;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 /**
@@ -10,6 +12,10 @@ import java.util.List;
  * or path for images.
  * <p>
  * MPD must have at least read access to this directory or nothing will be returned.
+ * <p>
+ * Pictures can also be streamed from the server itself, which works when not running on the
+ * same machine as MPD.  They are fetched in chunks of {@code art.chunk.size} bytes with
+ * {@code art.pipeline.depth} chunk requests per round trip.
  */
 public interface ArtworkFinder {
     /**
@@ -59,4 +65,23 @@ public interface ArtworkFinder {
      * @return a list of {@link MPDArtwork}
      */
     List<MPDArtwork> find(String path);
+
+    /**
+     * Streams the cover art MPD finds in the directory of the {@link MPDSong} ({@code albumart})
+     *
+     * @param song    the song to get the cover for
+     * @param channel where the picture is written
+     * @return the number of bytes written
+     * @throws org.bff.javampd.server.MPDConnectionException if the server has no cover for the song
+     */
+    long streamAlbumArt(MPDSong song, WritableByteChannel channel);
+
+    /**
+     * Streams the picture embedded in the file of the {@link MPDSong} ({@code readpicture})
+     *
+     * @param song    the song to get the picture for
+     * @param channel where the picture is written
+     * @return the number of bytes written, 0 if the song has no embedded picture
+     */
+    long streamPicture(MPDSong song, WritableByteChannel channel);
 }
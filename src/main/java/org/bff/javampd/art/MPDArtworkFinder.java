@@ -5,10 +5,16 @@ import com.google.inject.Singleton;
 import org.bff.javampd.MPDException;
 import org.bff.javampd.album.MPDAlbum;
 import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.BinaryResponse;
+import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongDatabase;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -18,12 +24,20 @@ import java.util.List;
 
 @Singleton
 public class MPDArtworkFinder implements ArtworkFinder {
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+    private static final String SIZE_PREFIX = "size: ";
 
     private SongDatabase songDatabase;
+    private CommandExecutor commandExecutor;
+    private ArtProperties artProperties;
 
     @Inject
-    public MPDArtworkFinder(SongDatabase songDatabase) {
+    public MPDArtworkFinder(SongDatabase songDatabase,
+                            CommandExecutor commandExecutor,
+                            ArtProperties artProperties) {
         this.songDatabase = songDatabase;
+        this.commandExecutor = commandExecutor;
+        this.artProperties = artProperties;
     }
 
     @Override
@@ -84,6 +98,92 @@ public class MPDArtworkFinder implements ArtworkFinder {
         return artworkList;
     }
 
+    @Override
+    public long streamAlbumArt(MPDSong song, WritableByteChannel channel) {
+        return stream(artProperties.getAlbumArt(), song.getFile(), channel);
+    }
+
+    @Override
+    public long streamPicture(MPDSong song, WritableByteChannel channel) {
+        return stream(artProperties.getReadPicture(), song.getFile(), channel);
+    }
+
+    /**
+     * Fetches the first chunk to learn the total size, then pipelines the requests for the
+     * remaining offsets.  Every chunk but the last is the same length so the offsets of a
+     * round trip are known up front.
+     */
+    private long stream(String command, String uri, WritableByteChannel channel) {
+        long size;
+        int chunkLength;
+        long offset;
+        try (BinaryResponse first = fetch(command, uri, List.of(0L)).get(0)) {
+            size = parseSize(first);
+            chunkLength = first.getData().remaining();
+            offset = write(first.getData(), channel);
+        }
+
+        int depth = artProperties.getPipelineDepth();
+        while (chunkLength > 0 && offset < size) {
+            List<Long> offsets = new ArrayList<>(depth);
+            for (long next = offset; next < size && offsets.size() < depth; next += chunkLength) {
+                offsets.add(next);
+            }
+
+            List<BinaryResponse> responses = fetch(command, uri, offsets);
+            try {
+                for (BinaryResponse response : responses) {
+                    int length = response.getData().remaining();
+                    offset += write(response.getData(), channel);
+                    if (length != chunkLength && offset < size) {
+                        throw new MPDException(String.format("Picture for %s changed while it was read", uri));
+                    }
+                }
+            } finally {
+                responses.forEach(BinaryResponse::close);
+            }
+        }
+
+        return offset;
+    }
+
+    private List<BinaryResponse> fetch(String command, String uri, List<Long> offsets) {
+        int chunkSize = artProperties.getChunkSize();
+        List<MPDCommand> commands = new ArrayList<>(offsets.size() + 1);
+        // the limit is per connection and the pool may hand out a different one each time
+        if (chunkSize != DEFAULT_CHUNK_SIZE) {
+            commands.add(new MPDCommand(artProperties.getBinaryLimit(), Integer.toString(chunkSize)));
+        }
+        offsets.forEach(offset -> commands.add(new MPDCommand(command, uri, Long.toString(offset))));
+
+        List<BinaryResponse> responses = commandExecutor.sendBinaryPipelined(commands);
+        if (commands.size() > offsets.size()) {
+            responses.get(0).close();
+            return responses.subList(1, responses.size());
+        }
+        return responses;
+    }
+
+    private static long parseSize(BinaryResponse response) {
+        return response.getResponse().stream()
+                .filter(line -> line.startsWith(SIZE_PREFIX))
+                .map(line -> Long.parseLong(line.substring(SIZE_PREFIX.length()).trim()))
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private static int write(ByteBuffer data, WritableByteChannel channel) {
+        int length = data.remaining();
+        try {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        } catch (IOException e) {
+            throw new MPDException("Could not write picture", e);
+        }
+        return length;
+    }
+
     private static MPDArtwork loadArtwork(Path file) {
         file.getFileName();
         MPDArtwork artwork = new MPDArtwork(file.getFileName().toString(),
@@ -0,0 +1,51 @@
+package org.bff.javampd.command;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking calls of the async API on an I/O {@link Executor} and completes their futures
+ * on another one, so dependent stages never run on the I/O threads.
+ *
+ * @author bill
+ */
+public final class AsyncCalls {
+    private final Executor ioExecutor;
+    private final Executor executor;
+
+    /**
+     * @param ioExecutor runs the calls, blocking on the connection
+     * @param executor   completes the futures
+     */
+    public AsyncCalls(Executor ioExecutor, Executor executor) {
+        this.ioExecutor = ioExecutor;
+        this.executor = executor;
+    }
+
+    /**
+     * @param call the blocking call
+     * @param <T>  the type of the result
+     * @return the future result of the call
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(call, ioExecutor);
+        if (executor == ioExecutor) {
+            return future;
+        }
+        // only hands the outcome over, so callbacks never run on the I/O threads
+        return future.whenCompleteAsync((result, error) -> {
+        }, executor);
+    }
+
+    /**
+     * @param call the blocking call
+     * @return the future completing once the call returned
+     */
+    public CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
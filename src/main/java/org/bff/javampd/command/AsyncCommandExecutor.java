@@ -0,0 +1,59 @@
+package org.bff.javampd.command;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link CommandExecutor}.  Commands are sent over the same
+ * connections as the synchronous executor and the returned futures complete on the executor
+ * given to {@link org.bff.javampd.server.MPD.Builder#asyncExecutor(java.util.concurrent.Executor)},
+ * or on the common fork join pool without one.  A dependent stage that blocks on another async
+ * call, for example with {@code join()}, waits for a thread of that executor, so it deadlocks
+ * an executor with a single thread; compose the futures instead.
+ * A failed command completes its future exceptionally with the
+ * {@link org.bff.javampd.MPDException} the synchronous call would have thrown.
+ *
+ * @author bill
+ */
+public interface AsyncCommandExecutor {
+    /**
+     * Sends a command with no parameters to the {@link org.bff.javampd.server.MPD} server.
+     *
+     * @param command the command to send
+     * @return the future response
+     */
+    CompletableFuture<List<String>> sendCommand(String command);
+
+    /**
+     * Sends a command and parameters to the {@link org.bff.javampd.server.MPD} server.
+     *
+     * @param command the command to send
+     * @param params  the parameters for the command
+     * @return the future response
+     */
+    CompletableFuture<List<String>> sendCommand(String command, String... params);
+
+    /**
+     * Sends a {@link MPDCommand} to the {@link org.bff.javampd.server.MPD} server.
+     *
+     * @param command the command to send
+     * @return the future response
+     */
+    CompletableFuture<List<String>> sendCommand(MPDCommand command);
+
+    /**
+     * Sends a list of {@link MPDCommand}s as a command list, see {@link CommandExecutor#sendCommands(List)}.
+     *
+     * @param commandList the list of {@link MPDCommand}s
+     * @return the future response of each command
+     */
+    CompletableFuture<List<List<String>>> sendCommands(List<MPDCommand> commandList);
+
+    /**
+     * Sends a list of {@link MPDCommand}s pipelined, see {@link CommandExecutor#sendPipelined(List)}.
+     *
+     * @param commandList the list of {@link MPDCommand}s
+     * @return the future response of each command
+     */
+    CompletableFuture<List<List<String>>> sendPipelined(List<MPDCommand> commandList);
+}
@@ -1,9 +1,14 @@
 package org.bff.javampd.command;
 
+import org.bff.javampd.server.BinaryResponse;
 import org.bff.javampd.server.MPD;
+import org.bff.javampd.server.MPDSocket;
+import org.bff.javampd.server.ResponseDecoder;
+import org.bff.javampd.server.ResponseReader;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author bill
@@ -48,13 +53,74 @@ public interface CommandExecutor {
     Collection<String> sendCommand(MPDCommand command);
 
     /**
-     * Sends a list of {@link MPDCommand}s all at once to the MPD server and returns
-     * true if all commands were sent successfully.  If any of the commands received
-     * as error in the response false will be returned.
+     * Sends a {@link MPDCommand} to the {@link org.bff.javampd.server.MPD} server handing each
+     * response line to the handler as it is read.  Values are only decoded when the handler asks
+     * for them so this is cheaper than collecting the response for large results.
+     *
+     * @param command the command to send
+     * @param handler called with the {@link ResponseDecoder} positioned on each response line
+     */
+    void sendCommand(MPDCommand command, Consumer<ResponseDecoder> handler);
+
+    /**
+     * Sends a {@link MPDCommand} and returns its response to be read line by line as the caller
+     * goes, so even a response covering the whole library is never held in memory.  A
+     * connection is taken from the pool and held until the {@link ResponseReader} is closed.
+     *
+     * @param command the command to send
+     * @return the reader of the response, which must be closed
+     */
+    ResponseReader openResponse(MPDCommand command);
+
+    /**
+     * Sends a list of {@link MPDCommand}s all at once to the MPD server as a command list
+     * and returns the response of each command.  The server stops at the first failing command.
+     *
+     * @param commandList the list of {@link MPDCommand}s
+     * @return the response of each command, in the order of the commands
+     * @throws org.bff.javampd.server.MPDCommandListException if a command failed, carrying the
+     *                                                        index of the failing command
+     */
+    List<List<String>> sendCommands(List<MPDCommand> commandList);
+
+    /**
+     * Sends a list of {@link MPDCommand}s in a single write and reads their responses in
+     * order, one round trip for the whole list.  Each command is run on its own, not as
+     * a command list, so a failing command doesn't stop the ones after it.
      *
      * @param commandList the list of {@link MPDCommand}s
+     * @return the response of each command, in the order of the commands
+     * @throws org.bff.javampd.server.MPDConnectionException if any command failed, after all responses were read
+     */
+    List<List<String>> sendPipelined(List<MPDCommand> commandList);
+
+    /**
+     * Sends a command whose response carries a {@code binary: N} payload such as {@code albumart}.
+     * The payload is read into a pooled buffer so the returned {@link BinaryResponse} must be closed.
+     *
+     * @param command the command to send
+     * @return the response and its payload
+     */
+    BinaryResponse sendBinaryCommand(MPDCommand command);
+
+    /**
+     * Pipelines commands whose responses carry {@code binary: N} payloads over one connection.
+     * Every returned {@link BinaryResponse} must be closed.
+     *
+     * @param commandList the list of {@link MPDCommand}s
+     * @return the response of each command, in the order of the commands
+     * @throws org.bff.javampd.server.MPDConnectionException if any command failed, after all responses were read
+     */
+    List<BinaryResponse> sendBinaryPipelined(List<MPDCommand> commandList);
+
+    /**
+     * Opens a new authenticated connection that is not part of the pool, for example one parked
+     * in {@code idle}.  The caller owns the connection and must close it.
+     *
+     * @return the connection
+     * @throws org.bff.javampd.server.MPDConnectionException if the connection can not be opened
      */
-    void sendCommands(List<MPDCommand> commandList);
+    MPDSocket openConnection();
 
     /**
      * Returns the {@link org.bff.javampd.server.MPD} version
@@ -0,0 +1,61 @@
+package org.bff.javampd.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends the commands of a {@link CommandExecutor} on an I/O {@link Executor} and completes
+ * the futures on another one.  The blocking round trips stay off the completing executor, so
+ * it may be an event loop.
+ *
+ * @author bill
+ */
+public class MPDAsyncCommandExecutor implements AsyncCommandExecutor {
+    private final CommandExecutor commandExecutor;
+    private final AsyncCalls calls;
+
+    /**
+     * @param commandExecutor the executor sending the commands
+     * @param executor        sends the commands and completes the futures
+     */
+    public MPDAsyncCommandExecutor(CommandExecutor commandExecutor, Executor executor) {
+        this(commandExecutor, executor, executor);
+    }
+
+    /**
+     * @param commandExecutor the executor sending the commands
+     * @param ioExecutor      sends the commands, blocking on the connection
+     * @param executor        completes the futures
+     */
+    public MPDAsyncCommandExecutor(CommandExecutor commandExecutor, Executor ioExecutor, Executor executor) {
+        this.commandExecutor = commandExecutor;
+        this.calls = new AsyncCalls(ioExecutor, executor);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommand(String command) {
+        return calls.supply(() -> commandExecutor.sendCommand(command));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommand(String command, String... params) {
+        return calls.supply(() -> commandExecutor.sendCommand(command, params));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommand(MPDCommand command) {
+        return calls.supply(() -> new ArrayList<>(commandExecutor.sendCommand(command)));
+    }
+
+    @Override
+    public CompletableFuture<List<List<String>>> sendCommands(List<MPDCommand> commandList) {
+        return calls.supply(() -> commandExecutor.sendCommands(commandList));
+    }
+
+    @Override
+    public CompletableFuture<List<List<String>>> sendPipelined(List<MPDCommand> commandList) {
+        return calls.supply(() -> commandExecutor.sendPipelined(commandList));
+    }
+}
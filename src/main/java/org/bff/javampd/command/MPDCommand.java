@@ -2,6 +2,7 @@ package org.bff.javampd.command;
 
 import lombok.EqualsAndHashCode;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,6 +19,8 @@ import java.util.List;
 public class MPDCommand {
     private String command;
     private List<String> params;
+    @EqualsAndHashCode.Exclude
+    private volatile EncodedCommand encodedCommand;
 
     /**
      * Constructor for MPD command for a command requiring more than 1 parameter.
@@ -53,4 +56,31 @@ public class MPDCommand {
     public List<String> getParams() {
         return params;
     }
+
+    /**
+     * Returns the command encoded in the given charset.  The bytes are cached so a command
+     * object that is sent repeatedly, such as {@code status} from a monitor, is only encoded
+     * once.  The returned array must not be modified.
+     *
+     * @param charset the charset of the connection
+     * @return the encoded command without parameters
+     */
+    public byte[] getEncodedCommand(Charset charset) {
+        EncodedCommand encoded = this.encodedCommand;
+        if (encoded == null || !encoded.charset.equals(charset)) {
+            encoded = new EncodedCommand(charset, command.getBytes(charset));
+            this.encodedCommand = encoded;
+        }
+        return encoded.bytes;
+    }
+
+    private static final class EncodedCommand {
+        private final Charset charset;
+        private final byte[] bytes;
+
+        private EncodedCommand(Charset charset, byte[] bytes) {
+            this.charset = charset;
+            this.bytes = bytes;
+        }
+    }
 }
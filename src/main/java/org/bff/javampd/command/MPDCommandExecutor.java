@@ -7,19 +7,41 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * Executes commands to the {@link org.bff.javampd.server.MPD}.
  * You <b>MUST</b> call {@link #setMpd} before making any calls
  * to the server
+ * <p>
+ * Commands are sent over a {@link MPDSocketPool} sized by {@link MPD.Builder#poolSize(int)}
+ * so independent commands can run in parallel against the server.
+ * <p>
+ * Identical calls of a read-only command, one of cmd.read.only, share the response of the
+ * one already in flight instead of each waiting for a connection and a round trip of its own.
  *
  * @author bill
  */
 @Singleton
 public class MPDCommandExecutor implements CommandExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDCommandExecutor.class);
+    private static final int BINARY_BUFFER_SIZE = 8192;
+    private static final int BINARY_BUFFERS_POOLED = 16;
+    private static final int MAX_CACHED_COMMANDS = 128;
 
-    private MPDSocket mpdSocket;
+    private final ByteBufferPool bufferPool;
+    private final Map<String, MPDCommand> parameterlessCommands;
+    private final Set<String> readOnlyCommands;
+    private final Map<MPDCommand, CompletableFuture<List<String>>> inFlight;
+    private final LongAdder coalesced;
+    private final Map<Thread, Integer> streaming;
+    private MPDSocketPool socketPool;
     private MPD mpd;
     private ServerProperties serverProperties;
     private String password;
@@ -30,20 +52,26 @@ public class MPDCommandExecutor implements CommandExecutor {
      */
     public MPDCommandExecutor() {
         serverProperties = new ServerProperties();
+        bufferPool = new ByteBufferPool(BINARY_BUFFER_SIZE, BINARY_BUFFERS_POOLED);
+        parameterlessCommands = new ConcurrentHashMap<>();
+        readOnlyCommands = serverProperties.getReadOnlyCommands();
+        inFlight = new ConcurrentHashMap<>();
+        coalesced = new LongAdder();
+        streaming = new ConcurrentHashMap<>();
     }
 
     @Override
-    public synchronized List<String> sendCommand(String command) {
-        return sendCommand(new MPDCommand(command));
+    public List<String> sendCommand(String command) {
+        return sendCommand(parameterlessCommand(command));
     }
 
     @Override
-    public synchronized List<String> sendCommand(String command, String... params) {
+    public List<String> sendCommand(String command, String... params) {
         return sendCommand(new MPDCommand(command, params));
     }
 
     @Override
-    public synchronized List<String> sendCommand(String command, Integer... params) {
+    public List<String> sendCommand(String command, Integer... params) {
         String[] intParms = new String[params.length];
         for (int i = 0; i < params.length; ++i) {
             intParms[i] = Integer.toString(params[i]);
@@ -52,45 +80,196 @@ public class MPDCommandExecutor implements CommandExecutor {
     }
 
     @Override
-    public synchronized List<String> sendCommand(MPDCommand command) {
+    public List<String> sendCommand(MPDCommand command) {
+        // a thread holding an open response could wait on a call that waits for its connection
+        if (!readOnlyCommands.contains(command.getCommand()) || streaming.containsKey(Thread.currentThread())) {
+            return send(command);
+        }
+
+        CompletableFuture<List<String>> response = new CompletableFuture<>();
+        CompletableFuture<List<String>> sent = inFlight.putIfAbsent(command, response);
+        if (sent != null) {
+            coalesced.increment();
+            return new ArrayList<>(await(sent));
+        }
+
+        try {
+            List<String> lines = send(command);
+            response.complete(lines);
+            return new ArrayList<>(lines);
+        } catch (RuntimeException | Error e) {
+            response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(command, response);
+        }
+    }
+
+    /**
+     * @return the number of calls answered with the response of an identical one in flight
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private static List<String> await(CompletableFuture<List<String>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private List<String> send(MPDCommand command) {
+        MPDSocket mpdSocket = acquireSocket();
+        try {
+            return sendCommand(mpdSocket, command);
+        } finally {
+            socketPool.release(mpdSocket);
+        }
+    }
+
+    private List<String> sendCommand(MPDSocket mpdSocket, MPDCommand command) {
         try {
-            checkSocket();
             return new ArrayList<>(mpdSocket.sendCommand(command));
         } catch (MPDSecurityException se) {
             LOGGER.warn("Connection exception while sending command {}, will retry", command.getCommand(), se);
-            authenticate();
+            authenticate(mpdSocket);
             return new ArrayList<>(mpdSocket.sendCommand(command));
         }
     }
 
     @Override
-    public synchronized void sendCommands(List<MPDCommand> commandList) {
+    public void sendCommand(MPDCommand command, Consumer<ResponseDecoder> handler) {
+        MPDSocket mpdSocket = acquireSocket();
+        try {
+            mpdSocket.sendCommand(command, handler);
+        } catch (MPDSecurityException se) {
+            LOGGER.warn("Connection exception while sending command {}, will retry", command.getCommand(), se);
+            authenticate(mpdSocket);
+            mpdSocket.sendCommand(command, handler);
+        } finally {
+            socketPool.release(mpdSocket);
+        }
+    }
+
+    @Override
+    public ResponseReader openResponse(MPDCommand command) {
+        Thread owner = Thread.currentThread();
+        MPDSocket mpdSocket = acquireSocket();
+        streaming.merge(owner, 1, Integer::sum);
+        try {
+            return openResponse(mpdSocket, command).onClose(() -> release(owner, mpdSocket));
+        } catch (RuntimeException e) {
+            release(owner, mpdSocket);
+            throw e;
+        }
+    }
+
+    private void release(Thread owner, MPDSocket mpdSocket) {
+        streaming.computeIfPresent(owner, (thread, count) -> count == 1 ? null : count - 1);
+        socketPool.release(mpdSocket);
+    }
+
+    private ResponseReader openResponse(MPDSocket mpdSocket, MPDCommand command) {
+        try {
+            return mpdSocket.openResponse(command);
+        } catch (MPDSecurityException se) {
+            LOGGER.warn("Connection exception while sending command {}, will retry", command.getCommand(), se);
+            authenticate(mpdSocket);
+            return mpdSocket.openResponse(command);
+        }
+    }
+
+    @Override
+    public List<List<String>> sendCommands(List<MPDCommand> commandList) {
+        MPDSocket mpdSocket = acquireSocket();
         try {
-            checkSocket();
-            mpdSocket.sendCommands(commandList);
+            return mpdSocket.sendCommands(commandList);
         } catch (MPDSecurityException se) {
             LOGGER.warn("Connection exception while sending commands, will retry", se);
-            authenticate();
-            mpdSocket.sendCommands(commandList);
+            authenticate(mpdSocket);
+            return mpdSocket.sendCommands(commandList);
+        } finally {
+            socketPool.release(mpdSocket);
         }
     }
 
+    @Override
+    public List<List<String>> sendPipelined(List<MPDCommand> commandList) {
+        MPDSocket mpdSocket = acquireSocket();
+        try {
+            return mpdSocket.sendPipelined(commandList);
+        } catch (MPDSecurityException se) {
+            LOGGER.warn("Connection exception while sending pipelined commands, will retry", se);
+            authenticate(mpdSocket);
+            return mpdSocket.sendPipelined(commandList);
+        } finally {
+            socketPool.release(mpdSocket);
+        }
+    }
+
+    @Override
+    public BinaryResponse sendBinaryCommand(MPDCommand command) {
+        return sendBinaryPipelined(List.of(command)).get(0);
+    }
+
+    @Override
+    public List<BinaryResponse> sendBinaryPipelined(List<MPDCommand> commandList) {
+        MPDSocket mpdSocket = acquireSocket();
+        try {
+            return mpdSocket.sendBinaryPipelined(commandList, bufferPool);
+        } catch (MPDSecurityException se) {
+            LOGGER.warn("Connection exception while sending binary commands, will retry", se);
+            authenticate(mpdSocket);
+            return mpdSocket.sendBinaryPipelined(commandList, bufferPool);
+        } finally {
+            socketPool.release(mpdSocket);
+        }
+    }
+
+    @Override
+    public MPDSocket openConnection() {
+        return createAuthenticatedSocket();
+    }
+
     @Override
     public String getMPDVersion() {
-        checkSocket();
-        return mpdSocket.getVersion();
+        MPDSocket mpdSocket = acquireSocket();
+        try {
+            return mpdSocket.getVersion();
+        } finally {
+            socketPool.release(mpdSocket);
+        }
     }
 
     @Override
     public void setMpd(MPD mpd) {
         this.mpd = mpd;
+        this.socketPool = new MPDSocketPool(this::createAuthenticatedSocket,
+                mpd.getPoolSize(),
+                mpd.getPoolIdleTimeout(),
+                mpd.getPoolAcquireTimeout(),
+                serverProperties.getPingIdle());
     }
 
     @Override
     public void authenticate() {
+        MPDSocket mpdSocket = acquireSocket();
+        try {
+            authenticate(mpdSocket);
+        } finally {
+            socketPool.release(mpdSocket);
+        }
+    }
+
+    private void authenticate(MPDSocket mpdSocket) {
         if (password != null) {
             try {
-                sendCommand(new MPDCommand(serverProperties.getPassword(), password));
+                mpdSocket.sendCommand(new MPDCommand(serverProperties.getPassword(), password));
             } catch (Exception e) {
                 if (e.getMessage() != null && e.getMessage().contains("incorrect password")) {
                     throw new MPDSecurityException("Incorrect password");
@@ -112,22 +291,68 @@ public class MPDCommandExecutor implements CommandExecutor {
 
     @Override
     public void close() {
-        this.mpdSocket.close();
+        if (socketPool != null) {
+            socketPool.close();
+        }
     }
 
     protected MPDSocket createSocket() {
+        if (mpd.getSocketPath() != null) {
+            return new UnixMPDSocket(mpd.getSocketPath(), mpd.getTimeout());
+        }
+
+        if (mpd.isNio()) {
+            return new NioMPDSocket(mpd.getAddress(),
+                    mpd.getPort(),
+                    mpd.getTimeout());
+        }
+
         return new MPDSocket(mpd.getAddress(),
                 mpd.getPort(),
                 mpd.getTimeout());
     }
 
-    private void checkSocket() {
+    private MPDSocket createAuthenticatedSocket() {
+        MPDSocket mpdSocket = createSocket();
+        try {
+            authenticate(mpdSocket);
+        } catch (RuntimeException e) {
+            mpdSocket.close();
+            throw e;
+        }
+        return mpdSocket;
+    }
+
+    /**
+     * Reuses the {@link MPDCommand} of commands without parameters so the bytes it caches
+     * are encoded once instead of on every poll
+     */
+    private MPDCommand parameterlessCommand(String command) {
+        MPDCommand mpdCommand = parameterlessCommands.get(command);
+        if (mpdCommand == null) {
+            mpdCommand = new MPDCommand(command);
+            if (parameterlessCommands.size() < MAX_CACHED_COMMANDS) {
+                parameterlessCommands.putIfAbsent(command, mpdCommand);
+            }
+        }
+        return mpdCommand;
+    }
+
+    private MPDSocket acquireSocket() {
         if (mpd == null) {
             throw new MPDConnectionException("Socket could not be established.  Was mpd set?");
         }
 
+        if (!streaming.containsKey(Thread.currentThread())) {
+            return socketPool.acquire();
+        }
+
+        // waiting would never end if this thread's own open response holds the connection it waits for
+        MPDSocket mpdSocket = socketPool.tryAcquire();
         if (mpdSocket == null) {
-            mpdSocket = createSocket();
+            throw new MPDConnectionException("Every connection is in use while this thread holds one for an open "
+                    + "response; close the stream first or give the pool more connections");
         }
+        return mpdSocket;
     }
 }
@@ -0,0 +1,258 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of {@link MPDSocket}s.  Sockets are created on demand up to the pool size
+ * and handed out most recently used first so surplus connections stay idle long enough
+ * to be evicted.  Connections left unused longer than the ping threshold are pinged in
+ * the background so the server doesn't drop them.
+ *
+ * @author bill
+ */
+public class MPDSocketPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MPDSocketPool.class);
+
+    private final Supplier<MPDSocket> socketFactory;
+    private final int size;
+    private final long idleTimeout;
+    private final long acquireTimeout;
+    private final long pingIdle;
+    private final Semaphore permits;
+    private final Deque<IdleSocket> idleSockets;
+    private final ScheduledExecutorService maintainer;
+    private volatile boolean closed;
+
+    /**
+     * Creates the pool
+     *
+     * @param socketFactory  creates connected and authenticated sockets
+     * @param size           the maximum number of sockets
+     * @param idleTimeout    milliseconds an unused socket is kept open, 0 to never evict
+     * @param acquireTimeout milliseconds to wait for a free socket, 0 to wait indefinitely
+     * @param pingIdle       milliseconds an unused socket is left before it is pinged, 0 to never ping
+     */
+    public MPDSocketPool(Supplier<MPDSocket> socketFactory,
+                         int size,
+                         long idleTimeout,
+                         long acquireTimeout,
+                         long pingIdle) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+
+        this.socketFactory = socketFactory;
+        this.size = size;
+        this.idleTimeout = idleTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.pingIdle = pingIdle;
+        this.permits = new Semaphore(size, true);
+        this.idleSockets = new ConcurrentLinkedDeque<>();
+        this.maintainer = idleTimeout > 0 || pingIdle > 0 ? createMaintainer() : null;
+    }
+
+    /**
+     * Returns an idle socket or creates a new one if the pool isn't full.  The socket
+     * must be given back with {@link #release(MPDSocket)}.
+     *
+     * @return the socket
+     * @throws MPDConnectionException if the pool is closed or no socket became available in time
+     */
+    public MPDSocket acquire() {
+        if (closed) {
+            throw new MPDConnectionException("Socket pool has been closed");
+        }
+
+        acquirePermit();
+        try {
+            IdleSocket idleSocket = idleSockets.pollFirst();
+            return idleSocket == null ? socketFactory.get() : idleSocket.socket;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns an idle socket or creates a new one if the pool isn't full, without waiting for
+     * one to be released.  The socket must be given back with {@link #release(MPDSocket)}.
+     *
+     * @return the socket, null if every socket is in use
+     * @throws MPDConnectionException if the pool is closed
+     */
+    public MPDSocket tryAcquire() {
+        if (closed) {
+            throw new MPDConnectionException("Socket pool has been closed");
+        }
+
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+        try {
+            IdleSocket idleSocket = idleSockets.pollFirst();
+            return idleSocket == null ? socketFactory.get() : idleSocket.socket;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the socket to the pool
+     *
+     * @param socket the socket from {@link #acquire()}
+     */
+    public void release(MPDSocket socket) {
+        try {
+            if (closed) {
+                close(socket);
+            } else {
+                idleSockets.offerFirst(new IdleSocket(socket, System.nanoTime()));
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes all idle sockets.  Sockets currently in use are closed when released.
+     */
+    public void close() {
+        closed = true;
+        if (maintainer != null) {
+            maintainer.shutdownNow();
+        }
+
+        IdleSocket idleSocket = idleSockets.pollFirst();
+        while (idleSocket != null) {
+            close(idleSocket.socket);
+            idleSocket = idleSockets.pollFirst();
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of open sockets not currently in use
+     */
+    public int getIdleCount() {
+        return idleSockets.size();
+    }
+
+    /**
+     * Closes sockets that have been idle longer than the idle timeout
+     */
+    void evictIdleSockets() {
+        if (idleTimeout <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Iterator<IdleSocket> iterator = idleSockets.descendingIterator();
+        while (iterator.hasNext()) {
+            IdleSocket idleSocket = iterator.next();
+            if (now - idleSocket.since >= TimeUnit.MILLISECONDS.toNanos(idleTimeout)
+                    && idleSockets.removeFirstOccurrence(idleSocket)) {
+                LOGGER.debug("evicting socket idle for more than {}ms", idleTimeout);
+                close(idleSocket.socket);
+            }
+        }
+    }
+
+    /**
+     * Pings the longest unused socket if it has been quiet longer than the ping threshold.
+     * A permit is held while pinging so the pool never exceeds its size; if none is free
+     * every socket is in use and nothing needs pinging.
+     */
+    void pingIdleSockets() {
+        if (pingIdle <= 0 || !permits.tryAcquire()) {
+            return;
+        }
+
+        try {
+            IdleSocket idleSocket = idleSockets.pollLast();
+            if (idleSocket == null) {
+                return;
+            }
+
+            MPDSocket socket = idleSocket.socket;
+            if (System.nanoTime() - socket.getLastActivity() < TimeUnit.MILLISECONDS.toNanos(pingIdle)) {
+                idleSockets.offerLast(idleSocket);
+            } else if (!closed && socket.ping()) {
+                idleSockets.offerLast(idleSocket);
+            } else {
+                LOGGER.debug("dropping pooled socket that failed to answer ping");
+                close(socket);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit() {
+        try {
+            if (acquireTimeout > 0) {
+                if (!permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+                    throw new MPDConnectionException("Timed out after " + acquireTimeout
+                            + "ms waiting for one of " + size + " connections");
+                }
+            } else {
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MPDConnectionException("Interrupted waiting for a connection", e);
+        }
+    }
+
+    private ScheduledExecutorService createMaintainer() {
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "javampd-socket-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(Math.min(halfOrMax(idleTimeout), halfOrMax(pingIdle)), 1);
+        executorService.scheduleWithFixedDelay(() -> {
+            evictIdleSockets();
+            pingIdleSockets();
+        }, period, period, TimeUnit.MILLISECONDS);
+        return executorService;
+    }
+
+    private static long halfOrMax(long timeout) {
+        return timeout > 0 ? timeout / 2 : Long.MAX_VALUE;
+    }
+
+    private static void close(MPDSocket socket) {
+        try {
+            socket.close();
+        } catch (Exception e) {
+            LOGGER.warn("Unable to close pooled socket", e);
+        }
+    }
+
+    private static class IdleSocket {
+        private final MPDSocket socket;
+        private final long since;
+
+        IdleSocket(MPDSocket socket, long since) {
+            this.socket = socket;
+            this.since = since;
+        }
+    }
+}
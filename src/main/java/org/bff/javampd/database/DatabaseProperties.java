@@ -11,8 +11,15 @@ public class DatabaseProperties extends MPDProperties {
         LIST("db.list.tag"),
         GROUP("db.group"),
         LISTINFO("db.list.info"),
+        LISTALLINFO("db.list.all.info"),
         SEARCH("db.search"),
-        LISTSONGS("db.list.songs");
+        LISTSONGS("db.list.songs"),
+        INTERNSIZE("db.intern.size"),
+        CACHESIZE("db.cache.size"),
+        CACHECHECK("db.cache.check"),
+        MIRROR("db.mirror"),
+        MIRRORINCREMENTAL("db.mirror.incremental"),
+        MIRRORINDEX("db.mirror.index");
 
         private final String key;
 
@@ -41,6 +48,10 @@ public class DatabaseProperties extends MPDProperties {
         return getPropertyString(Command.LISTINFO.getKey());
     }
 
+    public String getListAllInfo() {
+        return getPropertyString(Command.LISTALLINFO.getKey());
+    }
+
     public String getSearch() {
         return getPropertyString(Command.SEARCH.getKey());
     }
@@ -48,4 +59,46 @@ public class DatabaseProperties extends MPDProperties {
     public String getListSongs() {
         return getPropertyString(Command.LISTSONGS.getKey());
     }
+
+    /**
+     * @return the most tag values the {@link StringPool} holds, 0 to not pool them
+     */
+    public int getInternSize() {
+        return Integer.parseInt(getPropertyString(Command.INTERNSIZE.getKey()));
+    }
+
+    /**
+     * @return the most responses the {@link ResultCache} holds, 0 to not cache them
+     */
+    public int getCacheSize() {
+        return Integer.parseInt(getPropertyString(Command.CACHESIZE.getKey()));
+    }
+
+    /**
+     * @return the milliseconds between checks of the database update time by the {@link ResultCache}
+     */
+    public long getCacheCheckInterval() {
+        return Long.parseLong(getPropertyString(Command.CACHECHECK.getKey()));
+    }
+
+    /**
+     * @return true if the databases answer from a {@link org.bff.javampd.library.LibraryMirror}
+     */
+    public boolean isMirror() {
+        return Boolean.parseBoolean(getPropertyString(Command.MIRROR.getKey()));
+    }
+
+    /**
+     * @return true if the mirror reloads only the changed top level directories
+     */
+    public boolean isMirrorIncremental() {
+        return Boolean.parseBoolean(getPropertyString(Command.MIRRORINCREMENTAL.getKey()));
+    }
+
+    /**
+     * @return true if searches on the mirror go through an {@link org.bff.javampd.library.IndexedSongSearcher}
+     */
+    public boolean isMirrorIndex() {
+        return Boolean.parseBoolean(getPropertyString(Command.MIRRORINDEX.getKey()));
+    }
 }
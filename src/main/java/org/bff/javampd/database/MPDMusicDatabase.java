@@ -6,6 +6,7 @@ import org.bff.javampd.album.AlbumDatabase;
 import org.bff.javampd.artist.ArtistDatabase;
 import org.bff.javampd.file.FileDatabase;
 import org.bff.javampd.genre.GenreDatabase;
+import org.bff.javampd.library.LibraryDatabase;
 import org.bff.javampd.playlist.PlaylistDatabase;
 import org.bff.javampd.song.SongDatabase;
 import org.bff.javampd.year.DateDatabase;
@@ -19,6 +20,7 @@ public class MPDMusicDatabase implements MusicDatabase {
     private final FileDatabase fileDatabase;
     private final DateDatabase dateDatabase;
     private final SongDatabase songDatabase;
+    private final LibraryDatabase libraryDatabase;
 
     @Inject
     public MPDMusicDatabase(ArtistDatabase artistDatabase,
@@ -27,7 +29,8 @@ public class MPDMusicDatabase implements MusicDatabase {
                             PlaylistDatabase playlistDatabase,
                             FileDatabase fileDatabase,
                             DateDatabase dateDatabase,
-                            SongDatabase songDatabase) {
+                            SongDatabase songDatabase,
+                            LibraryDatabase libraryDatabase) {
         this.artistDatabase = artistDatabase;
         this.albumDatabase = albumDatabase;
         this.genreDatabase = genreDatabase;
@@ -35,6 +38,7 @@ public class MPDMusicDatabase implements MusicDatabase {
         this.fileDatabase = fileDatabase;
         this.dateDatabase = dateDatabase;
         this.songDatabase = songDatabase;
+        this.libraryDatabase = libraryDatabase;
     }
 
     @Override
@@ -71,4 +75,9 @@ public class MPDMusicDatabase implements MusicDatabase {
     public SongDatabase getSongDatabase() {
         return songDatabase;
     }
+
+    @Override
+    public LibraryDatabase getLibraryDatabase() {
+        return libraryDatabase;
+    }
 }
@@ -15,12 +15,20 @@ import java.util.List;
 public class MPDTagLister implements TagLister {
     private DatabaseProperties databaseProperties;
     private CommandExecutor commandExecutor;
+    private ResultCache resultCache;
 
-    @Inject
     public MPDTagLister(DatabaseProperties databaseProperties,
                         CommandExecutor commandExecutor) {
+        this(databaseProperties, commandExecutor, ResultCache.disabled());
+    }
+
+    @Inject
+    public MPDTagLister(DatabaseProperties databaseProperties,
+                        CommandExecutor commandExecutor,
+                        ResultCache resultCache) {
         this.databaseProperties = databaseProperties;
         this.commandExecutor = commandExecutor;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -48,7 +56,7 @@ public class MPDTagLister implements TagLister {
     public List<String> list(ListType listType, List<String> params, GroupType... groupTypes) {
         addGroupParams(params, groupTypes);
 
-        return commandExecutor.sendCommand(databaseProperties.getList(), generateParamList(listType, params));
+        return send(generateParamList(listType, params));
     }
 
     @Override
@@ -56,7 +64,12 @@ public class MPDTagLister implements TagLister {
         List<String> params = new ArrayList<>();
         addGroupParams(params, groupTypes);
 
-        return commandExecutor.sendCommand(databaseProperties.getList(), generateParamList(listType, params));
+        return send(generateParamList(listType, params));
+    }
+
+    private List<String> send(String[] params) {
+        String command = databaseProperties.getList();
+        return resultCache.get(command, params, () -> commandExecutor.sendCommand(command, params));
     }
 
     private void addGroupParams(List<String> params, GroupType... groupTypes) {
@@ -4,6 +4,7 @@ import org.bff.javampd.album.AlbumDatabase;
 import org.bff.javampd.artist.ArtistDatabase;
 import org.bff.javampd.file.FileDatabase;
 import org.bff.javampd.genre.GenreDatabase;
+import org.bff.javampd.library.LibraryDatabase;
 import org.bff.javampd.playlist.PlaylistDatabase;
 import org.bff.javampd.song.SongDatabase;
 import org.bff.javampd.year.DateDatabase;
@@ -27,4 +28,6 @@ public interface MusicDatabase {
     DateDatabase getDateDatabase();
 
     SongDatabase getSongDatabase();
+
+    LibraryDatabase getLibraryDatabase();
 }
@@ -0,0 +1,267 @@
+package org.bff.javampd.database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bff.javampd.Clock;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the responses to database queries, like the lists of the {@link TagLister} and
+ * the finds and searches of the {@link org.bff.javampd.song.SongSearcher}.  These only
+ * change when the database is updated, so a response is cached under its command and
+ * parameters.
+ * <p>
+ * Every cached response belongs to the {@code db_update} time of the
+ * {@link ServerStatistics}, checked at most every db.cache.check milliseconds.  Once it
+ * changes the whole cache is dropped.  So a database update may go unnoticed for up to that
+ * long.  The check is made outside the lock of the cache by one thread at a time, the others
+ * keep answering from the cache meanwhile.
+ * <p>
+ * Holds at most db.cache.size responses and evicts the least recently used one beyond that.
+ * A size of 0, the default, turns caching off.  Counts hits, misses, evictions and
+ * invalidations.  Thread safe.
+ *
+ * @author bill
+ */
+@Singleton
+public class ResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    private final int maxSize;
+    private final long checkInterval;
+    private final ServerStatistics serverStatistics;
+    private final Clock clock;
+    private final Map<List<String>, List<String>> responses;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder invalidations;
+    private final ReentrantLock lock;
+    private final AtomicBoolean checking;
+
+    private volatile boolean checked;
+    private volatile long lastCheck;
+    private long databaseUpdate;
+
+    @Inject
+    public ResultCache(DatabaseProperties databaseProperties,
+                       ServerStatistics serverStatistics,
+                       Clock clock) {
+        this(databaseProperties.getCacheSize(),
+                databaseProperties.getCacheCheckInterval(),
+                serverStatistics,
+                clock);
+    }
+
+    /**
+     * Creates the cache
+     *
+     * @param maxSize          the most responses held, 0 to not cache at all
+     * @param checkInterval    the milliseconds between checks of the database update time
+     * @param serverStatistics gives the database update time
+     * @param clock            measures the time between checks
+     */
+    public ResultCache(int maxSize, long checkInterval, ServerStatistics serverStatistics, Clock clock) {
+        this.maxSize = maxSize;
+        this.checkInterval = TimeUnit.MILLISECONDS.toNanos(checkInterval);
+        this.serverStatistics = serverStatistics;
+        this.clock = clock;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.invalidations = new LongAdder();
+        this.lock = new ReentrantLock();
+        this.checking = new AtomicBoolean();
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, List<String>> eldest) {
+                if (size() > ResultCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return a cache that caches nothing
+     */
+    public static ResultCache disabled() {
+        return new ResultCache(0, 0, null, null);
+    }
+
+    /**
+     * Returns the cached response to the command, sending it if there is none
+     *
+     * @param command the command
+     * @param params  the parameters of the command
+     * @param sender  sends the command and returns its response
+     * @return the response, the caller may change it without changing the cache
+     */
+    public List<String> get(String command, String[] params, Supplier<List<String>> sender) {
+        if (!isEnabled()) {
+            return sender.get();
+        }
+
+        checkDatabaseUpdate();
+        List<String> key = key(command, params);
+        long update;
+        lock.lock();
+        try {
+            List<String> response = responses.get(key);
+            if (response != null) {
+                hits.increment();
+                return new ArrayList<>(response);
+            }
+            update = databaseUpdate;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        List<String> response = sender.get();
+        List<String> cached = List.copyOf(response);
+        lock.lock();
+        try {
+            // a response sent while the database changed may already be out of date
+            if (update == databaseUpdate) {
+                responses.put(key, cached);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return response;
+    }
+
+    /**
+     * @return true if responses are cached
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @return the number of responses in the cache
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return responses.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of responses found in the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of responses that had to be sent for
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of responses dropped to make room for others
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of times the cache was dropped because the database was updated
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Empties the cache and resets its counts
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            responses.clear();
+            checked = false;
+            hits.reset();
+            misses.reset();
+            evictions.reset();
+            invalidations.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the database update time when the last check is due, only taking the lock to drop
+     * the responses once it has changed
+     */
+    private void checkDatabaseUpdate() {
+        long now = clock.nanoTime();
+        if (checked && now - lastCheck < checkInterval || !checking.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            serverStatistics.forceUpdate();
+            long update = serverStatistics.getLastUpdateTime();
+            lock.lock();
+            try {
+                if (update != databaseUpdate || !checked) {
+                    dropResponses(update);
+                }
+                lastCheck = now;
+                checked = true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            checking.set(false);
+        }
+    }
+
+    private void dropResponses(long update) {
+        if (checked) {
+            LOGGER.debug("Database updated, dropping {} cached responses", responses.size());
+            invalidations.increment();
+        }
+        // responses put before the first check belong to no known update time
+        responses.clear();
+        databaseUpdate = update;
+    }
+
+    private static List<String> key(String command, String[] params) {
+        List<String> key = new ArrayList<>(params.length + 1);
+        key.add(command);
+        key.addAll(Arrays.asList(params));
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCache{size=" + getSize()
+                + ", hits=" + getHits()
+                + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions()
+                + ", invalidations=" + getInvalidations() + "}";
+    }
+}
@@ -0,0 +1,147 @@
+package org.bff.javampd.database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of tag values shared by the song and album converters, so the artist, album
+ * and genre names repeated across thousands of songs are held once instead of once per song.
+ * The pool holds at most db.intern.size values, the first ones seen; once it is full other
+ * values are handed back unchanged.  A size of 0, the default, turns pooling off.
+ * <p>
+ * Counts the values found in the pool and the memory roughly saved by dropping the duplicates.
+ * Thread safe.
+ *
+ * @author bill
+ */
+@Singleton
+public class StringPool {
+    private static final int STRING_SIZE = 24;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int LATIN1_MAX = 0xFF;
+
+    private final int maxSize;
+    private final Map<String, String> pool;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder bytesSaved;
+
+    @Inject
+    public StringPool(DatabaseProperties databaseProperties) {
+        this(databaseProperties.getInternSize());
+    }
+
+    /**
+     * Creates the pool
+     *
+     * @param maxSize the most values held, 0 to not pool at all
+     */
+    public StringPool(int maxSize) {
+        this.maxSize = maxSize;
+        this.pool = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.bytesSaved = new LongAdder();
+    }
+
+    /**
+     * Returns the pooled instance equal to the value, pooling the value if there is none yet
+     * and the pool isn't full
+     *
+     * @param value the value, may be null
+     * @return the pooled instance, or the value itself
+     */
+    public String intern(String value) {
+        if (!isEnabled() || value == null || value.isEmpty()) {
+            return value;
+        }
+
+        String pooled = pool.get(value);
+        if (pooled == null && pool.size() < maxSize) {
+            pooled = pool.putIfAbsent(value, value);
+        }
+
+        if (pooled == null) {
+            misses.increment();
+            return value;
+        }
+
+        hits.increment();
+        if (pooled != value) {
+            bytesSaved.add(sizeOf(value));
+        }
+        return pooled;
+    }
+
+    /**
+     * @return true if values are pooled
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @return the number of values in the pool
+     */
+    public int getSize() {
+        return pool.size();
+    }
+
+    /**
+     * @return the number of values found in the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of values not found in the pool
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return an estimate of the bytes freed by handing out pooled values instead of duplicates
+     */
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Empties the pool and resets its counts
+     */
+    public void clear() {
+        pool.clear();
+        hits.reset();
+        misses.reset();
+        bytesSaved.reset();
+    }
+
+    /**
+     * @return the size of a compact string on a 64 bit VM with compressed references
+     */
+    private static long sizeOf(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > LATIN1_MAX) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long array = ARRAY_HEADER_SIZE + (long) value.length() * bytesPerChar;
+        return STRING_SIZE + ((array + 7) & ~7L);
+    }
+
+    @Override
+    public String toString() {
+        return "StringPool{size=" + getSize()
+                + ", hits=" + getHits()
+                + ", misses=" + getMisses()
+                + ", bytesSaved=" + getBytesSaved() + "}";
+    }
+}
@@ -0,0 +1,214 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.SongSearcher;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link SongSearcher} answering searches from inverted indexes of the {@link LibraryMirror}.
+ * It is meant for type-ahead, where a search goes out on every keystroke.
+ * <p>
+ * Searches match as the {@link MirrorSongSearcher} does: any part of a value, ignoring case.
+ * Only the songs holding the words of the criteria are looked at.  The index of a scope is
+ * built the first time the scope is searched and kept until the library changes.
+ * <p>
+ * Finds are left to the {@link MirrorSongSearcher}, which already compares whole values
+ * once per distinct tag.  Composer and performer searches are left to it too.
+ *
+ * @author bill
+ */
+public class IndexedSongSearcher implements SongSearcher {
+    private static final List<ScopeType> ANY_SCOPES = List.of(ScopeType.ALBUM, ScopeType.ARTIST,
+            ScopeType.GENRE, ScopeType.DATE, ScopeType.TITLE, ScopeType.TRACK, ScopeType.NAME,
+            ScopeType.COMMENT, ScopeType.DISC);
+
+    private final LibraryMirror libraryMirror;
+    private final SongSearcher mirrorSearcher;
+    private volatile Indexes indexes;
+
+    @Inject
+    public IndexedSongSearcher(LibraryMirror libraryMirror, MirrorSongSearcher mirrorSearcher) {
+        this.libraryMirror = libraryMirror;
+        this.mirrorSearcher = mirrorSearcher;
+    }
+
+    @Override
+    public Collection<MPDSong> search(ScopeType searchType, String criteria) {
+        if (!isIndexed(searchType)) {
+            return mirrorSearcher.search(searchType, criteria);
+        }
+        return matching(searchType, criteria).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<MPDSong> search(ScopeType searchType, String criteria, int start, int end) {
+        if (!isIndexed(searchType)) {
+            return mirrorSearcher.search(searchType, criteria, start, end);
+        }
+        int from = Math.max(start, 0);
+        return matching(searchType, criteria)
+                .skip(from)
+                .limit(Math.max(end - from, 0))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<MPDSong> find(ScopeType scopeType, String criteria) {
+        return mirrorSearcher.find(scopeType, criteria);
+    }
+
+    @Override
+    public Collection<MPDSong> find(ScopeType scopeType, String criteria, int start, int end) {
+        return mirrorSearcher.find(scopeType, criteria, start, end);
+    }
+
+    @Override
+    public Stream<MPDSong> searchStream(ScopeType searchType, String criteria) {
+        if (!isIndexed(searchType)) {
+            return mirrorSearcher.searchStream(searchType, criteria);
+        }
+        return matching(searchType, criteria);
+    }
+
+    @Override
+    public Stream<MPDSong> findStream(ScopeType scopeType, String criteria) {
+        return mirrorSearcher.findStream(scopeType, criteria);
+    }
+
+    private static boolean isIndexed(ScopeType scopeType) {
+        return scopeType != ScopeType.COMPOSER && scopeType != ScopeType.PERFORMER;
+    }
+
+    private Stream<MPDSong> matching(ScopeType scopeType, String criteria) {
+        Indexes current = indexes();
+        BitSet ordinals = new BitSet(current.library.size());
+        for (ScopeType scope : scopeType == ScopeType.ANY ? ANY_SCOPES : List.of(scopeType)) {
+            current.get(scope).addMatches(criteria, ordinals);
+        }
+        return ordinals.stream().mapToObj(current.library::getSong);
+    }
+
+    private Indexes indexes() {
+        LibrarySnapshot library = libraryMirror.getSnapshot();
+        Indexes current = indexes;
+        if (current == null || current.library != library) {
+            current = new Indexes(library);
+            indexes = current;
+        }
+        return current;
+    }
+
+    /**
+     * The indexes of one version of the library, built as the scopes are searched
+     */
+    private static final class Indexes {
+        private final LibrarySnapshot library;
+        private final Map<ScopeType, Index> byScope = new EnumMap<>(ScopeType.class);
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Indexes(LibrarySnapshot library) {
+            this.library = library;
+        }
+
+        private Index get(ScopeType scopeType) {
+            lock.lock();
+            try {
+                return byScope.computeIfAbsent(scopeType, this::build);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Index build(ScopeType scopeType) {
+            switch (scopeType) {
+                case ALBUM:
+                    return new Index(library, LibrarySnapshot.Tag.ALBUM);
+                case ARTIST:
+                    return new Index(library, LibrarySnapshot.Tag.ARTIST);
+                case GENRE:
+                    return new Index(library, LibrarySnapshot.Tag.GENRE);
+                case DATE:
+                    return new Index(library, LibrarySnapshot.Tag.DATE);
+                case TITLE:
+                    return new Index(library, library::getTitle);
+                case TRACK:
+                    return new Index(library, i -> Integer.toString(library.getTrack(i)));
+                case NAME:
+                    return new Index(library, library::getName);
+                case COMMENT:
+                    return new Index(library, library::getComment);
+                case DISC:
+                    return new Index(library, library::getDiscNumber);
+                case FILENAME:
+                    return new Index(library, library::getFile);
+                default:
+                    throw new IllegalArgumentException(scopeType + " is not indexed");
+            }
+        }
+    }
+
+    /**
+     * The index of one scope.  Tags are indexed once per distinct value, each value keeping the
+     * ordinals of its songs, anything else is indexed per song.
+     */
+    private static final class Index {
+        private final TokenIndex tokenIndex;
+        private final int[][] songsByValue;
+
+        private Index(LibrarySnapshot library, LibrarySnapshot.Tag tag) {
+            List<String> values = library.getValues(tag);
+            this.tokenIndex = TokenIndex.of(values);
+            this.songsByValue = songsByValue(library, tag, values.size());
+        }
+
+        private Index(LibrarySnapshot library, IntFunction<String> value) {
+            this.tokenIndex = TokenIndex.of(Arrays.asList(IntStream.range(0, library.size())
+                    .mapToObj(value)
+                    .toArray(String[]::new)));
+            this.songsByValue = null;
+        }
+
+        private static int[][] songsByValue(LibrarySnapshot library, LibrarySnapshot.Tag tag, int valueCount) {
+            int[] counts = new int[valueCount];
+            for (int i = 0; i < library.size(); i++) {
+                counts[library.getTagId(tag, i)]++;
+            }
+
+            int[][] songs = new int[valueCount][];
+            for (int id = 0; id < valueCount; id++) {
+                songs[id] = new int[counts[id]];
+                counts[id] = 0;
+            }
+            for (int i = 0; i < library.size(); i++) {
+                int id = library.getTagId(tag, i);
+                songs[id][counts[id]++] = i;
+            }
+            return songs;
+        }
+
+        private void addMatches(String criteria, BitSet ordinals) {
+            BitSet matches = tokenIndex.search(criteria);
+            if (songsByValue == null) {
+                ordinals.or(matches);
+                return;
+            }
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                for (int ordinal : songsByValue[id]) {
+                    ordinals.set(ordinal);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.bff.javampd.library;
+
+/**
+ * Database for loading the library in one go as a {@link LibrarySnapshot}
+ *
+ * @author bill
+ */
+public interface LibraryDatabase {
+
+    /**
+     * Loads every song of the database.  The response is parsed as it is read, so only the
+     * snapshot is held in memory and never a list of all songs.
+     *
+     * @return the {@link LibrarySnapshot} of all songs
+     */
+    LibrarySnapshot getSnapshot();
+
+    /**
+     * Loads every song in the directory and its subdirectories
+     *
+     * @param directory the directory relative to the music directory
+     * @return the {@link LibrarySnapshot} of the songs in the directory
+     */
+    LibrarySnapshot getSnapshot(String directory);
+}
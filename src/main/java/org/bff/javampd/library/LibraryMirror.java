@@ -0,0 +1,237 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.database.DatabaseProperties;
+import org.bff.javampd.file.FileDatabase;
+import org.bff.javampd.file.MPDFile;
+import org.bff.javampd.monitor.Monitor;
+import org.bff.javampd.server.ServerProperties;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A copy of the music database held on the client, so the mirror databases answer queries
+ * without going to the server.  The library is loaded on first use and then only refreshed
+ * when the {@code db_update} time of the server statistics changes.  With db.mirror set the
+ * {@link org.bff.javampd.monitor.StandAloneMonitor} checks for that as soon as an
+ * {@code idle database} event arrives, or every monitor.database.multiplier rounds when
+ * polling; {@link #refresh()} can also be called directly.
+ * <p>
+ * By default every change loads the whole library again.  Setting db.mirror.incremental
+ * trades accuracy for speed: the library is then kept per top level directory, and a refresh
+ * lists the root directory and only loads again the directories whose {@code Last-Modified}
+ * time changed, plus the new ones.  A directory's time only changes when entries are added
+ * to or removed from it, not when something deeper down changes, so in that mode songs added,
+ * removed or retagged below the top level are missed until the next full load.  Songs stored
+ * directly in the root directory always cause a full load when they change.
+ * <p>
+ * Thread safe, reads never wait for a refresh in progress.
+ *
+ * @author bill
+ */
+@Singleton
+public class LibraryMirror implements Monitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryMirror.class);
+    private static final String DB_UPDATE = ServerStatistics.StatList.DBUPDATE.getStatPrefix();
+    private static final String ROOT = "";
+
+    private final LibraryDatabase libraryDatabase;
+    private final FileDatabase fileDatabase;
+    private final CommandExecutor commandExecutor;
+    private final ServerProperties serverProperties;
+    private final boolean incremental;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile LibrarySnapshot snapshot;
+    private Map<String, LibrarySnapshot> directories = Collections.emptyMap();
+    private RootListing listing = new RootListing();
+    private long databaseUpdate;
+
+    @Inject
+    public LibraryMirror(LibraryDatabase libraryDatabase,
+                         FileDatabase fileDatabase,
+                         CommandExecutor commandExecutor,
+                         ServerProperties serverProperties,
+                         DatabaseProperties databaseProperties) {
+        this.libraryDatabase = libraryDatabase;
+        this.fileDatabase = fileDatabase;
+        this.commandExecutor = commandExecutor;
+        this.serverProperties = serverProperties;
+        this.incremental = databaseProperties.isMirrorIncremental();
+    }
+
+    /**
+     * Returns the mirrored library, loading it first if this is the first call
+     *
+     * @return the {@link LibrarySnapshot} of the whole library
+     */
+    public LibrarySnapshot getSnapshot() {
+        LibrarySnapshot current = snapshot;
+        if (current == null) {
+            lock.lock();
+            try {
+                if (snapshot == null) {
+                    load();
+                }
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Brings the mirror up to date if the database was updated since it was loaded
+     *
+     * @return true if the mirror was loaded or refreshed
+     */
+    public boolean refresh() {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                load();
+                return true;
+            }
+
+            long update = fetchDatabaseUpdate();
+            if (update == databaseUpdate) {
+                return false;
+            }
+
+            sync(update);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the whole library again whether it changed or not
+     */
+    public void reload() {
+        lock.lock();
+        try {
+            load();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Refreshes the mirror, called by the monitor when the database may have changed
+     */
+    @Override
+    public void checkStatus() {
+        refresh();
+    }
+
+    private void load() {
+        long update = fetchDatabaseUpdate();
+        RootListing rootListing = listRoot();
+        LibrarySnapshot library = libraryDatabase.getSnapshot();
+
+        this.directories = partition(library);
+        this.listing = rootListing;
+        this.databaseUpdate = update;
+        this.snapshot = library;
+        LOGGER.debug("Loaded {} songs in {} directories", library.size(), directories.size());
+    }
+
+    private void sync(long update) {
+        RootListing rootListing = listRoot();
+        if (!incremental || !rootListing.files.equals(listing.files)) {
+            load();
+            return;
+        }
+
+        Map<String, LibrarySnapshot> synced = new LinkedHashMap<>();
+        int loaded = 0;
+        for (Map.Entry<String, LocalDateTime> directory : rootListing.directories.entrySet()) {
+            String name = directory.getKey();
+            LibrarySnapshot songs = directories.get(name);
+            if (songs == null || isModified(name, directory.getValue())) {
+                songs = libraryDatabase.getSnapshot(name);
+                loaded++;
+            }
+            synced.put(name, songs);
+        }
+        LibrarySnapshot rootSongs = directories.get(ROOT);
+        if (rootSongs != null) {
+            synced.put(ROOT, rootSongs);
+        }
+
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        synced.values().forEach(builder::addAll);
+
+        this.directories = synced;
+        this.listing = rootListing;
+        this.databaseUpdate = update;
+        this.snapshot = builder.build();
+        LOGGER.debug("Reloaded {} of {} directories", loaded, rootListing.directories.size());
+    }
+
+    private boolean isModified(String directory, LocalDateTime lastModified) {
+        return lastModified == null || !lastModified.equals(listing.directories.get(directory));
+    }
+
+    private long fetchDatabaseUpdate() {
+        for (String line : commandExecutor.sendCommand(serverProperties.getStats())) {
+            if (line.startsWith(DB_UPDATE)) {
+                return Long.parseLong(line.substring(DB_UPDATE.length()).trim());
+            }
+        }
+        return 0;
+    }
+
+    private RootListing listRoot() {
+        RootListing rootListing = new RootListing();
+        for (MPDFile file : fileDatabase.listRootDirectory()) {
+            if (file.isDirectory()) {
+                rootListing.directories.put(file.getPath(), file.getLastModified());
+            } else {
+                rootListing.files.put(file.getPath(), file.getLastModified());
+            }
+        }
+        return rootListing;
+    }
+
+    /**
+     * Splits the library by top level directory, songs directly in the root directory go
+     * under the empty name
+     */
+    private static Map<String, LibrarySnapshot> partition(LibrarySnapshot library) {
+        Map<String, LibrarySnapshot.Builder> builders = new LinkedHashMap<>();
+        for (int i = 0; i < library.size(); i++) {
+            builders.computeIfAbsent(topLevelDirectory(library.getFile(i)), name -> LibrarySnapshot.builder())
+                    .add(library.getSong(i));
+        }
+
+        Map<String, LibrarySnapshot> partitioned = new LinkedHashMap<>();
+        builders.forEach((name, builder) -> partitioned.put(name, builder.build()));
+        return partitioned;
+    }
+
+    private static String topLevelDirectory(String file) {
+        int slash = file.indexOf('/');
+        return slash < 0 ? ROOT : file.substring(0, slash);
+    }
+
+    /**
+     * The entries of the root directory with their last modification
+     */
+    private static final class RootListing {
+        private final Map<String, LocalDateTime> directories = new LinkedHashMap<>();
+        private final Map<String, LocalDateTime> files = new HashMap<>();
+    }
+}
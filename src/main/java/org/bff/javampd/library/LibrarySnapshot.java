@@ -0,0 +1,470 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.song.MPDSong;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The songs of the library held column by column instead of as one {@link MPDSong} each.
+ * Artist, album, genre and date are stored once per distinct value and referenced by an int
+ * id, files and titles are packed as UTF-8 into one byte array each, and lengths and tracks
+ * are plain int arrays.  A library of hundreds of thousands of songs takes a fraction of the
+ * memory of the equivalent list and scans over one column touch only that column.
+ * <p>
+ * Songs are addressed by their ordinal, their position in the response they were loaded from.
+ * {@link MPDSong}s are only created when asked for and are copies, changing them does not
+ * change the snapshot.  A null title is kept as an empty one.
+ * <p>
+ * Immutable and thread safe.
+ *
+ * @author bill
+ */
+public final class LibrarySnapshot implements Iterable<MPDSong> {
+
+    /**
+     * The dictionary encoded tags songs can be grouped by
+     */
+    public enum Tag {
+        ARTIST,
+        ALBUM,
+        GENRE,
+        DATE
+    }
+
+    private final int size;
+    private final Arena files;
+    private final Arena titles;
+    private final Map<Tag, Column> tags;
+    private final Column names;
+    private final Column comments;
+    private final Column discs;
+    private final int[] lengths;
+    private final int[] tracks;
+
+    private LibrarySnapshot(Builder builder) {
+        this.size = builder.size;
+        this.files = builder.files.build();
+        this.titles = builder.titles.build();
+        this.tags = new EnumMap<>(Tag.class);
+        builder.tags.forEach((tag, column) -> this.tags.put(tag, column.build(size)));
+        this.names = builder.names.build(size);
+        this.comments = builder.comments.build(size);
+        this.discs = builder.discs.build(size);
+        this.lengths = Arrays.copyOf(builder.lengths, size);
+        this.tracks = Arrays.copyOf(builder.tracks, size);
+    }
+
+    /**
+     * @return a builder of a snapshot
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of songs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no songs
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates the song at the ordinal
+     *
+     * @param ordinal the ordinal of the song
+     * @return a new {@link MPDSong} with the values of the song
+     * @throws IndexOutOfBoundsException if there is no song at the ordinal
+     */
+    public MPDSong getSong(int ordinal) {
+        MPDSong song = new MPDSong(getFile(ordinal), getTitle(ordinal));
+        song.setName(names.value(ordinal));
+        song.setArtistName(getTag(Tag.ARTIST, ordinal));
+        song.setAlbumName(getTag(Tag.ALBUM, ordinal));
+        song.setGenre(getTag(Tag.GENRE, ordinal));
+        song.setYear(getTag(Tag.DATE, ordinal));
+        song.setComment(comments.value(ordinal));
+        song.setDiscNumber(discs.value(ordinal));
+        song.setLength(lengths[ordinal]);
+        song.setTrack(tracks[ordinal]);
+        return song;
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the file of the song
+     */
+    public String getFile(int ordinal) {
+        return files.value(checkIndex(ordinal));
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the title of the song
+     */
+    public String getTitle(int ordinal) {
+        return titles.value(checkIndex(ordinal));
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the name of the song, empty if it has none besides its title
+     */
+    public String getName(int ordinal) {
+        return names.value(checkIndex(ordinal));
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the comment of the song
+     */
+    public String getComment(int ordinal) {
+        return comments.value(checkIndex(ordinal));
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the disc number of the song
+     */
+    public String getDiscNumber(int ordinal) {
+        return discs.value(checkIndex(ordinal));
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the length of the song in seconds
+     */
+    public int getLength(int ordinal) {
+        return lengths[checkIndex(ordinal)];
+    }
+
+    /**
+     * @param ordinal the ordinal of the song
+     * @return the track number of the song
+     */
+    public int getTrack(int ordinal) {
+        return tracks[checkIndex(ordinal)];
+    }
+
+    /**
+     * @param tag     the tag
+     * @param ordinal the ordinal of the song
+     * @return the value of the tag of the song
+     */
+    public String getTag(Tag tag, int ordinal) {
+        return tags.get(tag).value(checkIndex(ordinal));
+    }
+
+    /**
+     * @param tag     the tag
+     * @param ordinal the ordinal of the song
+     * @return the id of the value of the tag of the song, an index into {@link #getValues(Tag)}
+     */
+    public int getTagId(Tag tag, int ordinal) {
+        return tags.get(tag).ids[checkIndex(ordinal)];
+    }
+
+    /**
+     * @param tag the tag
+     * @return the distinct values of the tag, in the order they were first seen
+     */
+    public List<String> getValues(Tag tag) {
+        return Collections.unmodifiableList(Arrays.asList(tags.get(tag).values));
+    }
+
+    /**
+     * @param tag the tag
+     * @return the distinct values of the tag in their natural order, without null or empty ones
+     */
+    List<String> sortedValues(Tag tag) {
+        return Arrays.stream(tags.get(tag).values)
+                .filter(value -> value != null && !value.isEmpty())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the songs of every value of the tag
+     *
+     * @param tag the tag to group by
+     * @return the number of songs by value, in the order the values were first seen
+     */
+    public Map<String, Integer> count(Tag tag) {
+        Column column = tags.get(tag);
+        int[] counts = new int[column.values.length];
+        for (int i = 0; i < size; i++) {
+            counts[column.ids[i]]++;
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int id = 0; id < counts.length; id++) {
+            result.put(column.values[id], counts[id]);
+        }
+        return result;
+    }
+
+    /**
+     * Sums the lengths of the songs of every value of the tag
+     *
+     * @param tag the tag to group by
+     * @return the total length in seconds by value, in the order the values were first seen
+     */
+    public Map<String, Long> totalLength(Tag tag) {
+        Column column = tags.get(tag);
+        long[] totals = new long[column.values.length];
+        for (int i = 0; i < size; i++) {
+            totals[column.ids[i]] += lengths[i];
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int id = 0; id < totals.length; id++) {
+            result.put(column.values[id], totals[id]);
+        }
+        return result;
+    }
+
+    /**
+     * @param tag   the tag
+     * @param value the value of the tag
+     * @return the ordinals of the songs having the value, in ascending order
+     */
+    public int[] ordinals(Tag tag, String value) {
+        Column column = tags.get(tag);
+        Integer id = column.idOf(value);
+        if (id == null) {
+            return new int[0];
+        }
+
+        int target = id;
+        return IntStream.range(0, size)
+                .filter(i -> column.ids[i] == target)
+                .toArray();
+    }
+
+    /**
+     * @return the sum of the lengths of all songs in seconds
+     */
+    public long getTotalLength() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += lengths[i];
+        }
+        return total;
+    }
+
+    /**
+     * @return a stream creating the songs as they are consumed
+     */
+    public Stream<MPDSong> stream() {
+        return IntStream.range(0, size).mapToObj(this::getSong);
+    }
+
+    @Override
+    public Iterator<MPDSong> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public MPDSong next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getSong(next++);
+            }
+        };
+    }
+
+    private int checkIndex(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("No song " + ordinal + " in a snapshot of " + size);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Collects the songs of a snapshot.  Not thread safe.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private int size;
+        private final ArenaBuilder files = new ArenaBuilder();
+        private final ArenaBuilder titles = new ArenaBuilder();
+        private final Map<Tag, ColumnBuilder> tags = new EnumMap<>(Tag.class);
+        private final ColumnBuilder names = new ColumnBuilder();
+        private final ColumnBuilder comments = new ColumnBuilder();
+        private final ColumnBuilder discs = new ColumnBuilder();
+        private int[] lengths = new int[INITIAL_CAPACITY];
+        private int[] tracks = new int[INITIAL_CAPACITY];
+
+        private Builder() {
+            for (Tag tag : Tag.values()) {
+                tags.put(tag, new ColumnBuilder());
+            }
+        }
+
+        /**
+         * Adds the song after the songs already added
+         *
+         * @param song the song
+         * @return this builder
+         */
+        public Builder add(MPDSong song) {
+            String title = song.getTitle() == null ? "" : song.getTitle();
+            String name = song.getName();
+
+            files.add(song.getFile());
+            titles.add(title);
+            tags.get(Tag.ARTIST).add(size, song.getArtistName());
+            tags.get(Tag.ALBUM).add(size, song.getAlbumName());
+            tags.get(Tag.GENRE).add(size, song.getGenre());
+            tags.get(Tag.DATE).add(size, song.getYear());
+            names.add(size, name == null || name.equals(song.getTitle()) ? "" : name);
+            comments.add(size, song.getComment());
+            discs.add(size, song.getDiscNumber());
+
+            if (size == lengths.length) {
+                lengths = Arrays.copyOf(lengths, size * 2);
+                tracks = Arrays.copyOf(tracks, size * 2);
+            }
+            lengths[size] = song.getLength();
+            tracks[size] = song.getTrack();
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds all songs of the snapshot after the songs already added
+         *
+         * @param snapshot the snapshot
+         * @return this builder
+         */
+        public Builder addAll(LibrarySnapshot snapshot) {
+            for (int i = 0; i < snapshot.size; i++) {
+                add(snapshot.getSong(i));
+            }
+            return this;
+        }
+
+        /**
+         * @return the snapshot of the songs added
+         */
+        public LibrarySnapshot build() {
+            return new LibrarySnapshot(this);
+        }
+    }
+
+    /**
+     * Strings packed one after the other as UTF-8
+     */
+    private static final class Arena {
+        private final byte[] bytes;
+        private final int[] offsets;
+
+        private Arena(byte[] bytes, int[] offsets) {
+            this.bytes = bytes;
+            this.offsets = offsets;
+        }
+
+        String value(int index) {
+            int start = offsets[index];
+            return new String(bytes, start, offsets[index + 1] - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class ArenaBuilder {
+        private byte[] bytes = new byte[Builder.INITIAL_CAPACITY * 32];
+        private int[] offsets = new int[Builder.INITIAL_CAPACITY + 1];
+        private int count;
+
+        void add(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            int start = offsets[count];
+            if (start + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + encoded.length));
+            }
+            if (count + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            System.arraycopy(encoded, 0, bytes, start, encoded.length);
+            offsets[++count] = start + encoded.length;
+        }
+
+        Arena build() {
+            return new Arena(Arrays.copyOf(bytes, offsets[count]), Arrays.copyOf(offsets, count + 1));
+        }
+    }
+
+    /**
+     * Dictionary encoded values, every song holding the id of its value
+     */
+    private static final class Column {
+        private final String[] values;
+        private final int[] ids;
+        private final Map<String, Integer> lookup;
+
+        private Column(String[] values, int[] ids, Map<String, Integer> lookup) {
+            this.values = values;
+            this.ids = ids;
+            this.lookup = lookup;
+        }
+
+        String value(int index) {
+            return values[ids[index]];
+        }
+
+        Integer idOf(String value) {
+            return lookup.get(value);
+        }
+    }
+
+    private static final class ColumnBuilder {
+        private final Map<String, Integer> lookup = new HashMap<>();
+        private String[] values = new String[Builder.INITIAL_CAPACITY];
+        private int[] ids = new int[Builder.INITIAL_CAPACITY];
+
+        void add(int index, String value) {
+            Integer id = lookup.get(value);
+            if (id == null) {
+                id = lookup.size();
+                if (id == values.length) {
+                    values = Arrays.copyOf(values, id * 2);
+                }
+                values[id] = value;
+                lookup.put(value, id);
+            }
+
+            if (index == ids.length) {
+                ids = Arrays.copyOf(ids, index * 2);
+            }
+            ids[index] = id;
+        }
+
+        Column build(int size) {
+            return new Column(Arrays.copyOf(values, lookup.size()), Arrays.copyOf(ids, size), new HashMap<>(lookup));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.database.DatabaseProperties;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.SongConverter;
+
+import java.util.stream.Stream;
+
+/**
+ * MPDLibraryDatabase loads {@link LibrarySnapshot}s with {@code listallinfo}.  To obtain an
+ * instance of the class you must use the
+ * {@link org.bff.javampd.database.MusicDatabase#getLibraryDatabase()} method from
+ * the {@link org.bff.javampd.server.MPD} connection class.
+ *
+ * @author bill
+ */
+public class MPDLibraryDatabase implements LibraryDatabase {
+    private final DatabaseProperties databaseProperties;
+    private final CommandExecutor commandExecutor;
+    private final SongConverter songConverter;
+
+    @Inject
+    public MPDLibraryDatabase(DatabaseProperties databaseProperties,
+                              CommandExecutor commandExecutor,
+                              SongConverter songConverter) {
+        this.databaseProperties = databaseProperties;
+        this.commandExecutor = commandExecutor;
+        this.songConverter = songConverter;
+    }
+
+    @Override
+    public LibrarySnapshot getSnapshot() {
+        return load(new MPDCommand(databaseProperties.getListAllInfo()));
+    }
+
+    @Override
+    public LibrarySnapshot getSnapshot(String directory) {
+        return load(new MPDCommand(databaseProperties.getListAllInfo(), directory));
+    }
+
+    private LibrarySnapshot load(MPDCommand command) {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        try (Stream<MPDSong> songs = songConverter.convertResponseToSongStream(commandExecutor.openResponse(command))) {
+            songs.forEach(builder::add);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,179 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.album.AlbumDatabase;
+import org.bff.javampd.album.MPDAlbum;
+import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.genre.MPDGenre;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AlbumDatabase} answering from the {@link LibraryMirror} instead of the server.  An
+ * album is listed once for every combination of artist, date and genre among its songs, as
+ * the server does when grouping by them.  The albums are worked out once per version of the
+ * library.
+ *
+ * @author bill
+ */
+public class MirrorAlbumDatabase implements AlbumDatabase {
+    private static final Comparator<String> VALUE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Album> ALBUM_ORDER = Comparator.comparing((Album album) -> album.name, VALUE_ORDER)
+            .thenComparing(album -> album.artist, VALUE_ORDER)
+            .thenComparing(album -> album.date, VALUE_ORDER)
+            .thenComparing(album -> album.genre, VALUE_ORDER);
+
+    private final LibraryMirror libraryMirror;
+    private volatile Albums albums;
+
+    @Inject
+    public MirrorAlbumDatabase(LibraryMirror libraryMirror) {
+        this.libraryMirror = libraryMirror;
+    }
+
+    @Override
+    public Collection<MPDAlbum> listAlbumsByGenre(MPDGenre genre) {
+        return list(album -> Objects.equals(album.genre, genre.getName()));
+    }
+
+    @Override
+    public Collection<MPDAlbum> listAlbumsByYear(String year) {
+        return list(album -> Objects.equals(album.date, year));
+    }
+
+    @Override
+    public Collection<String> listAlbumNamesByYear(String year) {
+        return names(album -> Objects.equals(album.date, year));
+    }
+
+    @Override
+    public Collection<MPDAlbum> listAlbumsByArtist(MPDArtist artist) {
+        return list(album -> Objects.equals(album.artist, artist.getName()));
+    }
+
+    @Override
+    public Collection<String> listAllAlbumNames() {
+        return names(album -> true);
+    }
+
+    @Override
+    public Collection<MPDAlbum> listAllAlbums() {
+        return list(album -> true);
+    }
+
+    @Override
+    public Collection<MPDAlbum> listAllAlbums(int start, int end) {
+        List<MPDAlbum> all = list(album -> true);
+
+        int toIndex = Math.min(end, all.size());
+        int fromIndex = Math.min(start, end);
+
+        return all.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Collection<MPDAlbum> findAlbum(String albumName) {
+        return list(album -> Objects.equals(album.name, albumName));
+    }
+
+    private List<MPDAlbum> list(Predicate<Album> filter) {
+        return albums().stream()
+                .filter(filter)
+                .map(Album::toMPDAlbum)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> names(Predicate<Album> filter) {
+        return albums().stream()
+                .filter(filter)
+                .map(album -> album.name)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private List<Album> albums() {
+        LibrarySnapshot library = libraryMirror.getSnapshot();
+        Albums current = albums;
+        if (current == null || current.library != library) {
+            current = new Albums(library, group(library));
+            albums = current;
+        }
+        return current.albums;
+    }
+
+    private static List<Album> group(LibrarySnapshot library) {
+        Set<Album> grouped = new LinkedHashSet<>();
+        for (int i = 0; i < library.size(); i++) {
+            String name = library.getTag(LibrarySnapshot.Tag.ALBUM, i);
+            if (name != null && !name.isEmpty()) {
+                grouped.add(new Album(name,
+                        library.getTag(LibrarySnapshot.Tag.ARTIST, i),
+                        library.getTag(LibrarySnapshot.Tag.DATE, i),
+                        library.getTag(LibrarySnapshot.Tag.GENRE, i)));
+            }
+        }
+
+        List<Album> sorted = new ArrayList<>(grouped);
+        sorted.sort(ALBUM_ORDER);
+        return sorted;
+    }
+
+    private static final class Albums {
+        private final LibrarySnapshot library;
+        private final List<Album> albums;
+
+        private Albums(LibrarySnapshot library, List<Album> albums) {
+            this.library = library;
+            this.albums = albums;
+        }
+    }
+
+    private static final class Album {
+        private final String name;
+        private final String artist;
+        private final String date;
+        private final String genre;
+
+        private Album(String name, String artist, String date, String genre) {
+            this.name = name;
+            this.artist = artist;
+            this.date = date;
+            this.genre = genre;
+        }
+
+        MPDAlbum toMPDAlbum() {
+            MPDAlbum album = new MPDAlbum(name, artist);
+            album.setDate(date);
+            album.setGenre(genre);
+            return album;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Album)) {
+                return false;
+            }
+            Album album = (Album) o;
+            return name.equals(album.name)
+                    && Objects.equals(artist, album.artist)
+                    && Objects.equals(date, album.date)
+                    && Objects.equals(genre, album.genre);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, artist, date, genre);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.artist.ArtistDatabase;
+import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.genre.MPDGenre;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ArtistDatabase} answering from the {@link LibraryMirror} instead of the server
+ *
+ * @author bill
+ */
+public class MirrorArtistDatabase implements ArtistDatabase {
+    private final LibraryMirror libraryMirror;
+
+    @Inject
+    public MirrorArtistDatabase(LibraryMirror libraryMirror) {
+        this.libraryMirror = libraryMirror;
+    }
+
+    @Override
+    public Collection<MPDArtist> listAllArtists() {
+        return libraryMirror.getSnapshot().sortedValues(LibrarySnapshot.Tag.ARTIST)
+                .stream()
+                .map(MPDArtist::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<MPDArtist> listArtistsByGenre(MPDGenre genre) {
+        LibrarySnapshot library = libraryMirror.getSnapshot();
+        int genreId = library.getValues(LibrarySnapshot.Tag.GENRE).indexOf(genre.getName());
+
+        TreeSet<String> artists = new TreeSet<>();
+        for (int i = 0; genreId >= 0 && i < library.size(); i++) {
+            if (library.getTagId(LibrarySnapshot.Tag.GENRE, i) == genreId) {
+                String artist = library.getTag(LibrarySnapshot.Tag.ARTIST, i);
+                if (artist != null && !artist.isEmpty()) {
+                    artists.add(artist);
+                }
+            }
+        }
+
+        return artists.stream()
+                .map(MPDArtist::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public MPDArtist listArtistByName(String name) {
+        return libraryMirror.getSnapshot().getValues(LibrarySnapshot.Tag.ARTIST).contains(name)
+                ? new MPDArtist(name)
+                : null;
+    }
+}
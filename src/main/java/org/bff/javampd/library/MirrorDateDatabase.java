@@ -0,0 +1,25 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.year.DateDatabase;
+
+import java.util.Collection;
+
+/**
+ * {@link DateDatabase} answering from the {@link LibraryMirror} instead of the server
+ *
+ * @author bill
+ */
+public class MirrorDateDatabase implements DateDatabase {
+    private final LibraryMirror libraryMirror;
+
+    @Inject
+    public MirrorDateDatabase(LibraryMirror libraryMirror) {
+        this.libraryMirror = libraryMirror;
+    }
+
+    @Override
+    public Collection<String> listAllDates() {
+        return libraryMirror.getSnapshot().sortedValues(LibrarySnapshot.Tag.DATE);
+    }
+}
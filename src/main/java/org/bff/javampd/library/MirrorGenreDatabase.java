@@ -0,0 +1,37 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.genre.GenreDatabase;
+import org.bff.javampd.genre.MPDGenre;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * {@link GenreDatabase} answering from the {@link LibraryMirror} instead of the server
+ *
+ * @author bill
+ */
+public class MirrorGenreDatabase implements GenreDatabase {
+    private final LibraryMirror libraryMirror;
+
+    @Inject
+    public MirrorGenreDatabase(LibraryMirror libraryMirror) {
+        this.libraryMirror = libraryMirror;
+    }
+
+    @Override
+    public Collection<MPDGenre> listAllGenres() {
+        return libraryMirror.getSnapshot().sortedValues(LibrarySnapshot.Tag.GENRE)
+                .stream()
+                .map(MPDGenre::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public MPDGenre listGenreByName(String name) {
+        return libraryMirror.getSnapshot().getValues(LibrarySnapshot.Tag.GENRE).contains(name)
+                ? new MPDGenre(name)
+                : null;
+    }
+}
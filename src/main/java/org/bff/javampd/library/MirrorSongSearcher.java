@@ -0,0 +1,180 @@
+package org.bff.javampd.library;
+
+import com.google.inject.Inject;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongSearcher;
+import org.bff.javampd.song.SongSearcher;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link SongSearcher} answering from the {@link LibraryMirror} instead of the server.  Like
+ * the server a find matches whole values exactly and a search matches any part of a value
+ * ignoring case.  Songs come back in library order.  Composer and performer aren't mirrored,
+ * searches on them still go to the server.
+ *
+ * @author bill
+ */
+public class MirrorSongSearcher implements SongSearcher {
+    private final LibraryMirror libraryMirror;
+    private final SongSearcher serverSearcher;
+
+    @Inject
+    public MirrorSongSearcher(LibraryMirror libraryMirror, MPDSongSearcher serverSearcher) {
+        this.libraryMirror = libraryMirror;
+        this.serverSearcher = serverSearcher;
+    }
+
+    @Override
+    public Collection<MPDSong> search(ScopeType searchType, String criteria) {
+        if (!isMirrored(searchType)) {
+            return serverSearcher.search(searchType, criteria);
+        }
+        return songs(matching(searchType, criteria, false));
+    }
+
+    @Override
+    public Collection<MPDSong> search(ScopeType searchType, String criteria, int start, int end) {
+        if (!isMirrored(searchType)) {
+            return serverSearcher.search(searchType, criteria, start, end);
+        }
+        return songs(window(matching(searchType, criteria, false), start, end));
+    }
+
+    @Override
+    public Collection<MPDSong> find(ScopeType scopeType, String criteria) {
+        if (!isMirrored(scopeType)) {
+            return serverSearcher.find(scopeType, criteria);
+        }
+        return songs(matching(scopeType, criteria, true));
+    }
+
+    @Override
+    public Collection<MPDSong> find(ScopeType scopeType, String criteria, int start, int end) {
+        if (!isMirrored(scopeType)) {
+            return serverSearcher.find(scopeType, criteria, start, end);
+        }
+        return songs(window(matching(scopeType, criteria, true), start, end));
+    }
+
+    @Override
+    public Stream<MPDSong> searchStream(ScopeType searchType, String criteria) {
+        if (!isMirrored(searchType)) {
+            return serverSearcher.searchStream(searchType, criteria);
+        }
+        return stream(matching(searchType, criteria, false));
+    }
+
+    @Override
+    public Stream<MPDSong> findStream(ScopeType scopeType, String criteria) {
+        if (!isMirrored(scopeType)) {
+            return serverSearcher.findStream(scopeType, criteria);
+        }
+        return stream(matching(scopeType, criteria, true));
+    }
+
+    private static boolean isMirrored(ScopeType scopeType) {
+        return scopeType != ScopeType.COMPOSER && scopeType != ScopeType.PERFORMER;
+    }
+
+    private Matches matching(ScopeType scopeType, String criteria, boolean exact) {
+        LibrarySnapshot library = libraryMirror.getSnapshot();
+        IntPredicate matcher = songMatcher(library, scopeType, valueMatcher(criteria, exact));
+        return new Matches(library, IntStream.range(0, library.size()).filter(matcher).toArray());
+    }
+
+    private static Matches window(Matches matches, int start, int end) {
+        int from = Math.min(Math.max(start, 0), matches.ordinals.length);
+        int to = Math.max(from, Math.min(end, matches.ordinals.length));
+        return new Matches(matches.library, Arrays.copyOfRange(matches.ordinals, from, to));
+    }
+
+    private static List<MPDSong> songs(Matches matches) {
+        return stream(matches).collect(Collectors.toList());
+    }
+
+    private static Stream<MPDSong> stream(Matches matches) {
+        return Arrays.stream(matches.ordinals).mapToObj(matches.library::getSong);
+    }
+
+    private static Predicate<String> valueMatcher(String criteria, boolean exact) {
+        String value = criteria == null ? "" : criteria;
+        if (exact) {
+            return value::equals;
+        }
+
+        String lowerCase = value.toLowerCase(Locale.ROOT);
+        return candidate -> candidate != null && candidate.toLowerCase(Locale.ROOT).contains(lowerCase);
+    }
+
+    private static IntPredicate songMatcher(LibrarySnapshot library, ScopeType scopeType, Predicate<String> matcher) {
+        switch (scopeType) {
+            case ALBUM:
+                return tagMatcher(library, LibrarySnapshot.Tag.ALBUM, matcher);
+            case ARTIST:
+                return tagMatcher(library, LibrarySnapshot.Tag.ARTIST, matcher);
+            case GENRE:
+                return tagMatcher(library, LibrarySnapshot.Tag.GENRE, matcher);
+            case DATE:
+                return tagMatcher(library, LibrarySnapshot.Tag.DATE, matcher);
+            case TITLE:
+                return i -> matcher.test(library.getTitle(i));
+            case TRACK:
+                return i -> matcher.test(Integer.toString(library.getTrack(i)));
+            case NAME:
+                return i -> matcher.test(library.getName(i));
+            case COMMENT:
+                return i -> matcher.test(library.getComment(i));
+            case DISC:
+                return i -> matcher.test(library.getDiscNumber(i));
+            case FILENAME:
+                return i -> matcher.test(library.getFile(i));
+            case ANY:
+                return anyMatcher(library, matcher);
+            default:
+                throw new IllegalArgumentException(scopeType + " is not mirrored");
+        }
+    }
+
+    private static IntPredicate anyMatcher(LibrarySnapshot library, Predicate<String> matcher) {
+        return songMatcher(library, ScopeType.ALBUM, matcher)
+                .or(songMatcher(library, ScopeType.ARTIST, matcher))
+                .or(songMatcher(library, ScopeType.GENRE, matcher))
+                .or(songMatcher(library, ScopeType.DATE, matcher))
+                .or(songMatcher(library, ScopeType.TITLE, matcher))
+                .or(songMatcher(library, ScopeType.TRACK, matcher))
+                .or(songMatcher(library, ScopeType.NAME, matcher))
+                .or(songMatcher(library, ScopeType.COMMENT, matcher))
+                .or(songMatcher(library, ScopeType.DISC, matcher));
+    }
+
+    /**
+     * Matches the tag once per distinct value instead of once per song
+     */
+    private static IntPredicate tagMatcher(LibrarySnapshot library, LibrarySnapshot.Tag tag, Predicate<String> matcher) {
+        List<String> values = library.getValues(tag);
+        boolean[] matches = new boolean[values.size()];
+        for (int id = 0; id < matches.length; id++) {
+            matches[id] = values.get(id) != null && matcher.test(values.get(id));
+        }
+        return i -> matches[library.getTagId(tag, i)];
+    }
+
+    private static final class Matches {
+        private final LibrarySnapshot library;
+        private final int[] ordinals;
+
+        private Matches(LibrarySnapshot library, int[] ordinals) {
+            this.library = library;
+            this.ordinals = ordinals;
+        }
+    }
+}
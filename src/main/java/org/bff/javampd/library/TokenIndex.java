@@ -0,0 +1,232 @@
+package org.bff.javampd.library;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index of the words in a list of values.  It answers the case insensitive
+ * substring match of a search without looking at every value.
+ * <p>
+ * Each distinct word keeps the ids of the values it appears in.  The suffixes of the words
+ * are kept sorted, so a binary search finds every word containing a query word, not only
+ * the words starting with it.
+ * <p>
+ * A query is split into words the same way as the values.  Only the values holding a match
+ * for each query word are then checked against the whole query, so a match spanning several
+ * words behaves as it does on the server.
+ * <p>
+ * Immutable and thread safe once built.
+ *
+ * @author bill
+ */
+final class TokenIndex {
+    private final List<String> values;
+    private final String[] words;
+    private final int[][] postings;
+    private final long[] suffixes;
+
+    private TokenIndex(List<String> values) {
+        this.values = values;
+
+        Map<String, Postings> byWord = new HashMap<>();
+        for (int id = 0; id < values.size(); id++) {
+            String value = values.get(id);
+            if (value != null) {
+                for (String word : words(value.toLowerCase(Locale.ROOT))) {
+                    byWord.computeIfAbsent(word, w -> new Postings()).add(id);
+                }
+            }
+        }
+
+        this.words = byWord.keySet().toArray(new String[0]);
+        this.postings = new int[words.length][];
+        int suffixCount = 0;
+        for (int w = 0; w < words.length; w++) {
+            postings[w] = byWord.get(words[w]).toArray();
+            suffixCount += words[w].length();
+        }
+        this.suffixes = sortSuffixes(suffixCount);
+    }
+
+    /**
+     * Builds the index of the values, the position of a value in the list is its id
+     *
+     * @param values the values to index, may hold nulls
+     * @return the index
+     */
+    static TokenIndex of(List<String> values) {
+        return new TokenIndex(values);
+    }
+
+    /**
+     * @return the number of distinct words indexed
+     */
+    int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * Finds the values containing the criteria, ignoring case
+     *
+     * @param criteria the text to search for, null for any value
+     * @return the ids of the matching values
+     */
+    BitSet search(String criteria) {
+        String query = criteria == null ? "" : criteria.toLowerCase(Locale.ROOT);
+        List<String> queryWords = words(query);
+
+        BitSet matches = null;
+        for (String word : queryWords) {
+            BitSet containing = containing(word);
+            if (matches == null) {
+                matches = containing;
+            } else {
+                matches.and(containing);
+            }
+            if (matches.isEmpty()) {
+                return matches;
+            }
+        }
+        if (matches == null) {
+            matches = new BitSet(values.size());
+            matches.set(0, values.size());
+        }
+
+        // a query made of a single word was fully answered by the index
+        if (queryWords.size() != 1 || !queryWords.get(0).equals(query)) {
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                String value = values.get(id);
+                if (value == null || !value.toLowerCase(Locale.ROOT).contains(query)) {
+                    matches.clear(id);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private BitSet containing(String word) {
+        BitSet matchingWords = new BitSet(words.length);
+        for (int i = lowerBound(word); i < suffixes.length && startsWith(suffixes[i], word); i++) {
+            matchingWords.set(word(suffixes[i]));
+        }
+
+        BitSet ids = new BitSet(values.size());
+        for (int w = matchingWords.nextSetBit(0); w >= 0; w = matchingWords.nextSetBit(w + 1)) {
+            for (int id : postings[w]) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+    private int lowerBound(String word) {
+        int low = 0;
+        int high = suffixes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(suffixes[middle], word) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean startsWith(long suffix, String word) {
+        return words[word(suffix)].startsWith(word, offset(suffix));
+    }
+
+    private int compare(long suffix, String word) {
+        String text = words[word(suffix)];
+        int offset = offset(suffix);
+        int length = Math.min(text.length() - offset, word.length());
+        for (int i = 0; i < length; i++) {
+            int difference = text.charAt(offset + i) - word.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return (text.length() - offset) - word.length();
+    }
+
+    private int compareSuffixes(long a, long b) {
+        String textA = words[word(a)];
+        String textB = words[word(b)];
+        int offsetA = offset(a);
+        int offsetB = offset(b);
+        int length = Math.min(textA.length() - offsetA, textB.length() - offsetB);
+        for (int i = 0; i < length; i++) {
+            int difference = textA.charAt(offsetA + i) - textB.charAt(offsetB + i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return (textA.length() - offsetA) - (textB.length() - offsetB);
+    }
+
+    private long[] sortSuffixes(int count) {
+        Long[] sorted = new Long[count];
+        int i = 0;
+        for (int w = 0; w < words.length; w++) {
+            for (int offset = 0; offset < words[w].length(); offset++) {
+                sorted[i++] = (long) w << 32 | offset;
+            }
+        }
+        Arrays.sort(sorted, this::compareSuffixes);
+        return Arrays.stream(sorted).mapToLong(Long::longValue).toArray();
+    }
+
+    private static int word(long suffix) {
+        return (int) (suffix >>> 32);
+    }
+
+    private static int offset(long suffix) {
+        return (int) suffix;
+    }
+
+    /**
+     * Splits the text into its runs of letters and digits
+     */
+    private static List<String> words(String text) {
+        List<String> found = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                found.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The ids of the values holding a word, in increasing order without duplicates
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        private void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.player.PlayerBasicChangeEvent;
+import org.bff.javampd.server.CommandBuffer;
+import org.bff.javampd.server.ResponseProperties;
+import org.bff.javampd.server.ServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Connection of a {@link MonitorHub} to one server.  The protocol runs as a state machine on
+ * the selector thread of the hub: greeting, password, then alternating {@code status} and
+ * {@code idle}.  Status responses are handed to the worker of the server, which owns the
+ * monitors and fires the events.
+ *
+ * @author bill
+ */
+final class HubConnection {
+    /**
+     * The deadline of a connection that needs no timer
+     */
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HubConnection.class);
+    private static final int BUFFER_SIZE = 4096;
+    private static final String CHANGED = "changed:";
+    private static final Set<IdleSubsystem> STATUS_SUBSYSTEMS = EnumSet.of(IdleSubsystem.PLAYER,
+            IdleSubsystem.MIXER,
+            IdleSubsystem.OPTIONS,
+            IdleSubsystem.PLAYLIST);
+
+    private enum State {
+        CONNECTING,
+        GREETING,
+        PASSWORD,
+        STATUS,
+        IDLE,
+        DISCONNECTED,
+        CLOSED
+    }
+
+    private final MonitoredServer server;
+    private final MonitorHub hub;
+    private final Executor worker;
+    private final Commands commands;
+    private final ServerMonitors monitors;
+    private final List<String> response;
+
+    private SocketChannel channel;
+    private SelectionKey key;
+    private ByteBuffer input;
+    private ByteBuffer pending;
+    private State state;
+    private Set<IdleSubsystem> changed;
+    private boolean connected;
+    private boolean woken;
+    private long idleSince;
+    private long reconnectAt;
+    private volatile boolean playing;
+
+    HubConnection(MonitoredServer server, MonitorHub hub, Executor worker) {
+        this.server = server;
+        this.hub = hub;
+        this.worker = worker;
+        this.commands = hub.getCommands();
+        this.monitors = new ServerMonitors();
+        this.response = new ArrayList<>();
+        this.input = ByteBuffer.allocate(BUFFER_SIZE);
+        this.connected = true;
+        this.state = State.DISCONNECTED;
+    }
+
+    /**
+     * Starts connecting, the rest of the handshake happens as the channel becomes ready
+     *
+     * @param selector the selector of the hub
+     */
+    void connect(Selector selector) {
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            input.clear();
+            pending = null;
+            response.clear();
+            if (channel.connect(server.getSocketAddress())) {
+                key = channel.register(selector, SelectionKey.OP_READ, this);
+                state = State.GREETING;
+            } else {
+                key = channel.register(selector, SelectionKey.OP_CONNECT, this);
+                state = State.CONNECTING;
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Handles the ready operations of the channel
+     */
+    void handle() {
+        try {
+            if (key.isConnectable()) {
+                channel.finishConnect();
+                key.interestOps(SelectionKey.OP_READ);
+                state = State.GREETING;
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush();
+            }
+            if (key.isValid() && key.isReadable()) {
+                read();
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Returns the earlier of two deadlines.  {@link System#nanoTime()} values may wrap, so they
+     * are compared by their difference.
+     *
+     * @param deadline a deadline or {@link #NO_DEADLINE}
+     * @param other    another deadline or {@link #NO_DEADLINE}
+     * @return the earlier deadline, {@link #NO_DEADLINE} if neither is one
+     */
+    static long earlier(long deadline, long other) {
+        if (deadline == NO_DEADLINE) {
+            return other;
+        }
+        if (other == NO_DEADLINE) {
+            return deadline;
+        }
+        return other - deadline < 0 ? other : deadline;
+    }
+
+    /**
+     * @param now      a {@link System#nanoTime()}
+     * @param deadline a deadline or {@link #NO_DEADLINE}
+     * @return true if the deadline has passed at now
+     */
+    static boolean isDue(long now, long deadline) {
+        return deadline != NO_DEADLINE && now - deadline >= 0;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} this connection next needs {@link #onTimer(long, Selector)},
+     * {@link #NO_DEADLINE} if it doesn't
+     */
+    long getDeadline() {
+        if (state == State.DISCONNECTED) {
+            return reconnectAt;
+        }
+        if (state == State.IDLE && playing && !woken) {
+            return idleSince + hub.getDelay();
+        }
+        return NO_DEADLINE;
+    }
+
+    /**
+     * Reconnects a lost connection or wakes the idle connection of a playing server so the
+     * track position is refreshed
+     */
+    void onTimer(long now, Selector selector) {
+        if (!isDue(now, getDeadline())) {
+            return;
+        }
+
+        if (state == State.DISCONNECTED) {
+            connect(selector);
+        } else {
+            woken = true;
+            send(commands.noIdle);
+        }
+    }
+
+    private boolean isOpen() {
+        return state != State.DISCONNECTED && state != State.CLOSED;
+    }
+
+    void close() {
+        state = State.CLOSED;
+        closeChannel();
+    }
+
+    private void read() throws IOException {
+        int read = channel.read(input);
+        if (read < 0) {
+            throw new EOFException("Connection closed by " + server);
+        }
+
+        byte[] bytes = input.array();
+        int start = 0;
+        for (int i = 0; i < input.position() && isOpen(); i++) {
+            if (bytes[i] == '\n') {
+                int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+                handleLine(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+
+        if (!isOpen()) {
+            return;
+        }
+        input.flip().position(start);
+        input.compact();
+        if (!input.hasRemaining()) {
+            input = ByteBuffer.allocate(input.capacity() * 2).put(input.flip());
+        }
+    }
+
+    private void handleLine(String line) throws IOException {
+        if (state == State.GREETING) {
+            if (!line.startsWith(commands.ok)) {
+                throw new IOException("Command from server: " + line);
+            }
+            authenticate();
+        } else if (line.startsWith(commands.error) && state == State.PASSWORD) {
+            refuse(line);
+        } else if (line.startsWith(commands.error)) {
+            throw new IOException("Error from " + server + " in state " + state + ": " + line);
+        } else if (line.startsWith(commands.ok)) {
+            complete();
+        } else {
+            response.add(line);
+        }
+    }
+
+    private void authenticate() {
+        if (server.getPassword() == null) {
+            sendStatus(EnumSet.allOf(IdleSubsystem.class));
+        } else {
+            state = State.PASSWORD;
+            send(commands.password(server.getPassword()));
+        }
+    }
+
+    private void complete() {
+        List<String> lines = new ArrayList<>(response);
+        response.clear();
+
+        if (state == State.PASSWORD) {
+            sendStatus(EnumSet.allOf(IdleSubsystem.class));
+        } else if (state == State.STATUS) {
+            dispatchStatus(lines);
+            sendIdle();
+        } else if (state == State.IDLE) {
+            Set<IdleSubsystem> subsystems = changedSubsystems(lines);
+            if (subsystems.isEmpty() || !Collections.disjoint(subsystems, STATUS_SUBSYSTEMS)) {
+                sendStatus(subsystems);
+            } else {
+                sendIdle();
+            }
+        }
+    }
+
+    private void dispatchStatus(List<String> lines) {
+        boolean reconnected = !connected;
+        Set<IdleSubsystem> subsystems = changed;
+        connected = true;
+
+        worker.execute(() -> {
+            if (reconnected) {
+                hub.fireConnectionChange(server, true);
+            }
+            monitors.update(lines, subsystems);
+            boolean nowPlaying = monitors.isPlaying();
+            if (nowPlaying != playing) {
+                playing = nowPlaying;
+                hub.reschedule(this);
+            }
+        });
+    }
+
+    private void sendStatus(Set<IdleSubsystem> subsystems) {
+        changed = subsystems;
+        state = State.STATUS;
+        send(commands.status);
+    }
+
+    private void sendIdle() {
+        state = State.IDLE;
+        woken = false;
+        idleSince = System.nanoTime();
+        send(commands.idle);
+        hub.reschedule(this);
+    }
+
+    private static Set<IdleSubsystem> changedSubsystems(List<String> lines) {
+        Set<IdleSubsystem> subsystems = EnumSet.noneOf(IdleSubsystem.class);
+        for (String line : lines) {
+            IdleSubsystem subsystem = line.startsWith(CHANGED)
+                    ? IdleSubsystem.lookup(line.substring(CHANGED.length()).trim())
+                    : null;
+            if (subsystem != null) {
+                subsystems.add(subsystem);
+            }
+        }
+        return subsystems;
+    }
+
+    private void send(byte[] command) {
+        try {
+            if (pending != null) {
+                pending = ByteBuffer.allocate(pending.remaining() + command.length).put(pending).put(command).flip();
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(command);
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                pending = buffer;
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void flush() throws IOException {
+        channel.write(pending);
+        if (!pending.hasRemaining()) {
+            pending = null;
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Gives up on a server refusing the password, reconnecting would only be refused again
+     *
+     * @param line the error from the server
+     */
+    private void refuse(String line) {
+        LOGGER.error("{} refused the password, no longer monitoring it: {}", server, line);
+        close();
+        connected = false;
+        worker.execute(() -> hub.fireConnectionChange(server, false, line));
+    }
+
+    /**
+     * Closes the channel and schedules a reconnect
+     *
+     * @param e the reason the connection is lost
+     */
+    void fail(Exception e) {
+        if (state == State.CLOSED) {
+            return;
+        }
+
+        LOGGER.error("Lost connection to {}, reconnecting in {}ms", server, hub.getExceptionDelay() / 1_000_000, e);
+        closeChannel();
+        state = State.DISCONNECTED;
+        reconnectAt = System.nanoTime() + hub.getExceptionDelay();
+        hub.reschedule(this);
+
+        if (connected) {
+            connected = false;
+            worker.execute(() -> hub.fireConnectionChange(server, false));
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close connection to {}", server, e);
+            }
+        }
+    }
+
+    /**
+     * Encoded commands and response markers shared by every connection of a hub
+     */
+    static final class Commands {
+        private final byte[] status;
+        private final byte[] idle;
+        private final byte[] noIdle;
+        private final String passwordCommand;
+        private final String ok;
+        private final String error;
+
+        Commands(ServerProperties serverProperties, ResponseProperties responseProperties) {
+            this.status = encode(serverProperties.getStatus());
+            this.idle = encode(serverProperties.getIdle() + " " + String.join(" ",
+                    Arrays.stream(IdleSubsystem.values()).map(IdleSubsystem::getName).toArray(String[]::new)));
+            this.noIdle = encode(serverProperties.getNoIdle());
+            this.passwordCommand = serverProperties.getPassword();
+            this.ok = responseProperties.getOk();
+            this.error = responseProperties.getError();
+        }
+
+        byte[] password(String password) {
+            return CommandBuffer.encode(new MPDCommand(passwordCommand, password), StandardCharsets.UTF_8);
+        }
+
+        private static byte[] encode(String command) {
+            return (command + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The monitors of the server, only used on its worker
+     */
+    private final class ServerMonitors {
+        private final MPDPlayerMonitor playerMonitor;
+        private final MPDPlaylistMonitor playlistMonitor;
+        private final MPDTrackMonitor trackMonitor;
+
+        ServerMonitors() {
+            this.playerMonitor = new MPDPlayerMonitor();
+            this.playlistMonitor = new MPDPlaylistMonitor(playerMonitor);
+            this.trackMonitor = new MPDTrackMonitor();
+
+            playerMonitor.addPlayerChangeListener(event -> {
+                if (event.getStatus() == PlayerBasicChangeEvent.Status.PLAYER_STOPPED) {
+                    trackMonitor.resetElapsedTime();
+                    playlistMonitor.playerStopped();
+                }
+                hub.firePlayerChange(server, event);
+            });
+            playlistMonitor.addPlaylistChangeListener(event -> hub.firePlaylistChange(server, event));
+            trackMonitor.addTrackPositionChangeListener(event -> hub.fireTrackPositionChange(server, event));
+        }
+
+        /**
+         * Feeds the status to the monitors and checks those depending on the changed subsystems,
+         * the track monitor alone if the connection was only woken
+         */
+        void update(List<String> status, Set<IdleSubsystem> subsystems) {
+            for (String line : status) {
+                trackMonitor.processResponseStatus(line);
+                playerMonitor.processResponseStatus(line);
+                playlistMonitor.processResponseStatus(line);
+            }
+
+            if (subsystems.isEmpty() || subsystems.contains(IdleSubsystem.PLAYER)) {
+                trackMonitor.checkStatus();
+            }
+            if (!Collections.disjoint(subsystems, EnumSet.of(IdleSubsystem.PLAYER, IdleSubsystem.MIXER,
+                    IdleSubsystem.OPTIONS))) {
+                playerMonitor.checkStatus();
+            }
+            if (!Collections.disjoint(subsystems, EnumSet.of(IdleSubsystem.PLAYLIST, IdleSubsystem.PLAYER))) {
+                playlistMonitor.checkStatus();
+            }
+        }
+
+        boolean isPlaying() {
+            return playerMonitor.getStatus() == PlayerStatus.STATUS_PLAYING;
+        }
+    }
+}
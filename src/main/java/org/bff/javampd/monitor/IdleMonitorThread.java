@@ -0,0 +1,331 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.MPDSocket;
+import org.bff.javampd.server.ServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monitor loop that parks a dedicated connection in {@code idle} instead of polling the
+ * status.  When the server reports changed subsystems the status is fetched once and only the
+ * monitors registered for those subsystems are fed and checked, so nothing is sent while
+ * nothing happens.
+ * <p>
+ * The elapsed time of a playing song changes without an idle event, so monitors added with
+ * {@link #addPlaybackMonitor} are also checked every delay seconds while the player is
+ * playing.  The connection is woken for this with {@code noidle}.
+ *
+ * @author bill
+ */
+public class IdleMonitorThread implements MonitorThread {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdleMonitorThread.class);
+    private static final String CHANGED = "changed:";
+
+    private final List<Registration> registrations;
+    private final CommandExecutor commandExecutor;
+    private final ConnectionMonitor connectionMonitor;
+    private final PlayerMonitor playerMonitor;
+    private final MPDCommand idleCommand;
+    private final MPDCommand statusCommand;
+    private final int delay;
+    private final int exceptionDelay;
+
+    private ScheduledExecutorService waker;
+    private volatile MPDSocket socket;
+    private volatile boolean stopped;
+    private volatile boolean done;
+    private volatile boolean initialized;
+
+    /**
+     * Creates the idle monitor thread
+     *
+     * @param commandExecutor   opens the connection parked in idle
+     * @param connectionMonitor connection monitor
+     * @param playerMonitor     tells whether the player is playing
+     * @param delay             the number of seconds between checks of the playback monitors
+     * @param exceptionDelay    the number of seconds to wait should an error occur
+     */
+    public IdleMonitorThread(CommandExecutor commandExecutor,
+                             ConnectionMonitor connectionMonitor,
+                             PlayerMonitor playerMonitor,
+                             int delay,
+                             int exceptionDelay) {
+        this.commandExecutor = commandExecutor;
+        this.connectionMonitor = connectionMonitor;
+        this.playerMonitor = playerMonitor;
+        this.delay = delay;
+        this.exceptionDelay = exceptionDelay;
+        this.registrations = new CopyOnWriteArrayList<>();
+
+        ServerProperties serverProperties = new ServerProperties();
+        this.idleCommand = new MPDCommand(serverProperties.getIdle(),
+                Arrays.stream(IdleSubsystem.values()).map(IdleSubsystem::getName).toArray(String[]::new));
+        this.statusCommand = new MPDCommand(serverProperties.getStatus());
+    }
+
+    /**
+     * Adds a {@link Monitor} checked whenever one of the subsystems changes.  Monitors are
+     * checked in the order they were added.
+     *
+     * @param monitor    the {@link Monitor} to add
+     * @param subsystems the subsystems the monitor depends on
+     */
+    public void addMonitor(Monitor monitor, IdleSubsystem... subsystems) {
+        registrations.add(new Registration(monitor, subsystems, false));
+    }
+
+    /**
+     * Adds a {@link Monitor} checked whenever one of the subsystems changes and every delay
+     * seconds while the player is playing
+     *
+     * @param monitor    the {@link Monitor} to add
+     * @param subsystems the subsystems the monitor depends on
+     */
+    public void addPlaybackMonitor(Monitor monitor, IdleSubsystem... subsystems) {
+        registrations.add(new Registration(monitor, subsystems, true));
+    }
+
+    /**
+     * Removes the {@link Monitor}
+     *
+     * @param monitor the {@link Monitor} to remove
+     */
+    public void removeMonitor(Monitor monitor) {
+        registrations.removeIf(registration -> registration.monitor == monitor);
+    }
+
+    @Override
+    public void run() {
+        this.stopped = false;
+        this.done = false;
+        this.initialized = false;
+        this.waker = MonitorExecutors.newTimerExecutor("mpd-idle-waker");
+
+        try {
+            loadInitialStatus();
+
+            while (!this.stopped) {
+                monitor();
+            }
+        } finally {
+            waker.shutdownNow();
+            closeSocket();
+            resetMonitors();
+            this.done = true;
+        }
+    }
+
+    private void loadInitialStatus() {
+        try {
+            //check everything once like the first round of polling does
+            connect();
+            this.initialized = true;
+        } catch (MPDException ex) {
+            throw new MPDException("Problem with initialization", ex);
+        }
+    }
+
+    private void monitor() {
+        try {
+            if (this.socket == null) {
+                connect();
+            }
+
+            Set<IdleSubsystem> changed = waitForChanges();
+            if (!this.stopped) {
+                List<Registration> affected = affected(changed);
+                processStatus(affected);
+                affected.forEach(registration -> registration.monitor.checkStatus());
+            }
+        } catch (MPDException mpdException) {
+            if (this.stopped) {
+                return;
+            }
+            LOGGER.error("Error while waiting for changes", mpdException);
+            closeSocket();
+
+            boolean retry = true;
+            while (retry) {
+                retry = retry();
+            }
+        }
+    }
+
+    /**
+     * Parks the connection in idle until something changes or it is woken
+     *
+     * @return the changed subsystems, empty if the connection was woken
+     */
+    private Set<IdleSubsystem> waitForChanges() {
+        ScheduledFuture<?> wakeUp = null;
+        if (playerMonitor.getStatus() == PlayerStatus.STATUS_PLAYING) {
+            wakeUp = waker.schedule(this::wakeUp, delay, TimeUnit.SECONDS);
+        }
+
+        try {
+            return changedSubsystems(this.socket.sendCommand(idleCommand));
+        } finally {
+            if (wakeUp != null) {
+                wakeUp.cancel(false);
+            }
+        }
+    }
+
+    private static Set<IdleSubsystem> changedSubsystems(Collection<String> response) {
+        Set<IdleSubsystem> changed = EnumSet.noneOf(IdleSubsystem.class);
+        for (String line : response) {
+            if (line.startsWith(CHANGED)) {
+                IdleSubsystem subsystem = IdleSubsystem.lookup(line.substring(CHANGED.length()).trim());
+                if (subsystem != null) {
+                    changed.add(subsystem);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private List<Registration> affected(Set<IdleSubsystem> changed) {
+        List<Registration> affected = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (changed.isEmpty() ? registration.playback : registration.dependsOn(changed)) {
+                affected.add(registration);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Feeds the current status to the status monitors among the registrations
+     */
+    private void processStatus(List<Registration> affected) {
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        List<String> response = new ArrayList<>(this.socket.sendCommand(statusCommand));
+        for (Registration registration : affected) {
+            if (registration.monitor instanceof StatusMonitor) {
+                response.forEach(((StatusMonitor) registration.monitor)::processResponseStatus);
+            }
+        }
+    }
+
+    /**
+     * Opens a new connection and checks every monitor, after a reconnect this catches up on
+     * what changed while disconnected
+     */
+    private void connect() {
+        this.socket = commandExecutor.openConnection();
+        processStatus(registrations);
+        registrations.forEach(registration -> registration.monitor.checkStatus());
+    }
+
+    private boolean retry() {
+        try {
+            TimeUnit.SECONDS.sleep(this.exceptionDelay);
+        } catch (InterruptedException ex) {
+            LOGGER.error("IdleMonitor interrupted", ex);
+            setStopped(true);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            connectionMonitor.checkStatus();
+            return !this.stopped && !connectionMonitor.isConnected();
+        } catch (MPDException e) {
+            throw new MPDException("Error checking connection status.", e);
+        }
+    }
+
+    private void wakeUp() {
+        MPDSocket mpdSocket = this.socket;
+        if (mpdSocket != null) {
+            try {
+                mpdSocket.noidle();
+            } catch (MPDException e) {
+                LOGGER.warn("Unable to wake the idle connection", e);
+            }
+        }
+    }
+
+    private void closeSocket() {
+        MPDSocket mpdSocket = this.socket;
+        this.socket = null;
+        if (mpdSocket != null) {
+            try {
+                mpdSocket.close();
+            } catch (MPDException e) {
+                LOGGER.warn("Unable to close the idle connection", e);
+            }
+        }
+    }
+
+    private void resetMonitors() {
+        for (Registration registration : registrations) {
+            if (registration.monitor instanceof StatusMonitor) {
+                ((StatusMonitor) registration.monitor).reset();
+            }
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * Stopping also wakes the connection so the loop doesn't wait for the next change
+     *
+     * @param stopped true to stop the monitor
+     */
+    @Override
+    public void setStopped(boolean stopped) {
+        this.stopped = stopped;
+        if (stopped) {
+            wakeUp();
+        }
+    }
+
+    private static class Registration {
+        private final Monitor monitor;
+        private final Set<IdleSubsystem> subsystems;
+        private final boolean playback;
+
+        Registration(Monitor monitor, IdleSubsystem[] subsystems, boolean playback) {
+            this.monitor = monitor;
+            this.subsystems = subsystems.length == 0
+                    ? EnumSet.noneOf(IdleSubsystem.class)
+                    : EnumSet.copyOf(Arrays.asList(subsystems));
+            this.playback = playback;
+        }
+
+        boolean dependsOn(Set<IdleSubsystem> changed) {
+            for (IdleSubsystem subsystem : changed) {
+                if (subsystems.contains(subsystem)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
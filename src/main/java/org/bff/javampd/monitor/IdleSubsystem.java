@@ -0,0 +1,39 @@
+package org.bff.javampd.monitor;
+
+/**
+ * The subsystems reported by the {@code idle} command
+ *
+ * @author bill
+ */
+public enum IdleSubsystem {
+    DATABASE("database"),
+    UPDATE("update"),
+    PLAYLIST("playlist"),
+    PLAYER("player"),
+    MIXER("mixer"),
+    OUTPUT("output"),
+    OPTIONS("options");
+
+    private final String name;
+
+    IdleSubsystem(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name the subsystem name as sent by the server
+     * @return the subsystem, null if it isn't one we wait on
+     */
+    public static IdleSubsystem lookup(String name) {
+        for (IdleSubsystem subsystem : values()) {
+            if (subsystem.name.equals(name)) {
+                return subsystem;
+            }
+        }
+        return null;
+    }
+}
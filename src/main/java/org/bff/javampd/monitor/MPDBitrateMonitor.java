@@ -5,8 +5,8 @@ import org.bff.javampd.player.BitrateChangeEvent;
 import org.bff.javampd.player.BitrateChangeListener;
 import org.bff.javampd.server.Status;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Singleton
 public class MPDBitrateMonitor extends MPDVolumeMonitor implements BitrateMonitor {
@@ -16,16 +16,16 @@ public class MPDBitrateMonitor extends MPDVolumeMonitor implements BitrateMonito
     private List<BitrateChangeListener> bitrateListeners;
 
     MPDBitrateMonitor() {
-        bitrateListeners = new ArrayList<>();
+        bitrateListeners = new CopyOnWriteArrayList<>();
     }
 
     @Override
-    public synchronized void addBitrateChangeListener(BitrateChangeListener bcl) {
+    public void addBitrateChangeListener(BitrateChangeListener bcl) {
         bitrateListeners.add(bcl);
     }
 
     @Override
-    public synchronized void removeBitrateChangeListener(BitrateChangeListener bcl) {
+    public void removeBitrateChangeListener(BitrateChangeListener bcl) {
         bitrateListeners.remove(bcl);
     }
 
@@ -5,8 +5,8 @@ import org.bff.javampd.server.ConnectionChangeEvent;
 import org.bff.javampd.server.ConnectionChangeListener;
 import org.bff.javampd.server.Server;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Singleton
 public class MPDConnectionMonitor implements ConnectionMonitor {
@@ -15,7 +15,7 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
     private boolean connected = true;
 
     MPDConnectionMonitor() {
-        this.connectionListeners = new ArrayList<>();
+        this.connectionListeners = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -25,7 +25,7 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
      * @param ccl the ConnectionChangeListener to add
      */
     @Override
-    public synchronized void addConnectionChangeListener(ConnectionChangeListener ccl) {
+    public void addConnectionChangeListener(ConnectionChangeListener ccl) {
         connectionListeners.add(ccl);
     }
 
@@ -35,7 +35,7 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
      * @param ccl the ConnectionChangeListener to remove
      */
     @Override
-    public synchronized void removeConnectionChangeListener(ConnectionChangeListener ccl) {
+    public void removeConnectionChangeListener(ConnectionChangeListener ccl) {
         connectionListeners.remove(ccl);
     }
 
@@ -45,7 +45,7 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
      *
      * @param isConnected the connection status
      */
-    protected synchronized void fireConnectionChangeEvent(boolean isConnected) {
+    protected void fireConnectionChangeEvent(boolean isConnected) {
         ConnectionChangeEvent cce = new ConnectionChangeEvent(this, isConnected);
 
         for (ConnectionChangeListener ccl : connectionListeners) {
@@ -5,8 +5,8 @@ import org.bff.javampd.server.ErrorEvent;
 import org.bff.javampd.server.ErrorListener;
 import org.bff.javampd.server.Status;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Singleton
 public class MPDErrorMonitor implements ErrorMonitor {
@@ -14,16 +14,16 @@ public class MPDErrorMonitor implements ErrorMonitor {
     private List<ErrorListener> errorListeners;
 
     MPDErrorMonitor() {
-        this.errorListeners = new ArrayList<>();
+        this.errorListeners = new CopyOnWriteArrayList<>();
     }
 
     @Override
-    public synchronized void addErrorListener(ErrorListener el) {
+    public void addErrorListener(ErrorListener el) {
         errorListeners.add(el);
     }
 
     @Override
-    public synchronized void removeErrorListener(ErrorListener el) {
+    public void removeErrorListener(ErrorListener el) {
         errorListeners.remove(el);
     }
 
@@ -8,6 +8,7 @@ import org.bff.javampd.output.OutputChangeEvent;
 import org.bff.javampd.output.OutputChangeListener;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Singleton
 public class MPDOutputMonitor implements OutputMonitor {
@@ -20,7 +21,7 @@ public class MPDOutputMonitor implements OutputMonitor {
     MPDOutputMonitor(Admin admin) {
         this.admin = admin;
         this.outputMap = new HashMap<>();
-        this.outputListeners = new ArrayList<>();
+        this.outputListeners = new CopyOnWriteArrayList<>();
     }
 
     @Override
@@ -50,12 +51,12 @@ public class MPDOutputMonitor implements OutputMonitor {
     }
 
     @Override
-    public synchronized void addOutputChangeListener(OutputChangeListener vcl) {
+    public void addOutputChangeListener(OutputChangeListener vcl) {
         outputListeners.add(vcl);
     }
 
     @Override
-    public synchronized void removeOutputChangeListener(OutputChangeListener vcl) {
+    public void removeOutputChangeListener(OutputChangeListener vcl) {
         outputListeners.remove(vcl);
     }
 
@@ -65,7 +66,7 @@ public class MPDOutputMonitor implements OutputMonitor {
      *
      * @param event the event id to send
      */
-    protected synchronized void fireOutputChangeEvent(OutputChangeEvent event) {
+    protected void fireOutputChangeEvent(OutputChangeEvent event) {
         for (OutputChangeListener ocl : outputListeners) {
             ocl.outputChanged(event);
         }
@@ -7,8 +7,8 @@ import org.bff.javampd.server.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.bff.javampd.monitor.PlayerStatus.*;
 
@@ -21,7 +21,7 @@ public class MPDPlayerMonitor extends MPDBitrateMonitor implements PlayerMonitor
     private String state;
 
     MPDPlayerMonitor() {
-        this.playerListeners = new ArrayList<>();
+        this.playerListeners = new CopyOnWriteArrayList<>();
         state = "";
     }
 
@@ -63,12 +63,12 @@ public class MPDPlayerMonitor extends MPDBitrateMonitor implements PlayerMonitor
     }
 
     @Override
-    public synchronized void addPlayerChangeListener(PlayerBasicChangeListener pcl) {
+    public void addPlayerChangeListener(PlayerBasicChangeListener pcl) {
         playerListeners.add(pcl);
     }
 
     @Override
-    public synchronized void removePlayerChangeListener(PlayerBasicChangeListener pcl) {
+    public void removePlayerChangeListener(PlayerBasicChangeListener pcl) {
         playerListeners.remove(pcl);
     }
 
@@ -89,7 +89,7 @@ public class MPDPlayerMonitor extends MPDBitrateMonitor implements PlayerMonitor
      *
      * @param status the {@link org.bff.javampd.player.PlayerBasicChangeEvent.Status}
      */
-    protected synchronized void firePlayerChangeEvent(PlayerBasicChangeEvent.Status status) {
+    protected void firePlayerChangeEvent(PlayerBasicChangeEvent.Status status) {
         PlayerBasicChangeEvent pce = new PlayerBasicChangeEvent(this, status);
 
         for (PlayerBasicChangeListener pcl : playerListeners) {
@@ -6,8 +6,8 @@ import org.bff.javampd.playlist.PlaylistBasicChangeEvent;
 import org.bff.javampd.playlist.PlaylistBasicChangeListener;
 import org.bff.javampd.server.Status;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Singleton
 public class MPDPlaylistMonitor implements PlaylistMonitor {
@@ -27,16 +27,16 @@ public class MPDPlaylistMonitor implements PlaylistMonitor {
     @Inject
     MPDPlaylistMonitor(PlayerMonitor playerMonitor) {
         this.playerMonitor = playerMonitor;
-        this.playlistListeners = new ArrayList<>();
+        this.playlistListeners = new CopyOnWriteArrayList<>();
     }
 
     @Override
-    public synchronized void addPlaylistChangeListener(PlaylistBasicChangeListener pcl) {
+    public void addPlaylistChangeListener(PlaylistBasicChangeListener pcl) {
         playlistListeners.add(pcl);
     }
 
     @Override
-    public synchronized void removePlaylistChangeListener(PlaylistBasicChangeListener pcl) {
+    public void removePlaylistChangeListener(PlaylistBasicChangeListener pcl) {
         playlistListeners.remove(pcl);
     }
 
@@ -58,7 +58,7 @@ public class MPDPlaylistMonitor implements PlaylistMonitor {
      *
      * @param event the {@link org.bff.javampd.playlist.PlaylistBasicChangeEvent.Event}
      */
-    public synchronized void firePlaylistChangeEvent(PlaylistBasicChangeEvent.Event event) {
+    public void firePlaylistChangeEvent(PlaylistBasicChangeEvent.Event event) {
         PlaylistBasicChangeEvent pce = new PlaylistBasicChangeEvent(this, event);
 
         for (PlaylistBasicChangeListener pcl : playlistListeners) {
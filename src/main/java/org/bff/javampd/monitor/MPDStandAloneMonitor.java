@@ -2,14 +2,21 @@ package org.bff.javampd.monitor;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.database.DatabaseProperties;
+import org.bff.javampd.library.LibraryMirror;
 import org.bff.javampd.output.OutputChangeListener;
 import org.bff.javampd.player.*;
 import org.bff.javampd.playlist.PlaylistBasicChangeListener;
 import org.bff.javampd.server.ConnectionChangeListener;
 import org.bff.javampd.server.ErrorListener;
 import org.bff.javampd.server.ServerStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MPDStandAloneMonitor monitors a MPD connection by querying the status and
@@ -17,6 +24,16 @@ import java.util.concurrent.Executors;
  * appropriate events are fired indicating these changes.  If more detailed
  * events are desired attach listeners to the different controllers of a
  * connection.
+ * <p>
+ * With monitor.idle set a dedicated connection is parked in {@code idle} instead, the status is
+ * only fetched when the server reports a change.  With monitor.scheduled set every monitor is
+ * scheduled on its own period in milliseconds, so a slow monitor doesn't hold up the others.
+ * <p>
+ * With monitor.track.rate set the track position is extrapolated between statuses and fired
+ * that many times a second from a timer thread.
+ * <p>
+ * With db.mirror set the {@link LibraryMirror} is refreshed on {@code idle database} events, or
+ * every monitor.database.multiplier rounds when polling.
  *
  * @author Bill
  * @version 1.0
@@ -24,8 +41,10 @@ import java.util.concurrent.Executors;
 @Singleton
 public class MPDStandAloneMonitor
         implements StandAloneMonitor, PlayerBasicChangeListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MPDStandAloneMonitor.class);
 
-    private StandAloneMonitorThread standAloneMonitorThread;
+    private MonitorThread monitorThread;
+    private ScheduledExecutorService ticker;
 
     private OutputMonitor outputMonitor;
     private ErrorMonitor errorMonitor;
@@ -33,17 +52,20 @@ public class MPDStandAloneMonitor
     private PlayerMonitor playerMonitor;
     private TrackMonitor trackMonitor;
     private PlaylistMonitor playlistMonitor;
+    private Monitor databaseMonitor;
 
     private MonitorProperties monitorProperties;
 
     @Inject
     MPDStandAloneMonitor(ServerStatus serverStatus,
+                         CommandExecutor commandExecutor,
                          OutputMonitor outputMonitor,
                          TrackMonitor trackMonitor,
                          ConnectionMonitor connectionMonitor,
                          PlayerMonitor playerMonitor,
                          PlaylistMonitor playlistMonitor,
-                         ErrorMonitor errorMonitor) {
+                         ErrorMonitor errorMonitor,
+                         LibraryMirror libraryMirror) {
         this.monitorProperties = new MonitorProperties();
         this.outputMonitor = outputMonitor;
         this.trackMonitor = trackMonitor;
@@ -51,15 +73,22 @@ public class MPDStandAloneMonitor
         this.playerMonitor = playerMonitor;
         this.playlistMonitor = playlistMonitor;
         this.errorMonitor = errorMonitor;
+        this.databaseMonitor = new DatabaseProperties().isMirror() ? libraryMirror : null;
 
-        this.standAloneMonitorThread = new StandAloneMonitorThread(serverStatus,
+        if (monitorProperties.isIdle()) {
+            this.monitorThread = createIdleMonitors(commandExecutor);
+        } else if (monitorProperties.isScheduled()) {
+            this.monitorThread = createScheduledMonitors(serverStatus);
+        } else {
+            this.monitorThread = createMonitors(serverStatus);
+        }
+    }
+
+    private MonitorThread createMonitors(ServerStatus serverStatus) {
+        StandAloneMonitorThread standAloneMonitorThread = new StandAloneMonitorThread(serverStatus,
                 connectionMonitor,
                 monitorProperties.getMonitorDelay(),
                 monitorProperties.getExceptionDelay());
-        createMonitors();
-    }
-
-    private void createMonitors() {
         standAloneMonitorThread.addMonitor(
                 new ThreadedMonitor(trackMonitor, monitorProperties.getTrackDelay()),
                 new ThreadedMonitor(playerMonitor, monitorProperties.getPlayerDelay()),
@@ -67,6 +96,46 @@ public class MPDStandAloneMonitor
                 new ThreadedMonitor(playlistMonitor, monitorProperties.getPlaylistDelay()),
                 new ThreadedMonitor(connectionMonitor, monitorProperties.getConnectionDelay()),
                 new ThreadedMonitor(outputMonitor, monitorProperties.getOutputDelay()));
+        if (databaseMonitor != null) {
+            standAloneMonitorThread.addMonitor(
+                    new ThreadedMonitor(databaseMonitor, monitorProperties.getDatabaseDelay()));
+        }
+        return standAloneMonitorThread;
+    }
+
+    private MonitorThread createScheduledMonitors(ServerStatus serverStatus) {
+        ScheduledMonitorThread scheduledMonitorThread = new ScheduledMonitorThread(serverStatus,
+                TimeUnit.SECONDS.toMillis(monitorProperties.getExceptionDelay()),
+                monitorProperties.getJitter());
+        scheduledMonitorThread.addMonitor(trackMonitor, monitorProperties.getTrackPeriod());
+        scheduledMonitorThread.addMonitor(playerMonitor, monitorProperties.getPlayerPeriod());
+        scheduledMonitorThread.addMonitor(errorMonitor, monitorProperties.getErrorPeriod());
+        scheduledMonitorThread.addMonitor(playlistMonitor, monitorProperties.getPlaylistPeriod());
+        scheduledMonitorThread.addMonitor(connectionMonitor, monitorProperties.getConnectionPeriod());
+        scheduledMonitorThread.addMonitor(outputMonitor, monitorProperties.getOutputPeriod());
+        if (databaseMonitor != null) {
+            scheduledMonitorThread.addMonitor(databaseMonitor, monitorProperties.getDatabasePeriod());
+        }
+        return scheduledMonitorThread;
+    }
+
+    private MonitorThread createIdleMonitors(CommandExecutor commandExecutor) {
+        IdleMonitorThread idleMonitorThread = new IdleMonitorThread(commandExecutor,
+                connectionMonitor,
+                playerMonitor,
+                monitorProperties.getTrackRate() > 0
+                        ? monitorProperties.getTrackResync()
+                        : monitorProperties.getMonitorDelay(),
+                monitorProperties.getExceptionDelay());
+        idleMonitorThread.addPlaybackMonitor(trackMonitor, IdleSubsystem.PLAYER);
+        idleMonitorThread.addMonitor(playerMonitor, IdleSubsystem.PLAYER, IdleSubsystem.MIXER, IdleSubsystem.OPTIONS);
+        idleMonitorThread.addMonitor(errorMonitor, IdleSubsystem.PLAYER, IdleSubsystem.UPDATE);
+        idleMonitorThread.addMonitor(playlistMonitor, IdleSubsystem.PLAYLIST, IdleSubsystem.PLAYER);
+        idleMonitorThread.addMonitor(outputMonitor, IdleSubsystem.OUTPUT);
+        if (databaseMonitor != null) {
+            idleMonitorThread.addMonitor(databaseMonitor, IdleSubsystem.DATABASE);
+        }
+        return idleMonitorThread;
     }
 
     /**
@@ -76,7 +145,7 @@ public class MPDStandAloneMonitor
      * @param tpcl the TrackPositionChangeListener to add
      */
     @Override
-    public synchronized void addTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
+    public void addTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
         trackMonitor.addTrackPositionChangeListener(tpcl);
     }
 
@@ -86,7 +155,7 @@ public class MPDStandAloneMonitor
      * @param tpcl the TrackPositionChangeListener to remove
      */
     @Override
-    public synchronized void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
+    public void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
         trackMonitor.removeTrackPositionChangeListener(tpcl);
     }
 
@@ -97,7 +166,7 @@ public class MPDStandAloneMonitor
      * @param ccl the ConnectionChangeListener to add
      */
     @Override
-    public synchronized void addConnectionChangeListener(ConnectionChangeListener ccl) {
+    public void addConnectionChangeListener(ConnectionChangeListener ccl) {
         connectionMonitor.addConnectionChangeListener(ccl);
     }
 
@@ -107,88 +176,115 @@ public class MPDStandAloneMonitor
      * @param ccl the ConnectionChangeListener to remove
      */
     @Override
-    public synchronized void removeConnectionChangeListener(ConnectionChangeListener ccl) {
+    public void removeConnectionChangeListener(ConnectionChangeListener ccl) {
         connectionMonitor.removeConnectionChangeListener(ccl);
     }
 
     @Override
-    public synchronized void addPlayerChangeListener(PlayerBasicChangeListener pcl) {
+    public void addPlayerChangeListener(PlayerBasicChangeListener pcl) {
         playerMonitor.addPlayerChangeListener(pcl);
     }
 
     @Override
-    public synchronized void removePlayerChangeListener(PlayerBasicChangeListener pcl) {
+    public void removePlayerChangeListener(PlayerBasicChangeListener pcl) {
         playerMonitor.removePlayerChangeListener(pcl);
     }
 
     @Override
-    public synchronized void addVolumeChangeListener(VolumeChangeListener vcl) {
+    public void addVolumeChangeListener(VolumeChangeListener vcl) {
         playerMonitor.addVolumeChangeListener(vcl);
     }
 
     @Override
-    public synchronized void removeVolumeChangeListener(VolumeChangeListener vcl) {
+    public void removeVolumeChangeListener(VolumeChangeListener vcl) {
         playerMonitor.removeVolumeChangeListener(vcl);
     }
 
     @Override
-    public synchronized void addBitrateChangeListener(BitrateChangeListener bcl) {
+    public void addBitrateChangeListener(BitrateChangeListener bcl) {
         playerMonitor.addBitrateChangeListener(bcl);
     }
 
     @Override
-    public synchronized void removeBitrateChangeListener(BitrateChangeListener bcl) {
+    public void removeBitrateChangeListener(BitrateChangeListener bcl) {
         playerMonitor.removeBitrateChangeListener(bcl);
     }
 
     @Override
-    public synchronized void addOutputChangeListener(OutputChangeListener vcl) {
+    public void addOutputChangeListener(OutputChangeListener vcl) {
         outputMonitor.addOutputChangeListener(vcl);
     }
 
     @Override
-    public synchronized void removeOutputChangeListener(OutputChangeListener vcl) {
+    public void removeOutputChangeListener(OutputChangeListener vcl) {
         outputMonitor.removeOutputChangeListener(vcl);
     }
 
     @Override
-    public synchronized void addPlaylistChangeListener(PlaylistBasicChangeListener pcl) {
+    public void addPlaylistChangeListener(PlaylistBasicChangeListener pcl) {
         playlistMonitor.addPlaylistChangeListener(pcl);
     }
 
     @Override
-    public synchronized void removePlaylistChangeListener(PlaylistBasicChangeListener pcl) {
+    public void removePlaylistChangeListener(PlaylistBasicChangeListener pcl) {
         playlistMonitor.removePlaylistChangeListener(pcl);
     }
 
     @Override
-    public synchronized void addErrorListener(ErrorListener el) {
+    public void addErrorListener(ErrorListener el) {
         errorMonitor.addErrorListener(el);
     }
 
     @Override
-    public synchronized void removeErrorListener(ErrorListener el) {
+    public void removeErrorListener(ErrorListener el) {
         errorMonitor.removeErrorListener(el);
     }
 
+    /**
+     * Starts the monitor on a new thread.  Listeners are called on this thread, which is
+     * a virtual thread if monitor.virtual.threads is set.
+     */
     @Override
     public void start() {
-        Executors.newSingleThreadExecutor().execute(this.standAloneMonitorThread);
+        ExecutorService executorService = MonitorExecutors.newMonitorExecutor(monitorProperties.isVirtualThreads());
+        executorService.execute(this.monitorThread);
+        executorService.shutdown();
+
+        int trackRate = monitorProperties.getTrackRate();
+        if (trackRate > 0) {
+            ticker = MonitorExecutors.newTimerExecutor("mpd-track-ticker");
+            long period = TimeUnit.SECONDS.toMicros(1) / trackRate;
+            ticker.scheduleAtFixedRate(this::tick, period, period, TimeUnit.MICROSECONDS);
+        }
     }
 
     @Override
     public void stop() {
-        this.standAloneMonitorThread.setStopped(true);
+        this.monitorThread.setStopped(true);
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * A failing listener must not cancel the ticks to come
+     */
+    private void tick() {
+        try {
+            trackMonitor.tick();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error firing the track position", e);
+        }
     }
 
     @Override
     public boolean isDone() {
-        return this.standAloneMonitorThread.isDone();
+        return this.monitorThread.isDone();
     }
 
     @Override
     public boolean isLoaded() {
-        return this.standAloneMonitorThread.isInitialized();
+        return this.monitorThread.isInitialized();
     }
 
     @Override
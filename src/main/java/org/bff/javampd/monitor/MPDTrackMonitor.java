@@ -1,40 +1,123 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.bff.javampd.Clock;
+import org.bff.javampd.MPDSystemClock;
 import org.bff.javampd.player.TrackPositionChangeEvent;
 import org.bff.javampd.player.TrackPositionChangeListener;
 import org.bff.javampd.server.Status;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Fires the elapsed time of the playing song.  By default the position is taken from each
+ * status.  With monitor.track.rate set the position of the last status is extrapolated with
+ * the {@link Clock} while playing and {@link #tick()} fires it in milliseconds, so the
+ * position moves smoothly without asking the server for it.
+ *
+ * @author bill
+ */
 @Singleton
 public class MPDTrackMonitor implements TrackMonitor {
     private List<TrackPositionChangeListener> trackListeners;
+    private final Clock clock;
+    private final boolean interpolating;
+    private final AtomicLong lastTick;
     private long oldPos;
     private long elapsedTime;
+    private long elapsedMillis;
+    private long durationMillis;
+    private long statusTime;
+    private boolean playing;
+    private boolean elapsedSeen;
+    private volatile Position position;
 
     MPDTrackMonitor() {
-        this.trackListeners = new ArrayList<>();
+        this(new MPDSystemClock(), false);
+    }
+
+    @Inject
+    MPDTrackMonitor(Clock clock) {
+        this(clock, new MonitorProperties().getTrackRate() > 0);
+    }
+
+    MPDTrackMonitor(Clock clock, boolean interpolating) {
+        this.trackListeners = new CopyOnWriteArrayList<>();
+        this.clock = clock;
+        this.interpolating = interpolating;
+        this.lastTick = new AtomicLong();
+        this.position = Position.START;
     }
 
     @Override
     public void checkStatus() {
-        checkTrackPosition(elapsedTime);
+        if (interpolating) {
+            position = new Position(elapsedMillis, durationMillis, statusTime, playing);
+            elapsedSeen = false;
+        } else {
+            checkTrackPosition(elapsedTime);
+        }
     }
 
     @Override
     public void processResponseStatus(String line) {
-        if (Status.lookup(line) == Status.TIME) {
-            elapsedTime =
-                    Long.parseLong(line.substring(Status.TIME.getStatusPrefix().length()).trim().split(":")[0]);
+        Status status = Status.lookup(line);
+        if (status == null) {
+            return;
+        }
+
+        switch (status) {
+            case TIME:
+                elapsedTime =
+                        Long.parseLong(line.substring(Status.TIME.getStatusPrefix().length()).trim().split(":")[0]);
+                if (!elapsedSeen) {
+                    //servers before 0.16 only send whole seconds
+                    elapsedMillis = TimeUnit.SECONDS.toMillis(elapsedTime);
+                    statusTime = clock.nanoTime();
+                }
+                break;
+            case ELAPSED:
+                elapsedMillis = parseMillis(line, Status.ELAPSED);
+                elapsedSeen = true;
+                statusTime = clock.nanoTime();
+                break;
+            case DURATION:
+                durationMillis = parseMillis(line, Status.DURATION);
+                break;
+            case STATE:
+                playing = line.substring(Status.STATE.getStatusPrefix().length()).trim()
+                        .startsWith(StandAloneMonitor.PlayerResponse.PLAY.getPrefix());
+                break;
+            default:
+                break;
         }
     }
 
+    private static long parseMillis(String line, Status status) {
+        return Math.round(Double.parseDouble(line.substring(status.getStatusPrefix().length()).trim()) * 1000);
+    }
+
     @Override
     public void reset() {
         oldPos = 0;
         elapsedTime = 0;
+        clearPosition();
+    }
+
+    /**
+     * Fires the extrapolated position if it moved since the last tick.  Safe to call from
+     * another thread than the one feeding the status.
+     */
+    @Override
+    public void tick() {
+        long millis = position.at(clock.nanoTime());
+        if (lastTick.getAndSet(millis) != millis) {
+            fireTrackPositionChangeEvent(TimeUnit.MILLISECONDS.toSeconds(millis), millis);
+        }
     }
 
     /**
@@ -57,7 +140,7 @@ public class MPDTrackMonitor implements TrackMonitor {
      * @param tpcl the TrackPositionChangeListener to add
      */
     @Override
-    public synchronized void addTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
+    public void addTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
         trackListeners.add(tpcl);
     }
 
@@ -67,7 +150,7 @@ public class MPDTrackMonitor implements TrackMonitor {
      * @param tpcl the TrackPositionChangeListener to remove
      */
     @Override
-    public synchronized void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
+    public void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
         trackListeners.remove(tpcl);
     }
 
@@ -75,6 +158,16 @@ public class MPDTrackMonitor implements TrackMonitor {
     public void resetElapsedTime() {
         elapsedTime = 0;
         oldPos = 0;
+        clearPosition();
+    }
+
+    private void clearPosition() {
+        elapsedMillis = 0;
+        durationMillis = 0;
+        playing = false;
+        elapsedSeen = false;
+        position = Position.START;
+        lastTick.set(0);
     }
 
     /**
@@ -83,11 +176,48 @@ public class MPDTrackMonitor implements TrackMonitor {
      *
      * @param newTime the new elapsed time
      */
-    protected synchronized void fireTrackPositionChangeEvent(long newTime) {
-        TrackPositionChangeEvent tpce = new TrackPositionChangeEvent(this, newTime);
+    protected void fireTrackPositionChangeEvent(long newTime) {
+        fireTrackPositionChangeEvent(newTime, TimeUnit.SECONDS.toMillis(newTime));
+    }
+
+    private void fireTrackPositionChangeEvent(long newTime, long newMillis) {
+        TrackPositionChangeEvent tpce = new TrackPositionChangeEvent(this, newTime, newMillis);
 
         for (TrackPositionChangeListener tpcl : trackListeners) {
             tpcl.trackPositionChanged(tpce);
         }
     }
+
+    /**
+     * The position at the time of a status, replaced as a whole so {@link #tick()} never sees
+     * half of an update
+     */
+    private static final class Position {
+        private static final Position START = new Position(0, 0, 0, false);
+
+        private final long elapsedMillis;
+        private final long durationMillis;
+        private final long statusTime;
+        private final boolean playing;
+
+        private Position(long elapsedMillis, long durationMillis, long statusTime, boolean playing) {
+            this.elapsedMillis = elapsedMillis;
+            this.durationMillis = durationMillis;
+            this.statusTime = statusTime;
+            this.playing = playing;
+        }
+
+        /**
+         * @param now the current {@link Clock#nanoTime()}
+         * @return the elapsed milliseconds now, never past the end of the song
+         */
+        long at(long now) {
+            if (!playing) {
+                return elapsedMillis;
+            }
+
+            long millis = elapsedMillis + TimeUnit.NANOSECONDS.toMillis(now - statusTime);
+            return durationMillis > 0 ? Math.min(millis, durationMillis) : millis;
+        }
+    }
 }
@@ -38,12 +38,12 @@ public class MPDVolumeMonitor implements VolumeMonitor {
     }
 
     @Override
-    public synchronized void addVolumeChangeListener(VolumeChangeListener vcl) {
+    public void addVolumeChangeListener(VolumeChangeListener vcl) {
         volumeChangeDelegate.addVolumeChangeListener(vcl);
     }
 
     @Override
-    public synchronized void removeVolumeChangeListener(VolumeChangeListener vcl) {
+    public void removeVolumeChangeListener(VolumeChangeListener vcl) {
         volumeChangeDelegate.removeVolumeChangedListener(vcl);
     }
 
@@ -53,7 +53,7 @@ public class MPDVolumeMonitor implements VolumeMonitor {
      *
      * @param volume the new volume
      */
-    protected synchronized void fireVolumeChangeEvent(int volume) {
+    protected void fireVolumeChangeEvent(int volume) {
         volumeChangeDelegate.fireVolumeChangeEvent(this, volume);
     }
 }
@@ -0,0 +1,53 @@
+package org.bff.javampd.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Creates the executors monitors run on.  Virtual threads are looked up reflectively so the
+ * library still runs on JDKs without them.
+ *
+ * @author bill
+ */
+final class MonitorExecutors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitorExecutors.class);
+
+    private MonitorExecutors() {
+    }
+
+    /**
+     * @param virtual true to run each task on its own virtual thread
+     * @return a virtual thread per task executor if requested and supported, otherwise a
+     * single platform thread executor
+     */
+    static ExecutorService newMonitorExecutor(boolean virtual) {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.warn("virtual threads are not available on Java {}, using a platform thread",
+                        System.getProperty("java.version"));
+            }
+        }
+        return Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * @param name the name of the thread
+     * @return a single daemon thread scheduled executor for timers that must not keep the
+     * JVM alive
+     */
+    static ScheduledExecutorService newTimerExecutor(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,370 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.player.PlayerBasicChangeEvent;
+import org.bff.javampd.player.TrackPositionChangeEvent;
+import org.bff.javampd.playlist.PlaylistBasicChangeEvent;
+import org.bff.javampd.server.ConnectionChangeEvent;
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.ResponseProperties;
+import org.bff.javampd.server.ServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EventObject;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monitors many servers from one thread.  Every server gets a connection parked in
+ * {@code idle}; all of them are multiplexed over a single NIO {@link Selector} and the status
+ * of a server is only fetched when it reports a change.  Events are fired on a small pool of
+ * workers, each server always on the same worker so its events arrive in order, and handed
+ * to listeners together with the {@link MonitoredServer} they happened on.
+ * <p>
+ * The hub needs no {@link org.bff.javampd.server.MPD} per server.  While a server is playing
+ * its connection is woken every monitor.delay seconds to refresh the track position; lost
+ * connections are retried every monitor.exception.multiplier seconds.  A server refusing the
+ * password is given up on, which connection listeners get told with the error of the server
+ * as {@link ConnectionChangeEvent#getMessage()}.
+ *
+ * <pre>
+ * MonitorHub hub = new MonitorHub(4);
+ * hub.addPlayerChangeListener((server, event) -&gt; LOGGER.info("{} {}", server, event.getStatus()));
+ * hub.addServer(InetAddress.getByName("kitchen"), 6600);
+ * hub.start();
+ * </pre>
+ *
+ * @author bill
+ */
+public class MonitorHub implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitorHub.class);
+
+    private final Selector selector;
+    private final ExecutorService[] workers;
+    private final Map<MonitoredServer, HubConnection> connections;
+    private final Queue<Runnable> tasks;
+    private final AtomicInteger nextWorker;
+    private final HubConnection.Commands commands;
+    private final long delay;
+    private final long exceptionDelay;
+
+    private final List<ServerEventListener<PlayerBasicChangeEvent>> playerListeners;
+    private final List<ServerEventListener<PlaylistBasicChangeEvent>> playlistListeners;
+    private final List<ServerEventListener<TrackPositionChangeEvent>> trackListeners;
+    private final List<ServerEventListener<ConnectionChangeEvent>> connectionListeners;
+
+    private volatile Thread selectorThread;
+    private volatile boolean stopped;
+    private long nextTimer = HubConnection.NO_DEADLINE;
+
+    /**
+     * Creates the hub with the delays of the {@link MonitorProperties}
+     *
+     * @param workerCount the number of threads firing events
+     */
+    public MonitorHub(int workerCount) {
+        this(workerCount, new MonitorProperties());
+    }
+
+    private MonitorHub(int workerCount, MonitorProperties monitorProperties) {
+        this(workerCount,
+                TimeUnit.SECONDS.toMillis(monitorProperties.getMonitorDelay()),
+                TimeUnit.SECONDS.toMillis(monitorProperties.getExceptionDelay()));
+    }
+
+    MonitorHub(int workerCount, long delayMillis, long exceptionDelayMillis) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("A monitor hub needs at least one worker");
+        }
+
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new MPDConnectionException("Unable to open selector", e);
+        }
+
+        this.workers = new ExecutorService[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            String name = "mpd-monitor-hub-worker-" + i;
+            this.workers[i] = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, name));
+        }
+        this.connections = new ConcurrentHashMap<>();
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.nextWorker = new AtomicInteger();
+        this.commands = new HubConnection.Commands(new ServerProperties(), new ResponseProperties());
+        this.delay = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        this.exceptionDelay = TimeUnit.MILLISECONDS.toNanos(exceptionDelayMillis);
+        this.playerListeners = new CopyOnWriteArrayList<>();
+        this.playlistListeners = new CopyOnWriteArrayList<>();
+        this.trackListeners = new CopyOnWriteArrayList<>();
+        this.connectionListeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Starts the selector thread.  Servers can be added before or after.
+     */
+    public void start() {
+        if (selectorThread != null) {
+            throw new IllegalStateException("The monitor hub has already been started");
+        }
+
+        selectorThread = daemon(this::run, "mpd-monitor-hub");
+        selectorThread.start();
+    }
+
+    /**
+     * Starts monitoring a server without a password
+     *
+     * @param address the address of the server
+     * @param port    the port of the server
+     * @return the server as it is handed to listeners
+     */
+    public MonitoredServer addServer(InetAddress address, int port) {
+        return addServer(address, port, null);
+    }
+
+    /**
+     * Starts monitoring a server
+     *
+     * @param address  the address of the server
+     * @param port     the port of the server
+     * @param password the password of the server, null for none
+     * @return the server as it is handed to listeners
+     */
+    public MonitoredServer addServer(InetAddress address, int port, String password) {
+        MonitoredServer server = new MonitoredServer(address, port, password);
+        ExecutorService worker = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+        HubConnection connection = new HubConnection(server, this, worker);
+        connections.put(server, connection);
+        execute(connection, () -> connection.connect(selector));
+        return server;
+    }
+
+    /**
+     * Stops monitoring the server and closes its connection
+     *
+     * @param server the server returned by {@link #addServer}
+     */
+    public void removeServer(MonitoredServer server) {
+        HubConnection connection = connections.remove(server);
+        if (connection != null) {
+            execute(connection, connection::close);
+        }
+    }
+
+    /**
+     * @return the monitored servers
+     */
+    public Collection<MonitoredServer> getServers() {
+        return new ArrayList<>(connections.keySet());
+    }
+
+    public void addPlayerChangeListener(ServerEventListener<PlayerBasicChangeEvent> listener) {
+        playerListeners.add(listener);
+    }
+
+    public void removePlayerChangeListener(ServerEventListener<PlayerBasicChangeEvent> listener) {
+        playerListeners.remove(listener);
+    }
+
+    public void addPlaylistChangeListener(ServerEventListener<PlaylistBasicChangeEvent> listener) {
+        playlistListeners.add(listener);
+    }
+
+    public void removePlaylistChangeListener(ServerEventListener<PlaylistBasicChangeEvent> listener) {
+        playlistListeners.remove(listener);
+    }
+
+    public void addTrackPositionChangeListener(ServerEventListener<TrackPositionChangeEvent> listener) {
+        trackListeners.add(listener);
+    }
+
+    public void removeTrackPositionChangeListener(ServerEventListener<TrackPositionChangeEvent> listener) {
+        trackListeners.remove(listener);
+    }
+
+    public void addConnectionChangeListener(ServerEventListener<ConnectionChangeEvent> listener) {
+        connectionListeners.add(listener);
+    }
+
+    public void removeConnectionChangeListener(ServerEventListener<ConnectionChangeEvent> listener) {
+        connectionListeners.remove(listener);
+    }
+
+    /**
+     * Closes every connection and stops the threads of the hub
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        if (selectorThread == null) {
+            shutdown();
+        } else {
+            selector.wakeup();
+        }
+    }
+
+    HubConnection.Commands getCommands() {
+        return commands;
+    }
+
+    long getDelay() {
+        return delay;
+    }
+
+    long getExceptionDelay() {
+        return exceptionDelay;
+    }
+
+    /**
+     * Makes the selector thread take the deadline of the connection into account
+     *
+     * @param connection the connection whose deadline may have moved
+     */
+    void reschedule(HubConnection connection) {
+        execute(connection, () -> nextTimer = HubConnection.earlier(nextTimer, connection.getDeadline()));
+    }
+
+    void firePlayerChange(MonitoredServer server, PlayerBasicChangeEvent event) {
+        fire(playerListeners, server, event);
+    }
+
+    void firePlaylistChange(MonitoredServer server, PlaylistBasicChangeEvent event) {
+        fire(playlistListeners, server, event);
+    }
+
+    void fireTrackPositionChange(MonitoredServer server, TrackPositionChangeEvent event) {
+        fire(trackListeners, server, event);
+    }
+
+    void fireConnectionChange(MonitoredServer server, boolean connected) {
+        fire(connectionListeners, server, new ConnectionChangeEvent(this, connected));
+    }
+
+    void fireConnectionChange(MonitoredServer server, boolean connected, String message) {
+        fire(connectionListeners, server, new ConnectionChangeEvent(this, connected, message));
+    }
+
+    private static <E extends EventObject> void fire(List<ServerEventListener<E>> listeners,
+                                                     MonitoredServer server,
+                                                     E event) {
+        for (ServerEventListener<E> listener : listeners) {
+            try {
+                listener.eventReceived(server, event);
+            } catch (RuntimeException e) {
+                LOGGER.error("Listener failed on event from {}", server, e);
+            }
+        }
+    }
+
+    /**
+     * Runs the task on the selector thread, failing the connection if it throws
+     *
+     * @param connection the connection the task works on
+     * @param task       the task
+     */
+    void execute(HubConnection connection, Runnable task) {
+        tasks.add(() -> guard(connection, task));
+        if (Thread.currentThread() != selectorThread) {
+            selector.wakeup();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!stopped) {
+                runTasks();
+                selector.select(timeout());
+                handleReadyKeys();
+                runTimers();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Monitor hub selector failed", e);
+        } finally {
+            connections.values().forEach(HubConnection::close);
+            shutdown();
+        }
+    }
+
+    private void shutdown() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close the monitor hub selector", e);
+        }
+    }
+
+    private void runTasks() {
+        Runnable task = tasks.poll();
+        while (task != null) {
+            task.run();
+            task = tasks.poll();
+        }
+    }
+
+    /**
+     * @return milliseconds until the next timer, 0 to wait for the next event
+     */
+    private long timeout() {
+        if (nextTimer == HubConnection.NO_DEADLINE) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextTimer - System.nanoTime()));
+    }
+
+    private void handleReadyKeys() {
+        for (SelectionKey key : selector.selectedKeys()) {
+            HubConnection connection = (HubConnection) key.attachment();
+            guard(connection, connection::handle);
+        }
+        selector.selectedKeys().clear();
+    }
+
+    private void runTimers() {
+        long now = System.nanoTime();
+        if (!HubConnection.isDue(now, nextTimer)) {
+            return;
+        }
+
+        nextTimer = HubConnection.NO_DEADLINE;
+        for (HubConnection connection : connections.values()) {
+            guard(connection, () -> connection.onTimer(now, selector));
+            nextTimer = HubConnection.earlier(nextTimer, connection.getDeadline());
+        }
+    }
+
+    /**
+     * Runs the action of one connection, a failure of which must not stop the selector thread
+     * and the other connections with it
+     */
+    private static void guard(HubConnection connection, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            connection.fail(e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -4,11 +4,17 @@ import org.bff.javampd.server.MPDProperties;
 
 /**
  * Properties for the {@link org.bff.javampd.monitor.MPDStandAloneMonitor}.  All
- * properties are in seconds
+ * delay properties are in seconds, the periods of the scheduled monitor in milliseconds
  *
  * @author bill
  */
 public class MonitorProperties extends MPDProperties {
+    private static final String VIRTUAL_THREADS = "monitor.virtual.threads";
+    private static final String IDLE = "monitor.idle";
+    private static final String TRACK_RATE = "monitor.track.rate";
+    private static final String TRACK_RESYNC = "monitor.track.resync";
+    private static final String SCHEDULED = "monitor.scheduled";
+    private static final String JITTER = "monitor.jitter";
 
     private enum Delay {
         OUTPUT("monitor.output.multiplier"),
@@ -17,6 +23,7 @@ public class MonitorProperties extends MPDProperties {
         ERROR("monitor.error.multiplier"),
         PLAYER("monitor.player.multiplier"),
         TRACK("monitor.track.multiplier"),
+        DATABASE("monitor.database.multiplier"),
         MONITOR("monitor.delay"),
         EXCEPTION("monitor.exception.multiplier");
 
@@ -31,6 +38,26 @@ public class MonitorProperties extends MPDProperties {
         }
     }
 
+    private enum Period {
+        OUTPUT("monitor.output.period"),
+        CONNECTION("monitor.connection.period"),
+        PLAYLIST("monitor.playlist.period"),
+        ERROR("monitor.error.period"),
+        PLAYER("monitor.player.period"),
+        TRACK("monitor.track.period"),
+        DATABASE("monitor.database.period");
+
+        private final String key;
+
+        Period(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
     public int getOutputDelay() {
         return Integer.parseInt(getPropertyString(Delay.OUTPUT.getKey()));
     }
@@ -55,6 +82,10 @@ public class MonitorProperties extends MPDProperties {
         return Integer.parseInt(getPropertyString(Delay.TRACK.getKey()));
     }
 
+    public int getDatabaseDelay() {
+        return Integer.parseInt(getPropertyString(Delay.DATABASE.getKey()));
+    }
+
     public int getMonitorDelay() {
         return Integer.parseInt(getPropertyString(Delay.MONITOR.getKey()));
     }
@@ -62,4 +93,77 @@ public class MonitorProperties extends MPDProperties {
     public int getExceptionDelay() {
         return Integer.parseInt(getPropertyString(Delay.EXCEPTION.getKey()));
     }
+
+    /**
+     * @return true if the monitor and its event dispatch should run on a virtual thread
+     */
+    public boolean isVirtualThreads() {
+        return Boolean.parseBoolean(getPropertyString(VIRTUAL_THREADS));
+    }
+
+    /**
+     * @return the number of extrapolated track position events per second, 0 to take the
+     * position from each status
+     */
+    public int getTrackRate() {
+        return Integer.parseInt(getPropertyString(TRACK_RATE));
+    }
+
+    /**
+     * @return the number of seconds between status refreshes of an extrapolated track position
+     */
+    public int getTrackResync() {
+        return Integer.parseInt(getPropertyString(TRACK_RESYNC));
+    }
+
+    public long getOutputPeriod() {
+        return Long.parseLong(getPropertyString(Period.OUTPUT.getKey()));
+    }
+
+    public long getConnectionPeriod() {
+        return Long.parseLong(getPropertyString(Period.CONNECTION.getKey()));
+    }
+
+    public long getPlaylistPeriod() {
+        return Long.parseLong(getPropertyString(Period.PLAYLIST.getKey()));
+    }
+
+    public long getPlayerPeriod() {
+        return Long.parseLong(getPropertyString(Period.PLAYER.getKey()));
+    }
+
+    public long getErrorPeriod() {
+        return Long.parseLong(getPropertyString(Period.ERROR.getKey()));
+    }
+
+    public long getTrackPeriod() {
+        return Long.parseLong(getPropertyString(Period.TRACK.getKey()));
+    }
+
+    /**
+     * @return the most milliseconds each scheduled check is randomly delayed by
+     */
+    public long getDatabasePeriod() {
+        return Long.parseLong(getPropertyString(Period.DATABASE.getKey()));
+    }
+
+    public long getJitter() {
+        return Long.parseLong(getPropertyString(JITTER));
+    }
+
+    /**
+     * @return true if every monitor should be scheduled on its own period instead of counting
+     * rounds of monitor.delay seconds
+     */
+    public boolean isScheduled() {
+        return Boolean.parseBoolean(getPropertyString(SCHEDULED));
+    }
+
+    /**
+     * @return true if the monitor should wait on a connection parked in idle instead of
+     * polling the status
+     */
+    public boolean isIdle() {
+        return Boolean.parseBoolean(getPropertyString(IDLE));
+    }
 }
@@ -0,0 +1,23 @@
+package org.bff.javampd.monitor;
+
+/**
+ * The loop behind a {@link StandAloneMonitor}, run on the thread of the monitor
+ *
+ * @author bill
+ */
+public interface MonitorThread extends Runnable {
+    /**
+     * @param stopped true to make the loop finish after the current round
+     */
+    void setStopped(boolean stopped);
+
+    /**
+     * @return true once the loop has finished
+     */
+    boolean isDone();
+
+    /**
+     * @return true once the initial status has been loaded
+     */
+    boolean isInitialized();
+}
@@ -0,0 +1,41 @@
+package org.bff.javampd.monitor;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * A server watched by a {@link MonitorHub}.  It is handed to listeners with every event so a
+ * listener shared by many servers can tell them apart.
+ *
+ * @author bill
+ */
+public final class MonitoredServer {
+    private final InetSocketAddress socketAddress;
+    private final String password;
+
+    MonitoredServer(InetAddress address, int port, String password) {
+        this.socketAddress = new InetSocketAddress(address, port);
+        this.password = password;
+    }
+
+    public InetAddress getAddress() {
+        return socketAddress.getAddress();
+    }
+
+    public int getPort() {
+        return socketAddress.getPort();
+    }
+
+    InetSocketAddress getSocketAddress() {
+        return socketAddress;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String toString() {
+        return socketAddress.getHostString() + ":" + socketAddress.getPort();
+    }
+}
@@ -0,0 +1,338 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.server.ServerStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Monitor that schedules every monitor on its own millisecond period instead of counting
+ * rounds of one loop.  The status is fetched by a single task at the shortest period of the
+ * {@link StatusMonitor}s, which are all fed and checked on that task so they still see the
+ * same status in order.  Every other monitor, such as the output monitor asking for all
+ * outputs, runs as its own task on its own thread.  The tasks still share the connections of
+ * the {@link org.bff.javampd.command.CommandExecutor}, so a slow check only stops holding up
+ * the player or track monitors with a pool of at least two connections.
+ * <p>
+ * Each run is delayed by a random jitter of up to jitter milliseconds so many clients don't
+ * hit a server at the same instant.  A task failing with an {@link MPDException} is retried
+ * after the exception delay.
+ *
+ * @author bill
+ */
+public class ScheduledMonitorThread implements MonitorThread {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledMonitorThread.class);
+
+    private final List<ScheduledMonitor> statusMonitors;
+    private final List<ScheduledMonitor> monitors;
+    private final List<Task> tasks;
+    private final ServerStatus serverStatus;
+    private final long exceptionDelay;
+    private final long jitter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stoppedCondition = lock.newCondition();
+
+    private ScheduledThreadPoolExecutor executor;
+    private volatile boolean stopped;
+    private volatile boolean done;
+    private volatile boolean initialized;
+
+    /**
+     * Creates the scheduled monitor thread
+     *
+     * @param serverStatus         server status
+     * @param exceptionDelayMillis the number of milliseconds to wait before retrying a failed check
+     * @param jitterMillis         the most milliseconds each run is randomly delayed by
+     */
+    public ScheduledMonitorThread(ServerStatus serverStatus,
+                                  long exceptionDelayMillis,
+                                  long jitterMillis) {
+        this.serverStatus = serverStatus;
+        this.exceptionDelay = exceptionDelayMillis;
+        this.jitter = jitterMillis;
+        this.statusMonitors = new CopyOnWriteArrayList<>();
+        this.monitors = new CopyOnWriteArrayList<>();
+        this.tasks = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Adds a {@link Monitor} checked every period milliseconds.  A {@link StatusMonitor} is
+     * checked on the first status fetched after its period elapsed.
+     *
+     * @param monitor      the {@link Monitor} to add
+     * @param periodMillis the number of milliseconds between checks
+     */
+    public void addMonitor(Monitor monitor, long periodMillis) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("The period of a monitor must be at least a millisecond");
+        }
+
+        ScheduledMonitor scheduledMonitor = new ScheduledMonitor(monitor, periodMillis);
+        if (monitor instanceof StatusMonitor) {
+            statusMonitors.add(scheduledMonitor);
+        } else {
+            monitors.add(scheduledMonitor);
+            lock.lock();
+            try {
+                if (executor != null && !stopped) {
+                    executor.setCorePoolSize(executor.getCorePoolSize() + 1);
+                    start(new Task(scheduledMonitor::check, () -> periodMillis, scheduledMonitor), periodMillis);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes the {@link Monitor}, a check already running is finished
+     *
+     * @param monitor the {@link Monitor} to remove
+     */
+    public void removeMonitor(Monitor monitor) {
+        statusMonitors.removeIf(scheduledMonitor -> scheduledMonitor.monitor == monitor);
+        monitors.removeIf(scheduledMonitor -> scheduledMonitor.monitor == monitor);
+        lock.lock();
+        try {
+            if (tasks.removeIf(task -> task.owner != null && task.owner.monitor == monitor) && executor != null) {
+                executor.setCorePoolSize(Math.max(1, executor.getCorePoolSize() - 1));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of threads kept for the running tasks, 0 before the monitor started
+     */
+    int getThreadCount() {
+        lock.lock();
+        try {
+            return executor == null ? 0 : executor.getCorePoolSize();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        this.stopped = false;
+        this.done = false;
+        this.initialized = false;
+
+        try {
+            loadInitialStatus();
+            startTasks();
+            awaitStop();
+        } finally {
+            lock.lock();
+            try {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            } finally {
+                lock.unlock();
+            }
+            tasks.clear();
+            resetMonitors();
+            this.done = true;
+        }
+    }
+
+    private void loadInitialStatus() {
+        try {
+            //initial load so no events fired
+            processStatus(new ArrayList<>(serverStatus.getStatus()));
+            this.initialized = true;
+        } catch (MPDException ex) {
+            throw new MPDException("Problem with initialization", ex);
+        }
+    }
+
+    private void startTasks() {
+        lock.lock();
+        try {
+            AtomicInteger count = new AtomicInteger();
+            executor = new ScheduledThreadPoolExecutor(monitors.size() + 1, runnable -> {
+                Thread thread = new Thread(runnable, "mpd-monitor-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+
+            long now = System.nanoTime();
+            statusMonitors.forEach(scheduledMonitor -> scheduledMonitor.start(now));
+            start(new Task(this::checkStatusMonitors, this::statusPeriod, null), statusPeriod());
+            for (ScheduledMonitor scheduledMonitor : monitors) {
+                start(new Task(scheduledMonitor::check, () -> scheduledMonitor.period, scheduledMonitor),
+                        scheduledMonitor.period);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitStop() {
+        lock.lock();
+        try {
+            while (!stopped) {
+                stoppedCondition.await();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error("ScheduledMonitor interrupted", e);
+            this.stopped = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fetches the status, feeds it to every status monitor and checks the ones that are due
+     */
+    private void checkStatusMonitors() {
+        if (statusMonitors.isEmpty()) {
+            return;
+        }
+
+        processStatus(new ArrayList<>(serverStatus.getStatus()));
+        long now = System.nanoTime();
+        for (ScheduledMonitor scheduledMonitor : statusMonitors) {
+            if (scheduledMonitor.isDue(now)) {
+                scheduledMonitor.check();
+            }
+        }
+    }
+
+    private void processStatus(List<String> response) {
+        for (ScheduledMonitor scheduledMonitor : statusMonitors) {
+            response.forEach(((StatusMonitor) scheduledMonitor.monitor)::processResponseStatus);
+        }
+    }
+
+    /**
+     * @return the shortest period of the status monitors
+     */
+    private long statusPeriod() {
+        long period = Long.MAX_VALUE;
+        for (ScheduledMonitor scheduledMonitor : statusMonitors) {
+            period = Math.min(period, scheduledMonitor.period);
+        }
+        return period == Long.MAX_VALUE ? exceptionDelay : period;
+    }
+
+    private void start(Task task, long delay) {
+        tasks.add(task);
+        schedule(task, delay);
+    }
+
+    private void schedule(Task task, long delay) {
+        if (stopped) {
+            return;
+        }
+
+        long jitterDelay = jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0;
+        try {
+            executor.schedule(task, delay + jitterDelay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Monitor stopped before the next check could be scheduled", e);
+        }
+    }
+
+    private void resetMonitors() {
+        for (ScheduledMonitor scheduledMonitor : statusMonitors) {
+            ((StatusMonitor) scheduledMonitor.monitor).reset();
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.done;
+    }
+
+    @Override
+    public void setStopped(boolean stopped) {
+        lock.lock();
+        try {
+            this.stopped = stopped;
+            stoppedCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A repeating check, scheduled again after each run until it is removed or the monitor
+     * stops.  Runs of the same task never overlap.
+     */
+    private final class Task implements Runnable {
+        private final Runnable check;
+        private final LongSupplier period;
+        private final ScheduledMonitor owner;
+
+        private Task(Runnable check, LongSupplier period, ScheduledMonitor owner) {
+            this.check = check;
+            this.period = period;
+            this.owner = owner;
+        }
+
+        @Override
+        public void run() {
+            if (stopped || !tasks.contains(this)) {
+                return;
+            }
+
+            long delay = period.getAsLong();
+            try {
+                check.run();
+            } catch (MPDException e) {
+                LOGGER.error("Error while checking statuses", e);
+                delay = exceptionDelay;
+            } catch (RuntimeException e) {
+                LOGGER.error("Monitor failed", e);
+            }
+            schedule(this, delay);
+        }
+    }
+
+    private static final class ScheduledMonitor {
+        private final Monitor monitor;
+        private final long period;
+        private long nextCheck;
+
+        private ScheduledMonitor(Monitor monitor, long period) {
+            this.monitor = monitor;
+            this.period = period;
+        }
+
+        void start(long now) {
+            nextCheck = now + TimeUnit.MILLISECONDS.toNanos(period);
+        }
+
+        boolean isDue(long now) {
+            return now - nextCheck >= 0;
+        }
+
+        void check() {
+            nextCheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(period);
+            monitor.checkStatus();
+        }
+    }
+}
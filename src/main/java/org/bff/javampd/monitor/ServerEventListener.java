@@ -0,0 +1,20 @@
+package org.bff.javampd.monitor;
+
+import java.util.EventObject;
+
+/**
+ * Receives the events of every server watched by a {@link MonitorHub}
+ *
+ * @param <E> the type of event
+ * @author bill
+ */
+@FunctionalInterface
+public interface ServerEventListener<E extends EventObject> {
+    /**
+     * Called on the hub worker of the server, events of one server arrive in order
+     *
+     * @param server the server the event happened on
+     * @param event  the event
+     */
+    void eventReceived(MonitoredServer server, E event);
+}
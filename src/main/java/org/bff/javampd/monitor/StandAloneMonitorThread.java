@@ -7,20 +7,23 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
-public class StandAloneMonitorThread implements Runnable {
+public class StandAloneMonitorThread implements MonitorThread {
     private static final Logger LOGGER = LoggerFactory.getLogger(StandAloneMonitorThread.class);
 
-    private List<ThreadedMonitor> monitors;
+    private CopyOnWriteArrayList<ThreadedMonitor> monitors;
     private ServerStatus serverStatus;
     private ConnectionMonitor connectionMonitor;
 
     private int delay;
     private int exceptionDelay;
-    private boolean stopped;
-    private boolean done;
-    private boolean initialized;
+    private volatile boolean stopped;
+    private volatile boolean done;
+    private volatile boolean initialized;
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
      * Creates the monitor thread with the given delay seconds.
@@ -38,7 +41,7 @@ public class StandAloneMonitorThread implements Runnable {
         this.connectionMonitor = connectionMonitor;
         this.delay = delay;
         this.exceptionDelay = exceptionDelay;
-        this.monitors = new ArrayList<>();
+        this.monitors = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -48,9 +51,7 @@ public class StandAloneMonitorThread implements Runnable {
      */
     public void addMonitor(ThreadedMonitor... monitors) {
         for (ThreadedMonitor monitor : monitors) {
-            if (!this.monitors.contains(monitor)) {
-                this.monitors.add(monitor);
-            }
+            this.monitors.addIfAbsent(monitor);
         }
     }
 
@@ -59,8 +60,13 @@ public class StandAloneMonitorThread implements Runnable {
      *
      * @param monitor the {@link ThreadedMonitor} to remove
      */
-    public synchronized void removeMonitor(ThreadedMonitor monitor) {
-        this.monitors.remove(monitor);
+    public void removeMonitor(ThreadedMonitor monitor) {
+        lock.lock();
+        try {
+            this.monitors.remove(monitor);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -81,10 +87,13 @@ public class StandAloneMonitorThread implements Runnable {
     private void monitor() {
         List<String> response;
         try {
-            synchronized (this) {
+            lock.lock();
+            try {
                 response = new ArrayList<>(serverStatus.getStatus());
                 processResponse(response);
                 monitors.forEach(ThreadedMonitor::checkStatus);
+            } finally {
+                lock.unlock();
             }
             TimeUnit.SECONDS.sleep(delay);
         } catch (InterruptedException ie) {
@@ -144,15 +153,17 @@ public class StandAloneMonitorThread implements Runnable {
         }
     }
 
+    @Override
     public boolean isInitialized() {
         return this.initialized;
     }
 
-
+    @Override
     public boolean isDone() {
         return this.done;
     }
 
+    @Override
     public void setStopped(boolean stopped) {
         this.stopped = stopped;
     }
@@ -9,4 +9,10 @@ public interface TrackMonitor extends StatusMonitor {
     void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl);
 
     void resetElapsedTime();
+
+    /**
+     * Fires the position extrapolated from the last status if it moved, called at
+     * monitor.track.rate while monitoring
+     */
+    void tick();
 }
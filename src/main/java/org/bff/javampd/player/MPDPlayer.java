@@ -9,9 +9,9 @@ import org.bff.javampd.song.SongConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * MPDPlayer represents a player controller to a MPD server.  To obtain
@@ -25,7 +25,7 @@ public class MPDPlayer implements Player {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDPlayer.class);
 
     private int oldVolume;
-    private final List<PlayerChangeListener> listeners = new ArrayList<>();
+    private final List<PlayerChangeListener> listeners = new CopyOnWriteArrayList<>();
     private final VolumeChangeDelegate volumeChangeDelegate;
 
     private Status status = Status.STATUS_STOPPED;
@@ -59,12 +59,12 @@ public class MPDPlayer implements Player {
     }
 
     @Override
-    public synchronized void addPlayerChangeListener(PlayerChangeListener pcl) {
+    public void addPlayerChangeListener(PlayerChangeListener pcl) {
         listeners.add(pcl);
     }
 
     @Override
-    public synchronized void removePlayerChangedListener(PlayerChangeListener pcl) {
+    public void removePlayerChangedListener(PlayerChangeListener pcl) {
         listeners.remove(pcl);
     }
 
@@ -74,7 +74,7 @@ public class MPDPlayer implements Player {
      *
      * @param event the {@link PlayerChangeEvent.Event} to send
      */
-    protected synchronized void firePlayerChangeEvent(PlayerChangeEvent.Event event) {
+    protected void firePlayerChangeEvent(PlayerChangeEvent.Event event) {
         PlayerChangeEvent pce = new PlayerChangeEvent(this, event);
 
         for (PlayerChangeListener pcl : listeners) {
@@ -83,12 +83,12 @@ public class MPDPlayer implements Player {
     }
 
     @Override
-    public synchronized void addVolumeChangeListener(VolumeChangeListener vcl) {
+    public void addVolumeChangeListener(VolumeChangeListener vcl) {
         volumeChangeDelegate.addVolumeChangeListener(vcl);
     }
 
     @Override
-    public synchronized void removeVolumeChangedListener(VolumeChangeListener vcl) {
+    public void removeVolumeChangedListener(VolumeChangeListener vcl) {
         volumeChangeDelegate.removeVolumeChangedListener(vcl);
     }
 
@@ -98,7 +98,7 @@ public class MPDPlayer implements Player {
      *
      * @param volume the new volume
      */
-    protected synchronized void fireVolumeChangeEvent(int volume) {
+    protected void fireVolumeChangeEvent(int volume) {
         volumeChangeDelegate.fireVolumeChangeEvent(this, volume);
     }
 
@@ -8,6 +8,7 @@ package org.bff.javampd.player;
  */
 public class TrackPositionChangeEvent extends java.util.EventObject {
     private long newElapsedTime;
+    private long elapsedMillis;
 
     /**
      * Creates a new instance of TrackPositionEvent.
@@ -16,8 +17,20 @@ public class TrackPositionChangeEvent extends java.util.EventObject {
      * @param newTime the new elapsed time of the song
      */
     public TrackPositionChangeEvent(Object source, long newTime) {
+        this(source, newTime, newTime * 1000);
+    }
+
+    /**
+     * Creates a new instance of TrackPositionEvent with millisecond precision.
+     *
+     * @param source        the object on which the Event initially occurred
+     * @param newTime       the new elapsed time of the song in seconds
+     * @param elapsedMillis the new elapsed time of the song in milliseconds
+     */
+    public TrackPositionChangeEvent(Object source, long newTime, long elapsedMillis) {
         super(source);
         this.newElapsedTime = newTime;
+        this.elapsedMillis = elapsedMillis;
     }
 
     /**
@@ -28,4 +41,14 @@ public class TrackPositionChangeEvent extends java.util.EventObject {
     public long getElapsedTime() {
         return newElapsedTime;
     }
+
+    /**
+     * Returns the elapsed time of the playing song in milliseconds.  Only interpolated
+     * positions are more precise than {@link #getElapsedTime()}.
+     *
+     * @return the new elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package org.bff.javampd.player;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Handles volume change eventing.
@@ -12,14 +12,14 @@ public class VolumeChangeDelegate {
     private List<VolumeChangeListener> volListeners;
 
     public VolumeChangeDelegate() {
-        volListeners = new ArrayList<>();
+        volListeners = new CopyOnWriteArrayList<>();
     }
 
-    public synchronized void addVolumeChangeListener(VolumeChangeListener vcl) {
+    public void addVolumeChangeListener(VolumeChangeListener vcl) {
         volListeners.add(vcl);
     }
 
-    public synchronized void removeVolumeChangedListener(VolumeChangeListener vcl) {
+    public void removeVolumeChangedListener(VolumeChangeListener vcl) {
         volListeners.remove(vcl);
     }
 
@@ -30,7 +30,7 @@ public class VolumeChangeDelegate {
      * @param source source of event
      * @param volume the new volume
      */
-    public synchronized void fireVolumeChangeEvent(Object source, int volume) {
+    public void fireVolumeChangeEvent(Object source, int volume) {
         VolumeChangeEvent vce = new VolumeChangeEvent(source, volume);
 
         for (VolumeChangeListener vcl : volListeners) {
@@ -0,0 +1,59 @@
+package org.bff.javampd.playlist;
+
+import org.bff.javampd.song.MPDSong;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variants of the most used {@link Playlist} operations.  The futures complete
+ * on the executor given to {@link org.bff.javampd.server.MPD.Builder#asyncExecutor(java.util.concurrent.Executor)}.
+ *
+ * @author bill
+ */
+public interface AsyncPlaylist {
+
+    /**
+     * @return the future result of {@link Playlist#getSongList()}
+     */
+    CompletableFuture<List<MPDSong>> getSongList();
+
+    /**
+     * @return the future result of {@link Playlist#getCurrentSong()}
+     */
+    CompletableFuture<MPDSong> getCurrentSong();
+
+    /**
+     * @return the future result of {@link Playlist#getVersion()}
+     */
+    CompletableFuture<Integer> getVersion();
+
+    /**
+     * @param file the file to add
+     * @return completes once {@link Playlist#addSong(String)} is done
+     */
+    CompletableFuture<Void> addSong(String file);
+
+    /**
+     * @param songList the songs to add
+     * @return the future result of {@link Playlist#addSongs(List)}
+     */
+    CompletableFuture<Boolean> addSongs(List<MPDSong> songList);
+
+    /**
+     * @param position the playlist position to remove
+     * @return completes once {@link Playlist#removeSong(int)} is done
+     */
+    CompletableFuture<Void> removeSong(int position);
+
+    /**
+     * @param playlistName the saved playlist to load
+     * @return completes once {@link Playlist#loadPlaylist(String)} is done
+     */
+    CompletableFuture<Void> loadPlaylist(String playlistName);
+
+    /**
+     * @return completes once {@link Playlist#clearPlaylist()} is done
+     */
+    CompletableFuture<Void> clearPlaylist();
+}
@@ -0,0 +1,77 @@
+package org.bff.javampd.playlist;
+
+import org.bff.javampd.command.AsyncCalls;
+import org.bff.javampd.song.MPDSong;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs {@link Playlist} operations on an I/O {@link Executor} and completes the futures on
+ * another one
+ *
+ * @author bill
+ */
+public class MPDAsyncPlaylist implements AsyncPlaylist {
+    private final Playlist playlist;
+    private final AsyncCalls calls;
+
+    /**
+     * @param playlist the playlist doing the work
+     * @param executor runs the operations and completes the futures
+     */
+    public MPDAsyncPlaylist(Playlist playlist, Executor executor) {
+        this(playlist, executor, executor);
+    }
+
+    /**
+     * @param playlist   the playlist doing the work
+     * @param ioExecutor runs the operations, blocking on the connection
+     * @param executor   completes the futures
+     */
+    public MPDAsyncPlaylist(Playlist playlist, Executor ioExecutor, Executor executor) {
+        this.playlist = playlist;
+        this.calls = new AsyncCalls(ioExecutor, executor);
+    }
+
+    @Override
+    public CompletableFuture<List<MPDSong>> getSongList() {
+        return calls.supply(playlist::getSongList);
+    }
+
+    @Override
+    public CompletableFuture<MPDSong> getCurrentSong() {
+        return calls.supply(playlist::getCurrentSong);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getVersion() {
+        return calls.supply(playlist::getVersion);
+    }
+
+    @Override
+    public CompletableFuture<Void> addSong(String file) {
+        return calls.run(() -> playlist.addSong(file));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addSongs(List<MPDSong> songList) {
+        return calls.supply(() -> playlist.addSongs(songList));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeSong(int position) {
+        return calls.run(() -> playlist.removeSong(position));
+    }
+
+    @Override
+    public CompletableFuture<Void> loadPlaylist(String playlistName) {
+        return calls.run(() -> playlist.loadPlaylist(playlistName));
+    }
+
+    @Override
+    public CompletableFuture<Void> clearPlaylist() {
+        return calls.run(playlist::clearPlaylist);
+    }
+}
@@ -7,6 +7,7 @@ import org.bff.javampd.command.CommandExecutor;
 import org.bff.javampd.command.MPDCommand;
 import org.bff.javampd.file.MPDFile;
 import org.bff.javampd.genre.MPDGenre;
+import org.bff.javampd.server.ServerProperties;
 import org.bff.javampd.server.ServerStatus;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
@@ -17,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * MPDPlaylist represents a playlist controller to a MPD server.  To obtain
@@ -37,6 +39,7 @@ public class MPDPlaylist implements Playlist {
     private final ServerStatus serverStatus;
     private final CommandExecutor commandExecutor;
     private final SongConverter songConverter;
+    private final QueueMirror queueMirror;
 
     private PlaylistProperties playlistProperties;
 
@@ -60,17 +63,20 @@ public class MPDPlaylist implements Playlist {
         this.playlistProperties = playlistProperties;
         this.commandExecutor = commandExecutor;
         this.songConverter = songConverter;
-        this.listeners = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
         this.playlistProperties = new PlaylistProperties();
+        this.queueMirror = this.playlistProperties.isMirror()
+                ? new QueueMirror(commandExecutor, songConverter, this.playlistProperties, new ServerProperties())
+                : null;
     }
 
     @Override
-    public synchronized void addPlaylistChangeListener(PlaylistChangeListener pcl) {
+    public void addPlaylistChangeListener(PlaylistChangeListener pcl) {
         listeners.add(pcl);
     }
 
     @Override
-    public synchronized void removePlaylistStatusChangedListener(PlaylistChangeListener pcl) {
+    public void removePlaylistStatusChangedListener(PlaylistChangeListener pcl) {
         listeners.remove(pcl);
     }
 
@@ -80,7 +86,7 @@ public class MPDPlaylist implements Playlist {
      *
      * @param event the {@link PlaylistChangeEvent.Event} to send
      */
-    protected synchronized void firePlaylistChangeEvent(PlaylistChangeEvent.Event event) {
+    protected void firePlaylistChangeEvent(PlaylistChangeEvent.Event event) {
         PlaylistChangeEvent pce = new PlaylistChangeEvent(this, event);
 
         for (PlaylistChangeListener pcl : listeners) {
@@ -95,7 +101,7 @@ public class MPDPlaylist implements Playlist {
      * @param event the {@link PlaylistChangeEvent.Event} to send
      * @param name  name of the added entity
      */
-    protected synchronized void firePlaylistChangeEvent(PlaylistChangeEvent.Event event, String name) {
+    protected void firePlaylistChangeEvent(PlaylistChangeEvent.Event event, String name) {
         PlaylistChangeEvent pce = new PlaylistChangeEvent(this, event, name);
 
         for (PlaylistChangeListener pcl : listeners) {
@@ -269,11 +275,14 @@ public class MPDPlaylist implements Playlist {
     }
 
     /**
-     * Returns the list of songs in the playlist.
+     * Returns the list of songs in the playlist, from the {@link QueueMirror} if there is one.
      *
      * @return the list of songs
      */
     private List<MPDSong> listSongs() {
+        if (queueMirror != null) {
+            return queueMirror.getSongs();
+        }
         return convertResponseToSong(commandExecutor.sendCommand(playlistProperties.getInfo()));
     }
 
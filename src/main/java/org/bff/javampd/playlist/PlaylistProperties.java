@@ -16,6 +16,7 @@ public class PlaylistProperties extends MPDProperties {
         ID("playlist.list.id"),
         INFO("playlist.list"),
         LOAD("playlist.load"),
+        MIRROR("playlist.mirror"),
         MOVE("playlist.move"),
         MOVEID("playlist.move.id"),
         REMOVE("playlist.remove"),
@@ -68,6 +69,13 @@ public class PlaylistProperties extends MPDProperties {
         return getPropertyString(Command.LOAD.getKey());
     }
 
+    /**
+     * @return true if the queue is read from a {@link QueueMirror}
+     */
+    public boolean isMirror() {
+        return Boolean.parseBoolean(getPropertyString(Command.MIRROR.getKey()));
+    }
+
     public String getMove() {
         return getPropertyString(Command.MOVE.getKey());
     }
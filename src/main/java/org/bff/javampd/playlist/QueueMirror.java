@@ -0,0 +1,155 @@
+package org.bff.javampd.playlist;
+
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.ServerProperties;
+import org.bff.javampd.server.StatusSnapshot;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.SongConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copy of the queue held on the client.  It belongs to the playlist version of the server
+ * it was read at, and each read only asks for the songs changed since that version with
+ * {@code plchanges}.  Reading a long queue that barely changed then costs little more than
+ * the {@code status} sent with it.
+ * <p>
+ * The {@code status} and the changes are sent in one command list, which the server runs
+ * without anything in between, so the version and the changes always agree.  The whole
+ * queue is read with {@code playlistinfo} the first time and whenever the version goes
+ * back, like after a restart of the server.
+ * <p>
+ * Songs are handed out as copies, so callers changing them leave the mirror intact.
+ * <p>
+ * Thread safe.
+ *
+ * @author bill
+ */
+class QueueMirror {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueueMirror.class);
+
+    private final CommandExecutor commandExecutor;
+    private final SongConverter songConverter;
+    private final PlaylistProperties playlistProperties;
+    private final ServerProperties serverProperties;
+    private final List<MPDSong> songs;
+    private final ReentrantLock lock;
+
+    private volatile int version = -1;
+
+    QueueMirror(CommandExecutor commandExecutor,
+                SongConverter songConverter,
+                PlaylistProperties playlistProperties,
+                ServerProperties serverProperties) {
+        this.commandExecutor = commandExecutor;
+        this.songConverter = songConverter;
+        this.playlistProperties = playlistProperties;
+        this.serverProperties = serverProperties;
+        this.songs = new ArrayList<>();
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Brings the mirror up to date with the server
+     *
+     * @return copies of the songs of the queue in order
+     */
+    List<MPDSong> getSongs() {
+        lock.lock();
+        try {
+            if (version < 0 || !update()) {
+                reload();
+            }
+            List<MPDSong> copies = new ArrayList<>(songs.size());
+            for (MPDSong song : songs) {
+                copies.add(copy(song));
+            }
+            return copies;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the playlist version of the server the mirror was last read at, -1 before the first read
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies the changes since the mirrored version
+     *
+     * @return false if the server is behind the mirror and the queue has to be read again
+     */
+    private boolean update() {
+        List<List<String>> responses = commandExecutor.sendCommands(List.of(
+                new MPDCommand(serverProperties.getStatus()),
+                new MPDCommand(playlistProperties.getChanges(), Integer.toString(version))));
+        StatusSnapshot status = StatusSnapshot.of(responses.get(0));
+        if (status.getPlaylistVersion() < version) {
+            LOGGER.debug("Playlist version went back from {} to {}, reading the whole queue",
+                    version, status.getPlaylistVersion());
+            return false;
+        }
+
+        List<MPDSong> changes = songConverter.convertResponseToSong(responses.get(1));
+        for (MPDSong song : changes) {
+            set(song);
+        }
+        truncate(status.getPlaylistLength());
+        LOGGER.debug("Applied {} changes from playlist version {} to {}",
+                changes.size(), version, status.getPlaylistVersion());
+        version = status.getPlaylistVersion();
+        return true;
+    }
+
+    private void reload() {
+        List<List<String>> responses = commandExecutor.sendCommands(List.of(
+                new MPDCommand(serverProperties.getStatus()),
+                new MPDCommand(playlistProperties.getInfo())));
+        songs.clear();
+        songs.addAll(songConverter.convertResponseToSong(responses.get(1)));
+        version = StatusSnapshot.of(responses.get(0)).getPlaylistVersion();
+    }
+
+    private void set(MPDSong song) {
+        int position = song.getPosition();
+        if (position < 0) {
+            LOGGER.warn("Ignoring changed song {} without a position", song.getFile());
+            return;
+        }
+
+        while (songs.size() <= position) {
+            songs.add(null);
+        }
+        songs.set(position, song);
+    }
+
+    private static MPDSong copy(MPDSong song) {
+        MPDSong copy = new MPDSong(song.getFile(), song.getTitle());
+        copy.setName(song.getName());
+        copy.setArtistName(song.getArtistName());
+        copy.setAlbumName(song.getAlbumName());
+        copy.setGenre(song.getGenre());
+        copy.setYear(song.getYear());
+        copy.setComment(song.getComment());
+        copy.setDiscNumber(song.getDiscNumber());
+        copy.setLength(song.getLength());
+        copy.setTrack(song.getTrack());
+        copy.setPosition(song.getPosition());
+        copy.setId(song.getId());
+        return copy;
+    }
+
+    private void truncate(int length) {
+        if (songs.size() > length) {
+            songs.subList(length, songs.size()).clear();
+        }
+    }
+}
@@ -12,14 +12,14 @@ public class AlbumTagProcessor extends TagResponseProcessor implements SongTagRe
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setAlbumName(line.substring(getPrefix().length()).trim());
+            song.setAlbumName(value(line));
         }
     }
 
     @Override
     public void processTag(MPDAlbum album, String line) {
         if (startsWith(line)) {
-            album.setName(line.substring(getPrefix().length()).trim());
+            album.setName(value(line));
         }
     }
 }
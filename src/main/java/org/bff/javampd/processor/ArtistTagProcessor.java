@@ -14,14 +14,14 @@ public class ArtistTagProcessor extends TagResponseProcessor implements
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setArtistName(line.substring(getPrefix().length()).trim());
+            song.setArtistName(value(line));
         }
     }
 
     @Override
     public void processTag(MPDAlbum album, String line) {
         if (startsWith(line)) {
-            album.setArtistName(line.substring(getPrefix().length()).trim());
+            album.setArtistName(value(line));
         }
     }
 }
@@ -11,7 +11,7 @@ public class CommentTagProcessor extends TagResponseProcessor implements SongTag
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setComment(line.substring(getPrefix().length()).trim());
+            song.setComment(value(line));
         }
     }
 }
@@ -12,14 +12,14 @@ public class DateTagProcessor extends TagResponseProcessor implements SongTagRes
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setYear(line.substring(getPrefix().length()).trim());
+            song.setYear(value(line));
         }
     }
 
     @Override
     public void processTag(MPDAlbum album, String line) {
         if (startsWith(line)) {
-            album.setDate(line.substring(getPrefix().length()).trim());
+            album.setDate(value(line));
         }
     }
 }
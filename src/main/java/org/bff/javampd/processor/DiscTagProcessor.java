@@ -11,7 +11,7 @@ public class DiscTagProcessor extends TagResponseProcessor implements SongTagRes
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setDiscNumber(line.substring(getPrefix().length()).trim());
+            song.setDiscNumber(value(line));
         }
     }
 }
@@ -11,7 +11,7 @@ public class FileTagProcessor extends TagResponseProcessor implements SongTagRes
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setFile(line.substring(getPrefix().length()).trim());
+            song.setFile(value(line));
         }
     }
 }
@@ -12,7 +12,7 @@ public class GenreTagProcessor extends TagResponseProcessor implements SongTagRe
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setGenre(line.substring(getPrefix().length()).trim());
+            song.setGenre(value(line));
         }
     }
 
@@ -20,7 +20,7 @@ public class GenreTagProcessor extends TagResponseProcessor implements SongTagRe
     @Override
     public void processTag(MPDAlbum album, String line) {
         if (startsWith(line)) {
-            album.setGenre(line.substring(getPrefix().length()).trim());
+            album.setGenre(value(line));
         }
     }
 }
@@ -11,7 +11,7 @@ public class IdTagProcessor extends TagResponseProcessor implements SongTagRespo
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setId(Integer.parseInt(line.substring(getPrefix().length()).trim()));
+            song.setId(intValue(line));
         }
     }
 }
@@ -11,7 +11,7 @@ public class NameTagProcessor extends TagResponseProcessor implements SongTagRes
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setName(line.substring(getPrefix().length()).trim());
+            song.setName(value(line));
         }
     }
 }
@@ -11,7 +11,7 @@ public class PositionTagProcessor extends TagResponseProcessor implements SongTa
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setPosition(Integer.parseInt(line.substring(getPrefix().length()).trim()));
+            song.setPosition(intValue(line));
         }
     }
 }
@@ -16,4 +16,56 @@ public abstract class TagResponseProcessor {
         return line.startsWith(getPrefix());
     }
 
+    /**
+     * Cuts the value out of the line with a single copy, where {@code substring} followed by
+     * {@code trim} copies it twice
+     *
+     * @param line the line starting with the prefix
+     * @return the value after the prefix without surrounding whitespace
+     */
+    protected String value(String line) {
+        int start = valueStart(line);
+        return line.substring(start, valueEnd(line, start, line.length()));
+    }
+
+    /**
+     * Parses the value as a number where it stands in the line
+     *
+     * @param line the line starting with the prefix
+     * @return the value after the prefix
+     * @throws NumberFormatException if the value isn't a number
+     */
+    protected int intValue(String line) {
+        return intValue(line, line.length());
+    }
+
+    /**
+     * Parses the value up to the limit as a number where it stands in the line
+     *
+     * @param line  the line starting with the prefix
+     * @param limit the index the value ends at
+     * @return the value after the prefix
+     * @throws NumberFormatException if the value isn't a number
+     */
+    protected int intValue(String line, int limit) {
+        int start = valueStart(line);
+        return Integer.parseInt(line, start, valueEnd(line, start, limit), 10);
+    }
+
+    private int valueStart(String line) {
+        int start = prefix.length();
+        while (start < line.length() && line.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int valueEnd(String line, int start, int limit) {
+        int end = limit;
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
 }
@@ -11,7 +11,7 @@ public class TimeTagProcessor extends TagResponseProcessor implements SongTagRes
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setLength(Integer.parseInt(line.substring(getPrefix().length()).trim()));
+            song.setLength(intValue(line));
         }
     }
 }
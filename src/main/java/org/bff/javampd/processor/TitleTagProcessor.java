@@ -11,7 +11,7 @@ public class TitleTagProcessor extends TagResponseProcessor implements SongTagRe
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setTitle(line.substring(getPrefix().length()).trim());
+            song.setTitle(value(line));
         }
     }
 }
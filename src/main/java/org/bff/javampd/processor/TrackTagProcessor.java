@@ -14,13 +14,17 @@ public class TrackTagProcessor extends TagResponseProcessor implements SongTagRe
     @Override
     public void processTag(MPDSong song, String line) {
         if (startsWith(line)) {
-            song.setTrack(processTrack(line.substring(getPrefix().length()).trim()));
+            song.setTrack(processTrack(line));
         }
     }
 
-    private static int processTrack(String track) {
+    /**
+     * Tracks may be given as 3/12, the number of tracks is ignored
+     */
+    private int processTrack(String line) {
         try {
-            return Integer.parseInt(track.split("/")[0]);
+            int slash = line.indexOf('/', getPrefix().length());
+            return intValue(line, slash < 0 ? line.length() : slash);
         } catch (NumberFormatException nfe) {
             LOGGER.error("Unable to format track", nfe);
         }
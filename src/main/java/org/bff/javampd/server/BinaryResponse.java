@@ -0,0 +1,52 @@
+package org.bff.javampd.server;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The response to a command that returns a {@code binary: N} payload such as
+ * {@code albumart} or {@code readpicture}.  The payload is held in a pooled buffer;
+ * call {@link #close()} once it has been consumed to give the buffer back.
+ *
+ * @author bill
+ */
+public class BinaryResponse implements AutoCloseable {
+    private final List<String> response;
+    private final ByteBuffer data;
+    private final ByteBufferPool pool;
+
+    /**
+     * @param response the text lines of the response, without the binary line
+     * @param data     the payload ready to be read, null if the response had none
+     * @param pool     the pool the payload buffer came from
+     */
+    public BinaryResponse(List<String> response, ByteBuffer data, ByteBufferPool pool) {
+        this.response = response;
+        this.data = data;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the text lines of the response such as {@code size: N} or {@code type: image/jpeg}
+     */
+    public List<String> getResponse() {
+        return response;
+    }
+
+    /**
+     * @return the payload, an empty buffer if the response had none
+     */
+    public ByteBuffer getData() {
+        return data == null ? ByteBuffer.allocate(0) : data;
+    }
+
+    /**
+     * Gives the payload buffer back to its pool
+     */
+    @Override
+    public void close() {
+        if (data != null) {
+            pool.release(data);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.bff.javampd.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps released {@link ByteBuffer}s for binary responses so a transfer made of many chunks
+ * reuses the same few buffers instead of allocating one per chunk.
+ *
+ * @author bill
+ */
+public class ByteBufferPool {
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedDeque<ByteBuffer> buffers;
+    private final AtomicInteger pooled;
+
+    /**
+     * @param bufferSize the capacity of new buffers, larger requests get a buffer of their own size
+     * @param maxPooled  the number of released buffers to keep
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.buffers = new ConcurrentLinkedDeque<>();
+        this.pooled = new AtomicInteger();
+    }
+
+    /**
+     * Returns a cleared buffer with room for at least the given number of bytes
+     *
+     * @param capacity the number of bytes needed
+     * @return a pooled or new buffer
+     */
+    public ByteBuffer acquire(int capacity) {
+        ByteBuffer buffer = buffers.pollLast();
+        if (buffer != null) {
+            pooled.decrementAndGet();
+            if (buffer.capacity() >= capacity) {
+                return buffer;
+            }
+        }
+        return ByteBuffer.allocate(Math.max(capacity, bufferSize));
+    }
+
+    /**
+     * Gives the buffer back to the pool, the caller must not use it afterwards
+     *
+     * @param buffer the buffer from {@link #acquire(int)}
+     */
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offerLast(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of buffers waiting to be reused
+     */
+    public int getPooledCount() {
+        return pooled.get();
+    }
+}
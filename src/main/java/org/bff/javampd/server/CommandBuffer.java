@@ -0,0 +1,153 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable buffer the encoded command lines are written into before they are sent.  Command
+ * names come pre-encoded from {@link MPDCommand#getEncodedCommand(Charset)} and parameters
+ * are quoted and escaped straight into the buffer, so sending a command allocates nothing
+ * once the buffer has grown to fit.
+ * <p>
+ * Not thread safe, each {@link MPDSocket} owns one and uses it under its lock.
+ *
+ * @author bill
+ */
+public final class CommandBuffer {
+    private static final int INITIAL_SIZE = 256;
+    private static final byte QUOTE = '"';
+    private static final byte BACKSLASH = '\\';
+    private static final byte SPACE = ' ';
+    private static final byte LINE_FEED = '\n';
+
+    private final Charset charset;
+    private final boolean utf8;
+    private byte[] bytes;
+    private int size;
+
+    CommandBuffer(Charset charset) {
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.bytes = new byte[INITIAL_SIZE];
+    }
+
+    /**
+     * Encodes a single command line, for connections which don't go through an {@link MPDSocket}
+     *
+     * @param command the command
+     * @param charset the charset of the server
+     * @return the command, its parameters quoted and escaped, and a line feed
+     */
+    public static byte[] encode(MPDCommand command, Charset charset) {
+        CommandBuffer buffer = new CommandBuffer(charset).append(command);
+        return Arrays.copyOf(buffer.array(), buffer.size());
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity
+     *
+     * @return this buffer
+     */
+    CommandBuffer reset() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Appends the command line: the command, each parameter quoted and a line feed
+     *
+     * @param command the command to append
+     * @return this buffer
+     */
+    CommandBuffer append(MPDCommand command) {
+        put(command.getEncodedCommand(charset));
+        List<String> params = command.getParams();
+        for (int i = 0; i < params.size(); i++) {
+            put(SPACE);
+            put(QUOTE);
+            putEscaped(params.get(i));
+            put(QUOTE);
+        }
+        put(LINE_FEED);
+        return this;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the content, for logging and tests
+     */
+    String content() {
+        return new String(bytes, 0, size, charset);
+    }
+
+    /**
+     * Escapes quotes and backslashes, the only characters with a meaning inside a quoted
+     * parameter
+     */
+    private void putEscaped(String param) {
+        if (!utf8) {
+            put(param.replace("\\", "\\\\").replace("\"", "\\\"").getBytes(charset));
+            return;
+        }
+
+        for (int i = 0; i < param.length(); i++) {
+            char c = param.charAt(i);
+            if (c == QUOTE || c == BACKSLASH) {
+                put(BACKSLASH);
+                put((byte) c);
+            } else if (c < 0x80) {
+                put((byte) c);
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < param.length()
+                    && Character.isLowSurrogate(param.charAt(i + 1))) {
+                putCodePoint(Character.toCodePoint(c, param.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                put((byte) '?');
+            } else {
+                ensureCapacity(3);
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void putCodePoint(int codePoint) {
+        ensureCapacity(4);
+        bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        bytes[size++] = b;
+    }
+
+    private void put(byte[] b) {
+        ensureCapacity(b.length);
+        System.arraycopy(b, 0, bytes, size, b.length);
+        size += b.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.util.EventObject;
  */
 public class ConnectionChangeEvent extends EventObject {
     private boolean connected;
+    private String message;
 
     /**
      * Creates a new instance of ConnectionChangeEvent
@@ -22,6 +23,18 @@ public class ConnectionChangeEvent extends EventObject {
         this.connected = isConnected;
     }
 
+    /**
+     * Creates a new instance of ConnectionChangeEvent
+     *
+     * @param source      the object on which the Event initially occurred
+     * @param isConnected the connection status
+     * @param message     why the connection status changed
+     */
+    public ConnectionChangeEvent(Object source, boolean isConnected, String message) {
+        this(source, isConnected);
+        this.message = message;
+    }
+
     /**
      * Returns true if there is a connection with the MPD server.  If there is no
      * connection returns false.
@@ -31,4 +44,13 @@ public class ConnectionChangeEvent extends EventObject {
     public boolean isConnected() {
         return connected;
     }
+
+    /**
+     * Returns why the connection status changed, if the source knows
+     *
+     * @return the reason or null
+     */
+    public String getMessage() {
+        return message;
+    }
 }
@@ -14,18 +14,33 @@ import org.bff.javampd.MPDModule;
 import org.bff.javampd.MPDMonitorModule;
 import org.bff.javampd.admin.Admin;
 import org.bff.javampd.art.ArtworkFinder;
+import org.bff.javampd.command.AsyncCommandExecutor;
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDAsyncCommandExecutor;
 import org.bff.javampd.database.MusicDatabase;
+import org.bff.javampd.database.ResultCache;
+import org.bff.javampd.database.StringPool;
+import org.bff.javampd.library.LibraryMirror;
 import org.bff.javampd.monitor.ConnectionMonitor;
 import org.bff.javampd.monitor.StandAloneMonitor;
 import org.bff.javampd.player.Player;
+import org.bff.javampd.playlist.AsyncPlaylist;
+import org.bff.javampd.playlist.MPDAsyncPlaylist;
 import org.bff.javampd.playlist.Playlist;
+import org.bff.javampd.song.AsyncSongDatabase;
+import org.bff.javampd.song.MPDAsyncSongDatabase;
 import org.bff.javampd.song.SongSearcher;
 import org.bff.javampd.statistics.ServerStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * MPD represents a connection to a MPD server.  The commands
@@ -40,6 +55,10 @@ import java.net.InetAddress;
  * port - 6600
  * no timeout
  * no password
+ * blocking TCP socket transport
+ * a single pooled connection
+ * async calls sent from a pool of daemon threads, one per pooled connection, and completed
+ * on the common fork join pool
  *
  * @author Bill
  */
@@ -51,10 +70,16 @@ public class MPD implements Server {
     private final InetAddress address;
     private final String password;
     private final int timeout;
+    private final boolean nio;
+    private final Path socketPath;
+    private final int poolSize;
+    private final int poolIdleTimeout;
+    private final int poolAcquireTimeout;
     private boolean closed;
 
     private static final int DEFAULT_PORT = 6600;
     private static final int DEFAULT_TIMEOUT = 0;
+    private static final int DEFAULT_POOL_SIZE = 1;
     private static final String DEFAULT_SERVER = "localhost";
 
     private final ServerProperties serverProperties;
@@ -69,6 +94,13 @@ public class MPD implements Server {
     private final MusicDatabase musicDatabase;
     private final SongSearcher songSearcher;
     private final ArtworkFinder artworkFinder;
+    private final StringPool stringPool;
+    private final LibraryMirror libraryMirror;
+    private final ResultCache resultCache;
+    private final ExecutorService ioExecutor;
+    private final AsyncCommandExecutor asyncCommandExecutor;
+    private final AsyncSongDatabase asyncSongDatabase;
+    private final AsyncPlaylist asyncPlaylist;
 
     private MPD(Builder builder) {
         try {
@@ -76,6 +108,11 @@ public class MPD implements Server {
             this.password = builder.password;
             this.port = builder.port;
             this.timeout = builder.timeout;
+            this.nio = builder.nio;
+            this.socketPath = builder.socketPath;
+            this.poolSize = builder.poolSize;
+            this.poolIdleTimeout = builder.poolIdleTimeout;
+            this.poolAcquireTimeout = builder.poolAcquireTimeout;
             this.serverProperties = builder.serverProperties;
             this.commandExecutor = builder.commandExecutor;
             this.player = builder.player;
@@ -87,6 +124,16 @@ public class MPD implements Server {
             this.songSearcher = builder.songSearcher;
             this.musicDatabase = builder.musicDatabase;
             this.artworkFinder = builder.artworkFinder;
+            this.stringPool = builder.stringPool;
+            this.libraryMirror = builder.libraryMirror;
+            this.resultCache = builder.resultCache;
+
+            this.ioExecutor = createIoExecutor(poolSize);
+            // completing on the I/O pool would deadlock a stage joining another async call
+            Executor asyncExecutor = builder.asyncExecutor == null ? ForkJoinPool.commonPool() : builder.asyncExecutor;
+            this.asyncCommandExecutor = new MPDAsyncCommandExecutor(commandExecutor, ioExecutor, asyncExecutor);
+            this.asyncSongDatabase = new MPDAsyncSongDatabase(musicDatabase.getSongDatabase(), ioExecutor, asyncExecutor);
+            this.asyncPlaylist = new MPDAsyncPlaylist(playlist, ioExecutor, asyncExecutor);
 
             this.commandExecutor.setMpd(this);
             authenticate();
@@ -95,6 +142,19 @@ public class MPD implements Server {
         }
     }
 
+    /**
+     * The async calls block on the connections, so no more of them can be in flight than
+     * there are pooled connections.  The rest wait in the queue instead of holding threads.
+     */
+    private static ExecutorService createIoExecutor(int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "javampd-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private void authenticate() {
         if (usingPassword()) {
             commandExecutor.usePassword(this.password);
@@ -114,6 +174,7 @@ public class MPD implements Server {
             this.closed = true;
         } finally {
             commandExecutor.close();
+            ioExecutor.shutdown();
         }
     }
 
@@ -157,6 +218,31 @@ public class MPD implements Server {
         return timeout;
     }
 
+    @Override
+    public boolean isNio() {
+        return nio;
+    }
+
+    @Override
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    @Override
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public int getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    @Override
+    public int getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
     @Override
     public Player getPlayer() {
         return this.player;
@@ -202,6 +288,21 @@ public class MPD implements Server {
         return this.commandExecutor;
     }
 
+    @Override
+    public AsyncCommandExecutor getAsyncCommandExecutor() {
+        return this.asyncCommandExecutor;
+    }
+
+    @Override
+    public AsyncSongDatabase getAsyncSongDatabase() {
+        return this.asyncSongDatabase;
+    }
+
+    @Override
+    public AsyncPlaylist getAsyncPlaylist() {
+        return this.asyncPlaylist;
+    }
+
     private boolean usingPassword() {
         return this.password != null && !"".equals(this.password);
     }
@@ -211,11 +312,32 @@ public class MPD implements Server {
         return this.artworkFinder;
     }
 
+    @Override
+    public StringPool getStringPool() {
+        return this.stringPool;
+    }
+
+    @Override
+    public LibraryMirror getLibraryMirror() {
+        return this.libraryMirror;
+    }
+
+    @Override
+    public ResultCache getResultCache() {
+        return this.resultCache;
+    }
+
     public static class Builder {
         private int port = DEFAULT_PORT;
         private String server = DEFAULT_SERVER;
         private int timeout = DEFAULT_TIMEOUT;
         private String password;
+        private boolean nio;
+        private Path socketPath;
+        private int poolSize = DEFAULT_POOL_SIZE;
+        private int poolIdleTimeout;
+        private int poolAcquireTimeout;
+        private Executor asyncExecutor;
         private ServerProperties serverProperties;
         private CommandExecutor commandExecutor;
         private Player player;
@@ -228,6 +350,9 @@ public class MPD implements Server {
         private Injector injector;
         private SongSearcher songSearcher;
         private ArtworkFinder artworkFinder;
+        private StringPool stringPool;
+        private LibraryMirror libraryMirror;
+        private ResultCache resultCache;
 
         public Builder() {
             injector = Guice.createInjector(new MPDModule(), new MPDDatabaseModule(), new MPDMonitorModule());
@@ -255,6 +380,81 @@ public class MPD implements Server {
             return this;
         }
 
+        /**
+         * Use the non-blocking {@link NioMPDSocket} transport instead of the default blocking socket
+         *
+         * @param nio true to use the NIO transport
+         * @return the builder
+         */
+        public Builder nio(boolean nio) {
+            this.nio = nio;
+            return this;
+        }
+
+        /**
+         * Connect to the unix domain socket of a local MPD, for example {@code /run/mpd/socket},
+         * instead of the server and port.  Needs Java 16 or later.
+         *
+         * @param socketPath the path of the socket, null to connect over TCP
+         * @return the builder
+         */
+        public Builder socketPath(Path socketPath) {
+            this.socketPath = socketPath;
+            return this;
+        }
+
+        /**
+         * Maximum number of connections used to send commands concurrently
+         *
+         * @param poolSize the pool size, at least 1
+         * @return the builder
+         */
+        public Builder poolSize(int poolSize) {
+            if (poolSize < 1) {
+                throw new IllegalArgumentException("Pool size must be at least 1");
+            }
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * Milliseconds an unused pooled connection is kept open before being closed
+         *
+         * @param poolIdleTimeout the idle timeout, 0 to keep connections open
+         * @return the builder
+         */
+        public Builder poolIdleTimeout(int poolIdleTimeout) {
+            this.poolIdleTimeout = poolIdleTimeout;
+            return this;
+        }
+
+        /**
+         * Milliseconds to wait for a free connection when all pooled connections are busy
+         *
+         * @param poolAcquireTimeout the acquire timeout, 0 to wait indefinitely
+         * @return the builder
+         */
+        public Builder poolAcquireTimeout(int poolAcquireTimeout) {
+            this.poolAcquireTimeout = poolAcquireTimeout;
+            return this;
+        }
+
+        /**
+         * Executor the async API completes its futures on, so dependent stages run there.  The
+         * commands themselves are always sent from an internal pool with a thread per pooled
+         * connection, so an event loop can be given here without it blocking on the server.
+         * The caller owns the executor and is responsible for shutting it down.  A stage blocking
+         * on another async call, like a join, needs a second thread of the executor to complete
+         * that call, so it deadlocks a single threaded executor such as an event loop.
+         *
+         * @param asyncExecutor the executor, null to complete on the common fork join pool
+         * @return the builder
+         */
+        public Builder asyncExecutor(Executor asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
         public MPD build() {
             MPD mpd = new MPD(this);
             injector.getInstance(ConnectionMonitor.class).setServer(mpd);
@@ -272,6 +472,9 @@ public class MPD implements Server {
             this.songSearcher = injector.getInstance(SongSearcher.class);
             this.commandExecutor = injector.getInstance(CommandExecutor.class);
             this.artworkFinder = injector.getInstance(ArtworkFinder.class);
+            this.stringPool = injector.getInstance(StringPool.class);
+            this.libraryMirror = injector.getInstance(LibraryMirror.class);
+            this.resultCache = injector.getInstance(ResultCache.class);
         }
 
         private void bindMonitorAndRelay(Injector injector) {
@@ -0,0 +1,57 @@
+package org.bff.javampd.server;
+
+import java.util.List;
+
+/**
+ * Represents a command in a command list being rejected by the server.  The server
+ * stops processing the list at the failing command; the commands before it have been
+ * executed and their responses are available from {@link #getResponses()}.
+ *
+ * @author bill
+ */
+public class MPDCommandListException extends MPDConnectionException {
+    private final int index;
+    private final int errorCode;
+    private final transient List<List<String>> responses;
+
+    /**
+     * Class constructor specifying the failure
+     *
+     * @param message   the error message from the server
+     * @param command   the failing command
+     * @param index     the position of the failing command in the list
+     * @param errorCode the MPD error code
+     * @param responses the responses of the commands executed before the failure
+     */
+    public MPDCommandListException(String message,
+                                   String command,
+                                   int index,
+                                   int errorCode,
+                                   List<List<String>> responses) {
+        super(message, command);
+        this.index = index;
+        this.errorCode = errorCode;
+        this.responses = responses;
+    }
+
+    /**
+     * @return the position of the failing command in the command list
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the MPD error code, 0 if the server didn't send one
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return the responses of the commands executed before the failing one
+     */
+    public List<List<String>> getResponses() {
+        return responses;
+    }
+}
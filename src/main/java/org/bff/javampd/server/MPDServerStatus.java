@@ -3,42 +3,32 @@ package org.bff.javampd.server;
 import com.google.inject.Inject;
 import org.bff.javampd.Clock;
 import org.bff.javampd.command.CommandExecutor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-
-import static java.lang.Integer.parseInt;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ServerStatus} reading a {@link StatusSnapshot} of the last status response.  The
+ * snapshot is replaced when it is older than the expiry interval, measured on the monotonic
+ * clock, and each time a monitor fetches the status through {@link #getStatus()}.  Getters
+ * never scan the response.  Thread safe.
+ *
+ * @author bill
+ */
 public class MPDServerStatus implements ServerStatus {
-    private static final Logger LOGGER = LoggerFactory.getLogger(MPDServerStatus.class);
+    private static final long DEFAULT_EXPIRY_INTERVAL = 5;
 
-    private long expiryInterval = 5;
-    private List<String> cachedResponse;
+    private volatile long expiryInterval = TimeUnit.SECONDS.toNanos(DEFAULT_EXPIRY_INTERVAL);
+    private volatile StatusSnapshot snapshot;
+    private final ReentrantLock refreshLock = new ReentrantLock();
     private final Clock clock;
-    private LocalDateTime responseDate;
 
     private final ServerProperties serverProperties;
     private final CommandExecutor commandExecutor;
 
-    private enum TimeType {
-        ELAPSED(0),
-        TOTAL(1);
-
-        private final int index;
-
-        TimeType(int index) {
-            this.index = index;
-        }
-
-        public int getIndex() {
-            return index;
-        }
-    }
-
     @Inject
     public MPDServerStatus(ServerProperties serverProperties,
                            CommandExecutor commandExecutor,
@@ -46,216 +36,164 @@ public class MPDServerStatus implements ServerStatus {
         this.serverProperties = serverProperties;
         this.commandExecutor = commandExecutor;
         this.clock = clock;
-        responseDate = clock.min();
     }
 
-    /**
-     * Returns the current status of the requested status element.
-     * See {@link Status} for a list of possible items returned
-     * by getStatus.  If the status isn't part of the response
-     * "" is returned.
-     *
-     * @param status the status desired
-     * @return the desired status information
-     */
-    protected String getStatus(Status status) {
-        LocalDateTime now = clock.now();
-        if (now.minusSeconds(expiryInterval).isAfter(responseDate)) {
-            responseDate = now;
-            cachedResponse = commandExecutor.sendCommand(serverProperties.getStatus());
-        }
+    @Override
+    public Collection<String> getStatus() {
+        List<String> response = commandExecutor.sendCommand(serverProperties.getStatus());
+        snapshot = StatusSnapshot.of(response, clock.nanoTime());
+        return response;
+    }
 
-        for (String line : cachedResponse) {
-            if (line.startsWith(status.getStatusPrefix())) {
-                return line.substring(status.getStatusPrefix().length()).trim();
-            }
+    @Override
+    public StatusSnapshot getStatusSnapshot() {
+        StatusSnapshot current = snapshot;
+        if (current == null || clock.nanoTime() - current.getFetched() > expiryInterval) {
+            current = refresh(current);
         }
-        LOGGER.warn("Response did not contain status {}", status.getStatusPrefix());
-        return "";
+        return current;
     }
 
-    @Override
-    public Collection<String> getStatus() {
-        return commandExecutor.sendCommand(serverProperties.getStatus());
+    /**
+     * Fetches a new snapshot unless another thread already replaced the expired one
+     */
+    private StatusSnapshot refresh(StatusSnapshot expired) {
+        refreshLock.lock();
+        try {
+            StatusSnapshot current = snapshot;
+            if (current != expired) {
+                return current;
+            }
+
+            getStatus();
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
     }
 
     @Override
     public int getPlaylistVersion() {
-        String version = getStatus(Status.PLAYLIST);
-        try {
-            return parseInt("".equals(version) ? "0" : version);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format playlist version response {}", version, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getPlaylistVersion();
     }
 
     @Override
     public String getState() {
-        return getStatus(Status.STATE);
+        return getStatusSnapshot().getState();
     }
 
     @Override
     public int getXFade() {
-        String xFade = getStatus(Status.XFADE);
-        try {
-            return parseInt("".equals(xFade) ? "0" : xFade);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format xfade response {}", xFade, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getXFade();
     }
 
     @Override
     public String getAudio() {
-        return getStatus(Status.AUDIO);
+        return getStatusSnapshot().getAudio();
     }
 
     @Override
     public boolean isError() {
-        return !"".equals(getStatus(Status.ERROR));
+        return getStatusSnapshot().isError();
     }
 
     @Override
     public String getError() {
-        return getStatus(Status.ERROR);
+        return getStatusSnapshot().getError();
     }
 
     @Override
     public long getElapsedTime() {
-        return lookupTime(TimeType.ELAPSED);
+        return getStatusSnapshot().getElapsedTime();
     }
 
     @Override
     public long getTotalTime() {
-        return lookupTime(TimeType.TOTAL);
+        return getStatusSnapshot().getTotalTime();
     }
 
     @Override
     public int getBitrate() {
-        String bitrate = getStatus(Status.BITRATE);
-        try {
-            return parseInt("".equals(bitrate) ? "0" : bitrate);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format bitrate response {}", bitrate, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getBitrate();
     }
 
     @Override
     public int getVolume() {
-        String volume = getStatus(Status.VOLUME);
-        try {
-            return parseInt("".equals(volume) ? "0" : volume);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format volume response {}", volume, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getVolume();
     }
 
     @Override
     public boolean isRepeat() {
-        return "1".equals(getStatus(Status.REPEAT));
+        return getStatusSnapshot().isRepeat();
     }
 
     @Override
     public boolean isRandom() {
-        return "1".equals(getStatus(Status.RANDOM));
+        return getStatusSnapshot().isRandom();
     }
 
     @Override
     public boolean isDatabaseUpdating() {
-        return !"".equals(getStatus(Status.UPDATINGDB));
+        return getStatusSnapshot().isDatabaseUpdating();
     }
 
     @Override
     public boolean isConsume() {
-        return "1".equals(getStatus(Status.CONSUME));
+        return getStatusSnapshot().isConsume();
     }
 
     @Override
     public boolean isSingle() {
-        return "1".equals(getStatus(Status.SINGLE));
+        return getStatusSnapshot().isSingle();
     }
 
     @Override
     public Optional<Integer> playlistSongNumber() {
-        var songNumber = getStatus(Status.CURRENTSONG);
-
-        return "".equals(songNumber) ? Optional.empty() : Optional.of(parseInt(songNumber));
+        return getStatusSnapshot().playlistSongNumber();
     }
 
     @Override
     public Optional<String> playlistSongId() {
-        var id = getStatus(Status.CURRENTSONGID);
-
-        return "".equals(id) ? Optional.empty() : Optional.ofNullable(id);
+        return getStatusSnapshot().playlistSongId();
     }
 
     @Override
     public Optional<Integer> playlistNextSongNumber() {
-        var songNumber = getStatus(Status.NEXT_SONG);
-
-        return "".equals(songNumber) ? Optional.empty() : Optional.of(parseInt(songNumber));
+        return getStatusSnapshot().playlistNextSongNumber();
     }
 
     @Override
     public Optional<String> playlistNextSongId() {
-        var id = getStatus(Status.NEXT_SONG_ID);
-
-        return "".equals(id) ? Optional.empty() : Optional.ofNullable(id);
+        return getStatusSnapshot().playlistNextSongId();
     }
 
     @Override
     public Optional<Integer> durationCurrentSong() {
-        var duration = getStatus(Status.DURATION);
-
-        return "".equals(duration) ? Optional.empty() : Optional.of(parseInt(duration));
+        return getStatusSnapshot().durationCurrentSong();
     }
 
     @Override
     public Optional<Integer> elapsedCurrentSong() {
-        var elapsed = getStatus(Status.ELAPSED);
-
-        return "".equals(elapsed) ? Optional.empty() : Optional.of(parseInt(elapsed));
+        return getStatusSnapshot().elapsedCurrentSong();
     }
 
     @Override
     public Optional<Integer> getMixRampDb() {
-        var db = getStatus(Status.MIX_RAMP_DB);
-
-        return "".equals(db) ? Optional.empty() : Optional.of(parseInt(db));
+        return getStatusSnapshot().getMixRampDb();
     }
 
     @Override
     public Optional<Integer> getMixRampDelay() {
-        var delay = getStatus(Status.MIX_RAMP_DELAY);
-
-        return "".equals(delay) ? Optional.empty() : Optional.of(parseInt(delay));
+        return getStatusSnapshot().getMixRampDelay();
     }
 
     @Override
     public void setExpiryInterval(long seconds) {
-        expiryInterval = seconds;
+        expiryInterval = TimeUnit.SECONDS.toNanos(seconds);
     }
 
     @Override
     public void forceUpdate() {
-        responseDate = clock.min();
-    }
-
-    private long lookupTime(TimeType type) {
-        String time = getStatus(Status.TIME);
-
-        if ("".equals(time) || !time.contains(":")) {
-            return 0;
-        } else {
-            try {
-                return parseInt(time.trim().split(":")[type.getIndex()]);
-            } catch (NumberFormatException nfe) {
-                LOGGER.error("Could not format time {}", time, nfe);
-                return 0;
-            }
-        }
+        snapshot = null;
     }
 }
@@ -5,46 +5,98 @@ import org.bff.javampd.command.MPDCommand;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
+ * Connection to the MPD server.  Liveness is tracked passively: a broken connection is
+ * detected by the failing read or write of a real command, which triggers a reconnect and
+ * retry.  {@link #ping()} together with {@link #getLastActivity()} lets an owner keep an
+ * idle connection from being dropped by the server.
+ * <p>
+ * Responses are split into lines by a {@link ResponseDecoder} working on the raw bytes of
+ * the connection; protocol markers are matched without decoding and lines are only turned
+ * into strings when they are part of the response.
+ *
  * @author bill
  */
 public class MPDSocket {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDSocket.class);
 
     private Socket socket;
-    private BufferedReader reader;
+    private InputStream inputStream;
+    private ResponseDecoder decoder;
 
     private final ResponseProperties responseProperties;
     private final ServerProperties serverProperties;
     private final String encoding;
+    private final byte[] okBytes;
+    private final byte[] listOkBytes;
+    private final byte[] errorBytes;
+    private final byte[] binaryBytes;
+    private final byte[] noIdleBytes;
+    private final Charset charset;
+    private final CommandBuffer commandBuffer;
+    private final MPDCommand ping;
+    private final MPDCommand startBulk;
+    private final MPDCommand endBulk;
     private String lastError;
     private String version;
+    private ResponseReader openReader;
 
-    private final String server;
-    private final int port;
+    private final SocketAddress socketAddress;
     private boolean closed;
+    private boolean idling;
+    private volatile long lastActivity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     private static final int TRIES = 3;
+    private static final Pattern ACK_PATTERN = Pattern.compile("^\\[(\\d+)@(\\d+)]");
 
     public MPDSocket(InetAddress server,
                      int port,
                      int timeout) {
-        this.server = server.getHostAddress();
-        this.port = port;
+        this(new InetSocketAddress(server.getHostAddress(), port), timeout);
+    }
+
+    /**
+     * Connects to any kind of address the transport understands
+     *
+     * @param socketAddress the address of the server
+     * @param timeout       socket timeout, 0 for infinite wait
+     */
+    protected MPDSocket(SocketAddress socketAddress,
+                        int timeout) {
+        this.socketAddress = socketAddress;
         this.responseProperties = new ResponseProperties();
         this.serverProperties = new ServerProperties();
         this.encoding = serverProperties.getEncoding();
+        this.charset = Charset.forName(encoding);
+        this.commandBuffer = new CommandBuffer(charset);
+        this.ping = new MPDCommand(serverProperties.getPing());
+        this.startBulk = new MPDCommand(serverProperties.getStartBulk());
+        this.endBulk = new MPDCommand(serverProperties.getEndBulk());
+        this.okBytes = ResponseDecoder.encode(responseProperties.getOk());
+        this.listOkBytes = ResponseDecoder.encode(responseProperties.getListOk());
+        this.errorBytes = ResponseDecoder.encode(responseProperties.getError());
+        this.binaryBytes = ResponseDecoder.encode(responseProperties.getBinary());
+        this.noIdleBytes = ResponseDecoder.encode(serverProperties.getNoIdle() + "\n");
         connect(timeout);
     }
 
@@ -57,20 +109,26 @@ public class MPDSocket {
      * @param timeout socket timeout, 0 for infinite wait
      * @throws MPDConnectionException if there is a socked io problem
      */
-    private synchronized void connect(int timeout) {
-        connectSocket(timeout);
+    private void connect(int timeout) {
+        lock.lock();
+        try {
+            connectSocket(timeout);
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void readVersion() {
         String line;
         try {
-            line = reader.readLine();
+            line = decoder.next() ? decoder.line() : null;
         } catch (IOException e) {
             throw new MPDConnectionException(e);
         }
 
-        if (line != null && isResponseOK(line)) {
+        if (line != null && isResponseOK()) {
             this.version = stripResponse(responseProperties.getOk(), line).trim();
+            this.lastActivity = System.nanoTime();
         } else {
             throw new MPDConnectionException("Command from server: " +
                     ((line == null) ? "null" : stripResponse(responseProperties.getError(), line)));
@@ -78,51 +136,321 @@ public class MPDSocket {
     }
 
     private void connectSocket(int timeout) {
-        LOGGER.debug("attempting to connect socket to {} with timeout of {}", server, timeout);
-        this.socket = createSocket();
-        SocketAddress socketAddress = new InetSocketAddress(server, port);
+        LOGGER.debug("attempting to connect socket to {} with timeout of {}", socketAddress, timeout);
         try {
-            this.socket.connect(socketAddress, timeout);
-            setReader(new BufferedReader(new InputStreamReader(socket.getInputStream(), encoding)));
+            openConnection(socketAddress, timeout);
+            this.decoder = new ResponseDecoder(this::read, charset);
             readVersion();
         } catch (Exception ioe) {
-            LOGGER.error("failed to connect socket to {}", server);
+            LOGGER.error("failed to connect socket to {}", socketAddress);
             throw new MPDConnectionException(ioe);
         }
     }
 
-    protected void setReader(BufferedReader reader) {
-        this.reader = reader;
+    /**
+     * Opens the transport to the server.  Transports other than the default blocking
+     * {@link Socket} override this together with {@link #read(byte[], int, int)}, {@link #write(byte[], int, int)},
+     * {@link #isSocketConnected()}, {@link #isSocketClosed()} and
+     * {@link #closeSocket()}.
+     * <p>
+     * This is called from the constructor so overriding classes must not rely on their own
+     * field initializers.
+     *
+     * @param socketAddress the address to connect to
+     * @param timeout       connect timeout, 0 for infinite wait
+     * @throws IOException if the connection can not be opened
+     */
+    protected void openConnection(SocketAddress socketAddress, int timeout) throws IOException {
+        this.socket = createSocket();
+        this.socket.setKeepAlive(true);
+        this.socket.connect(socketAddress, timeout);
+        this.inputStream = socket.getInputStream();
+    }
+
+    /**
+     * Reads raw response bytes, blocking until at least one byte is available
+     *
+     * @param buffer the buffer to read into
+     * @param offset the offset in the buffer
+     * @param length the maximum number of bytes to read
+     * @return the number of bytes read, -1 if the end of the stream has been reached
+     * @throws IOException if there is a problem reading from the transport
+     */
+    protected int read(byte[] buffer, int offset, int length) throws IOException {
+        return inputStream.read(buffer, offset, length);
+    }
+
+    /**
+     * Writes the encoded commands to the server
+     *
+     * @param bytes  the buffer holding the commands
+     * @param offset the offset of the first byte to write
+     * @param length the number of bytes to write
+     * @throws IOException if there is a problem writing to the transport
+     */
+    protected void write(byte[] bytes, int offset, int length) throws IOException {
+        socket.getOutputStream().write(bytes, offset, length);
+    }
+
+    /**
+     * Returns true while the response to {@code idle} is read.  It only comes once something
+     * changes, so transports with a read timeout wait for it without one.
+     *
+     * @return true if waiting on idle
+     */
+    protected boolean isIdling() {
+        return idling;
+    }
+
+    protected boolean isSocketConnected() {
+        return socket.isConnected();
+    }
+
+    protected boolean isSocketClosed() {
+        return socket.isClosed();
+    }
+
+    /**
+     * Closes the transport
+     *
+     * @throws IOException if there is a problem closing the transport
+     */
+    protected void closeSocket() throws IOException {
+        this.socket.close();
+    }
+
+    protected String getEncoding() {
+        return encoding;
     }
 
     protected Socket createSocket() {
         return new Socket();
     }
 
-    public synchronized Collection<String> sendCommand(MPDCommand command) {
-        checkConnection();
+    public Collection<String> sendCommand(MPDCommand command) {
+        lock.lock();
+        try {
+            checkConnection();
+
+            // the server hangs up instead of answering close
+            boolean closing = serverProperties.getClose().equals(command.getCommand());
+            idling = serverProperties.getIdle().equals(command.getCommand());
+            commandBuffer.reset().append(command);
+            return sendWithRetry(List.of(command), () -> sendBytes(command.getCommand(), closing));
+        } finally {
+            idling = false;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the command and hands each line of the response to the handler as it is read,
+     * without building a list of strings.  The handler is called with the decoder positioned
+     * on the line and must take whatever it needs before returning.
+     * <p>
+     * A lost connection is only retried if no line has been handed to the handler yet.
+     *
+     * @param command the command to send
+     * @param handler called for each response line
+     * @throws MPDSecurityException   if the command was refused for lack of permission
+     * @throws MPDConnectionException if the command failed or the connection was lost
+     */
+    public void sendCommand(MPDCommand command, Consumer<ResponseDecoder> handler) {
+        lock.lock();
+        try {
+            checkConnection();
+
+            commandBuffer.reset().append(command);
+            AtomicBoolean handled = new AtomicBoolean();
+            sendWithRetry(List.of(command), () -> {
+                if (handled.get()) {
+                    throw new MPDConnectionException("Connection lost while reading the response", command.getCommand());
+                }
+                writeCommandBuffer();
+                boolean complete = readLines(command.getCommand(), line -> {
+                    handled.set(true);
+                    handler.accept(line);
+                });
+                if (!complete) {
+                    throw new EOFException("Connection closed by server before the response was complete");
+                }
+                return null;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the command and leaves its response on the connection to be read line by line
+     * from the returned {@link ResponseReader}.  Nothing else can be sent on this connection
+     * until the reader has been closed.
+     * <p>
+     * The first line is read before returning, so a lost connection is retried like for any
+     * other command; after that a lost connection fails the reader.
+     *
+     * @param command the command to send
+     * @return the reader of the response, which must be closed
+     * @throws MPDSecurityException   if the command was refused for lack of permission
+     * @throws MPDConnectionException if the command failed or the connection was lost
+     */
+    public ResponseReader openResponse(MPDCommand command) {
+        lock.lock();
+        try {
+            checkConnection();
+
+            commandBuffer.reset().append(command);
+            boolean hasLine = sendWithRetry(List.of(command), () -> {
+                writeCommandBuffer();
+                return readLine(command.getCommand());
+            });
+            this.openReader = new ResponseReader(this, command.getCommand(), hasLine);
+            return this.openReader;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the decoder to the next line of an open response
+     *
+     * @return false if the response is complete
+     */
+    boolean nextLine(String command) {
+        lock.lock();
+        try {
+            return readLine(command);
+        } catch (IOException e) {
+            LOGGER.error("Connection lost while reading the response of {}", command, e);
+            try {
+                closeSocket();
+            } catch (IOException ex) {
+                LOGGER.warn("Unable to close the broken connection to {}", socketAddress, ex);
+            }
+            throw new MPDConnectionException("Connection lost while reading the response", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean readLine(String command) throws IOException {
+        if (!decoder.next()) {
+            throw new EOFException("Connection closed by server before the response was complete");
+        }
+
+        if (isResponseOK()) {
+            this.lastActivity = System.nanoTime();
+            return false;
+        }
+
+        if (isResponseError()) {
+            throw responseError(command);
+        }
+        return true;
+    }
+
+    ResponseDecoder getDecoder() {
+        return decoder;
+    }
+
+    void responseClosed(ResponseReader reader) {
+        lock.lock();
+        try {
+            if (this.openReader == reader) {
+                this.openReader = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends a command whose response carries a {@code binary: N} payload, reading the
+     * payload into a buffer from the pool
+     *
+     * @param command the command to send
+     * @param pool    the pool to take the payload buffer from
+     * @return the response, which must be closed to give the buffer back
+     * @throws MPDSecurityException   if the command was refused for lack of permission
+     * @throws MPDConnectionException if the command failed or the connection was lost
+     */
+    public BinaryResponse sendBinaryCommand(MPDCommand command, ByteBufferPool pool) {
+        return sendBinaryPipelined(List.of(command), pool).get(0);
+    }
+
+    /**
+     * Pipelines commands whose responses carry {@code binary: N} payloads, for example
+     * the chunks of one picture at increasing offsets.  If any command fails every payload
+     * already read is given back to the pool before the error is thrown.
+     *
+     * @param commandList the commands to send
+     * @param pool        the pool to take the payload buffers from
+     * @return the response of each command, in the order of the commands
+     * @throws MPDSecurityException   if any command was refused for lack of permission
+     * @throws MPDConnectionException if any command failed or the connection was lost
+     */
+    public List<BinaryResponse> sendBinaryPipelined(List<MPDCommand> commandList, ByteBufferPool pool) {
+        lock.lock();
+        try {
+            checkConnection();
+
+            commandBuffer.reset();
+            commandList.forEach(commandBuffer::append);
+
+            return sendWithRetry(commandList, () -> sendBinaryPipelinedBytes(commandList, pool));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all commands back to back before reading any response, then reads the
+     * responses in the order the commands were sent.  This costs a single round trip
+     * instead of one per command.  Unlike a command list each command succeeds or fails
+     * on its own; every response is drained before the first error is thrown so the
+     * connection stays usable.
+     *
+     * @param commandList the commands to send
+     * @return the response of each command, in the order of the commands
+     * @throws MPDSecurityException   if any command was refused for lack of permission
+     * @throws MPDConnectionException if any command failed or the connection was lost
+     */
+    public List<List<String>> sendPipelined(List<MPDCommand> commandList) {
+        lock.lock();
+        try {
+            checkConnection();
+
+            commandBuffer.reset();
+            commandList.forEach(commandBuffer::append);
+
+            return sendWithRetry(commandList, () -> sendPipelinedBytes(commandList));
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    private <T> T sendWithRetry(List<MPDCommand> commandList, Exchange<T> exchange) {
         int count = 0;
         while (count < TRIES) {
             try {
-                return sendBytes(convertCommand(command.getCommand(), command.getParams()));
+                return exchange.run();
             } catch (MPDException mpdException) {
-                logCommandError(command, mpdException);
+                commandList.forEach(command -> logCommandError(command, mpdException));
                 throw mpdException;
             } catch (Exception ex) {
-                logCommandError(command, ex);
+                commandList.forEach(command -> logCommandError(command, ex));
                 try {
                     connect();
                 } catch (Exception exc) {
-                    LOGGER.error("Unable to connect to {} on port {}", server, port, exc);
+                    LOGGER.error("Unable to connect to {}", socketAddress, exc);
                 }
                 ++count;
-                LOGGER.warn("Retrying command {} for the {} time", command.getCommand(), count);
+                LOGGER.warn("Retrying command {} for the {} time", commandList.get(0).getCommand(), count);
             }
         }
 
-        LOGGER.error("Unable to send command {} after {} tries", command, TRIES);
-        throw new MPDConnectionException("Unable to send command " + command);
+        LOGGER.error("Unable to send command {} after {} tries", commandList.get(0), TRIES);
+        throw new MPDConnectionException("Unable to send command " + commandList.get(0));
     }
 
     private static void logCommandError(MPDCommand command, Exception se) {
@@ -137,26 +465,22 @@ public class MPDSocket {
      * If MPD is already connected no attempt will be made to connect and the
      * mpdVersion is returned.
      */
-    private synchronized void connect() {
-        connect(0);
-    }
-
-    private boolean isResponseOK(final String line) {
+    private void connect() {
+        lock.lock();
         try {
-            if (line.startsWith(responseProperties.getOk())
-                    || line.startsWith(responseProperties.getListOk())) {
-                return true;
-            }
-        } catch (Exception e) {
-            LOGGER.error("Could not determine if response is ok", e);
+            connect(0);
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return false;
+    private boolean isResponseOK() {
+        return decoder.startsWith(okBytes) || decoder.startsWith(listOkBytes);
     }
 
-    private boolean isResponseError(final String line) {
-        if (line.startsWith(responseProperties.getError())) {
-            this.lastError = line.substring(responseProperties.getError().length()).trim();
+    private boolean isResponseError() {
+        if (decoder.startsWith(errorBytes)) {
+            this.lastError = stripResponse(responseProperties.getError(), decoder.line()).trim();
             return true;
         } else {
             return false;
@@ -167,85 +491,212 @@ public class MPDSocket {
         return line.substring(response.length());
     }
 
-    private static String convertCommand(String command) {
-        return convertCommand(command, new ArrayList<>());
+    /**
+     * Sends the commands as a single command list.  The server executes them in order and
+     * stops at the first failing command.
+     *
+     * @param commandList the commands to send
+     * @return the response of each command, in the order of the commands
+     * @throws MPDCommandListException if a command failed, carrying its index and the
+     *                                 responses of the commands before it
+     * @throws MPDSecurityException    if a command was refused for lack of permission
+     * @throws MPDConnectionException  if the connection was lost
+     */
+    public List<List<String>> sendCommands(List<MPDCommand> commandList) {
+        lock.lock();
+        try {
+            checkConnection();
+
+            commandBuffer.reset().append(startBulk);
+            commandList.forEach(commandBuffer::append);
+            commandBuffer.append(endBulk);
+
+            return sendWithRetry(commandList, () -> {
+                writeCommandBuffer();
+                return readCommandListResponse(commandList);
+            });
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private static String convertCommand(String command, List<String> params) {
-        StringBuilder sb = new StringBuilder(command);
-        for (String param : params) {
-            param = param.replace("\"", "\\\\\"");
-            sb.append(" \"").append(param).append("\"");
+    private List<List<String>> readCommandListResponse(List<MPDCommand> commandList) throws IOException {
+        List<List<String>> responses = new ArrayList<>(commandList.size());
+        List<String> response = new ArrayList<>();
+
+        while (decoder.next()) {
+            if (decoder.startsWith(listOkBytes)) {
+                responses.add(response);
+                response = new ArrayList<>();
+            } else if (decoder.startsWith(okBytes)) {
+                this.lastActivity = System.nanoTime();
+                return responses;
+            } else if (isResponseError()) {
+                throw commandListError(commandList, responses);
+            } else {
+                response.add(decoder.line());
+            }
         }
 
-        return sb.append("\n").toString();
+        throw new EOFException("Connection closed by server before the command list response was complete");
     }
 
-    public synchronized void sendCommands(List<MPDCommand> commandList) {
-        StringBuilder sb = new StringBuilder(convertCommand(serverProperties.getStartBulk()));
+    /**
+     * Builds the exception for the failing command from an error of the form
+     * {@code [error@index] {command} message}
+     */
+    private MPDException commandListError(List<MPDCommand> commandList, List<List<String>> responses) {
+        if (lastError.contains("you don't have permission")) {
+            return new MPDSecurityException(lastError);
+        }
+
+        int index = responses.size();
+        int errorCode = 0;
+        Matcher matcher = ACK_PATTERN.matcher(lastError);
+        if (matcher.find()) {
+            errorCode = Integer.parseInt(matcher.group(1));
+            index = Integer.parseInt(matcher.group(2));
+        }
 
+        String command = index < commandList.size() ? commandList.get(index).getCommand() : null;
+        LOGGER.error("command {} at index {} of command list failed: {}", command, index, lastError);
+        return new MPDCommandListException(lastError, command, index, errorCode, responses);
+    }
+
+    /**
+     * Writes the command in the command buffer and reads its response
+     */
+    private List<String> sendBytes(String command, boolean closing) throws IOException {
+        writeCommandBuffer();
+
+        return readResponse(command, closing);
+    }
+
+    private List<List<String>> sendPipelinedBytes(List<MPDCommand> commandList) throws IOException {
+        writeCommandBuffer();
+
+        List<List<String>> responses = new ArrayList<>(commandList.size());
+        MPDException error = null;
         for (MPDCommand command : commandList) {
-            sb.append(convertCommand(command.getCommand(), command.getParams()));
+            try {
+                responses.add(readResponse(command.getCommand(), false));
+            } catch (MPDException e) {
+                responses.add(new ArrayList<>());
+                if (error == null || e instanceof MPDSecurityException) {
+                    error = e;
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
         }
+        return responses;
+    }
+
+    private List<BinaryResponse> sendBinaryPipelinedBytes(List<MPDCommand> commandList, ByteBufferPool pool)
+            throws IOException {
+        writeCommandBuffer();
 
-        sb.append(convertCommand(serverProperties.getEndBulk()));
+        List<BinaryResponse> responses = new ArrayList<>(commandList.size());
+        MPDException error = null;
+        try {
+            for (MPDCommand command : commandList) {
+                try {
+                    responses.add(readBinaryResponse(command.getCommand(), pool));
+                } catch (MPDException e) {
+                    if (error == null || e instanceof MPDSecurityException) {
+                        error = e;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            responses.forEach(BinaryResponse::close);
+            throw e;
+        }
 
-        checkConnection();
+        if (error != null) {
+            responses.forEach(BinaryResponse::close);
+            throw error;
+        }
+        return responses;
+    }
 
+    private BinaryResponse readBinaryResponse(String command, ByteBufferPool pool) throws IOException {
+        List<String> response = new ArrayList<>();
+        ByteBuffer data = null;
         try {
-            sendBytes(sb.toString());
+            while (decoder.next()) {
+                if (isResponseOK()) {
+                    this.lastActivity = System.nanoTime();
+                    return new BinaryResponse(response, data, pool);
+                }
 
-            String line = reader.readLine();
-            while (line != null) {
-                if (!isResponseOK(line)) {
-                    LOGGER.warn("some command from a command list failed: {}", line);
+                if (isResponseError()) {
+                    throw responseError(command);
                 }
 
-                if (reader.ready()) {
-                    line = reader.readLine();
-                    LOGGER.warn("unexpected response line {}", line);
+                if (data == null && decoder.keyEquals(binaryBytes)) {
+                    int length = decoder.intValue();
+                    data = pool.acquire(length);
+                    decoder.readBinary(data, length);
+                    data.flip();
                 } else {
-                    line = null;
+                    response.add(decoder.line());
                 }
             }
-        } catch (MPDSecurityException se) {
-            throw se;
-        } catch (Exception e) {
-            commandList.forEach(s -> LOGGER.error(s.getCommand()));
-            throw new MPDConnectionException(e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            if (data != null) {
+                pool.release(data);
+            }
+            throw e;
         }
-    }
 
-    private List<String> sendBytes(String command) throws IOException {
-        LOGGER.debug("start command: {}", command);
+        throw new EOFException("Connection closed by server before the response was complete");
+    }
 
+    private List<String> readResponse(String command, boolean closing) throws IOException {
         List<String> response = new ArrayList<>();
 
-        writeToStream(command);
+        boolean complete = readLines(command, line -> response.add(line.line()));
+        if (!complete && !closing) {
+            throw new EOFException("Connection closed by server before the response was complete");
+        }
 
-        String inLine = reader.readLine();
-        LOGGER.debug("first response line is: {}", inLine);
-        while (inLine != null) {
-            if (isResponseOK(inLine)) {
+        response.forEach(LOGGER::debug);
+
+        return response;
+    }
+
+    /**
+     * Reads the response up to the terminating OK, handing every other line to the handler
+     *
+     * @return false if the end of the stream was reached before the OK
+     */
+    private boolean readLines(String command, Consumer<ResponseDecoder> handler) throws IOException {
+        while (decoder.next()) {
+            if (isResponseOK()) {
                 LOGGER.debug("the response was ok");
-                break;
+                this.lastActivity = System.nanoTime();
+                return true;
             }
 
-            if (isResponseError(inLine)) {
-                if (lastError.contains("you don't have permission")) {
-                    throw new MPDSecurityException(lastError, command);
-                } else {
-                    LOGGER.error("Got error from command {}", command);
-                    throw new MPDConnectionException(lastError);
-                }
+            if (isResponseError()) {
+                throw responseError(command);
             }
-            response.add(inLine);
-            inLine = reader.readLine();
+            handler.accept(decoder);
         }
 
-        response.forEach(LOGGER::debug);
+        return false;
+    }
 
-        return response;
+    private MPDException responseError(String command) {
+        if (lastError.contains("you don't have permission")) {
+            return new MPDSecurityException(lastError, command);
+        } else {
+            LOGGER.error("Got error from command {}", command);
+            return new MPDConnectionException(lastError);
+        }
     }
 
     private void checkConnection() {
@@ -255,16 +706,18 @@ public class MPDSocket {
             throw new MPDConnectionException("Close has been called on MPD.  Create a new MPD.");
         }
 
-        if (!socket.isConnected()) {
+        if (this.openReader != null) {
+            throw new IllegalStateException("The response of the previous command hasn't been closed");
+        }
+
+        if (!isSocketConnected()) {
             LOGGER.warn("socket hasn't been connected yet");
             connected = false;
+        } else if (isSocketClosed()) {
+            LOGGER.warn("socket is closed");
+            connected = false;
         } else {
-            if (!socket.isClosed()) {
-                connected = checkPing();
-            } else {
-                LOGGER.warn("socket is closed");
-                connected = false;
-            }
+            connected = true;
         }
 
         if (!connected) {
@@ -279,42 +732,89 @@ public class MPDSocket {
 
     public void close() {
         this.closed = true;
-        if (!this.socket.isClosed()) {
+        if (!isSocketClosed()) {
             try {
-                this.reader.close();
+                closeSocket();
             } catch (IOException e) {
                 throw new MPDConnectionException("Unable to close socket", e);
             }
+        }
+    }
 
-            try {
-                this.socket.close();
-            } catch (IOException e) {
-                throw new MPDConnectionException("Unable to close socket", e);
-            }
+    private void writeCommandBuffer() throws IOException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("start command: {}", commandBuffer.content());
+        }
+        writeLock.lock();
+        try {
+            write(commandBuffer.array(), 0, commandBuffer.size());
+        } finally {
+            writeLock.unlock();
         }
     }
 
-    private void writeToStream(String command) throws IOException {
-        socket.getOutputStream().write(command.getBytes(serverProperties.getEncoding()));
+    /**
+     * Wakes a connection parked in {@code idle} by another thread.  This doesn't wait for the
+     * thread blocked on the idle response, which returns with whatever changed so far.  The
+     * server ignores {@code noidle} if the connection isn't idle.
+     *
+     * @throws MPDConnectionException if the connection was lost
+     */
+    public void noidle() {
+        if (this.closed || isSocketClosed()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            write(noIdleBytes, 0, noIdleBytes.length);
+        } catch (IOException e) {
+            throw new MPDConnectionException("Unable to wake idle connection", e);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     public String getVersion() {
         return this.version;
     }
 
-    private boolean checkPing() {
-        boolean connected = true;
+    /**
+     * Returns the {@link System#nanoTime()} of the last complete response read from the server
+     *
+     * @return the time of the last successful read
+     */
+    public long getLastActivity() {
+        return this.lastActivity;
+    }
+
+    /**
+     * Sends a single ping without reconnecting, used to keep an idle connection open
+     *
+     * @return true if the server answered
+     */
+    public boolean ping() {
+        lock.lock();
         try {
-            writeToStream(convertCommand(serverProperties.getPing()));
-            String inLine = reader.readLine();
-            if (!isResponseOK(inLine)) {
-                connected = false;
+            if (this.closed || isSocketClosed()) {
+                return false;
             }
-        } catch (Exception e) {
-            connected = false;
-            LOGGER.error("lost socket connection", e);
+
+            try {
+                commandBuffer.reset().append(ping);
+                sendBytes(ping.getCommand(), false);
+                return true;
+            } catch (Exception e) {
+                LOGGER.warn("ping to {} failed", socketAddress, e);
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return connected;
+    @FunctionalInterface
+    private interface Exchange<T> {
+        T run() throws IOException;
     }
 }
@@ -0,0 +1,145 @@
+package org.bff.javampd.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * {@link MPDSocket} transport using a non-blocking {@link SocketChannel}.  Every socket waits
+ * for readiness on the one {@link NioSelector} thread, so many connections cost no selector
+ * or thread each.  The channel reads and writes through direct buffers owned by the socket,
+ * which the JDK would otherwise copy heap buffers through on every call.
+ * <p>
+ * The timeout applies to connecting and to every read and write, except while waiting on the
+ * response to {@code idle} which only comes once something changes.
+ * <p>
+ * Select this transport with {@link MPD.Builder#nio(boolean)}.
+ *
+ * @author bill
+ */
+public class NioMPDSocket extends MPDSocket {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    // assigned in openConnection which runs from the super constructor, no initializers
+    private SocketChannel channel;
+    private NioSelector selector;
+    private ByteBuffer readBuffer;
+    private ByteBuffer writeBuffer;
+    private int timeout;
+
+    public NioMPDSocket(InetAddress server,
+                        int port,
+                        int timeout) {
+        super(server, port, timeout);
+    }
+
+    /**
+     * @param socketAddress the address of the server
+     * @param timeout       socket timeout, 0 for infinite wait
+     */
+    protected NioMPDSocket(SocketAddress socketAddress,
+                           int timeout) {
+        super(socketAddress, timeout);
+    }
+
+    @Override
+    protected void openConnection(SocketAddress socketAddress, int timeout) throws IOException {
+        if (this.channel != null) {
+            closeSocket();
+        }
+
+        if (this.readBuffer == null) {
+            // reconnects pass no timeout, reads and writes keep the one the socket was made with
+            this.timeout = timeout;
+            this.selector = NioSelector.shared();
+            this.readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            this.writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        this.channel = openChannel();
+        this.channel.configureBlocking(false);
+        configure(this.channel);
+
+        if (!this.channel.connect(socketAddress)) {
+            selector.await(channel, SelectionKey.OP_CONNECT, timeout);
+            while (!this.channel.finishConnect()) {
+                selector.await(channel, SelectionKey.OP_CONNECT, timeout);
+            }
+        }
+    }
+
+    /**
+     * Opens the unconnected channel used by this socket
+     *
+     * @return a new {@link SocketChannel}
+     * @throws IOException if the channel can not be opened
+     */
+    protected SocketChannel openChannel() throws IOException {
+        return SocketChannel.open();
+    }
+
+    /**
+     * Sets socket options on the unconnected channel
+     *
+     * @param socketChannel the channel from {@link #openChannel()}
+     * @throws IOException if an option can not be set
+     */
+    protected void configure(SocketChannel socketChannel) throws IOException {
+        socketChannel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+    }
+
+    @Override
+    protected int read(byte[] buffer, int offset, int length) throws IOException {
+        readBuffer.clear();
+        readBuffer.limit(Math.min(length, BUFFER_SIZE));
+        int read = channel.read(readBuffer);
+        while (read == 0) {
+            selector.await(channel, SelectionKey.OP_READ, isIdling() ? 0 : timeout);
+            read = channel.read(readBuffer);
+        }
+        if (read > 0) {
+            readBuffer.flip();
+            readBuffer.get(buffer, offset, read);
+        }
+        return read;
+    }
+
+    @Override
+    protected void write(byte[] bytes, int offset, int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            int chunk = Math.min(length - written, BUFFER_SIZE);
+            writeBuffer.clear();
+            writeBuffer.put(bytes, offset + written, chunk);
+            writeBuffer.flip();
+            while (writeBuffer.hasRemaining()) {
+                if (channel.write(writeBuffer) == 0) {
+                    selector.await(channel, SelectionKey.OP_WRITE, timeout);
+                }
+            }
+            written += chunk;
+        }
+    }
+
+    @Override
+    protected boolean isSocketConnected() {
+        return channel.isConnected();
+    }
+
+    @Override
+    protected boolean isSocketClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    protected void closeSocket() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            selector.closed(channel);
+        }
+    }
+}
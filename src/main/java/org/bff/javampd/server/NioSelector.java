@@ -0,0 +1,251 @@
+package org.bff.javampd.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One {@link Selector} and thread shared by every {@link NioMPDSocket}.  A socket waiting for
+ * its channel to become ready registers the operation and parks until the selector thread
+ * reports it ready, so no socket needs a selector or a thread of its own.
+ * <p>
+ * Keys are only touched on the selector thread, registrations are queued to it.  A channel
+ * can have a reader and a writer waiting at the same time, like a connection parked in
+ * {@code idle} being woken with {@code noidle}.
+ *
+ * @author bill
+ */
+final class NioSelector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NioSelector.class);
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks;
+    // the key of a closed channel is gone, so its waiters are found here, only used on the selector thread
+    private final Map<SelectableChannel, Waiters> waiting;
+
+    NioSelector(String name) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new MPDConnectionException("Unable to open selector", e);
+        }
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.waiting = new HashMap<>();
+
+        Thread thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the selector shared by every socket, started on first use
+     */
+    static NioSelector shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Blocks until the channel is ready for the operation
+     *
+     * @param channel   the non-blocking channel
+     * @param operation one of {@link SelectionKey#OP_CONNECT}, {@link SelectionKey#OP_READ} or
+     *                  {@link SelectionKey#OP_WRITE}
+     * @param timeout   milliseconds to wait, 0 for infinite wait
+     * @throws SocketTimeoutException if the channel isn't ready in time
+     * @throws IOException            if the channel is closed or the wait interrupted
+     */
+    void await(SelectableChannel channel, int operation, int timeout) throws IOException {
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        execute(() -> register(channel, operation, ready));
+        try {
+            if (timeout > 0) {
+                ready.get(timeout, TimeUnit.MILLISECONDS);
+            } else {
+                ready.get();
+            }
+        } catch (TimeoutException e) {
+            execute(() -> withdraw(channel, ready));
+            throw new SocketTimeoutException("Timed out waiting on socket after " + timeout + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            execute(() -> withdraw(channel, ready));
+            throw new InterruptedIOException("Interrupted waiting on socket");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Releases the threads waiting on a channel that has been closed
+     *
+     * @param channel the closed channel
+     */
+    void closed(SelectableChannel channel) {
+        execute(() -> release(channel));
+    }
+
+    private void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                runTasks();
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    ready(key);
+                }
+                selector.selectedKeys().clear();
+            } catch (IOException | RuntimeException e) {
+                // the thread is shared by every socket, it must outlive any failure
+                LOGGER.error("Shared socket selector failed", e);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task = tasks.poll();
+        while (task != null) {
+            task.run();
+            task = tasks.poll();
+        }
+    }
+
+    private void register(SelectableChannel channel, int operation, CompletableFuture<Void> ready) {
+        Waiters waiters = waiting.computeIfAbsent(channel, c -> new Waiters());
+        waiters.set(operation, ready);
+        try {
+            SelectionKey key = channel.keyFor(selector);
+            if (key == null) {
+                channel.register(selector, waiters.interest(), waiters);
+            } else {
+                key.interestOps(waiters.interest());
+            }
+        } catch (ClosedChannelException | CancelledKeyException e) {
+            release(channel);
+        }
+    }
+
+    private void withdraw(SelectableChannel channel, CompletableFuture<Void> ready) {
+        Waiters waiters = waiting.get(channel);
+        if (waiters != null) {
+            waiters.clear(ready);
+            interest(channel, waiters);
+        }
+    }
+
+    private void ready(SelectionKey key) {
+        Waiters waiters = (Waiters) key.attachment();
+        waiters.complete(key.readyOps());
+        interest(key.channel(), waiters);
+    }
+
+    private void interest(SelectableChannel channel, Waiters waiters) {
+        try {
+            SelectionKey key = channel.keyFor(selector);
+            if (key != null) {
+                key.interestOps(waiters.interest());
+            }
+        } catch (CancelledKeyException e) {
+            release(channel);
+        }
+    }
+
+    private void release(SelectableChannel channel) {
+        Waiters waiters = waiting.remove(channel);
+        if (waiters != null) {
+            waiters.fail(new AsynchronousCloseException());
+        }
+    }
+
+    /**
+     * The threads waiting on one channel, only used on the selector thread
+     */
+    private static final class Waiters {
+        private CompletableFuture<Void> connect;
+        private CompletableFuture<Void> read;
+        private CompletableFuture<Void> write;
+
+        void set(int operation, CompletableFuture<Void> ready) {
+            if (operation == SelectionKey.OP_CONNECT) {
+                connect = ready;
+            } else if (operation == SelectionKey.OP_READ) {
+                read = ready;
+            } else {
+                write = ready;
+            }
+        }
+
+        void clear(CompletableFuture<Void> ready) {
+            if (connect == ready) {
+                connect = null;
+            } else if (read == ready) {
+                read = null;
+            } else if (write == ready) {
+                write = null;
+            }
+        }
+
+        int interest() {
+            return (connect == null ? 0 : SelectionKey.OP_CONNECT)
+                    | (read == null ? 0 : SelectionKey.OP_READ)
+                    | (write == null ? 0 : SelectionKey.OP_WRITE);
+        }
+
+        void complete(int readyOps) {
+            if (connect != null && (readyOps & SelectionKey.OP_CONNECT) != 0) {
+                connect.complete(null);
+                connect = null;
+            }
+            if (read != null && (readyOps & SelectionKey.OP_READ) != 0) {
+                read.complete(null);
+                read = null;
+            }
+            if (write != null && (readyOps & SelectionKey.OP_WRITE) != 0) {
+                write.complete(null);
+                write = null;
+            }
+        }
+
+        void fail(IOException e) {
+            fail(connect, e);
+            fail(read, e);
+            fail(write, e);
+            connect = null;
+            read = null;
+            write = null;
+        }
+
+        private static void fail(CompletableFuture<Void> ready, IOException e) {
+            if (ready != null) {
+                ready.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Holder {
+        private static final NioSelector SHARED = new NioSelector("javampd-nio-selector");
+    }
+}
@@ -0,0 +1,300 @@
+package org.bff.javampd.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits a server response into lines straight out of a reusable byte buffer.  Each call to
+ * {@link #next()} positions the decoder on the next line; the line can be tested against
+ * protocol markers and split into its {@code key: value} parts without creating any
+ * objects.  Strings are only decoded when {@link #key()}, {@link #value()} or {@link #line()}
+ * is called.
+ * <p>
+ * The current line is only valid until the next call to {@link #next()}.
+ * <p>
+ * Binary payloads announced by a {@code binary: N} line are copied out with
+ * {@link #readBinary(ByteBuffer, int)}.
+ *
+ * @author bill
+ */
+public class ResponseDecoder {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte COLON = ':';
+    private static final byte SPACE = ' ';
+    private static final int UNKNOWN = -2;
+    private static final int NONE = -1;
+
+    private final Source source;
+    private final Charset charset;
+
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private int scanned;
+
+    private int lineStart;
+    private int lineEnd;
+    private int separator;
+
+    /**
+     * Reads bytes from the connection
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * Reads at least one byte, blocking until data is available
+         *
+         * @param buffer the buffer to read into
+         * @param offset the offset in the buffer
+         * @param length the maximum number of bytes to read
+         * @return the number of bytes read, -1 at the end of the stream
+         * @throws IOException if there is a problem reading
+         */
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    /**
+     * @param source  the connection to read
+     * @param charset the charset of the response
+     */
+    public ResponseDecoder(Source source, Charset charset) {
+        this.source = source;
+        this.charset = charset;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Advances to the next line, reading from the connection if needed
+     *
+     * @return false if the end of the stream has been reached
+     * @throws IOException if there is a problem reading from the connection
+     */
+    public boolean next() throws IOException {
+        int end = indexOfLineFeed();
+        while (end < 0) {
+            if (!fill()) {
+                return remainder();
+            }
+            end = indexOfLineFeed();
+        }
+
+        setLine(position, end);
+        position = end + 1;
+        return true;
+    }
+
+    /**
+     * @param prefix the encoded prefix
+     * @return true if the current line starts with the prefix
+     */
+    public boolean startsWith(byte[] prefix) {
+        return regionEquals(lineStart, lineEnd, prefix);
+    }
+
+    /**
+     * @param key the encoded key without the {@code ": "} separator
+     * @return true if the current line is a {@code key: value} pair with this key
+     */
+    public boolean keyEquals(byte[] key) {
+        int sep = separator();
+        return sep - lineStart == key.length && regionEquals(lineStart, sep, key);
+    }
+
+    /**
+     * @return true if the current line is a {@code key: value} pair
+     */
+    public boolean hasKey() {
+        return separator() != NONE;
+    }
+
+    /**
+     * @return the key of the current line, the whole line if it isn't a {@code key: value} pair
+     */
+    public String key() {
+        int sep = separator();
+        return decode(lineStart, sep == NONE ? lineEnd : sep);
+    }
+
+    /**
+     * @return the value of the current line, an empty string if it isn't a {@code key: value} pair
+     */
+    public String value() {
+        int sep = separator();
+        return sep == NONE ? "" : decode(sep + 2, lineEnd);
+    }
+
+    /**
+     * @return the whole current line without the line terminator
+     */
+    public String line() {
+        return decode(lineStart, lineEnd);
+    }
+
+    /**
+     * Parses the value of the current line as a non negative integer without decoding it
+     *
+     * @return the value
+     * @throws NumberFormatException if the value isn't a non negative integer
+     */
+    public int intValue() {
+        int sep = separator();
+        if (sep == NONE || sep + 2 == lineEnd) {
+            throw new NumberFormatException("No value in line: " + line());
+        }
+
+        int value = 0;
+        for (int i = sep + 2; i < lineEnd; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a number: " + value());
+            }
+            value = Math.addExact(Math.multiplyExact(value, 10), digit);
+        }
+        return value;
+    }
+
+    /**
+     * Copies the binary payload that follows the current line into the target and skips
+     * the line feed that ends it.  The current line is no longer valid afterwards.
+     *
+     * @param target the buffer to copy into, must have room for the payload
+     * @param length the number of payload bytes, from the {@code binary: N} line
+     * @throws IOException if the connection ends before the whole payload was read
+     */
+    public void readBinary(ByteBuffer target, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            if (position == limit && !fill()) {
+                throw new EOFException("Connection closed in the middle of binary data");
+            }
+            int count = Math.min(remaining, limit - position);
+            target.put(buffer, position, count);
+            position += count;
+            remaining -= count;
+        }
+
+        if (position == limit && !fill()) {
+            throw new EOFException("Connection closed in the middle of binary data");
+        }
+        if (buffer[position] == LINE_FEED) {
+            ++position;
+        }
+        scanned = 0;
+    }
+
+    /**
+     * @return the number of bytes in the current line
+     */
+    public int length() {
+        return lineEnd - lineStart;
+    }
+
+    /**
+     * Encodes a protocol marker or key for comparison with {@link #startsWith(byte[])} and
+     * {@link #keyEquals(byte[])}
+     *
+     * @param text the marker
+     * @return the encoded marker
+     */
+    public static byte[] encode(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int separator() {
+        if (separator == UNKNOWN) {
+            separator = NONE;
+            for (int i = lineStart; i < lineEnd - 1; i++) {
+                if (buffer[i] == COLON && buffer[i + 1] == SPACE) {
+                    separator = i;
+                    break;
+                }
+            }
+        }
+        return separator;
+    }
+
+    private boolean regionEquals(int start, int end, byte[] bytes) {
+        if (end - start < bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer[start + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decode(int start, int end) {
+        return new String(buffer, start, end - start, charset);
+    }
+
+    private void setLine(int start, int end) {
+        lineStart = start;
+        lineEnd = end > start && buffer[end - 1] == CARRIAGE_RETURN ? end - 1 : end;
+        separator = UNKNOWN;
+    }
+
+    /**
+     * Scans the unread bytes for a line feed.  Bytes already scanned by a previous call
+     * are skipped.
+     *
+     * @return the index of the line feed, -1 if there isn't a complete line
+     */
+    private int indexOfLineFeed() {
+        for (int i = position + scanned; i < limit; i++) {
+            if (buffer[i] == LINE_FEED) {
+                scanned = 0;
+                return i;
+            }
+        }
+        scanned = limit - position;
+        return -1;
+    }
+
+    /**
+     * Moves the unread bytes to the start of the buffer, growing it if a single line
+     * doesn't fit, and reads more from the connection.
+     *
+     * @return false if the end of the stream has been reached
+     */
+    private boolean fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+
+        if (limit == buffer.length) {
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, limit);
+            buffer = larger;
+        }
+
+        int read = source.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            return false;
+        }
+        if (read == 0) {
+            throw new IOException("No data read from the connection");
+        }
+        limit += read;
+        return true;
+    }
+
+    private boolean remainder() {
+        if (position == limit) {
+            return false;
+        }
+
+        setLine(position, limit);
+        position = limit;
+        scanned = 0;
+        return true;
+    }
+}
@@ -10,7 +10,8 @@ public class ResponseProperties extends MPDProperties {
     private enum Command {
         OK("cmd.response.ok"),
         LIST_OK("cmd.response.list.ok"),
-        ERR("cmd.response.err");
+        ERR("cmd.response.err"),
+        BINARY("cmd.response.binary");
 
         private final String key;
 
@@ -34,4 +35,8 @@ public class ResponseProperties extends MPDProperties {
     public String getError() {
         return getPropertyString(Command.ERR.getKey());
     }
+
+    public String getBinary() {
+        return getPropertyString(Command.BINARY.getKey());
+    }
 }
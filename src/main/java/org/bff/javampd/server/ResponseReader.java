@@ -0,0 +1,98 @@
+package org.bff.javampd.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A response left on the connection and read one line at a time, so a huge result never has
+ * to be held in memory as a whole.  Obtained from {@link MPDSocket#openResponse}; the
+ * connection can't send anything else until the reader has been closed.  Closing skips the
+ * lines that weren't read.
+ * <p>
+ * Not thread safe, it must only be used by one thread at a time.
+ *
+ * @author bill
+ */
+public class ResponseReader implements AutoCloseable {
+    private final MPDSocket socket;
+    private final String command;
+    private final List<Runnable> closeActions;
+    private boolean pending;
+    private boolean finished;
+    private boolean closed;
+
+    ResponseReader(MPDSocket socket, String command, boolean hasLine) {
+        this.socket = socket;
+        this.command = command;
+        this.closeActions = new ArrayList<>();
+        this.pending = hasLine;
+        this.finished = !hasLine;
+    }
+
+    /**
+     * Positions the decoder on the next line of the response
+     *
+     * @return false once the whole response has been read
+     * @throws MPDSecurityException   if the command was refused for lack of permission
+     * @throws MPDConnectionException if the command failed or the connection was lost
+     */
+    public boolean next() {
+        if (pending) {
+            pending = false;
+            return true;
+        }
+        if (finished || closed) {
+            return false;
+        }
+
+        try {
+            finished = !socket.nextLine(command);
+        } catch (RuntimeException e) {
+            finished = true;
+            throw e;
+        }
+        return !finished;
+    }
+
+    /**
+     * @return the decoder positioned on the current line, valid until the next call to
+     * {@link #next()}
+     */
+    public ResponseDecoder decoder() {
+        return socket.getDecoder();
+    }
+
+    /**
+     * Adds an action run once the reader is closed, like giving the connection back to a pool
+     *
+     * @param action the action to run
+     * @return this reader
+     */
+    public ResponseReader onClose(Runnable action) {
+        closeActions.add(action);
+        return this;
+    }
+
+    /**
+     * Skips the rest of the response and frees the connection
+     *
+     * @throws MPDConnectionException if the connection was lost while skipping
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            pending = false;
+            while (next()) {
+                // the rest of the response isn't wanted
+            }
+        } finally {
+            closed = true;
+            socket.responseClosed(this);
+            closeActions.forEach(Runnable::run);
+        }
+    }
+}
@@ -2,15 +2,22 @@ package org.bff.javampd.server;
 
 import org.bff.javampd.admin.Admin;
 import org.bff.javampd.art.ArtworkFinder;
+import org.bff.javampd.command.AsyncCommandExecutor;
 import org.bff.javampd.command.CommandExecutor;
 import org.bff.javampd.database.MusicDatabase;
+import org.bff.javampd.database.ResultCache;
+import org.bff.javampd.database.StringPool;
+import org.bff.javampd.library.LibraryMirror;
 import org.bff.javampd.monitor.StandAloneMonitor;
 import org.bff.javampd.player.Player;
+import org.bff.javampd.playlist.AsyncPlaylist;
 import org.bff.javampd.playlist.Playlist;
+import org.bff.javampd.song.AsyncSongDatabase;
 import org.bff.javampd.song.SongSearcher;
 import org.bff.javampd.statistics.ServerStatistics;
 
 import java.net.InetAddress;
+import java.nio.file.Path;
 
 /**
  * @author bill
@@ -46,6 +53,29 @@ public interface Server {
 
     ArtworkFinder getArtworkFinder();
 
+    /**
+     * Returns the pool sharing repeated tag values between songs and albums, along with the
+     * memory it saved
+     *
+     * @return the {@link StringPool}
+     */
+    StringPool getStringPool();
+
+    /**
+     * Returns the copy of the music database held on the client.  It only answers the
+     * database queries when db.mirror is set.
+     *
+     * @return the {@link LibraryMirror}
+     */
+    LibraryMirror getLibraryMirror();
+
+    /**
+     * Returns the cache of the responses to database queries, along with its hits and misses
+     *
+     * @return the {@link ResultCache}
+     */
+    ResultCache getResultCache();
+
     /**
      * Returns true if {@link #close()} has been called.  Once closed a new {@link MPD} will need to be created.
      * Automatic reconnections will not be attempted after close is called.
@@ -60,6 +90,41 @@ public interface Server {
 
     int getTimeout();
 
+    /**
+     * Returns true if the connection uses the non-blocking {@link NioMPDSocket} transport
+     *
+     * @return true if using the NIO transport
+     */
+    boolean isNio();
+
+    /**
+     * Returns the path of the unix domain socket connected to instead of the address and port
+     *
+     * @return the socket path, null if connecting over TCP
+     */
+    Path getSocketPath();
+
+    /**
+     * Returns the maximum number of connections kept to the server
+     *
+     * @return the connection pool size
+     */
+    int getPoolSize();
+
+    /**
+     * Returns the milliseconds an unused pooled connection is kept open, 0 if never closed
+     *
+     * @return the pool idle timeout
+     */
+    int getPoolIdleTimeout();
+
+    /**
+     * Returns the milliseconds to wait for a free pooled connection, 0 if waiting indefinitely
+     *
+     * @return the pool acquire timeout
+     */
+    int getPoolAcquireTimeout();
+
     Player getPlayer();
 
     Playlist getPlaylist();
@@ -77,4 +142,25 @@ public interface Server {
     StandAloneMonitor getMonitor();
 
     CommandExecutor getCommandExecutor();
+
+    /**
+     * Returns the non-blocking command executor sharing the connections of {@link #getCommandExecutor()}
+     *
+     * @return the async command executor
+     */
+    AsyncCommandExecutor getAsyncCommandExecutor();
+
+    /**
+     * Returns non-blocking variants of the song database lookups
+     *
+     * @return the async song database
+     */
+    AsyncSongDatabase getAsyncSongDatabase();
+
+    /**
+     * Returns non-blocking variants of the playlist operations
+     *
+     * @return the async playlist
+     */
+    AsyncPlaylist getAsyncPlaylist();
 }
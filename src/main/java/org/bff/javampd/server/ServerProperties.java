@@ -1,5 +1,9 @@
 package org.bff.javampd.server;
 
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * @author bill
  */
@@ -7,6 +11,7 @@ public class ServerProperties extends MPDProperties {
 
     private enum Command {
         SERVERENCODING("server.encoding"),
+        PINGIDLE("server.ping.idle"),
         CLEARERROR("cmd.clear.error"),
         CLOSE("cmd.close"),
         KILL("cmd.kill"),
@@ -15,7 +20,10 @@ public class ServerProperties extends MPDProperties {
         STARTBULK("cmd.start.bulk"),
         ENDBULK("cmd.end.bulk"),
         PASSWORD("cmd.password"),
-        PING("cmd.ping");
+        PING("cmd.ping"),
+        IDLE("cmd.idle"),
+        NOIDLE("cmd.noidle"),
+        READONLY("cmd.read.only");
 
         private final String key;
 
@@ -44,6 +52,14 @@ public class ServerProperties extends MPDProperties {
         return getResponseCommand(Command.PING);
     }
 
+    public String getIdle() {
+        return getResponseCommand(Command.IDLE);
+    }
+
+    public String getNoIdle() {
+        return getResponseCommand(Command.NOIDLE);
+    }
+
     public String getPassword() {
         return getResponseCommand(Command.PASSWORD);
     }
@@ -67,4 +83,21 @@ public class ServerProperties extends MPDProperties {
     public String getEncoding() {
         return getResponseCommand(Command.SERVERENCODING);
     }
+
+    /**
+     * @return milliseconds a connection may be idle before it is pinged, 0 to never ping
+     */
+    public int getPingIdle() {
+        return Integer.parseInt(getResponseCommand(Command.PINGIDLE));
+    }
+
+    /**
+     * @return the commands without side effects whose identical calls in flight share one response
+     */
+    public Set<String> getReadOnlyCommands() {
+        return Arrays.stream(getResponseCommand(Command.READONLY).split(","))
+                .map(String::trim)
+                .filter(command -> !command.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 }
@@ -19,6 +19,13 @@ public interface ServerStatus {
      */
     Collection<String> getStatus();
 
+    /**
+     * Returns the parsed status, so several fields can be read from the same response
+     *
+     * @return the {@link StatusSnapshot} of the status
+     */
+    StatusSnapshot getStatusSnapshot();
+
     /**
      * Returns the current playlist version
      *
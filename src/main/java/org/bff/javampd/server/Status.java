@@ -1,9 +1,7 @@
 package org.bff.javampd.server;
 
 import lombok.extern.slf4j.Slf4j;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.bff.javampd.PrefixLookup;
 
 /**
  * Enumeration of the available information from the MPD
@@ -108,13 +106,7 @@ public enum Status {
      * the prefix associated with the status
      */
     private final String prefix;
-    private static final Map<String, Status> lookup = new HashMap<>();
-
-    static {
-        for (Status s : Status.values()) {
-            lookup.put(s.prefix, s);
-        }
-    }
+    private static final PrefixLookup<Status> lookup = PrefixLookup.of(values(), Status::getStatusPrefix);
 
     /**
      * Enum constructor
@@ -143,7 +135,7 @@ public enum Status {
      * if there isn't a match
      */
     public static Status lookup(String line) {
-        var status = lookup.get(line.substring(0, line.indexOf(":") + 1));
+        var status = lookup.lookup(line);
         if (status != null) {
             return status;
         }
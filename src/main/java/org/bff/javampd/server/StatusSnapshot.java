@@ -0,0 +1,284 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.PrefixLookup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * The status of the server parsed from one {@code status} response.  Every field is parsed
+ * once when the snapshot is made, so reading one costs no more than a field access.  The
+ * fields all come from the same response, so they are consistent with each other.
+ * <p>
+ * Fields missing from the response read as "" or 0, or as empty for the optional ones.
+ * <p>
+ * Immutable and thread safe.
+ *
+ * @author bill
+ */
+public final class StatusSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusSnapshot.class);
+    private static final PrefixLookup<Status> LOOKUP = PrefixLookup.of(Status.values(), Status::getStatusPrefix);
+    private static final int ABSENT = Integer.MIN_VALUE;
+    private static final String EMPTY = "";
+
+    private final long fetched;
+    private final int playlistVersion;
+    private final int playlistLength;
+    private final String state;
+    private final int xFade;
+    private final String audio;
+    private final String error;
+    private final long elapsedTime;
+    private final long totalTime;
+    private final int bitrate;
+    private final int volume;
+    private final boolean repeat;
+    private final boolean random;
+    private final boolean databaseUpdating;
+    private final boolean consume;
+    private final boolean single;
+    private final int songNumber;
+    private final String songId;
+    private final int nextSongNumber;
+    private final String nextSongId;
+    private final int duration;
+    private final int elapsed;
+    private final int mixRampDb;
+    private final int mixRampDelay;
+
+    private StatusSnapshot(String[] values, long fetched) {
+        this.fetched = fetched;
+        this.playlistVersion = number(values, Status.PLAYLIST);
+        this.playlistLength = number(values, Status.PLAYLISTLENGTH);
+        this.state = value(values, Status.STATE);
+        this.xFade = number(values, Status.XFADE);
+        this.audio = value(values, Status.AUDIO);
+        this.error = value(values, Status.ERROR);
+        this.elapsedTime = time(values, 0);
+        this.totalTime = time(values, 1);
+        this.bitrate = number(values, Status.BITRATE);
+        this.volume = number(values, Status.VOLUME);
+        this.repeat = flag(values, Status.REPEAT);
+        this.random = flag(values, Status.RANDOM);
+        this.databaseUpdating = !value(values, Status.UPDATINGDB).isEmpty();
+        this.consume = flag(values, Status.CONSUME);
+        this.single = flag(values, Status.SINGLE);
+        this.songNumber = optionalNumber(values, Status.CURRENTSONG);
+        this.songId = optionalValue(values, Status.CURRENTSONGID);
+        this.nextSongNumber = optionalNumber(values, Status.NEXT_SONG);
+        this.nextSongId = optionalValue(values, Status.NEXT_SONG_ID);
+        this.duration = optionalNumber(values, Status.DURATION);
+        this.elapsed = optionalNumber(values, Status.ELAPSED);
+        this.mixRampDb = optionalNumber(values, Status.MIX_RAMP_DB);
+        this.mixRampDelay = optionalNumber(values, Status.MIX_RAMP_DELAY);
+    }
+
+    /**
+     * Parses the response to a {@code status} command sent outside of the {@link ServerStatus}
+     *
+     * @param response the lines of the response
+     * @return the snapshot
+     */
+    public static StatusSnapshot of(Collection<String> response) {
+        return of(response, 0);
+    }
+
+    /**
+     * Parses the response to a {@code status} command
+     *
+     * @param response the lines of the response
+     * @param fetched  the {@link org.bff.javampd.Clock#nanoTime()} the response was received at
+     * @return the snapshot
+     */
+    static StatusSnapshot of(Collection<String> response, long fetched) {
+        String[] values = new String[Status.values().length];
+        for (String line : response) {
+            Status status = LOOKUP.lookup(line);
+            if (status != null && values[status.ordinal()] == null) {
+                values[status.ordinal()] = line.substring(status.getStatusPrefix().length()).trim();
+            }
+        }
+        return new StatusSnapshot(values, fetched);
+    }
+
+    /**
+     * @return the {@link org.bff.javampd.Clock#nanoTime()} the response was received at
+     */
+    long getFetched() {
+        return fetched;
+    }
+
+    public int getPlaylistVersion() {
+        return playlistVersion;
+    }
+
+    public int getPlaylistLength() {
+        return playlistLength;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public int getXFade() {
+        return xFade;
+    }
+
+    public String getAudio() {
+        return audio;
+    }
+
+    public boolean isError() {
+        return !error.isEmpty();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public int getBitrate() {
+        return bitrate;
+    }
+
+    public int getVolume() {
+        return volume;
+    }
+
+    public boolean isRepeat() {
+        return repeat;
+    }
+
+    public boolean isRandom() {
+        return random;
+    }
+
+    public boolean isDatabaseUpdating() {
+        return databaseUpdating;
+    }
+
+    public boolean isConsume() {
+        return consume;
+    }
+
+    public boolean isSingle() {
+        return single;
+    }
+
+    public Optional<Integer> playlistSongNumber() {
+        return optional(songNumber);
+    }
+
+    public Optional<String> playlistSongId() {
+        return Optional.ofNullable(songId);
+    }
+
+    public Optional<Integer> playlistNextSongNumber() {
+        return optional(nextSongNumber);
+    }
+
+    public Optional<String> playlistNextSongId() {
+        return Optional.ofNullable(nextSongId);
+    }
+
+    public Optional<Integer> durationCurrentSong() {
+        return optional(duration);
+    }
+
+    public Optional<Integer> elapsedCurrentSong() {
+        return optional(elapsed);
+    }
+
+    public Optional<Integer> getMixRampDb() {
+        return optional(mixRampDb);
+    }
+
+    public Optional<Integer> getMixRampDelay() {
+        return optional(mixRampDelay);
+    }
+
+    private static Optional<Integer> optional(int number) {
+        return number == ABSENT ? Optional.empty() : Optional.of(number);
+    }
+
+    private static String value(String[] values, Status status) {
+        String value = values[status.ordinal()];
+        return value == null ? EMPTY : value;
+    }
+
+    private static String optionalValue(String[] values, Status status) {
+        String value = value(values, status);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean flag(String[] values, Status status) {
+        return "1".equals(values[status.ordinal()]);
+    }
+
+    private static int number(String[] values, Status status) {
+        String value = value(values, status);
+        if (value.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException nfe) {
+            LOGGER.error("Could not format {} response {}", status.getStatusPrefix(), value, nfe);
+            return 0;
+        }
+    }
+
+    /**
+     * Parses an optional number, dropping the fraction of the ones given with higher resolution
+     * like elapsed
+     */
+    private static int optionalNumber(String[] values, Status status) {
+        String value = value(values, status);
+        if (value.isEmpty()) {
+            return ABSENT;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException nfe) {
+            return fraction(status, value);
+        }
+    }
+
+    private static int fraction(Status status, String value) {
+        try {
+            double number = Double.parseDouble(value);
+            if (!Double.isNaN(number)) {
+                return (int) number;
+            }
+        } catch (NumberFormatException nfe) {
+            LOGGER.error("Could not format {} response {}", status.getStatusPrefix(), value, nfe);
+        }
+        return ABSENT;
+    }
+
+    private static long time(String[] values, int index) {
+        String[] times = value(values, Status.TIME).split(":");
+        if (times.length < 2) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(times[index].trim());
+        } catch (NumberFormatException nfe) {
+            LOGGER.error("Could not format time {}", value(values, Status.TIME), nfe);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.bff.javampd.server;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * {@link NioMPDSocket} connected to the unix domain socket of a local MPD, for example
+ * {@code /run/mpd/socket}, bypassing the TCP stack.  Authentication, retries and the
+ * version handshake are the same as for a TCP connection.
+ * <p>
+ * Unix domain socket channels need Java 16 or later.  They are looked up at runtime so the
+ * library still runs on older versions; connecting there throws a
+ * {@link MPDConnectionException}.
+ * <p>
+ * Select this transport with {@link MPD.Builder#socketPath(Path)}.
+ *
+ * @author bill
+ */
+public class UnixMPDSocket extends NioMPDSocket {
+    private static final String ADDRESS_CLASS = "java.net.UnixDomainSocketAddress";
+    private static final String UNIX_FAMILY = "UNIX";
+
+    public UnixMPDSocket(Path socketPath,
+                         int timeout) {
+        super(unixAddress(socketPath), timeout);
+    }
+
+    @Override
+    protected SocketChannel openChannel() throws IOException {
+        try {
+            ProtocolFamily family = StandardProtocolFamily.valueOf(UNIX_FAMILY);
+            return (SocketChannel) SocketChannel.class.getMethod("open", ProtocolFamily.class).invoke(null, family);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new MPDConnectionException(e.getCause());
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * Unix domain sockets have no keep alive, there is nothing to configure
+     *
+     * @param socketChannel the channel from {@link #openChannel()}
+     */
+    @Override
+    protected void configure(SocketChannel socketChannel) {
+        // no socket options apply to a unix domain socket
+    }
+
+    private static SocketAddress unixAddress(Path socketPath) {
+        try {
+            return (SocketAddress) Class.forName(ADDRESS_CLASS).getMethod("of", Path.class).invoke(null, socketPath);
+        } catch (InvocationTargetException e) {
+            throw new MPDConnectionException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    private static MPDConnectionException unsupported(Exception e) {
+        return new MPDConnectionException("Unix domain sockets need Java 16 or later", e);
+    }
+}
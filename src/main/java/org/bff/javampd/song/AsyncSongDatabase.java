@@ -0,0 +1,65 @@
+package org.bff.javampd.song;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variants of the most used {@link SongDatabase} lookups.  The futures complete
+ * on the executor given to {@link org.bff.javampd.server.MPD.Builder#asyncExecutor(java.util.concurrent.Executor)}.
+ *
+ * @author bill
+ */
+public interface AsyncSongDatabase {
+
+    /**
+     * @param album the album to find
+     * @return the future result of {@link SongDatabase#findAlbum(String)}
+     */
+    CompletableFuture<Collection<MPDSong>> findAlbum(String album);
+
+    /**
+     * @param artistName the artist of the album
+     * @param albumName  the album to find
+     * @return the future result of {@link SongDatabase#findAlbumByArtist(String, String)}
+     */
+    CompletableFuture<Collection<MPDSong>> findAlbumByArtist(String artistName, String albumName);
+
+    /**
+     * @param artist the artist to find
+     * @return the future result of {@link SongDatabase#findArtist(String)}
+     */
+    CompletableFuture<Collection<MPDSong>> findArtist(String artist);
+
+    /**
+     * @param title the title to find
+     * @return the future result of {@link SongDatabase#findTitle(String)}
+     */
+    CompletableFuture<Collection<MPDSong>> findTitle(String title);
+
+    /**
+     * @param criteria the criteria to find
+     * @return the future result of {@link SongDatabase#findAny(String)}
+     */
+    CompletableFuture<Collection<MPDSong>> findAny(String criteria);
+
+    /**
+     * @param title the title to search for
+     * @return the future result of {@link SongDatabase#searchTitle(String)}
+     */
+    CompletableFuture<Collection<MPDSong>> searchTitle(String title);
+
+    /**
+     * @param criteria the criteria to search for
+     * @return the future result of {@link SongDatabase#searchAny(String)}
+     */
+    CompletableFuture<Collection<MPDSong>> searchAny(String criteria);
+
+    /**
+     * @param name   the song title
+     * @param album  the song album
+     * @param artist the song artist
+     * @return the future result of {@link SongDatabase#findSong(String, String, String)}
+     */
+    CompletableFuture<Optional<MPDSong>> findSong(String name, String album, String artist);
+}
@@ -0,0 +1,77 @@
+package org.bff.javampd.song;
+
+import org.bff.javampd.command.AsyncCalls;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs {@link SongDatabase} lookups on an I/O {@link Executor} and completes the futures on
+ * another one
+ *
+ * @author bill
+ */
+public class MPDAsyncSongDatabase implements AsyncSongDatabase {
+    private final SongDatabase songDatabase;
+    private final AsyncCalls calls;
+
+    /**
+     * @param songDatabase the database doing the lookups
+     * @param executor     runs the lookups and completes the futures
+     */
+    public MPDAsyncSongDatabase(SongDatabase songDatabase, Executor executor) {
+        this(songDatabase, executor, executor);
+    }
+
+    /**
+     * @param songDatabase the database doing the lookups
+     * @param ioExecutor   runs the lookups, blocking on the connection
+     * @param executor     completes the futures
+     */
+    public MPDAsyncSongDatabase(SongDatabase songDatabase, Executor ioExecutor, Executor executor) {
+        this.songDatabase = songDatabase;
+        this.calls = new AsyncCalls(ioExecutor, executor);
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> findAlbum(String album) {
+        return calls.supply(() -> songDatabase.findAlbum(album));
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> findAlbumByArtist(String artistName, String albumName) {
+        return calls.supply(() -> songDatabase.findAlbumByArtist(artistName, albumName));
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> findArtist(String artist) {
+        return calls.supply(() -> songDatabase.findArtist(artist));
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> findTitle(String title) {
+        return calls.supply(() -> songDatabase.findTitle(title));
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> findAny(String criteria) {
+        return calls.supply(() -> songDatabase.findAny(criteria));
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> searchTitle(String title) {
+        return calls.supply(() -> songDatabase.searchTitle(title));
+    }
+
+    @Override
+    public CompletableFuture<Collection<MPDSong>> searchAny(String criteria) {
+        return calls.supply(() -> songDatabase.searchAny(criteria));
+    }
+
+    @Override
+    public CompletableFuture<Optional<MPDSong>> findSong(String name, String album, String artist) {
+        return calls.supply(() -> songDatabase.findSong(name, album, artist));
+    }
+}
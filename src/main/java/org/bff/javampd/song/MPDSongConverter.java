@@ -1,18 +1,40 @@
 package org.bff.javampd.song;
 
+import com.google.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import org.bff.javampd.MPDItem;
+import org.bff.javampd.database.StringPool;
+import org.bff.javampd.server.ResponseReader;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 public class MPDSongConverter implements SongConverter {
 
     private static final String DELIMITING_PREFIX = SongProcessor.getDelimitingPrefix();
 
+    private final StringPool stringPool;
+
+    public MPDSongConverter() {
+        this(new StringPool(0));
+    }
+
+    /**
+     * Creates the converter sharing the repeated tag values of its songs through the pool
+     *
+     * @param stringPool the pool of tag values
+     */
+    @Inject
+    public MPDSongConverter(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
     @Override
     public List<MPDSong> convertResponseToSong(List<String> list) {
         List<MPDSong> songList = new ArrayList<>();
@@ -31,6 +53,15 @@ public class MPDSongConverter implements SongConverter {
         return songList;
     }
 
+    @Override
+    public Stream<MPDSong> convertResponseToSongStream(ResponseReader reader) {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(new SongIterator(reader, stringPool),
+                                Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(reader::close);
+    }
+
     private String processSong(String file, Iterator<String> iterator, List<MPDSong> songs) {
         MPDSong song = new MPDSong(file, "");
         initialize(song);
@@ -42,12 +73,13 @@ public class MPDSongConverter implements SongConverter {
             }
             line = iterator.next();
         }
+        intern(song, stringPool);
         songs.add(song);
 
         return line;
     }
 
-    private static void initialize(MPDSong song) {
+    static void initialize(MPDSong song) {
         song.setName("");
         song.setAlbumName("");
         song.setArtistName("");
@@ -58,6 +90,19 @@ public class MPDSongConverter implements SongConverter {
         song.setYear("");
     }
 
+    static void intern(MPDSong song, StringPool stringPool) {
+        if (!stringPool.isEnabled()) {
+            return;
+        }
+
+        song.setArtistName(stringPool.intern(song.getArtistName()));
+        song.setAlbumName(stringPool.intern(song.getAlbumName()));
+        song.setGenre(stringPool.intern(song.getGenre()));
+        song.setYear(stringPool.intern(song.getYear()));
+        song.setComment(stringPool.intern(song.getComment()));
+        song.setDiscNumber(stringPool.intern(song.getDiscNumber()));
+    }
+
     @Override
     public List<String> getSongFileNameList(List<String> fileList) {
         return fileList.stream()
@@ -66,10 +111,10 @@ public class MPDSongConverter implements SongConverter {
                 .collect(Collectors.toList());
     }
 
-    private void processLine(MPDItem song, String line) {
+    static void processLine(MPDSong song, String line) {
         var songProcessor = SongProcessor.lookup(line);
         if (songProcessor != null) {
-            songProcessor.getProcessor().processTag((MPDSong) song, line);
+            songProcessor.getProcessor().processTag(song, line);
         } else {
             log.warn("Processor not found - {}", line);
         }
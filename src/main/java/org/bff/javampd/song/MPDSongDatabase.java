@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * MPDSongDatabase represents a song database controller to a {@link org.bff.javampd.server.MPD}.
@@ -119,6 +120,16 @@ public class MPDSongDatabase implements SongDatabase {
         return songSearcher.find(SongSearcher.ScopeType.ANY, criteria);
     }
 
+    @Override
+    public Stream<MPDSong> findAnyStream(String criteria) {
+        return songSearcher.findStream(SongSearcher.ScopeType.ANY, criteria);
+    }
+
+    @Override
+    public Stream<MPDSong> searchAnyStream(String criteria) {
+        return songSearcher.searchStream(SongSearcher.ScopeType.ANY, criteria);
+    }
+
     @Override
     public Collection<MPDSong> searchTitle(String title) {
         return songSearcher.search(SongSearcher.ScopeType.TITLE, title);
@@ -2,9 +2,13 @@ package org.bff.javampd.song;
 
 import com.google.inject.Inject;
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.database.ResultCache;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link SongSearcher} for MPD
@@ -16,14 +20,23 @@ public class MPDSongSearcher implements SongSearcher {
     private SearchProperties searchProperties;
     private CommandExecutor commandExecutor;
     private SongConverter songConverter;
+    private ResultCache resultCache;
 
-    @Inject
     public MPDSongSearcher(SearchProperties searchProperties,
                            CommandExecutor commandExecutor,
                            SongConverter songConverter) {
+        this(searchProperties, commandExecutor, songConverter, ResultCache.disabled());
+    }
+
+    @Inject
+    public MPDSongSearcher(SearchProperties searchProperties,
+                           CommandExecutor commandExecutor,
+                           SongConverter songConverter,
+                           ResultCache resultCache) {
         this.searchProperties = searchProperties;
         this.commandExecutor = commandExecutor;
         this.songConverter = songConverter;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -41,11 +54,7 @@ public class MPDSongSearcher implements SongSearcher {
     }
 
     private Collection<MPDSong> search(String[] params) {
-        return songConverter.convertResponseToSong(
-                commandExecutor.sendCommand(
-                        searchProperties.getSearch(),
-                        params));
-
+        return songConverter.convertResponseToSong(send(searchProperties.getSearch(), params));
     }
 
     @Override
@@ -62,9 +71,26 @@ public class MPDSongSearcher implements SongSearcher {
     }
 
     private Collection<MPDSong> find(String[] params) {
-        return songConverter.convertResponseToSong(
-                commandExecutor.sendCommand(searchProperties.getFind(),
-                        params));
+        return songConverter.convertResponseToSong(send(searchProperties.getFind(), params));
+    }
+
+    private List<String> send(String command, String[] params) {
+        return resultCache.get(command, params, () -> commandExecutor.sendCommand(command, params));
+    }
+
+    @Override
+    public Stream<MPDSong> searchStream(ScopeType searchType, String criteria) {
+        return stream(searchProperties.getSearch(), generateParams(searchType, criteria));
+    }
+
+    @Override
+    public Stream<MPDSong> findStream(ScopeType scopeType, String criteria) {
+        return stream(searchProperties.getFind(), generateParams(scopeType, criteria));
+    }
+
+    private Stream<MPDSong> stream(String command, String[] params) {
+        return songConverter.convertResponseToSongStream(
+                commandExecutor.openResponse(new MPDCommand(command, params)));
     }
 
     private static String[] generateParams(ScopeType scopeType,
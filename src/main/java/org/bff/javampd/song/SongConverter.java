@@ -1,6 +1,9 @@
 package org.bff.javampd.song;
 
+import org.bff.javampd.server.ResponseReader;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * @author bill
@@ -14,5 +17,14 @@ public interface SongConverter {
      */
     List<MPDSong> convertResponseToSong(List<String> list);
 
+    /**
+     * Converts the response lazily, each {@link MPDSong} is parsed from the reader when the
+     * stream gets to it.  Closing the stream closes the reader.
+     *
+     * @param reader the reader of the response
+     * @return a stream of the songs in the response
+     */
+    Stream<MPDSong> convertResponseToSongStream(ResponseReader reader);
+
     List<String> getSongFileNameList(List<String> fileList);
 }
@@ -6,6 +6,7 @@ import org.bff.javampd.genre.MPDGenre;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Database for song related items
@@ -204,6 +205,24 @@ public interface SongDatabase {
      */
     Collection<MPDSong> searchAny(String criteria);
 
+    /**
+     * Same as {@link #findAny(String)} but the songs are parsed as the stream is consumed, for
+     * results too large to hold in memory.  The stream must be closed.
+     *
+     * @param criteria the criteria to find
+     * @return a {@link Stream} of {@link org.bff.javampd.song.MPDSong}s
+     */
+    Stream<MPDSong> findAnyStream(String criteria);
+
+    /**
+     * Same as {@link #searchAny(String)} but the songs are parsed as the stream is consumed, for
+     * results too large to hold in memory.  The stream must be closed.
+     *
+     * @param criteria the criteria to match
+     * @return a {@link Stream} of {@link org.bff.javampd.song.MPDSong}s
+     */
+    Stream<MPDSong> searchAnyStream(String criteria);
+
     /**
      * Returns a {@link java.util.Collection} of {@link org.bff.javampd.song.MPDSong}s for an any
      * file name containing the parameter filename.
@@ -0,0 +1,74 @@
+package org.bff.javampd.song;
+
+import org.bff.javampd.database.StringPool;
+import org.bff.javampd.server.ResponseReader;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses the songs of a response as they are asked for, reading no further than the
+ * {@code file:} line starting the next song.  Only the song being built is held in memory.
+ *
+ * @author bill
+ */
+final class SongIterator implements Iterator<MPDSong> {
+    private static final String DELIMITING_PREFIX = SongProcessor.getDelimitingPrefix();
+
+    private final ResponseReader reader;
+    private final StringPool stringPool;
+    private String file;
+    private boolean started;
+
+    SongIterator(ResponseReader reader, StringPool stringPool) {
+        this.reader = reader;
+        this.stringPool = stringPool;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            file = nextFile();
+        }
+        return file != null;
+    }
+
+    @Override
+    public MPDSong next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        MPDSong song = new MPDSong(file, "");
+        MPDSongConverter.initialize(song);
+        file = null;
+        while (reader.next()) {
+            String line = reader.decoder().line();
+            if (line.startsWith(DELIMITING_PREFIX)) {
+                file = fileName(line);
+                break;
+            }
+            MPDSongConverter.processLine(song, line);
+        }
+        MPDSongConverter.intern(song, stringPool);
+        return song;
+    }
+
+    /**
+     * Skips everything before the first song, like directory entries
+     */
+    private String nextFile() {
+        while (reader.next()) {
+            String line = reader.decoder().line();
+            if (line.startsWith(DELIMITING_PREFIX)) {
+                return fileName(line);
+            }
+        }
+        return null;
+    }
+
+    private static String fileName(String line) {
+        return line.substring(DELIMITING_PREFIX.length()).trim();
+    }
+}
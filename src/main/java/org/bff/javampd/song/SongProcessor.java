@@ -1,10 +1,8 @@
 package org.bff.javampd.song;
 
+import org.bff.javampd.PrefixLookup;
 import org.bff.javampd.processor.*;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public enum SongProcessor {
     FILE(new FileTagProcessor()),
     ARTIST(new ArtistTagProcessor()),
@@ -22,20 +20,15 @@ public enum SongProcessor {
 
     private final transient SongTagResponseProcessor songTagResponseProcessor;
 
-    private static final Map<String, SongProcessor> lookup = new HashMap<>();
-
-    static {
-        for (SongProcessor s : SongProcessor.values()) {
-            lookup.put(s.getProcessor().getPrefix(), s);
-        }
-    }
+    private static final PrefixLookup<SongProcessor> lookup =
+            PrefixLookup.of(values(), s -> s.getProcessor().getPrefix());
 
     SongProcessor(SongTagResponseProcessor songTagResponseProcessor) {
         this.songTagResponseProcessor = songTagResponseProcessor;
     }
 
     public static SongProcessor lookup(String line) {
-        return lookup.get(line.substring(0, line.indexOf(":") + 1));
+        return lookup.lookup(line);
     }
 
     public SongTagResponseProcessor getProcessor() {
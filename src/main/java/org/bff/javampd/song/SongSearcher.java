@@ -1,6 +1,7 @@
 package org.bff.javampd.song;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Provides search and list functionality for {@link MPDSong}s
@@ -84,4 +85,36 @@ public interface SongSearcher {
      * @return a {@link java.util.Collection} of {@link MPDSong}s
      */
     Collection<MPDSong> find(ScopeType scopeType, String criteria, int start, int end);
+
+    /**
+     * Same as {@link #search(ScopeType, String)} but the songs are parsed as the stream is
+     * consumed, so memory stays proportional to one song however large the result.  A
+     * connection is held until the stream is closed, use it in a try-with-resources.
+     * <p>
+     * Other calls wait for a free connection meanwhile, monitors included.  A call made by the
+     * thread consuming the stream, like adding each song to the playlist, fails with an
+     * {@link org.bff.javampd.server.MPDConnectionException} when no other connection is free,
+     * as it would wait forever.  Collect the songs first or give the pool more connections.
+     *
+     * @param searchType the {@link ScopeType}
+     * @param criteria   the search criteria
+     * @return a {@link Stream} of {@link MPDSong}s that must be closed
+     */
+    Stream<MPDSong> searchStream(ScopeType searchType, String criteria);
+
+    /**
+     * Same as {@link #find(ScopeType, String)} but the songs are parsed as the stream is
+     * consumed, so memory stays proportional to one song however large the result.  A
+     * connection is held until the stream is closed, use it in a try-with-resources.
+     * <p>
+     * Other calls wait for a free connection meanwhile, monitors included.  A call made by the
+     * thread consuming the stream, like adding each song to the playlist, fails with an
+     * {@link org.bff.javampd.server.MPDConnectionException} when no other connection is free,
+     * as it would wait forever.  Collect the songs first or give the pool more connections.
+     *
+     * @param scopeType the {@link ScopeType}
+     * @param criteria  the search criteria
+     * @return a {@link Stream} of {@link MPDSong}s that must be closed
+     */
+    Stream<MPDSong> findStream(ScopeType scopeType, String criteria);
 }
@@ -1,5 +1,6 @@
 package org.bff.javampd;
 
+import org.bff.javampd.command.AsyncCommandExecutor;
 import org.bff.javampd.command.MPDCommandExecutor;
 import org.bff.javampd.server.MPD;
 import org.bff.javampd.server.MPDConnectionException;
@@ -14,10 +15,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class BuilderTest {
@@ -61,6 +68,75 @@ class BuilderTest {
         assertEquals(mpd.getTimeout(), 0);
     }
 
+    @Test
+    void testNio() {
+        MPD mpd = mpdBuilder.nio(true).build();
+        assertTrue(mpd.isNio());
+    }
+
+    @Test
+    void testSocketPath() {
+        MPD mpd = mpdBuilder.socketPath(Paths.get("/run/mpd/socket")).build();
+        assertEquals(Paths.get("/run/mpd/socket"), mpd.getSocketPath());
+    }
+
+    @Test
+    void testPool() {
+        MPD mpd = mpdBuilder
+                .poolSize(4)
+                .poolIdleTimeout(30000)
+                .poolAcquireTimeout(1000)
+                .build();
+        assertAll(
+                () -> assertEquals(4, mpd.getPoolSize()),
+                () -> assertEquals(30000, mpd.getPoolIdleTimeout()),
+                () -> assertEquals(1000, mpd.getPoolAcquireTimeout())
+        );
+    }
+
+    @Test
+    void testPoolSizeInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> mpdBuilder.poolSize(0));
+    }
+
+    @Test
+    void testAsyncExecutor() {
+        List<Runnable> submitted = new ArrayList<>();
+        MPD mpd = mpdBuilder.asyncExecutor(runnable -> {
+            submitted.add(runnable);
+            runnable.run();
+        }).build();
+
+        mpd.getAsyncCommandExecutor().sendCommand("status").join();
+
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void testDefaultAsyncJoinInStage() throws Exception {
+        when(mpdCommandExecutor.sendCommand("status")).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return List.of("state: play");
+        });
+        MPD mpd = mpdBuilder.build();
+        AsyncCommandExecutor async = mpd.getAsyncCommandExecutor();
+
+        CompletableFuture<List<String>> nested = async.sendCommand("status")
+                .thenApply(response -> async.sendCommand("status").join());
+
+        assertEquals(List.of("state: play"), nested.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDefaultAsync() {
+        MPD mpd = mpdBuilder.build();
+        assertAll(
+                () -> assertNotNull(mpd.getAsyncCommandExecutor()),
+                () -> assertNotNull(mpd.getAsyncSongDatabase()),
+                () -> assertNotNull(mpd.getAsyncPlaylist())
+        );
+    }
+
     @Test
     void testPassword() {
         String password = "thepassword";
@@ -109,6 +185,28 @@ class BuilderTest {
         assertEquals(mpd.getPort(), DEFAULT_PORT);
     }
 
+    @Test
+    void testDefaultNio() {
+        MPD mpd = mpdBuilder.build();
+        assertFalse(mpd.isNio());
+    }
+
+    @Test
+    void testDefaultSocketPath() {
+        MPD mpd = mpdBuilder.build();
+        assertNull(mpd.getSocketPath());
+    }
+
+    @Test
+    void testDefaultPool() {
+        MPD mpd = mpdBuilder.build();
+        assertAll(
+                () -> assertEquals(1, mpd.getPoolSize()),
+                () -> assertEquals(0, mpd.getPoolIdleTimeout()),
+                () -> assertEquals(0, mpd.getPoolAcquireTimeout())
+        );
+    }
+
     @Test
     void testDefaultTimeout() {
         MPD mpd = mpdBuilder.build();
@@ -29,4 +29,12 @@ class MPDSystemClockTest {
     void min() {
         assertEquals(LocalDateTime.MIN, clock.min());
     }
+
+    @Test
+    void nanoTime() {
+        long before = System.nanoTime();
+        long clockTime = clock.nanoTime();
+
+        assertTrue(clockTime >= before && clockTime <= System.nanoTime());
+    }
 }
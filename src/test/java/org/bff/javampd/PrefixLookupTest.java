@@ -0,0 +1,63 @@
+package org.bff.javampd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PrefixLookupTest {
+    private static final String[] PREFIXES = {"file:", "Artist:", "Album:", "Aa:", "BB:"};
+
+    private final PrefixLookup<String> lookup = PrefixLookup.of(PREFIXES, Function.identity());
+
+    @Test
+    void testLookup() {
+        assertEquals("file:", lookup.lookup("file: music/song.flac"));
+        assertEquals("Artist:", lookup.lookup("Artist: Artist: with a colon"));
+    }
+
+    @Test
+    void testLookupEmptyValue() {
+        assertEquals("Album:", lookup.lookup("Album:"));
+    }
+
+    @Test
+    void testLookupCollidingHashes() {
+        assertEquals("Aa:".hashCode(), "BB:".hashCode());
+        assertEquals("Aa:", lookup.lookup("Aa: 1"));
+        assertEquals("BB:", lookup.lookup("BB: 2"));
+    }
+
+    @Test
+    void testLookupUnknown() {
+        assertNull(lookup.lookup("Title: title"));
+    }
+
+    @Test
+    void testLookupPrefixOfKey() {
+        assertNull(lookup.lookup("Art: a"));
+        assertNull(lookup.lookup("Artists: a"));
+    }
+
+    @Test
+    void testLookupNoColon() {
+        assertNull(lookup.lookup("file"));
+        assertNull(lookup.lookup(""));
+    }
+
+    @Test
+    void testLookupCaseSensitive() {
+        assertNull(lookup.lookup("artist: a"));
+    }
+
+    @Test
+    void testLastWins() {
+        String[][] values = {{"Id:", "first"}, {"Id:", "second"}};
+
+        PrefixLookup<String[]> duplicates = PrefixLookup.of(values, value -> value[0]);
+
+        assertEquals("second", duplicates.lookup("Id: 1")[1]);
+    }
+}
@@ -1,5 +1,6 @@
 package org.bff.javampd.album;
 
+import org.bff.javampd.database.StringPool;
 import org.bff.javampd.processor.AlbumTagProcessor;
 import org.bff.javampd.processor.ArtistTagProcessor;
 import org.bff.javampd.processor.DateTagProcessor;
@@ -12,6 +13,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 class MPDAlbumConverterTest {
@@ -86,4 +88,16 @@ class MPDAlbumConverterTest {
         }
         return response;
     }
+
+    @Test
+    void testInternedValues() {
+        List<String> albumResponse = new ArrayList<>();
+        albumResponse.add("Album: " + ALBUM);
+        albumResponse.add("Artist: " + ARTIST);
+        albumResponse.add("Album: " + ALBUM + "1");
+        albumResponse.add("Artist: " + ARTIST);
+        albums = new MPDAlbumConverter(new StringPool(10)).convertResponseToAlbum(albumResponse);
+
+        assertThat(albums.get(0).getArtistName(), is(sameInstance(albums.get(1).getArtistName())));
+    }
 }
@@ -0,0 +1,40 @@
+package org.bff.javampd.art;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArtPropertiesTest {
+    private ArtProperties artProperties;
+
+    @BeforeEach
+    void setUp() {
+        artProperties = new ArtProperties();
+    }
+
+    @Test
+    void getAlbumArt() {
+        assertEquals("albumart", artProperties.getAlbumArt());
+    }
+
+    @Test
+    void getReadPicture() {
+        assertEquals("readpicture", artProperties.getReadPicture());
+    }
+
+    @Test
+    void getBinaryLimit() {
+        assertEquals("binarylimit", artProperties.getBinaryLimit());
+    }
+
+    @Test
+    void getChunkSize() {
+        assertEquals(8192, artProperties.getChunkSize());
+    }
+
+    @Test
+    void getPipelineDepth() {
+        assertEquals(4, artProperties.getPipelineDepth());
+    }
+}
@@ -3,6 +3,10 @@ package org.bff.javampd.art;
 import org.bff.javampd.MPDException;
 import org.bff.javampd.album.MPDAlbum;
 import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.BinaryResponse;
+import org.bff.javampd.server.ByteBufferPool;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongDatabase;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,15 +15,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,10 +37,14 @@ class MPDArtworkFinderTest {
 
     @Mock
     private SongDatabase songDatabase;
+    @Mock
+    private CommandExecutor commandExecutor;
+    @Mock
+    private ArtProperties artProperties;
 
     @BeforeEach
     void before() {
-        artworkFinder = new MPDArtworkFinder(this.songDatabase);
+        artworkFinder = new MPDArtworkFinder(this.songDatabase, this.commandExecutor, this.artProperties);
     }
 
     @Test
@@ -274,6 +287,79 @@ class MPDArtworkFinderTest {
         assertThrows(MPDException.class, () -> artworkFinder.find("bad"));
     }
 
+    @Test
+    void streamAlbumArt() {
+        byte[] picture = "0123456789".getBytes(StandardCharsets.UTF_8);
+        ByteBufferPool pool = new ByteBufferPool(8, 4);
+        List<List<MPDCommand>> sent = serve(picture, 4, pool);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = artworkFinder.streamAlbumArt(new MPDSong("a/b.flac", "b"), Channels.newChannel(out));
+
+        assertEquals(10, written);
+        assertArrayEquals(picture, out.toByteArray());
+        assertEquals(2, sent.size());
+        assertEquals(List.of(new MPDCommand("binarylimit", "4"), new MPDCommand("albumart", "a/b.flac", "0")),
+                sent.get(0));
+        assertEquals(List.of(new MPDCommand("binarylimit", "4"),
+                new MPDCommand("albumart", "a/b.flac", "4"),
+                new MPDCommand("albumart", "a/b.flac", "8")), sent.get(1));
+        assertTrue(pool.getPooledCount() > 0);
+    }
+
+    @Test
+    void streamAlbumArtDefaultChunkSize() {
+        byte[] picture = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<List<MPDCommand>> sent = serve(picture, 8192, new ByteBufferPool(8, 4));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        artworkFinder.streamAlbumArt(new MPDSong("a/b.flac", "b"), Channels.newChannel(out));
+
+        assertArrayEquals(picture, out.toByteArray());
+        assertEquals(List.of(List.of(new MPDCommand("albumart", "a/b.flac", "0"))), sent);
+    }
+
+    @Test
+    void streamPictureNone() {
+        when(artProperties.getReadPicture()).thenReturn("readpicture");
+        when(artProperties.getChunkSize()).thenReturn(8192);
+        when(commandExecutor.sendBinaryPipelined(anyList()))
+                .thenReturn(List.of(new BinaryResponse(new ArrayList<>(), null, new ByteBufferPool(8, 4))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, artworkFinder.streamPicture(new MPDSong("a/b.flac", "b"), Channels.newChannel(out)));
+        assertEquals(0, out.size());
+    }
+
+    /**
+     * Answers albumart/readpicture commands like the server would for the picture
+     */
+    private List<List<MPDCommand>> serve(byte[] picture, int chunkSize, ByteBufferPool pool) {
+        List<List<MPDCommand>> sent = new ArrayList<>();
+        lenient().when(artProperties.getAlbumArt()).thenReturn("albumart");
+        lenient().when(artProperties.getBinaryLimit()).thenReturn("binarylimit");
+        when(artProperties.getChunkSize()).thenReturn(chunkSize);
+        lenient().when(artProperties.getPipelineDepth()).thenReturn(2);
+        when(commandExecutor.sendBinaryPipelined(anyList())).thenAnswer(invocation -> {
+            List<MPDCommand> commands = invocation.getArgument(0);
+            sent.add(new ArrayList<>(commands));
+            List<BinaryResponse> responses = new ArrayList<>();
+            for (MPDCommand command : commands) {
+                if ("binarylimit".equals(command.getCommand())) {
+                    responses.add(new BinaryResponse(new ArrayList<>(), null, pool));
+                } else {
+                    int offset = Integer.parseInt(command.getParams().get(1));
+                    int length = Math.min(chunkSize, picture.length - offset);
+                    ByteBuffer data = pool.acquire(length);
+                    data.put(picture, offset, length).flip();
+                    responses.add(new BinaryResponse(List.of("size: " + picture.length), data, pool));
+                }
+            }
+            return responses;
+        });
+        return sent;
+    }
+
     private String decode(String encodedString) throws UnsupportedEncodingException {
         return URLDecoder.decode(encodedString, StandardCharsets.UTF_8);
     }
@@ -0,0 +1,100 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.server.MPDConnectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MPDAsyncCommandExecutorTest {
+    @Mock
+    private CommandExecutor commandExecutor;
+
+    private final Executor executor = Runnable::run;
+    private AsyncCommandExecutor asyncCommandExecutor;
+
+    @BeforeEach
+    void setUp() {
+        asyncCommandExecutor = new MPDAsyncCommandExecutor(commandExecutor, executor);
+    }
+
+    @Test
+    void testSendCommand() {
+        when(commandExecutor.sendCommand("status")).thenReturn(List.of("state: play"));
+        assertEquals(List.of("state: play"), asyncCommandExecutor.sendCommand("status").join());
+    }
+
+    @Test
+    void testSendCommandWithParams() {
+        when(commandExecutor.sendCommand("find", "album", "the album")).thenReturn(List.of("file: song"));
+        assertEquals(List.of("file: song"), asyncCommandExecutor.sendCommand("find", "album", "the album").join());
+    }
+
+    @Test
+    void testSendCommandObject() {
+        MPDCommand command = new MPDCommand("status");
+        when(commandExecutor.sendCommand(command)).thenReturn(List.of("state: play"));
+        assertEquals(List.of("state: play"), asyncCommandExecutor.sendCommand(command).join());
+    }
+
+    @Test
+    void testSendCommands() {
+        List<MPDCommand> commands = List.of(new MPDCommand("status"), new MPDCommand("stats"));
+        List<List<String>> responses = List.of(List.of("state: play"), List.of("songs: 1"));
+        when(commandExecutor.sendCommands(commands)).thenReturn(responses);
+        assertEquals(responses, asyncCommandExecutor.sendCommands(commands).join());
+    }
+
+    @Test
+    void testSendPipelined() {
+        List<MPDCommand> commands = List.of(new MPDCommand("status"), new MPDCommand("stats"));
+        List<List<String>> responses = List.of(List.of("state: play"), List.of("songs: 1"));
+        when(commandExecutor.sendPipelined(commands)).thenReturn(responses);
+        assertEquals(responses, asyncCommandExecutor.sendPipelined(commands).join());
+    }
+
+    @Test
+    void testSendCommandFailure() {
+        when(commandExecutor.sendCommand("bogus")).thenThrow(new MPDConnectionException("unknown command"));
+
+        CompletableFuture<List<String>> future = asyncCommandExecutor.sendCommand("bogus");
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof MPDConnectionException);
+    }
+
+    @Test
+    void testRunsOnExecutor() {
+        Executor recording = mock(Executor.class);
+        asyncCommandExecutor = new MPDAsyncCommandExecutor(commandExecutor, recording);
+
+        CompletableFuture<List<String>> future = asyncCommandExecutor.sendCommand("status");
+
+        verify(recording).execute(any());
+        verifyNoInteractions(commandExecutor);
+        assertFalse(future.isDone());
+    }
+
+    @Test
+    void testCompletesOnExecutor() {
+        Executor completing = mock(Executor.class);
+        asyncCommandExecutor = new MPDAsyncCommandExecutor(commandExecutor, executor, completing);
+        when(commandExecutor.sendCommand("status")).thenReturn(List.of("state: play"));
+
+        CompletableFuture<List<String>> future = asyncCommandExecutor.sendCommand("status");
+
+        verify(commandExecutor).sendCommand("status");
+        verify(completing).execute(any());
+        assertFalse(future.isDone());
+    }
+}
@@ -1,9 +1,10 @@
 package org.bff.javampd.command;
 
 import org.bff.javampd.server.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -12,9 +13,16 @@ import java.io.PrintWriter;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,11 +32,18 @@ class MPDCommandExecutorTest {
     private MPDSocket mpdSocket;
     @Mock
     private MPD mpd;
-    @InjectMocks
     private MPDCommandExecutor commandExecutor;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(mpd.getPoolSize()).thenReturn(1);
+        commandExecutor = new MPDCommandExecutor();
+    }
+
     @Test
     void testGetVersion() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
         when(mpdSocket.getVersion()).thenReturn("version");
         assertEquals("version", commandExecutor.getMPDVersion());
     }
@@ -56,6 +71,19 @@ class MPDCommandExecutorTest {
         assertEquals(response.get(0), testResponse.get(0));
     }
 
+    @Test
+    void testSendCommandStringReusesCommand() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        commandExecutor.sendCommand("status");
+        commandExecutor.sendCommand("status");
+
+        ArgumentCaptor<MPDCommand> captor = ArgumentCaptor.forClass(MPDCommand.class);
+        verify(mpdSocket, times(2)).sendCommand(captor.capture());
+        assertSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+    }
+
     @Test
     void testSendCommand() {
         MPDCommand command = new MPDCommand("command");
@@ -122,6 +150,138 @@ class MPDCommandExecutorTest {
         assertEquals(response.get(0), testResponse.get(0));
     }
 
+    @Test
+    void testSendCommandHandler() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("command");
+        Consumer<ResponseDecoder> handler = line -> {
+        };
+
+        commandExecutor.sendCommand(command, handler);
+        verify(mpdSocket).sendCommand(command, handler);
+    }
+
+    @Test
+    void testSendCommandHandlerSecurityException() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("command");
+        Consumer<ResponseDecoder> handler = line -> {
+        };
+
+        doThrow(new MPDSecurityException("exception"))
+                .doNothing()
+                .when(mpdSocket).sendCommand(command, handler);
+
+        commandExecutor.sendCommand(command, handler);
+        verify(mpdSocket, times(2)).sendCommand(command, handler);
+    }
+
+    @Test
+    void testOpenResponseReleasesSocketOnClose() {
+        when(mpd.getPoolAcquireTimeout()).thenReturn(100);
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("find");
+        ResponseReader reader = mock(ResponseReader.class);
+        List<Runnable> closeActions = new ArrayList<>();
+        when(mpdSocket.openResponse(command)).thenReturn(reader);
+        when(reader.onClose(any())).thenAnswer(invocation -> {
+            closeActions.add(invocation.getArgument(0));
+            return reader;
+        });
+
+        assertSame(reader, commandExecutor.openResponse(command));
+        assertThrows(MPDConnectionException.class, () -> commandExecutor.sendCommand("status"));
+
+        closeActions.forEach(Runnable::run);
+        commandExecutor.sendCommand("status");
+        verify(mpdSocket).sendCommand(new MPDCommand("status"));
+    }
+
+    @Test
+    void testCallWhileStreamingFailsFast() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("find");
+        ResponseReader reader = mock(ResponseReader.class);
+        List<Runnable> closeActions = new ArrayList<>();
+        when(mpdSocket.openResponse(command)).thenReturn(reader);
+        when(reader.onClose(any())).thenAnswer(invocation -> {
+            closeActions.add(invocation.getArgument(0));
+            return reader;
+        });
+
+        commandExecutor.openResponse(command);
+        assertThrows(MPDConnectionException.class, () -> commandExecutor.sendCommand("status"));
+
+        closeActions.forEach(Runnable::run);
+        commandExecutor.sendCommand("status");
+        verify(mpdSocket).sendCommand(new MPDCommand("status"));
+    }
+
+    @Test
+    void testCallWhileStreamingNotCoalesced() throws Exception {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("find");
+        ResponseReader reader = mock(ResponseReader.class);
+        List<Runnable> closeActions = new ArrayList<>();
+        when(mpdSocket.openResponse(command)).thenReturn(reader);
+        when(reader.onClose(any())).thenAnswer(invocation -> {
+            closeActions.add(invocation.getArgument(0));
+            return reader;
+        });
+        MPDCommand status = new MPDCommand("status");
+        when(mpdSocket.sendCommand(status)).thenReturn(List.of("state: play"));
+
+        commandExecutor.openResponse(command);
+        CompletableFuture<List<String>> waiting = CompletableFuture.supplyAsync(() -> commandExecutor.sendCommand(status));
+        await().pollDelay(Duration.ofMillis(100)).until(() -> true);
+
+        assertThrows(MPDConnectionException.class, () -> commandExecutor.sendCommand("status"));
+        assertEquals(0, commandExecutor.getCoalesced());
+
+        closeActions.forEach(Runnable::run);
+        assertEquals(List.of("state: play"), waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testOpenResponseReleasesSocketOnError() {
+        when(mpd.getPoolAcquireTimeout()).thenReturn(100);
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("find");
+        when(mpdSocket.openResponse(command)).thenThrow(new MPDConnectionException("exception"));
+
+        assertThrows(MPDConnectionException.class, () -> commandExecutor.openResponse(command));
+        commandExecutor.sendCommand("status");
+        verify(mpdSocket).sendCommand(new MPDCommand("status"));
+    }
+
+    @Test
+    void testOpenResponseSecurityException() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("find");
+        ResponseReader reader = mock(ResponseReader.class);
+        when(reader.onClose(any())).thenReturn(reader);
+        when(mpdSocket.openResponse(command))
+                .thenThrow(new MPDSecurityException("exception"))
+                .thenReturn(reader);
+
+        assertSame(reader, commandExecutor.openResponse(command));
+        verify(mpdSocket, times(2)).openResponse(command);
+    }
+
     @Test
     void testSendCommandsSecurityException() {
         commandExecutor = new TestMPDCommandExecutor();
@@ -134,11 +294,12 @@ class MPDCommandExecutorTest {
         commands.add(command1);
         commands.add(command2);
 
-        doThrow(new MPDSecurityException("exception"))
-                .doNothing()
-                .when(mpdSocket).sendCommands(commands);
+        List<List<String>> responses = List.of(List.of(), List.of());
+        when(mpdSocket.sendCommands(commands))
+                .thenThrow(new MPDSecurityException("exception"))
+                .thenReturn(responses);
 
-        assertDoesNotThrow(() -> commandExecutor.sendCommands(commands));
+        assertEquals(responses, commandExecutor.sendCommands(commands));
     }
 
     @Test
@@ -153,9 +314,50 @@ class MPDCommandExecutorTest {
         commands.add(command1);
         commands.add(command2);
 
-        doNothing().when(mpdSocket).sendCommands(commands);
+        List<List<String>> responses = List.of(List.of("file: song1"), List.of());
+        when(mpdSocket.sendCommands(commands)).thenReturn(responses);
+
+        assertEquals(responses, commandExecutor.sendCommands(commands));
+    }
+
+    @Test
+    void testSendPipelined() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        List<MPDCommand> commands = List.of(new MPDCommand("status"), new MPDCommand("currentsong"));
+        List<List<String>> responses = List.of(List.of("state: play"), List.of("file: song.flac"));
+        when(mpdSocket.sendPipelined(commands)).thenReturn(responses);
 
-        assertDoesNotThrow(() -> commandExecutor.sendCommands(commands));
+        assertEquals(responses, commandExecutor.sendPipelined(commands));
+    }
+
+    @Test
+    void testSendPipelinedSecurityException() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        List<MPDCommand> commands = List.of(new MPDCommand("status"), new MPDCommand("currentsong"));
+        List<List<String>> responses = List.of(List.of("state: play"), List.of("file: song.flac"));
+        when(mpdSocket.sendPipelined(commands))
+                .thenThrow(new MPDSecurityException("exception"))
+                .thenReturn(responses);
+
+        assertEquals(responses, commandExecutor.sendPipelined(commands));
+    }
+
+    @Test
+    void testSendBinaryCommand() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("albumart", "a.flac", "0");
+        BinaryResponse response = new BinaryResponse(List.of("size: 0"), null, null);
+        when(mpdSocket.sendBinaryPipelined(eq(List.of(command)), any(ByteBufferPool.class)))
+                .thenThrow(new MPDSecurityException("exception"))
+                .thenReturn(List.of(response));
+
+        assertSame(response, commandExecutor.sendBinaryCommand(command));
     }
 
     @Test
@@ -233,6 +435,8 @@ class MPDCommandExecutorTest {
 
     @Test
     void testAuthentication() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
         String password = "password";
         ServerProperties serverProperties = new ServerProperties();
         MPDCommand command = new MPDCommand(serverProperties.getPassword(), password);
@@ -248,6 +452,8 @@ class MPDCommandExecutorTest {
 
     @Test
     void testAuthenticateSecurityException() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
         String password = "password";
         ServerProperties serverProperties = new ServerProperties();
         MPDCommand command = new MPDCommand(serverProperties.getPassword(), password);
@@ -259,6 +465,8 @@ class MPDCommandExecutorTest {
 
     @Test
     void testAuthenticateGeneralException() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
         String password = "password";
         ServerProperties serverProperties = new ServerProperties();
         MPDCommand command = new MPDCommand(serverProperties.getPassword(), password);
@@ -270,10 +478,142 @@ class MPDCommandExecutorTest {
 
     @Test
     void testClose() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.getMPDVersion();
+
         commandExecutor.close();
         verify(mpdSocket).close();
     }
 
+    @Test
+    void testSocketReused() {
+        commandExecutor = spy(new TestMPDCommandExecutor());
+        commandExecutor.setMpd(mpd);
+
+        commandExecutor.sendCommand("command1");
+        commandExecutor.sendCommand("command2");
+
+        verify(commandExecutor, times(1)).createSocket();
+    }
+
+    @Test
+    void testOpenConnectionNotPooled() {
+        commandExecutor = spy(new TestMPDCommandExecutor());
+        commandExecutor.setMpd(mpd);
+
+        commandExecutor.sendCommand("command1");
+        assertEquals(mpdSocket, commandExecutor.openConnection());
+
+        verify(commandExecutor, times(2)).createSocket();
+    }
+
+    @Test
+    void testSendCommandAfterClose() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.close();
+
+        assertThrows(MPDConnectionException.class,
+                () -> commandExecutor.sendCommand("command"));
+    }
+
+    @Test
+    void testPoolSizeInvalid() {
+        when(mpd.getPoolSize()).thenReturn(0);
+        commandExecutor = new TestMPDCommandExecutor();
+        assertThrows(IllegalArgumentException.class,
+                () -> commandExecutor.setMpd(mpd));
+    }
+
+    @Test
+    void testReadOnlyCommandsInFlightShareResponse() throws Exception {
+        MPDCommand command = new MPDCommand("find", "artist", "Tool");
+        CountDownLatch sent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        when(mpdSocket.sendCommand(command)).thenAnswer(invocation -> {
+            sent.countDown();
+            release.await();
+            return List.of("file: song");
+        });
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> commandExecutor.sendCommand(command));
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(
+                () -> commandExecutor.sendCommand("find", "artist", "Tool"));
+        await().until(() -> commandExecutor.getCoalesced() == 1);
+        release.countDown();
+
+        assertEquals(List.of("file: song"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("file: song"), second.get(5, TimeUnit.SECONDS));
+        assertNotSame(first.get(), second.get());
+        verify(mpdSocket, times(1)).sendCommand(command);
+    }
+
+    @Test
+    void testReadOnlyCommandsInFlightShareException() throws Exception {
+        MPDCommand command = new MPDCommand("list", "album");
+        CountDownLatch sent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        when(mpdSocket.sendCommand(command)).thenAnswer(invocation -> {
+            sent.countDown();
+            release.await();
+            throw new MPDConnectionException("failed");
+        });
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> commandExecutor.sendCommand(command));
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(() -> commandExecutor.sendCommand(command));
+        await().until(() -> commandExecutor.getCoalesced() == 1);
+        release.countDown();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals(MPDConnectionException.class, exception.getCause().getClass());
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testReadOnlyCommandsSentAgainOnceAnswered() {
+        MPDCommand command = new MPDCommand("find", "artist", "Tool");
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        when(mpdSocket.sendCommand(command)).thenReturn(List.of("file: song"));
+
+        commandExecutor.sendCommand(command);
+        commandExecutor.sendCommand(command);
+
+        verify(mpdSocket, times(2)).sendCommand(command);
+        assertEquals(0, commandExecutor.getCoalesced());
+    }
+
+    @Test
+    void testOtherCommandsNotShared() throws Exception {
+        MPDCommand command = new MPDCommand("status");
+        CountDownLatch sent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        lenient().when(mpd.getPoolSize()).thenReturn(2);
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        when(mpdSocket.sendCommand(command)).thenAnswer(invocation -> {
+            sent.countDown();
+            release.await();
+            return List.of("volume: 1");
+        }).thenReturn(List.of("volume: 2"));
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> commandExecutor.sendCommand(command));
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        List<String> second = commandExecutor.sendCommand(command);
+        release.countDown();
+
+        assertEquals(List.of("volume: 1"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("volume: 2"), second);
+        assertEquals(0, commandExecutor.getCoalesced());
+    }
+
     private class TestMPDCommandExecutor extends MPDCommandExecutor {
         @Override
         protected MPDSocket createSocket() {
@@ -2,6 +2,8 @@ package org.bff.javampd.command;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MPDCommandTest {
@@ -110,4 +112,23 @@ class MPDCommandTest {
     void testNullException() {
         assertThrows(IllegalArgumentException.class, () -> new MPDCommand(null));
     }
+
+    @Test
+    void testEncodedCommandCached() {
+        MPDCommand mpdCommand = new MPDCommand("status");
+        byte[] encoded = mpdCommand.getEncodedCommand(StandardCharsets.UTF_8);
+
+        assertArrayEquals("status".getBytes(StandardCharsets.UTF_8), encoded);
+        assertSame(encoded, mpdCommand.getEncodedCommand(StandardCharsets.UTF_8));
+        assertNotSame(encoded, mpdCommand.getEncodedCommand(StandardCharsets.UTF_16BE));
+    }
+
+    @Test
+    void testEncodedCommandNotInEquals() {
+        MPDCommand mpdCommand = new MPDCommand("status");
+        mpdCommand.getEncodedCommand(StandardCharsets.UTF_8);
+
+        assertEquals(new MPDCommand("status"), mpdCommand);
+        assertEquals(new MPDCommand("status").hashCode(), mpdCommand.hashCode());
+    }
 }
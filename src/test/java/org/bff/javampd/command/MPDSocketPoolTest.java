@@ -0,0 +1,207 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDSocket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MPDSocketPoolTest {
+    @Mock
+    private MPDSocket socket1;
+    @Mock
+    private MPDSocket socket2;
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MPDSocketPool(() -> socket1, 0, 0, 0, 0));
+    }
+
+    @Test
+    void testAcquireCreatesSocket() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 0);
+        assertEquals(socket1, pool.acquire());
+    }
+
+    @Test
+    void testReleasedSocketReused() {
+        AtomicInteger created = new AtomicInteger();
+        MPDSocketPool pool = new MPDSocketPool(() -> {
+            created.incrementAndGet();
+            return socket1;
+        }, 2, 0, 0, 0);
+
+        pool.release(pool.acquire());
+        pool.release(pool.acquire());
+
+        assertEquals(1, created.get());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testConcurrentAcquireCreatesUpToSize() {
+        @SuppressWarnings("unchecked")
+        Supplier<MPDSocket> factory = mock(Supplier.class);
+        when(factory.get()).thenReturn(socket1, socket2);
+        MPDSocketPool pool = new MPDSocketPool(factory, 2, 0, 0, 0);
+
+        MPDSocket first = pool.acquire();
+        MPDSocket second = pool.acquire();
+
+        assertNotSame(first, second);
+        verify(factory, times(2)).get();
+    }
+
+    @Test
+    void testAcquireTimeout() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 50, 0);
+        pool.acquire();
+
+        assertThrows(MPDConnectionException.class, pool::acquire);
+    }
+
+    @Test
+    void testTryAcquire() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 0);
+        MPDSocket socket = pool.tryAcquire();
+
+        assertEquals(socket1, socket);
+        assertNull(pool.tryAcquire());
+        pool.release(socket);
+        assertEquals(socket1, pool.tryAcquire());
+    }
+
+    @Test
+    void testAcquireWaitsForRelease() throws Exception {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 0);
+        MPDSocket socket = pool.acquire();
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            var future = executorService.submit(() -> {
+                started.countDown();
+                return pool.acquire();
+            });
+            started.await();
+
+            pool.release(socket);
+
+            assertEquals(socket1, future.get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFactoryExceptionReleasesPermit() {
+        AtomicInteger attempts = new AtomicInteger();
+        MPDSocketPool pool = new MPDSocketPool(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new MPDConnectionException("refused");
+            }
+            return socket1;
+        }, 1, 0, 50, 0);
+
+        assertThrows(MPDConnectionException.class, pool::acquire);
+        assertEquals(socket1, pool.acquire());
+    }
+
+    @Test
+    void testEvictIdleSockets() throws InterruptedException {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 1, 0, 0);
+        pool.release(pool.acquire());
+        TimeUnit.MILLISECONDS.sleep(5);
+        pool.evictIdleSockets();
+
+        assertEquals(0, pool.getIdleCount());
+        verify(socket1).close();
+        pool.close();
+    }
+
+    @Test
+    void testPingIdleSockets() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 60000);
+        pool.release(pool.acquire());
+        when(socket1.getLastActivity()).thenReturn(System.nanoTime() - TimeUnit.MINUTES.toNanos(2));
+        when(socket1.ping()).thenReturn(true);
+
+        pool.pingIdleSockets();
+
+        verify(socket1).ping();
+        assertEquals(1, pool.getIdleCount());
+        pool.close();
+    }
+
+    @Test
+    void testPingRecentlyUsedSocket() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 60000);
+        pool.release(pool.acquire());
+        when(socket1.getLastActivity()).thenReturn(System.nanoTime());
+
+        pool.pingIdleSockets();
+
+        verify(socket1, never()).ping();
+        assertEquals(1, pool.getIdleCount());
+        pool.close();
+    }
+
+    @Test
+    void testPingFailureDropsSocket() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 60000);
+        pool.release(pool.acquire());
+        when(socket1.getLastActivity()).thenReturn(System.nanoTime() - TimeUnit.MINUTES.toNanos(2));
+        when(socket1.ping()).thenReturn(false);
+
+        pool.pingIdleSockets();
+
+        verify(socket1).close();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void testPingSkippedWhenAllInUse() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 60000);
+        pool.acquire();
+
+        pool.pingIdleSockets();
+
+        verify(socket1, never()).ping();
+    }
+
+    @Test
+    void testClose() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 0);
+        pool.release(pool.acquire());
+
+        pool.close();
+
+        verify(socket1).close();
+        assertThrows(MPDConnectionException.class, pool::acquire);
+    }
+
+    @Test
+    void testReleaseAfterClose() {
+        MPDSocketPool pool = new MPDSocketPool(() -> socket1, 1, 0, 0, 0);
+        MPDSocket socket = pool.acquire();
+        pool.close();
+
+        pool.release(socket);
+
+        verify(socket1).close();
+        assertEquals(0, pool.getIdleCount());
+    }
+}
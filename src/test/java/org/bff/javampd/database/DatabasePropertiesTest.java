@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class DatabasePropertiesTest {
     private DatabaseProperties databaseProperties;
@@ -33,6 +34,11 @@ class DatabasePropertiesTest {
         assertEquals("lsinfo", databaseProperties.getListInfo());
     }
 
+    @Test
+    void getListAllInfo() {
+        assertEquals("listallinfo", databaseProperties.getListAllInfo());
+    }
+
     @Test
     void getSearch() {
         assertEquals("search", databaseProperties.getSearch());
@@ -43,4 +49,34 @@ class DatabasePropertiesTest {
         assertEquals("listplaylist", databaseProperties.getListSongs());
     }
 
+
+    @Test
+    void getInternSize() {
+        assertEquals(0, databaseProperties.getInternSize());
+    }
+
+    @Test
+    void getCacheSize() {
+        assertEquals(0, databaseProperties.getCacheSize());
+    }
+
+    @Test
+    void getCacheCheckInterval() {
+        assertEquals(1000, databaseProperties.getCacheCheckInterval());
+    }
+
+    @Test
+    void isMirror() {
+        assertFalse(databaseProperties.isMirror());
+    }
+
+    @Test
+    void isMirrorIncremental() {
+        assertFalse(databaseProperties.isMirrorIncremental());
+    }
+
+    @Test
+    void isMirrorIndex() {
+        assertFalse(databaseProperties.isMirrorIndex());
+    }
 }
@@ -49,4 +49,9 @@ class MPDMusicDatabaseTest {
     void testGetSongDatabase() {
         assertNotNull(mpd.getMusicDatabase().getSongDatabase());
     }
+
+    @Test
+    void testGetLibraryDatabase() {
+        assertNotNull(mpd.getMusicDatabase().getLibraryDatabase());
+    }
 }
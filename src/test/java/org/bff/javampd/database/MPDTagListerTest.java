@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
@@ -20,6 +21,8 @@ class MPDTagListerTest {
     private MPDCommandExecutor commandExecutor;
     @Mock
     private DatabaseProperties databaseProperties;
+    @Spy
+    private ResultCache resultCache = ResultCache.disabled();
 
     @InjectMocks
     private MPDTagLister tagLister;
@@ -0,0 +1,209 @@
+package org.bff.javampd.database;
+
+import org.bff.javampd.Clock;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResultCacheTest {
+    @Mock
+    private ServerStatistics serverStatistics;
+    @Mock
+    private Clock clock;
+
+    private ResultCache resultCache;
+    private AtomicInteger sent;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(serverStatistics.getLastUpdateTime()).thenReturn(1L);
+        lenient().when(clock.nanoTime()).thenReturn(0L);
+        resultCache = new ResultCache(2, 1000, serverStatistics, clock);
+        sent = new AtomicInteger();
+    }
+
+    @Test
+    void testCached() {
+        assertEquals(List.of("artist: a"), get("list", "artist"));
+        assertEquals(List.of("artist: a"), get("list", "artist"));
+
+        assertEquals(1, sent.get());
+        assertEquals(1, resultCache.getHits());
+        assertEquals(1, resultCache.getMisses());
+        assertEquals(1, resultCache.getSize());
+    }
+
+    @Test
+    void testKeyedOnParams() {
+        get("list", "artist");
+        get("list", "album");
+        get("find", "artist");
+
+        assertEquals(3, sent.get());
+    }
+
+    @Test
+    void testResponsesModifiable() {
+        get("list", "artist").add("artist: b");
+        List<String> cached = get("list", "artist");
+        cached.add("artist: c");
+
+        assertEquals(List.of("artist: a"), get("list", "artist"));
+        assertEquals(1, sent.get());
+    }
+
+    @Test
+    void testHitsWhileDatabaseChecked() throws Exception {
+        get("list", "artist");
+        CountDownLatch checking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            checking.countDown();
+            release.await();
+            return null;
+        }).when(serverStatistics).forceUpdate();
+        when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(1));
+
+        CompletableFuture<List<String>> checked = CompletableFuture.supplyAsync(() -> get("list", "artist"));
+        checking.await();
+        assertEquals(List.of("artist: a"), get("list", "artist"));
+        release.countDown();
+
+        assertEquals(List.of("artist: a"), checked.get());
+        assertEquals(1, sent.get());
+        assertEquals(2, resultCache.getHits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        get("list", "artist");
+        get("list", "album");
+        get("list", "artist");
+        get("list", "genre");
+        get("list", "artist");
+        get("list", "album");
+
+        assertEquals(4, sent.get());
+        assertEquals(2, resultCache.getEvictions());
+        assertEquals(2, resultCache.getSize());
+    }
+
+    @Test
+    void testDatabaseUpdateInvalidates() {
+        get("list", "artist");
+        when(serverStatistics.getLastUpdateTime()).thenReturn(2L);
+        when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(1));
+
+        get("list", "artist");
+
+        assertEquals(2, sent.get());
+        assertEquals(1, resultCache.getInvalidations());
+    }
+
+    @Test
+    void testDatabaseUpdateNotCheckedWithinInterval() {
+        get("list", "artist");
+        when(clock.nanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(999));
+
+        get("list", "artist");
+
+        assertEquals(1, sent.get());
+        verify(serverStatistics, times(1)).getLastUpdateTime();
+    }
+
+    @Test
+    void testStatisticsRefreshed() {
+        get("list", "artist");
+
+        verify(serverStatistics).forceUpdate();
+    }
+
+    @Test
+    void testResponseOfChangedDatabaseNotCached() {
+        when(serverStatistics.getLastUpdateTime()).thenReturn(1L).thenReturn(2L);
+        when(clock.nanoTime()).thenReturn(0L).thenReturn(TimeUnit.SECONDS.toNanos(1));
+        Supplier<List<String>> racingSender = () -> {
+            sent.incrementAndGet();
+            get("list", "album");
+            return List.of("artist: a");
+        };
+
+        resultCache.get("list", new String[]{"artist"}, racingSender);
+        get("list", "artist");
+
+        assertEquals(3, sent.get());
+        assertEquals(1, resultCache.getInvalidations());
+    }
+
+    @Test
+    void testDisabled() {
+        ResultCache disabled = ResultCache.disabled();
+        disabled.get("list", new String[]{"artist"}, this::send);
+        disabled.get("list", new String[]{"artist"}, this::send);
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(2, sent.get());
+        assertEquals(0, disabled.getMisses());
+    }
+
+    @Test
+    void testEnabled() {
+        assertTrue(resultCache.isEnabled());
+    }
+
+    @Test
+    void testClear() {
+        get("list", "artist");
+        resultCache.clear();
+
+        assertEquals(0, resultCache.getSize());
+        assertEquals(0, resultCache.getMisses());
+    }
+
+    @Test
+    void testFromProperties() {
+        ResultCache fromProperties = new ResultCache(new DatabaseProperties(), serverStatistics, clock);
+
+        assertFalse(fromProperties.isEnabled());
+        verify(serverStatistics, never()).getLastUpdateTime();
+    }
+
+    @Test
+    void testToString() {
+        get("list", "artist");
+        get("list", "artist");
+
+        assertEquals("ResultCache{size=1, hits=1, misses=1, evictions=0, invalidations=0}", resultCache.toString());
+    }
+
+    private List<String> get(String command, String... params) {
+        return resultCache.get(command, params, this::send);
+    }
+
+    private List<String> send() {
+        sent.incrementAndGet();
+        return new ArrayList<>(List.of("artist: a"));
+    }
+}
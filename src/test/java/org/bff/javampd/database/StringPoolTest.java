@@ -0,0 +1,108 @@
+package org.bff.javampd.database;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StringPoolTest {
+
+    @Test
+    void testIntern() {
+        StringPool stringPool = new StringPool(10);
+        String first = new String("artist");
+        String second = new String("artist");
+
+        assertSame(first, stringPool.intern(first));
+        assertSame(first, stringPool.intern(second));
+        assertEquals(1, stringPool.getSize());
+        assertEquals(1, stringPool.getHits());
+        assertEquals(1, stringPool.getMisses());
+    }
+
+    @Test
+    void testBytesSaved() {
+        StringPool stringPool = new StringPool(10);
+        stringPool.intern(new String("artist"));
+        stringPool.intern(new String("artist"));
+
+        assertEquals(48, stringPool.getBytesSaved());
+    }
+
+    @Test
+    void testBytesSavedWide() {
+        StringPool stringPool = new StringPool(10);
+        stringPool.intern(new String("ärtistΔ"));
+        stringPool.intern(new String("ärtistΔ"));
+
+        assertEquals(56, stringPool.getBytesSaved());
+    }
+
+    @Test
+    void testSameInstanceNotCountedAsSaved() {
+        StringPool stringPool = new StringPool(10);
+        String value = new String("artist");
+        stringPool.intern(value);
+        stringPool.intern(value);
+
+        assertEquals(1, stringPool.getHits());
+        assertEquals(0, stringPool.getBytesSaved());
+    }
+
+    @Test
+    void testBounded() {
+        StringPool stringPool = new StringPool(1);
+        stringPool.intern("artist");
+        String album = new String("album");
+
+        assertSame(album, stringPool.intern(album));
+        assertNotSame(album, stringPool.intern(new String("album")));
+        assertEquals(1, stringPool.getSize());
+        assertEquals(3, stringPool.getMisses());
+    }
+
+    @Test
+    void testDisabled() {
+        StringPool stringPool = new StringPool(0);
+        String second = new String("artist");
+        stringPool.intern(new String("artist"));
+
+        assertFalse(stringPool.isEnabled());
+        assertSame(second, stringPool.intern(second));
+        assertEquals(0, stringPool.getSize());
+        assertEquals(0, stringPool.getMisses());
+    }
+
+    @Test
+    void testNullAndEmpty() {
+        StringPool stringPool = new StringPool(10);
+
+        assertNull(stringPool.intern(null));
+        assertEquals("", stringPool.intern(""));
+        assertEquals(0, stringPool.getSize());
+    }
+
+    @Test
+    void testClear() {
+        StringPool stringPool = new StringPool(10);
+        stringPool.intern("artist");
+        stringPool.intern(new String("artist"));
+
+        stringPool.clear();
+
+        assertEquals(0, stringPool.getSize());
+        assertEquals(0, stringPool.getHits());
+        assertEquals(0, stringPool.getMisses());
+        assertEquals(0, stringPool.getBytesSaved());
+    }
+
+    @Test
+    void testPropertiesDisableByDefault() {
+        assertFalse(new StringPool(new DatabaseProperties()).isEnabled());
+        assertTrue(new StringPool(1).isEnabled());
+    }
+}
@@ -0,0 +1,142 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongSearcher;
+import org.bff.javampd.song.SongSearcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedSongSearcherTest {
+    @Mock
+    private LibraryMirror libraryMirror;
+    @Mock
+    private MPDSongSearcher serverSearcher;
+
+    private MirrorSongSearcher mirrorSearcher;
+    private SongSearcher songSearcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(libraryMirror.getSnapshot()).thenReturn(library(
+                song("a/1.flac", "Love Song", "The Band", "First", "Rock", "2001", 1),
+                song("a/2.flac", "Hate Song", "The Band", "First", "Rock", "2001", 12),
+                song("b/1.flac", "Lovely", "Other Band", "Second", "Jazz", "1999", 2),
+                song("c/1.flac", "Glove", "Beyoncé", "Third", "Pop", "2012", 3)));
+
+        mirrorSearcher = new MirrorSongSearcher(libraryMirror, serverSearcher);
+        songSearcher = new IndexedSongSearcher(libraryMirror, mirrorSearcher);
+    }
+
+    @Test
+    void testSearchTitle() {
+        assertEquals(List.of("a/1.flac", "b/1.flac", "c/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.TITLE, "LOV")));
+    }
+
+    @Test
+    void testSearchArtist() {
+        assertEquals(List.of("a/1.flac", "a/2.flac"), files(songSearcher.search(SongSearcher.ScopeType.ARTIST, "the b")));
+        assertEquals(List.of("c/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.ARTIST, "BEYONCÉ")));
+    }
+
+    @Test
+    void testSearchArtistManyValues() {
+        assertEquals(List.of("a/1.flac", "a/2.flac", "b/1.flac"),
+                files(songSearcher.search(SongSearcher.ScopeType.ARTIST, "band")));
+        assertEquals(List.of(), files(songSearcher.search(SongSearcher.ScopeType.ARTIST, "orchestra")));
+    }
+
+    @Test
+    void testSearchAny() {
+        assertEquals(List.of("b/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.ANY, "jazz")));
+        assertEquals(List.of("a/2.flac", "c/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.ANY, "12")));
+    }
+
+    @Test
+    void testSearchFileName() {
+        assertEquals(List.of("a/1.flac", "a/2.flac"), files(songSearcher.search(SongSearcher.ScopeType.FILENAME, "A/")));
+    }
+
+    @Test
+    void testWindow() {
+        assertEquals(List.of("b/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.TITLE, "lov", 1, 2)));
+        assertEquals(List.of(), files(songSearcher.search(SongSearcher.ScopeType.TITLE, "lov", 5, 10)));
+    }
+
+    @Test
+    void testSearchStream() {
+        try (Stream<MPDSong> songs = songSearcher.searchStream(SongSearcher.ScopeType.ALBUM, "sec")) {
+            assertEquals(List.of("b/1.flac"), songs.map(MPDSong::getFile).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testFindExact() {
+        assertEquals(List.of("a/1.flac", "a/2.flac"), files(songSearcher.find(SongSearcher.ScopeType.ARTIST, "The Band")));
+        assertEquals(List.of(), files(songSearcher.find(SongSearcher.ScopeType.ARTIST, "the band")));
+    }
+
+    @Test
+    void testComposerGoesToServer() {
+        List<MPDSong> songs = List.of(new MPDSong("file", "title"));
+        when(serverSearcher.search(SongSearcher.ScopeType.COMPOSER, "Bach")).thenReturn(songs);
+
+        assertSame(songs, songSearcher.search(SongSearcher.ScopeType.COMPOSER, "Bach"));
+    }
+
+    @Test
+    void testNewLibraryIndexed() {
+        songSearcher.search(SongSearcher.ScopeType.TITLE, "love");
+        when(libraryMirror.getSnapshot()).thenReturn(library(song("d/1.flac", "Loveless", "", "", "", "", 1)));
+
+        assertEquals(List.of("d/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.TITLE, "love")));
+    }
+
+    @Test
+    void testSameAsMirror() {
+        for (SongSearcher.ScopeType scopeType : List.of(SongSearcher.ScopeType.ANY, SongSearcher.ScopeType.TITLE,
+                SongSearcher.ScopeType.ARTIST, SongSearcher.ScopeType.DATE, SongSearcher.ScopeType.TRACK,
+                SongSearcher.ScopeType.FILENAME)) {
+            for (String criteria : List.of("", " ", "o", "ove", "band", "e b", "20", "1", ".flac", "/", "x")) {
+                assertEquals(files(mirrorSearcher.search(scopeType, criteria)),
+                        files(songSearcher.search(scopeType, criteria)), scopeType + " " + criteria);
+            }
+        }
+    }
+
+    private static List<String> files(Collection<MPDSong> songs) {
+        return songs.stream().map(MPDSong::getFile).collect(Collectors.toList());
+    }
+
+    private static LibrarySnapshot library(MPDSong... songs) {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        for (MPDSong song : songs) {
+            builder.add(song);
+        }
+        return builder.build();
+    }
+
+    private static MPDSong song(String file, String title, String artist, String album, String genre, String date,
+                                int track) {
+        MPDSong song = new MPDSong(file, title);
+        song.setArtistName(artist);
+        song.setAlbumName(album);
+        song.setGenre(genre);
+        song.setYear(date);
+        song.setTrack(track);
+        return song;
+    }
+}
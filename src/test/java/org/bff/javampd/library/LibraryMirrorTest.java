@@ -0,0 +1,199 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.database.DatabaseProperties;
+import org.bff.javampd.file.FileDatabase;
+import org.bff.javampd.file.MPDFile;
+import org.bff.javampd.server.ServerProperties;
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LibraryMirrorTest {
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Mock
+    private LibraryDatabase libraryDatabase;
+    @Mock
+    private FileDatabase fileDatabase;
+    @Mock
+    private CommandExecutor commandExecutor;
+    @Mock
+    private DatabaseProperties databaseProperties;
+
+    private ServerProperties serverProperties;
+    private LibraryMirror libraryMirror;
+
+    @BeforeEach
+    void setUp() {
+        serverProperties = new ServerProperties();
+        lenient().when(databaseProperties.isMirrorIncremental()).thenReturn(true);
+        stats(1);
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(directory("a", MODIFIED), directory("b", MODIFIED)));
+        when(libraryDatabase.getSnapshot()).thenReturn(snapshot("a/1.flac", "a/2.flac", "b/1.flac"));
+
+        libraryMirror = new LibraryMirror(libraryDatabase, fileDatabase, commandExecutor,
+                serverProperties, databaseProperties);
+    }
+
+    @Test
+    void testGetSnapshotLoadsOnce() {
+        LibrarySnapshot snapshot = libraryMirror.getSnapshot();
+
+        assertEquals(3, snapshot.size());
+        assertSame(snapshot, libraryMirror.getSnapshot());
+        verify(libraryDatabase, times(1)).getSnapshot();
+    }
+
+    @Test
+    void testRefreshLoads() {
+        assertTrue(libraryMirror.refresh());
+        assertEquals(3, libraryMirror.getSnapshot().size());
+    }
+
+    @Test
+    void testRefreshUnchanged() {
+        LibrarySnapshot snapshot = libraryMirror.getSnapshot();
+
+        assertFalse(libraryMirror.refresh());
+        assertSame(snapshot, libraryMirror.getSnapshot());
+    }
+
+    @Test
+    void testRefreshReloadsModifiedDirectories() {
+        libraryMirror.getSnapshot();
+        stats(2);
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(
+                directory("a", MODIFIED),
+                directory("b", MODIFIED.plusDays(1)),
+                directory("c", MODIFIED)));
+        when(libraryDatabase.getSnapshot("b")).thenReturn(snapshot("b/1.flac", "b/2.flac"));
+        when(libraryDatabase.getSnapshot("c")).thenReturn(snapshot("c/1.flac"));
+
+        assertTrue(libraryMirror.refresh());
+
+        assertEquals(List.of("a/1.flac", "a/2.flac", "b/1.flac", "b/2.flac", "c/1.flac"), files());
+        verify(libraryDatabase, never()).getSnapshot("a");
+        verify(libraryDatabase, times(1)).getSnapshot();
+    }
+
+    @Test
+    void testRefreshDropsRemovedDirectories() {
+        libraryMirror.getSnapshot();
+        stats(2);
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(directory("b", MODIFIED)));
+
+        libraryMirror.refresh();
+
+        assertEquals(List.of("b/1.flac"), files());
+    }
+
+    @Test
+    void testRefreshKeepsRootSongs() {
+        when(libraryDatabase.getSnapshot()).thenReturn(snapshot("root.flac", "a/1.flac"));
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(directory("a", MODIFIED), file("root.flac")));
+        libraryMirror.getSnapshot();
+        stats(2);
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(directory("a", MODIFIED.plusDays(1)), file("root.flac")));
+        when(libraryDatabase.getSnapshot("a")).thenReturn(snapshot("a/2.flac"));
+
+        libraryMirror.refresh();
+
+        assertEquals(List.of("a/2.flac", "root.flac"), files());
+    }
+
+    @Test
+    void testRefreshRootFilesChangedLoadsAll() {
+        libraryMirror.getSnapshot();
+        stats(2);
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(
+                directory("a", MODIFIED), directory("b", MODIFIED), file("root.flac")));
+        when(libraryDatabase.getSnapshot()).thenReturn(snapshot("root.flac"));
+
+        libraryMirror.refresh();
+
+        assertEquals(List.of("root.flac"), files());
+        verify(libraryDatabase, times(2)).getSnapshot();
+    }
+
+    @Test
+    void testRefreshNotIncremental() {
+        when(databaseProperties.isMirrorIncremental()).thenReturn(false);
+        libraryMirror = new LibraryMirror(libraryDatabase, fileDatabase, commandExecutor,
+                serverProperties, databaseProperties);
+        libraryMirror.getSnapshot();
+        stats(2);
+
+        libraryMirror.refresh();
+
+        verify(libraryDatabase, times(2)).getSnapshot();
+    }
+
+    @Test
+    void testCheckStatus() {
+        libraryMirror.getSnapshot();
+        stats(2);
+        when(fileDatabase.listRootDirectory()).thenReturn(List.of(directory("a", MODIFIED)));
+
+        libraryMirror.checkStatus();
+
+        assertEquals(List.of("a/1.flac", "a/2.flac"), files());
+    }
+
+    @Test
+    void testReload() {
+        libraryMirror.getSnapshot();
+        libraryMirror.reload();
+
+        verify(libraryDatabase, times(2)).getSnapshot();
+    }
+
+    private List<String> files() {
+        return libraryMirror.getSnapshot().stream().map(MPDSong::getFile).collect(Collectors.toList());
+    }
+
+    private void stats(long update) {
+        when(commandExecutor.sendCommand(serverProperties.getStats()))
+                .thenReturn(List.of("artists: 1", "db_update: " + update));
+    }
+
+    private static LibrarySnapshot snapshot(String... files) {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        for (String file : files) {
+            builder.add(new MPDSong(file, file));
+        }
+        return builder.build();
+    }
+
+    private static MPDFile directory(String path, LocalDateTime lastModified) {
+        MPDFile directory = new MPDFile(path);
+        directory.setDirectory(true);
+        directory.setLastModified(lastModified);
+        return directory;
+    }
+
+    private static MPDFile file(String path) {
+        MPDFile file = new MPDFile(path);
+        file.setLastModified(MODIFIED);
+        return file;
+    }
+}
@@ -0,0 +1,163 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LibrarySnapshotTest {
+    private List<MPDSong> songs;
+    private LibrarySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        songs = new ArrayList<>();
+        songs.add(song("a/1.flac", "One", "Artist", "Album", "Rock", "1999", 100, 1));
+        songs.add(song("a/2.flac", "Two", "Artist", "Album", "Rock", "1999", 200, 2));
+        songs.add(song("b/Ünïcødé.flac", "Ünïcødé ♪", "Other", "Second", "Jazz", "2001", 300, 1));
+
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        songs.forEach(builder::add);
+        snapshot = builder.build();
+    }
+
+    @Test
+    void testSize() {
+        assertEquals(3, snapshot.size());
+        assertFalse(snapshot.isEmpty());
+        assertTrue(LibrarySnapshot.builder().build().isEmpty());
+    }
+
+    @Test
+    void testGetSong() {
+        for (int i = 0; i < songs.size(); i++) {
+            assertEquals(songs.get(i), snapshot.getSong(i));
+        }
+    }
+
+    @Test
+    void testGetSongName() {
+        MPDSong song = new MPDSong("radio", "title");
+        song.setName("station");
+
+        MPDSong view = LibrarySnapshot.builder().add(song).build().getSong(0);
+
+        assertEquals("station", view.getName());
+    }
+
+    @Test
+    void testUnicode() {
+        assertEquals("b/Ünïcødé.flac", snapshot.getFile(2));
+        assertEquals("Ünïcødé ♪", snapshot.getTitle(2));
+    }
+
+    @Test
+    void testColumns() {
+        assertEquals(200, snapshot.getLength(1));
+        assertEquals(2, snapshot.getTrack(1));
+        assertEquals("Jazz", snapshot.getTag(LibrarySnapshot.Tag.GENRE, 2));
+        assertEquals(List.of("Artist", "Other"), snapshot.getValues(LibrarySnapshot.Tag.ARTIST));
+        assertEquals(1, snapshot.getTagId(LibrarySnapshot.Tag.ARTIST, 2));
+    }
+
+    @Test
+    void testValuesShared() {
+        assertSame(snapshot.getSong(0).getArtistName(), snapshot.getSong(1).getArtistName());
+    }
+
+    @Test
+    void testCount() {
+        Map<String, Integer> counts = snapshot.count(LibrarySnapshot.Tag.ALBUM);
+
+        assertEquals(Map.of("Album", 2, "Second", 1), counts);
+    }
+
+    @Test
+    void testTotalLength() {
+        assertEquals(600, snapshot.getTotalLength());
+        assertEquals(Map.of("1999", 300L, "2001", 300L), snapshot.totalLength(LibrarySnapshot.Tag.DATE));
+    }
+
+    @Test
+    void testOrdinals() {
+        assertArrayEquals(new int[]{0, 1}, snapshot.ordinals(LibrarySnapshot.Tag.ARTIST, "Artist"));
+        assertArrayEquals(new int[0], snapshot.ordinals(LibrarySnapshot.Tag.ARTIST, "Nobody"));
+    }
+
+    @Test
+    void testStream() {
+        assertEquals(songs, snapshot.stream().collect(Collectors.toList()));
+
+        List<MPDSong> iterated = new ArrayList<>();
+        snapshot.forEach(iterated::add);
+        assertEquals(songs, iterated);
+    }
+
+    @Test
+    void testNullValues() {
+        MPDSong song = new MPDSong("file", null);
+
+        MPDSong view = LibrarySnapshot.builder().add(song).build().getSong(0);
+
+        assertEquals("", view.getTitle());
+        assertNull(view.getArtistName());
+    }
+
+    @Test
+    void testOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getSong(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getLength(-1));
+    }
+
+    @Test
+    void testGrows() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add(song("dir/" + i + ".flac", "title" + i, "artist" + i % 10, "album", "", "", i, i));
+        }
+
+        LibrarySnapshot large = builder.build();
+
+        assertEquals(1000, large.size());
+        assertEquals("dir/999.flac", large.getFile(999));
+        assertEquals(999, large.getLength(999));
+        assertEquals(10, large.getValues(LibrarySnapshot.Tag.ARTIST).size());
+    }
+
+    @Test
+    void testBuilderReuse() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder().add(songs.get(0));
+        LibrarySnapshot first = builder.build();
+        builder.add(songs.get(2));
+
+        assertEquals(1, first.size());
+        assertArrayEquals(new int[0], first.ordinals(LibrarySnapshot.Tag.ARTIST, "Other"));
+    }
+
+    private static MPDSong song(String file, String title, String artist, String album,
+                                String genre, String date, int length, int track) {
+        MPDSong song = new MPDSong(file, title);
+        song.setName("");
+        song.setArtistName(artist);
+        song.setAlbumName(album);
+        song.setGenre(genre);
+        song.setYear(date);
+        song.setComment("");
+        song.setDiscNumber("");
+        song.setLength(length);
+        song.setTrack(track);
+        return song;
+    }
+}
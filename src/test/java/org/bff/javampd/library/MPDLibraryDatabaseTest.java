@@ -0,0 +1,64 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.database.DatabaseProperties;
+import org.bff.javampd.server.ResponseReader;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.SongConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MPDLibraryDatabaseTest {
+    @Mock
+    private CommandExecutor commandExecutor;
+    @Mock
+    private SongConverter songConverter;
+
+    private DatabaseProperties databaseProperties;
+    private LibraryDatabase libraryDatabase;
+
+    @BeforeEach
+    void setUp() {
+        databaseProperties = new DatabaseProperties();
+        libraryDatabase = new MPDLibraryDatabase(databaseProperties, commandExecutor, songConverter);
+    }
+
+    @Test
+    void testGetSnapshot() {
+        ResponseReader reader = mock(ResponseReader.class);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(commandExecutor.openResponse(new MPDCommand(databaseProperties.getListAllInfo()))).thenReturn(reader);
+        when(songConverter.convertResponseToSongStream(reader))
+                .thenReturn(Stream.of(new MPDSong("file1", "title1"), new MPDSong("file2", "title2"))
+                        .onClose(() -> closed.set(true)));
+
+        LibrarySnapshot snapshot = libraryDatabase.getSnapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals("file2", snapshot.getFile(1));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testGetSnapshotOfDirectory() {
+        ResponseReader reader = mock(ResponseReader.class);
+        when(commandExecutor.openResponse(new MPDCommand(databaseProperties.getListAllInfo(), "dir")))
+                .thenReturn(reader);
+        when(songConverter.convertResponseToSongStream(reader)).thenReturn(Stream.of(new MPDSong("dir/file", "")));
+
+        assertEquals("dir/file", libraryDatabase.getSnapshot("dir").getFile(0));
+    }
+}
@@ -0,0 +1,94 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.album.AlbumDatabase;
+import org.bff.javampd.album.MPDAlbum;
+import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.genre.MPDGenre;
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorAlbumDatabaseTest {
+    @Mock
+    private LibraryMirror libraryMirror;
+
+    private AlbumDatabase albumDatabase;
+
+    @BeforeEach
+    void setUp() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        builder.add(song("Zebra", "Artist1", "2001", "Rock"));
+        builder.add(song("Zebra", "Artist1", "2001", "Rock"));
+        builder.add(song("Apple", "Artist2", "1999", "Jazz"));
+        builder.add(song("Apple", "Artist3", "1999", "Jazz"));
+        builder.add(song("", "Artist3", "1999", "Jazz"));
+        when(libraryMirror.getSnapshot()).thenReturn(builder.build());
+
+        albumDatabase = new MirrorAlbumDatabase(libraryMirror);
+    }
+
+    @Test
+    void testListAllAlbums() {
+        List<MPDAlbum> albums = List.copyOf(albumDatabase.listAllAlbums());
+
+        assertEquals(List.of("Apple", "Apple", "Zebra"), names(albums));
+        assertEquals("Artist3", albums.get(1).getArtistName());
+        assertEquals("2001", albums.get(2).getDate());
+        assertEquals("Rock", albums.get(2).getGenre());
+    }
+
+    @Test
+    void testListAllAlbumsWindow() {
+        assertEquals(List.of("Apple", "Zebra"), names(albumDatabase.listAllAlbums(1, 5)));
+    }
+
+    @Test
+    void testListAllAlbumNames() {
+        assertEquals(List.of("Apple", "Zebra"), List.copyOf(albumDatabase.listAllAlbumNames()));
+    }
+
+    @Test
+    void testFindAlbum() {
+        assertEquals(2, albumDatabase.findAlbum("Apple").size());
+    }
+
+    @Test
+    void testListAlbumsByArtist() {
+        assertEquals(List.of("Zebra"), names(albumDatabase.listAlbumsByArtist(new MPDArtist("Artist1"))));
+    }
+
+    @Test
+    void testListAlbumsByGenre() {
+        assertEquals(List.of("Apple", "Apple"), names(albumDatabase.listAlbumsByGenre(new MPDGenre("Jazz"))));
+    }
+
+    @Test
+    void testListAlbumsByYear() {
+        assertEquals(List.of("Zebra"), names(albumDatabase.listAlbumsByYear("2001")));
+        assertEquals(List.of("Apple"), List.copyOf(albumDatabase.listAlbumNamesByYear("1999")));
+    }
+
+    private static List<String> names(Collection<MPDAlbum> albums) {
+        return albums.stream().map(MPDAlbum::getName).collect(Collectors.toList());
+    }
+
+    private static MPDSong song(String album, String artist, String date, String genre) {
+        MPDSong song = new MPDSong(album + artist, "title");
+        song.setAlbumName(album);
+        song.setArtistName(artist);
+        song.setYear(date);
+        song.setGenre(genre);
+        return song;
+    }
+}
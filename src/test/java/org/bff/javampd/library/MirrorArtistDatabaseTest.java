@@ -0,0 +1,67 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.artist.ArtistDatabase;
+import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.genre.MPDGenre;
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorArtistDatabaseTest {
+    @Mock
+    private LibraryMirror libraryMirror;
+
+    private ArtistDatabase artistDatabase;
+
+    @BeforeEach
+    void setUp() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        builder.add(song("Zappa", "Rock"));
+        builder.add(song("Abba", "Pop"));
+        builder.add(song("Zappa", "Jazz"));
+        builder.add(song("", "Jazz"));
+        when(libraryMirror.getSnapshot()).thenReturn(builder.build());
+
+        artistDatabase = new MirrorArtistDatabase(libraryMirror);
+    }
+
+    @Test
+    void testListAllArtists() {
+        assertEquals(List.of("Abba", "Zappa"), names(artistDatabase.listAllArtists()));
+    }
+
+    @Test
+    void testListArtistsByGenre() {
+        assertEquals(List.of("Zappa"), names(artistDatabase.listArtistsByGenre(new MPDGenre("Jazz"))));
+        assertEquals(List.of(), names(artistDatabase.listArtistsByGenre(new MPDGenre("Blues"))));
+    }
+
+    @Test
+    void testListArtistByName() {
+        assertEquals("Abba", artistDatabase.listArtistByName("Abba").getName());
+        assertNull(artistDatabase.listArtistByName("Nobody"));
+    }
+
+    private static List<String> names(Collection<MPDArtist> artists) {
+        return artists.stream().map(MPDArtist::getName).collect(Collectors.toList());
+    }
+
+    private static MPDSong song(String artist, String genre) {
+        MPDSong song = new MPDSong(artist + genre, "title");
+        song.setArtistName(artist);
+        song.setGenre(genre);
+        return song;
+    }
+}
@@ -0,0 +1,31 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorDateDatabaseTest {
+    @Mock
+    private LibraryMirror libraryMirror;
+
+    @Test
+    void testListAllDates() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        for (String date : new String[]{"2001", "1999", "", "2001"}) {
+            MPDSong song = new MPDSong("file", "title");
+            song.setYear(date);
+            builder.add(song);
+        }
+        when(libraryMirror.getSnapshot()).thenReturn(builder.build());
+
+        assertEquals(List.of("1999", "2001"), List.copyOf(new MirrorDateDatabase(libraryMirror).listAllDates()));
+    }
+}
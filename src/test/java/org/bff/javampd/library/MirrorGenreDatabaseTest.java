@@ -0,0 +1,50 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.genre.GenreDatabase;
+import org.bff.javampd.genre.MPDGenre;
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorGenreDatabaseTest {
+    @Mock
+    private LibraryMirror libraryMirror;
+
+    private GenreDatabase genreDatabase;
+
+    @BeforeEach
+    void setUp() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        for (String genre : new String[]{"Rock", "Jazz", "Rock"}) {
+            MPDSong song = new MPDSong("file", "title");
+            song.setGenre(genre);
+            builder.add(song);
+        }
+        when(libraryMirror.getSnapshot()).thenReturn(builder.build());
+
+        genreDatabase = new MirrorGenreDatabase(libraryMirror);
+    }
+
+    @Test
+    void testListAllGenres() {
+        assertEquals(List.of("Jazz", "Rock"),
+                genreDatabase.listAllGenres().stream().map(MPDGenre::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testListGenreByName() {
+        assertEquals("Jazz", genreDatabase.listGenreByName("Jazz").getName());
+        assertNull(genreDatabase.listGenreByName("Blues"));
+    }
+}
@@ -0,0 +1,129 @@
+package org.bff.javampd.library;
+
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongSearcher;
+import org.bff.javampd.song.SongSearcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorSongSearcherTest {
+    @Mock
+    private LibraryMirror libraryMirror;
+    @Mock
+    private MPDSongSearcher serverSearcher;
+
+    private SongSearcher songSearcher;
+
+    @BeforeEach
+    void setUp() {
+        LibrarySnapshot.Builder builder = LibrarySnapshot.builder();
+        builder.add(song("a/1.flac", "Love Song", "The Band", "First", "Rock", 1));
+        builder.add(song("a/2.flac", "Hate Song", "The Band", "First", "Rock", 2));
+        builder.add(song("b/1.flac", "Lovely", "Other Band", "Second", "Jazz", 1));
+        lenient().when(libraryMirror.getSnapshot()).thenReturn(builder.build());
+
+        songSearcher = new MirrorSongSearcher(libraryMirror, serverSearcher);
+    }
+
+    @Test
+    void testFindExact() {
+        assertEquals(List.of("a/1.flac", "a/2.flac"), files(songSearcher.find(SongSearcher.ScopeType.ARTIST, "The Band")));
+        assertEquals(List.of(), files(songSearcher.find(SongSearcher.ScopeType.ARTIST, "the band")));
+        assertEquals(List.of(), files(songSearcher.find(SongSearcher.ScopeType.ARTIST, "Band")));
+    }
+
+    @Test
+    void testSearchIgnoresCase() {
+        assertEquals(List.of("a/1.flac", "b/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.TITLE, "LOVE")));
+    }
+
+    @Test
+    void testSearchTag() {
+        assertEquals(List.of("a/1.flac", "a/2.flac", "b/1.flac"),
+                files(songSearcher.search(SongSearcher.ScopeType.ARTIST, "band")));
+    }
+
+    @Test
+    void testSearchAny() {
+        assertEquals(List.of("b/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.ANY, "jazz")));
+        assertEquals(List.of("a/2.flac"), files(songSearcher.search(SongSearcher.ScopeType.ANY, "hate")));
+    }
+
+    @Test
+    void testFindTrack() {
+        assertEquals(List.of("a/2.flac"), files(songSearcher.find(SongSearcher.ScopeType.TRACK, "2")));
+    }
+
+    @Test
+    void testSearchFileName() {
+        assertEquals(List.of("b/1.flac"), files(songSearcher.search(SongSearcher.ScopeType.FILENAME, "B/")));
+    }
+
+    @Test
+    void testWindow() {
+        assertEquals(List.of("a/2.flac"), files(songSearcher.search(SongSearcher.ScopeType.ANY, "", 1, 2)));
+        assertEquals(List.of("b/1.flac"), files(songSearcher.find(SongSearcher.ScopeType.GENRE, "Jazz", 0, 10)));
+        assertEquals(List.of(), files(songSearcher.find(SongSearcher.ScopeType.GENRE, "Rock", 5, 10)));
+    }
+
+    @Test
+    void testStreams() {
+        try (Stream<MPDSong> songs = songSearcher.searchStream(SongSearcher.ScopeType.ALBUM, "sec")) {
+            assertEquals(List.of("b/1.flac"), songs.map(MPDSong::getFile).collect(Collectors.toList()));
+        }
+        try (Stream<MPDSong> songs = songSearcher.findStream(SongSearcher.ScopeType.ALBUM, "First")) {
+            assertEquals(2, songs.count());
+        }
+    }
+
+    @Test
+    void testNullCriteria() {
+        assertEquals(3, songSearcher.search(SongSearcher.ScopeType.TITLE, null).size());
+    }
+
+    @Test
+    void testComposerGoesToServer() {
+        List<MPDSong> songs = List.of(new MPDSong("file", "title"));
+        when(serverSearcher.find(SongSearcher.ScopeType.COMPOSER, "Bach")).thenReturn(songs);
+
+        assertSame(songs, songSearcher.find(SongSearcher.ScopeType.COMPOSER, "Bach"));
+    }
+
+    @Test
+    void testPerformerGoesToServer() {
+        List<MPDSong> songs = List.of(new MPDSong("file", "title"));
+        when(serverSearcher.search(SongSearcher.ScopeType.PERFORMER, "x", 0, 1)).thenReturn(songs);
+
+        assertSame(songs, songSearcher.search(SongSearcher.ScopeType.PERFORMER, "x", 0, 1));
+    }
+
+    private static List<String> files(Collection<MPDSong> songs) {
+        return songs.stream().map(MPDSong::getFile).collect(Collectors.toList());
+    }
+
+    private static MPDSong song(String file, String title, String artist, String album, String genre, int track) {
+        MPDSong song = new MPDSong(file, title);
+        song.setArtistName(artist);
+        song.setAlbumName(album);
+        song.setGenre(genre);
+        song.setYear("");
+        song.setComment("");
+        song.setDiscNumber("");
+        song.setTrack(track);
+        return song;
+    }
+}
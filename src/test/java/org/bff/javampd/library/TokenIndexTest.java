@@ -0,0 +1,81 @@
+package org.bff.javampd.library;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenIndexTest {
+    private final TokenIndex tokenIndex = TokenIndex.of(Arrays.asList(
+            "Love Song",
+            "Lovely Day",
+            null,
+            "Glove-Box",
+            "Songs of Love",
+            "AC/DC"));
+
+    @Test
+    void testWordCount() {
+        assertEquals(10, tokenIndex.getWordCount());
+    }
+
+    @Test
+    void testPrefix() {
+        assertEquals(ids(0, 1, 3, 4), tokenIndex.search("lov"));
+    }
+
+    @Test
+    void testIgnoresCase() {
+        assertEquals(ids(0, 4), tokenIndex.search("SONG"));
+    }
+
+    @Test
+    void testInsideWord() {
+        assertEquals(ids(3), tokenIndex.search("ove-b"));
+        assertEquals(ids(1), tokenIndex.search("ely"));
+    }
+
+    @Test
+    void testSeveralWords() {
+        assertEquals(ids(0), tokenIndex.search("love song"));
+        assertEquals(ids(4), tokenIndex.search("s of l"));
+    }
+
+    @Test
+    void testWordsInOtherOrder() {
+        assertEquals(ids(), tokenIndex.search("song love"));
+    }
+
+    @Test
+    void testSeparators() {
+        assertEquals(ids(5), tokenIndex.search("c/d"));
+        assertEquals(ids(5), tokenIndex.search("/"));
+    }
+
+    @Test
+    void testNoMatch() {
+        assertEquals(ids(), tokenIndex.search("hate"));
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(ids(0, 1, 3, 4, 5), tokenIndex.search(""));
+        assertEquals(ids(0, 1, 3, 4, 5), tokenIndex.search(null));
+    }
+
+    @Test
+    void testEmptyIndex() {
+        assertEquals(ids(), TokenIndex.of(List.of()).search("a"));
+    }
+
+    private static BitSet ids(int... ids) {
+        BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+}
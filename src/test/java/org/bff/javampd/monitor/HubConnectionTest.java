@@ -0,0 +1,44 @@
+package org.bff.javampd.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HubConnectionTest {
+
+    @Test
+    void testEarlier() {
+        assertEquals(5, HubConnection.earlier(5, 10));
+        assertEquals(5, HubConnection.earlier(10, 5));
+        assertEquals(5, HubConnection.earlier(HubConnection.NO_DEADLINE, 5));
+        assertEquals(5, HubConnection.earlier(5, HubConnection.NO_DEADLINE));
+        assertEquals(HubConnection.NO_DEADLINE,
+                HubConnection.earlier(HubConnection.NO_DEADLINE, HubConnection.NO_DEADLINE));
+    }
+
+    @Test
+    void testEarlierAcrossWrap() {
+        long beforeWrap = Long.MAX_VALUE - 10;
+        long afterWrap = beforeWrap + 20;
+
+        assertEquals(beforeWrap, HubConnection.earlier(afterWrap, beforeWrap));
+    }
+
+    @Test
+    void testIsDue() {
+        assertTrue(HubConnection.isDue(10, 10));
+        assertTrue(HubConnection.isDue(11, 10));
+        assertFalse(HubConnection.isDue(9, 10));
+        assertFalse(HubConnection.isDue(Long.MIN_VALUE, HubConnection.NO_DEADLINE));
+    }
+
+    @Test
+    void testIsDueAcrossWrap() {
+        long deadline = Long.MAX_VALUE - 10;
+
+        assertTrue(HubConnection.isDue(deadline + 20, deadline));
+        assertFalse(HubConnection.isDue(deadline - 20, deadline));
+    }
+}
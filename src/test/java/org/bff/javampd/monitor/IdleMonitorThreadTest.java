@@ -0,0 +1,191 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdleMonitorThreadTest {
+    @Mock
+    private CommandExecutor commandExecutor;
+    @Mock
+    private ConnectionMonitor connectionMonitor;
+    @Mock
+    private PlayerMonitor playerMonitor;
+    @Mock
+    private MPDSocket socket;
+
+    private final BlockingQueue<List<String>> idleResponses = new LinkedBlockingQueue<>();
+    private final List<List<String>> statusResponses = new ArrayList<>();
+    private IdleMonitorThread idleMonitorThread;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(commandExecutor.openConnection()).thenReturn(socket);
+        lenient().when(playerMonitor.getStatus()).thenReturn(PlayerStatus.STATUS_STOPPED);
+        lenient().when(socket.sendCommand(argThat(command("idle")))).thenAnswer(invocation -> {
+            List<String> response = idleResponses.poll(5, TimeUnit.SECONDS);
+            return response == null ? List.of() : response;
+        });
+        lenient().when(socket.sendCommand(argThat(command("status")))).thenAnswer(invocation ->
+                statusResponses.size() > 1 ? statusResponses.remove(0) : statusResponses.get(0));
+        lenient().doAnswer(invocation -> idleResponses.add(List.of())).when(socket).noidle();
+        statusResponses.add(List.of("volume: 1"));
+
+        idleMonitorThread = new IdleMonitorThread(commandExecutor, connectionMonitor, playerMonitor, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        idleMonitorThread.setStopped(true);
+    }
+
+    @Test
+    void testInitialCheck() throws InterruptedException {
+        AtomicInteger changes = new AtomicInteger();
+        VolumeMonitor volumeMonitor = new MPDVolumeMonitor();
+        volumeMonitor.addVolumeChangeListener(event -> changes.incrementAndGet());
+        idleMonitorThread.addMonitor(volumeMonitor, IdleSubsystem.MIXER);
+        runMonitor();
+
+        await().until(() -> changes.get() == 1);
+        idleResponses.add(List.of("changed: mixer"));
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertEquals(1, changes.get());
+        verify(socket, times(2)).sendCommand(argThat(command("status")));
+    }
+
+    @Test
+    void testChangedSubsystem() {
+        statusResponses.add(List.of("volume: 2"));
+        AtomicInteger volume = new AtomicInteger();
+        VolumeMonitor volumeMonitor = new MPDVolumeMonitor();
+        volumeMonitor.addVolumeChangeListener(event -> volume.set(event.getVolume()));
+        AtomicInteger outputChecks = new AtomicInteger();
+        idleMonitorThread.addMonitor(volumeMonitor, IdleSubsystem.MIXER);
+        idleMonitorThread.addMonitor(outputChecks::incrementAndGet, IdleSubsystem.OUTPUT);
+        runMonitor();
+
+        idleResponses.add(List.of("changed: mixer"));
+
+        await().until(() -> volume.get() == 2);
+        assertEquals(1, outputChecks.get());
+    }
+
+    @Test
+    void testUnwatchedSubsystemNoStatus() {
+        AtomicInteger checks = new AtomicInteger();
+        idleMonitorThread.addMonitor(checks::incrementAndGet, IdleSubsystem.PLAYLIST);
+        runMonitor();
+
+        idleResponses.add(List.of("changed: database"));
+        idleResponses.add(List.of("changed: playlist"));
+
+        await().until(() -> checks.get() == 2);
+        verify(socket, times(2)).sendCommand(argThat(command("status")));
+    }
+
+    @Test
+    void testPlaybackMonitorWokenWhilePlaying() {
+        when(playerMonitor.getStatus()).thenReturn(PlayerStatus.STATUS_PLAYING);
+        AtomicInteger playbackChecks = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        idleMonitorThread.addPlaybackMonitor(playbackChecks::incrementAndGet, IdleSubsystem.PLAYER);
+        idleMonitorThread.addMonitor(checks::incrementAndGet, IdleSubsystem.PLAYER);
+        runMonitor();
+
+        await().until(() -> playbackChecks.get() > 2);
+        assertEquals(1, checks.get());
+        verify(socket, atLeastOnce()).noidle();
+    }
+
+    @Test
+    void testPlaybackMonitorNotWokenWhileStopped() throws InterruptedException {
+        AtomicInteger playbackChecks = new AtomicInteger();
+        idleMonitorThread.addPlaybackMonitor(playbackChecks::incrementAndGet, IdleSubsystem.PLAYER);
+        runMonitor();
+
+        await().until(idleMonitorThread::isInitialized);
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertEquals(1, playbackChecks.get());
+        verify(socket, never()).noidle();
+    }
+
+    @Test
+    void testStopWakesIdle() {
+        runMonitor();
+        await().until(idleMonitorThread::isInitialized);
+
+        idleMonitorThread.setStopped(true);
+
+        await().until(idleMonitorThread::isDone);
+        verify(socket).noidle();
+        verify(socket).close();
+    }
+
+    @Test
+    void testRemoveMonitor() {
+        AtomicInteger checks = new AtomicInteger();
+        Monitor monitor = checks::incrementAndGet;
+        AtomicInteger otherChecks = new AtomicInteger();
+        idleMonitorThread.addMonitor(monitor, IdleSubsystem.OPTIONS);
+        idleMonitorThread.addMonitor(otherChecks::incrementAndGet, IdleSubsystem.OPTIONS);
+        idleMonitorThread.removeMonitor(monitor);
+        runMonitor();
+
+        idleResponses.add(List.of("changed: options"));
+
+        await().until(() -> otherChecks.get() == 2);
+        assertEquals(0, checks.get());
+    }
+
+    @Test
+    void testReconnectAfterError() {
+        MPDSocket failing = mock(MPDSocket.class);
+        when(failing.sendCommand(argThat(command("status")))).thenReturn(List.of("volume: 1"));
+        when(failing.sendCommand(argThat(command("idle")))).thenThrow(new MPDConnectionException("lost"));
+        when(commandExecutor.openConnection()).thenReturn(failing).thenReturn(socket);
+        when(connectionMonitor.isConnected()).thenReturn(true);
+        AtomicInteger checks = new AtomicInteger();
+        idleMonitorThread.addMonitor(checks::incrementAndGet, IdleSubsystem.PLAYER);
+        runMonitor();
+
+        await().until(() -> checks.get() == 2);
+        verify(failing).close();
+        verify(connectionMonitor).checkStatus();
+        assertTrue(idleMonitorThread.isInitialized());
+    }
+
+    private void runMonitor() {
+        Thread thread = new Thread(idleMonitorThread);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static ArgumentMatcher<MPDCommand> command(String name) {
+        return command -> command != null && name.equals(command.getCommand());
+    }
+}
@@ -1,6 +1,7 @@
 package org.bff.javampd.monitor;
 
 import org.awaitility.Awaitility;
+import org.bff.javampd.command.CommandExecutor;
 import org.bff.javampd.output.OutputChangeListener;
 import org.bff.javampd.player.*;
 import org.bff.javampd.playlist.PlaylistBasicChangeListener;
@@ -39,6 +40,8 @@ class MPDStandAloneMonitorTest {
     private PlaylistMonitor playlistMonitor;
     @Mock
     private ServerStatus serverStatus;
+    @Mock
+    private CommandExecutor commandExecutor;
     @InjectMocks
     private MPDStandAloneMonitor standAloneMonitor;
 
@@ -1,5 +1,6 @@
 package org.bff.javampd.monitor;
 
+import org.bff.javampd.Clock;
 import org.bff.javampd.player.TrackPositionChangeEvent;
 import org.bff.javampd.player.TrackPositionChangeListener;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class MPDTrackMonitorTest {
 
@@ -152,4 +155,130 @@ class MPDTrackMonitorTest {
         trackMonitor.checkStatus();
         assertEquals(1, changeEvent[0].getElapsedTime());
     }
+
+    @Test
+    void testTickExtrapolatesWhilePlaying() {
+        Clock clock = mock(Clock.class);
+        TrackMonitor monitor = new MPDTrackMonitor(clock, true);
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+        monitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+
+        when(clock.nanoTime()).thenReturn(1_000_000_000L);
+        monitor.processResponseStatus("state: play");
+        monitor.processResponseStatus("time: 12:300");
+        monitor.processResponseStatus("elapsed: 12.250");
+        monitor.processResponseStatus("duration: 300.000");
+        monitor.checkStatus();
+        assertNull(changeEvent[0]);
+
+        when(clock.nanoTime()).thenReturn(1_100_000_000L);
+        monitor.tick();
+        assertEquals(12350, changeEvent[0].getElapsedMillis());
+        assertEquals(12, changeEvent[0].getElapsedTime());
+
+        when(clock.nanoTime()).thenReturn(1_900_000_000L);
+        monitor.tick();
+        assertEquals(13150, changeEvent[0].getElapsedMillis());
+        assertEquals(13, changeEvent[0].getElapsedTime());
+    }
+
+    @Test
+    void testTickNoChangeWhilePaused() {
+        Clock clock = mock(Clock.class);
+        TrackMonitor monitor = new MPDTrackMonitor(clock, true);
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+        monitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+
+        when(clock.nanoTime()).thenReturn(0L);
+        monitor.processResponseStatus("state: pause");
+        monitor.processResponseStatus("elapsed: 5.500");
+        monitor.checkStatus();
+        monitor.tick();
+        assertEquals(5500, changeEvent[0].getElapsedMillis());
+
+        changeEvent[0] = null;
+        when(clock.nanoTime()).thenReturn(5_000_000_000L);
+        monitor.tick();
+        assertNull(changeEvent[0]);
+    }
+
+    @Test
+    void testTickStopsAtDuration() {
+        Clock clock = mock(Clock.class);
+        TrackMonitor monitor = new MPDTrackMonitor(clock, true);
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+        monitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+
+        when(clock.nanoTime()).thenReturn(0L);
+        monitor.processResponseStatus("state: play");
+        monitor.processResponseStatus("elapsed: 9.000");
+        monitor.processResponseStatus("duration: 10.000");
+        monitor.checkStatus();
+
+        when(clock.nanoTime()).thenReturn(30_000_000_000L);
+        monitor.tick();
+        assertEquals(10000, changeEvent[0].getElapsedMillis());
+    }
+
+    @Test
+    void testTickResyncsOnStatus() {
+        Clock clock = mock(Clock.class);
+        TrackMonitor monitor = new MPDTrackMonitor(clock, true);
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+        monitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+
+        when(clock.nanoTime()).thenReturn(0L);
+        monitor.processResponseStatus("state: play");
+        monitor.processResponseStatus("elapsed: 100.000");
+        monitor.checkStatus();
+
+        when(clock.nanoTime()).thenReturn(2_000_000_000L);
+        monitor.processResponseStatus("state: play");
+        monitor.processResponseStatus("elapsed: 3.000");
+        monitor.checkStatus();
+        monitor.tick();
+        assertEquals(3000, changeEvent[0].getElapsedMillis());
+    }
+
+    @Test
+    void testTickAfterResetElapsedTime() {
+        Clock clock = mock(Clock.class);
+        TrackMonitor monitor = new MPDTrackMonitor(clock, true);
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+        monitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+
+        when(clock.nanoTime()).thenReturn(0L);
+        monitor.processResponseStatus("state: play");
+        monitor.processResponseStatus("elapsed: 7.000");
+        monitor.checkStatus();
+        monitor.resetElapsedTime();
+
+        when(clock.nanoTime()).thenReturn(2_000_000_000L);
+        monitor.tick();
+        assertNull(changeEvent[0]);
+    }
+
+    @Test
+    void testCheckStatusFiresNothingWhenInterpolating() {
+        TrackMonitor monitor = new MPDTrackMonitor(mock(Clock.class), true);
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+        monitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+
+        monitor.processResponseStatus("time: 1");
+        monitor.checkStatus();
+
+        assertNull(changeEvent[0]);
+    }
+
+    @Test
+    void testSecondsEventInMillis() {
+        final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
+
+        trackMonitor.addTrackPositionChangeListener(event -> changeEvent[0] = event);
+        trackMonitor.processResponseStatus("elapsed: 1.800");
+        trackMonitor.processResponseStatus("time: 1");
+        trackMonitor.checkStatus();
+
+        assertEquals(1000, changeEvent[0].getElapsedMillis());
+    }
 }
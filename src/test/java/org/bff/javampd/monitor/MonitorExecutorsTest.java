@@ -0,0 +1,45 @@
+package org.bff.javampd.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorExecutorsTest {
+
+    @Test
+    void testPlatformExecutor() throws Exception {
+        ExecutorService executorService = MonitorExecutors.newMonitorExecutor(false);
+        try {
+            assertEquals(Boolean.FALSE, CompletableFuture.supplyAsync(MonitorExecutorsTest::isVirtual, executorService)
+                    .get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void testVirtualExecutor() throws Exception {
+        ExecutorService executorService = MonitorExecutors.newMonitorExecutor(true);
+        try {
+            boolean supported = Runtime.version().feature() >= 21;
+            assertEquals(supported, CompletableFuture.supplyAsync(MonitorExecutorsTest::isVirtual, executorService)
+                    .get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static boolean isVirtual() {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.player.PlayerBasicChangeEvent;
+import org.bff.javampd.playlist.PlaylistBasicChangeEvent;
+import org.bff.javampd.server.ConnectionChangeEvent;
+import org.bff.javampd.server.FakeMPDServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitorHubTest {
+    private static final String STOPPED = "state: stop\nplaylist: 0\nplaylistlength: 0\nOK\n";
+
+    private FakeMPDServer kitchen;
+    private FakeMPDServer garden;
+    private MonitorHub hub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        kitchen = new FakeMPDServer().respond("status", STOPPED);
+        garden = new FakeMPDServer().respond("status", STOPPED);
+        hub = new MonitorHub(2, 50, 50);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        hub.close();
+        kitchen.close();
+        garden.close();
+    }
+
+    @Test
+    void testPlayerEventTaggedWithServer() throws IOException {
+        List<MonitoredServer> servers = new CopyOnWriteArrayList<>();
+        List<PlayerBasicChangeEvent> events = new CopyOnWriteArrayList<>();
+        hub.addPlayerChangeListener((server, event) -> {
+            servers.add(server);
+            events.add(event);
+        });
+        hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        MonitoredServer gardenServer = hub.addServer(garden.getAddress(), garden.getPort());
+        hub.start();
+        await().until(() -> kitchen.isIdling() && garden.isIdling());
+
+        garden.respond("status", "state: play\nsong: 0\nsongid: 1\ntime: 1:100\nOK\n");
+        garden.idleChange("player");
+
+        await().until(() -> !events.isEmpty());
+        assertEquals(List.of(gardenServer), servers);
+        assertEquals(PlayerBasicChangeEvent.Status.PLAYER_STARTED, events.get(0).getStatus());
+    }
+
+    @Test
+    void testPlaylistEvent() throws IOException {
+        List<PlaylistBasicChangeEvent.Event> events = new CopyOnWriteArrayList<>();
+        hub.addPlaylistChangeListener((server, event) -> events.add(event.getEvent()));
+        hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        hub.start();
+        await().until(kitchen::isIdling);
+
+        kitchen.respond("status", "state: stop\nplaylist: 1\nplaylistlength: 1\nOK\n");
+        kitchen.idleChange("playlist");
+
+        await().until(() -> events.size() == 2);
+        assertEquals(List.of(PlaylistBasicChangeEvent.Event.PLAYLIST_CHANGED,
+                PlaylistBasicChangeEvent.Event.SONG_ADDED), events);
+    }
+
+    @Test
+    void testUnwatchedSubsystemNoStatus() throws IOException {
+        hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        hub.start();
+        await().until(kitchen::isIdling);
+
+        kitchen.idleChange("database");
+
+        await().until(() -> kitchen.getCommands().size() == 3 && kitchen.isIdling());
+        assertEquals("status", kitchen.getCommands().get(0));
+        assertTrue(kitchen.getCommands().get(1).startsWith("idle"));
+        assertTrue(kitchen.getCommands().get(2).startsWith("idle"));
+    }
+
+    @Test
+    void testTrackPositionWhilePlaying() {
+        kitchen.respond("status", "state: play\nsong: 0\nsongid: 1\ntime: 7:100\nOK\n");
+        List<Long> positions = new CopyOnWriteArrayList<>();
+        hub.addTrackPositionChangeListener((server, event) -> positions.add(event.getElapsedTime()));
+        hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        hub.start();
+
+        await().until(() -> !positions.isEmpty());
+        assertEquals(7, positions.get(0));
+        assertTrue(kitchen.getCommands().contains("noidle"));
+    }
+
+    @Test
+    void testPassword() {
+        hub.addServer(kitchen.getAddress(), kitchen.getPort(), "se\"cret");
+        hub.start();
+
+        await().until(kitchen::isIdling);
+        assertEquals("password \"se\\\"cret\"", kitchen.getCommands().get(0));
+    }
+
+    @Test
+    void testWrongPasswordGivesUp() throws InterruptedException {
+        kitchen.respond("password \"wrong\"", "ACK [3@0] {password} incorrect password\n");
+        List<ConnectionChangeEvent> events = new CopyOnWriteArrayList<>();
+        hub.addConnectionChangeListener((server, event) -> events.add(event));
+        hub.addServer(kitchen.getAddress(), kitchen.getPort(), "wrong");
+        hub.start();
+
+        await().until(() -> !events.isEmpty());
+        assertFalse(events.get(0).isConnected());
+        assertEquals("ACK [3@0] {password} incorrect password", events.get(0).getMessage());
+
+        Thread.sleep(200);
+        assertEquals(1, kitchen.getConnections());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testReconnect() throws IOException {
+        List<Boolean> connected = new CopyOnWriteArrayList<>();
+        hub.addConnectionChangeListener((server, event) -> connected.add(event.isConnected()));
+        hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        hub.start();
+        await().until(kitchen::isIdling);
+
+        kitchen.dropClients();
+
+        await().until(() -> connected.size() == 2);
+        assertEquals(List.of(false, true), connected);
+        assertEquals(2, kitchen.getConnections());
+    }
+
+    @Test
+    void testConnectionFailureKeepsHubRunning() throws IOException {
+        List<MonitoredServer> disconnected = new CopyOnWriteArrayList<>();
+        List<PlayerBasicChangeEvent> events = new CopyOnWriteArrayList<>();
+        hub.addConnectionChangeListener((server, event) -> disconnected.add(server));
+        hub.addPlayerChangeListener((server, event) -> events.add(event));
+        hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        hub.start();
+        await().until(kitchen::isIdling);
+
+        MonitoredServer broken = new MonitoredServer(garden.getAddress(), garden.getPort(), null);
+        hub.execute(new HubConnection(broken, hub, Runnable::run), () -> {
+            throw new CancelledKeyException();
+        });
+        await().until(() -> !disconnected.isEmpty());
+        assertEquals(List.of(broken), disconnected);
+
+        kitchen.respond("status", "state: play\nsong: 0\nsongid: 1\ntime: 1:100\nOK\n");
+        kitchen.idleChange("player");
+        await().until(() -> !events.isEmpty());
+    }
+
+    @Test
+    void testRemoveServer() {
+        MonitoredServer server = hub.addServer(kitchen.getAddress(), kitchen.getPort());
+        hub.start();
+        await().until(kitchen::isIdling);
+
+        hub.removeServer(server);
+
+        assertTrue(hub.getServers().isEmpty());
+        await().until(() -> !kitchen.isIdling());
+    }
+
+    @Test
+    void testStartTwice() {
+        hub.start();
+        assertThrows(IllegalStateException.class, () -> hub.start());
+    }
+
+    @Test
+    void testNoWorkers() {
+        assertThrows(IllegalArgumentException.class, () -> new MonitorHub(0));
+    }
+}
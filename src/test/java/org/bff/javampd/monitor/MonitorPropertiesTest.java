@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class MonitorPropertiesTest {
     private MonitorProperties monitorProperties;
@@ -52,4 +53,74 @@ class MonitorPropertiesTest {
     void testGetExceptionDelay() {
         assertEquals(5, monitorProperties.getExceptionDelay());
     }
+
+    @Test
+    void testIsVirtualThreads() {
+        assertFalse(monitorProperties.isVirtualThreads());
+    }
+
+    @Test
+    void testGetDatabaseDelay() {
+        assertEquals(10, monitorProperties.getDatabaseDelay());
+    }
+
+    @Test
+    void testGetTrackRate() {
+        assertEquals(0, monitorProperties.getTrackRate());
+    }
+
+    @Test
+    void testGetTrackResync() {
+        assertEquals(30, monitorProperties.getTrackResync());
+    }
+
+    @Test
+    void testGetOutputPeriod() {
+        assertEquals(61000, monitorProperties.getOutputPeriod());
+    }
+
+    @Test
+    void testGetConnectionPeriod() {
+        assertEquals(6000, monitorProperties.getConnectionPeriod());
+    }
+
+    @Test
+    void testGetPlaylistPeriod() {
+        assertEquals(3000, monitorProperties.getPlaylistPeriod());
+    }
+
+    @Test
+    void testGetPlayerPeriod() {
+        assertEquals(1000, monitorProperties.getPlayerPeriod());
+    }
+
+    @Test
+    void testGetErrorPeriod() {
+        assertEquals(1000, monitorProperties.getErrorPeriod());
+    }
+
+    @Test
+    void testGetTrackPeriod() {
+        assertEquals(1000, monitorProperties.getTrackPeriod());
+    }
+
+    @Test
+    void testGetDatabasePeriod() {
+        assertEquals(10000, monitorProperties.getDatabasePeriod());
+    }
+
+    @Test
+    void testGetJitter() {
+        assertEquals(50, monitorProperties.getJitter());
+    }
+
+    @Test
+    void testIsScheduled() {
+        assertFalse(monitorProperties.isScheduled());
+    }
+
+    @Test
+    void testIsIdle() {
+        assertFalse(monitorProperties.isIdle());
+    }
 }
@@ -0,0 +1,226 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.server.ServerStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledMonitorThreadTest {
+    @Mock
+    private ServerStatus serverStatus;
+
+    private ScheduledMonitorThread scheduledMonitorThread;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(serverStatus.getStatus()).thenReturn(List.of("volume: 1"));
+        scheduledMonitorThread = new ScheduledMonitorThread(serverStatus, 10, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduledMonitorThread.setStopped(true);
+    }
+
+    @Test
+    void testIsInitialized() {
+        runMonitor();
+
+        await().until(scheduledMonitorThread::isInitialized);
+    }
+
+    @Test
+    void testStatusMonitorChecked() {
+        when(serverStatus.getStatus()).thenReturn(List.of("volume: 1")).thenReturn(List.of("volume: 2"));
+        AtomicInteger volume = new AtomicInteger();
+        VolumeMonitor volumeMonitor = new MPDVolumeMonitor();
+        volumeMonitor.addVolumeChangeListener(event -> volume.set(event.getVolume()));
+        scheduledMonitorThread.addMonitor(volumeMonitor, 1);
+        runMonitor();
+
+        await().until(() -> volume.get() == 2);
+    }
+
+    @Test
+    void testMonitorChecked() {
+        AtomicInteger checks = new AtomicInteger();
+        scheduledMonitorThread.addMonitor(checks::incrementAndGet, 1);
+        runMonitor();
+
+        await().until(() -> checks.get() > 2);
+    }
+
+    @Test
+    void testSlowMonitorDoesNotBlockOthers() throws InterruptedException {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        scheduledMonitorThread.addMonitor(() -> {
+            slowStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1);
+        AtomicInteger checks = new AtomicInteger();
+        StatusMonitor statusMonitor = new CountingStatusMonitor(checks);
+        scheduledMonitorThread.addMonitor(statusMonitor, 1);
+        runMonitor();
+
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        int checksWhileBlocked = checks.get();
+
+        await().until(() -> checks.get() > checksWhileBlocked + 2);
+    }
+
+    @Test
+    void testLongPeriodNotDue() throws InterruptedException {
+        AtomicInteger fastChecks = new AtomicInteger();
+        AtomicInteger slowChecks = new AtomicInteger();
+        scheduledMonitorThread.addMonitor(new CountingStatusMonitor(fastChecks), 1);
+        scheduledMonitorThread.addMonitor(new CountingStatusMonitor(slowChecks), 60000);
+        runMonitor();
+
+        await().until(() -> fastChecks.get() > 5);
+
+        assertEquals(0, slowChecks.get());
+    }
+
+    @Test
+    void testErrorRetried() {
+        AtomicInteger checks = new AtomicInteger();
+        scheduledMonitorThread.addMonitor(() -> {
+            checks.incrementAndGet();
+            throw new MPDException("Test Exception");
+        }, 1);
+        runMonitor();
+
+        await().until(() -> checks.get() > 1);
+    }
+
+    @Test
+    void testRemoveMonitor() throws InterruptedException {
+        AtomicInteger checks = new AtomicInteger();
+        Monitor monitor = checks::incrementAndGet;
+        scheduledMonitorThread.addMonitor(monitor, 1);
+        runMonitor();
+
+        await().until(() -> checks.get() > 0);
+        scheduledMonitorThread.removeMonitor(monitor);
+        TimeUnit.MILLISECONDS.sleep(50);
+        int checksAfterRemove = checks.get();
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertEquals(checksAfterRemove, checks.get());
+    }
+
+    @Test
+    void testRemoveMonitorReleasesThread() {
+        Monitor monitor = () -> {
+        };
+        scheduledMonitorThread.addMonitor(monitor, 1);
+        runMonitor();
+        await().until(scheduledMonitorThread::isInitialized);
+        await().until(() -> scheduledMonitorThread.getThreadCount() == 2);
+
+        scheduledMonitorThread.removeMonitor(monitor);
+        assertEquals(1, scheduledMonitorThread.getThreadCount());
+
+        scheduledMonitorThread.addMonitor(monitor, 1);
+        assertEquals(2, scheduledMonitorThread.getThreadCount());
+    }
+
+    @Test
+    void testAddMonitorWhileRunning() {
+        runMonitor();
+        await().until(scheduledMonitorThread::isInitialized);
+
+        AtomicInteger checks = new AtomicInteger();
+        scheduledMonitorThread.addMonitor(checks::incrementAndGet, 1);
+
+        await().until(() -> checks.get() > 0);
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> scheduledMonitorThread.addMonitor(() -> {
+        }, 0));
+    }
+
+    @Test
+    void testLoadInitialStatusException() {
+        when(serverStatus.getStatus()).thenThrow(new MPDException());
+        assertThrows(MPDException.class, () -> scheduledMonitorThread.run());
+        assertTrue(scheduledMonitorThread.isDone());
+    }
+
+    @Test
+    void testStop() {
+        AtomicInteger checks = new AtomicInteger();
+        scheduledMonitorThread.addMonitor(new CountingStatusMonitor(checks), 1);
+        runMonitor();
+        await().until(scheduledMonitorThread::isInitialized);
+
+        scheduledMonitorThread.setStopped(true);
+
+        await().until(scheduledMonitorThread::isDone);
+    }
+
+    @Test
+    void testInterrupted() {
+        Thread thread = runMonitor();
+        await().until(scheduledMonitorThread::isInitialized);
+
+        thread.interrupt();
+
+        await().until(scheduledMonitorThread::isDone);
+    }
+
+    private Thread runMonitor() {
+        Thread thread = new Thread(scheduledMonitorThread);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static class CountingStatusMonitor implements StatusMonitor {
+        private final AtomicInteger checks;
+
+        CountingStatusMonitor(AtomicInteger checks) {
+            this.checks = checks;
+        }
+
+        @Override
+        public void processResponseStatus(String line) {
+            // counts checks only
+        }
+
+        @Override
+        public void reset() {
+            // nothing to reset
+        }
+
+        @Override
+        public void checkStatus() {
+            checks.incrementAndGet();
+        }
+    }
+}
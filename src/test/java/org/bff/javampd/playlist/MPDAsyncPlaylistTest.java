@@ -0,0 +1,79 @@
+package org.bff.javampd.playlist;
+
+import org.bff.javampd.song.MPDSong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MPDAsyncPlaylistTest {
+    @Mock
+    private Playlist playlist;
+
+    private AsyncPlaylist asyncPlaylist;
+
+    @BeforeEach
+    void setUp() {
+        asyncPlaylist = new MPDAsyncPlaylist(playlist, Runnable::run);
+    }
+
+    @Test
+    void testGetSongList() {
+        List<MPDSong> songs = List.of(new MPDSong("file", "title"));
+        when(playlist.getSongList()).thenReturn(songs);
+        assertEquals(songs, asyncPlaylist.getSongList().join());
+    }
+
+    @Test
+    void testGetCurrentSong() {
+        MPDSong song = new MPDSong("file", "title");
+        when(playlist.getCurrentSong()).thenReturn(song);
+        assertEquals(song, asyncPlaylist.getCurrentSong().join());
+    }
+
+    @Test
+    void testGetVersion() {
+        when(playlist.getVersion()).thenReturn(5);
+        assertEquals(5, asyncPlaylist.getVersion().join());
+    }
+
+    @Test
+    void testAddSong() {
+        asyncPlaylist.addSong("file").join();
+        verify(playlist).addSong("file");
+    }
+
+    @Test
+    void testAddSongs() {
+        List<MPDSong> songs = List.of(new MPDSong("file", "title"));
+        when(playlist.addSongs(songs)).thenReturn(true);
+        assertTrue(asyncPlaylist.addSongs(songs).join());
+    }
+
+    @Test
+    void testRemoveSong() {
+        asyncPlaylist.removeSong(3).join();
+        verify(playlist).removeSong(3);
+    }
+
+    @Test
+    void testLoadPlaylist() {
+        asyncPlaylist.loadPlaylist("playlist").join();
+        verify(playlist).loadPlaylist("playlist");
+    }
+
+    @Test
+    void testClearPlaylist() {
+        asyncPlaylist.clearPlaylist().join();
+        verify(playlist).clearPlaylist();
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class PlaylistPropertiesTest {
     private PlaylistProperties playlistProperties;
@@ -88,6 +89,11 @@ class PlaylistPropertiesTest {
         assertEquals("swap", playlistProperties.getSwap());
     }
 
+    @Test
+    void isMirror() {
+        assertFalse(playlistProperties.isMirror());
+    }
+
     @Test
     void getSwapId() {
         assertEquals("swapid", playlistProperties.getSwapId());
@@ -0,0 +1,157 @@
+package org.bff.javampd.playlist;
+
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.ServerProperties;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueueMirrorTest {
+    @Mock
+    private CommandExecutor commandExecutor;
+
+    private QueueMirror queueMirror;
+
+    @BeforeEach
+    void setup() {
+        queueMirror = new QueueMirror(commandExecutor, new MPDSongConverter(),
+                new PlaylistProperties(), new ServerProperties());
+    }
+
+    @Test
+    void testFirstReadLoadsWholeQueue() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 2), songs(0, "a", "b")));
+
+        assertEquals(List.of("a", "b"), files(queueMirror.getSongs()));
+        assertEquals(3, queueMirror.getVersion());
+    }
+
+    @Test
+    void testUnchanged() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 2), songs(0, "a", "b")));
+        when(commandExecutor.sendCommands(changes(3)))
+                .thenReturn(List.of(status(3, 2), List.of()));
+
+        queueMirror.getSongs();
+        assertEquals(List.of("a", "b"), files(queueMirror.getSongs()));
+        verify(commandExecutor).sendCommands(changes(3));
+    }
+
+    @Test
+    void testAppliesChanges() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 3), songs(0, "a", "b", "c")));
+        when(commandExecutor.sendCommands(changes(3)))
+                .thenReturn(List.of(status(5, 4), songs(1, "x", "c", "d")));
+
+        queueMirror.getSongs();
+        assertEquals(List.of("a", "x", "c", "d"), files(queueMirror.getSongs()));
+        assertEquals(5, queueMirror.getVersion());
+    }
+
+    @Test
+    void testTruncatesRemovedSongs() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 3), songs(0, "a", "b", "c")));
+        when(commandExecutor.sendCommands(changes(3)))
+                .thenReturn(List.of(status(4, 2), songs(0, "b", "c")));
+
+        queueMirror.getSongs();
+        assertEquals(List.of("b", "c"), files(queueMirror.getSongs()));
+    }
+
+    @Test
+    void testClearedQueue() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 2), songs(0, "a", "b")));
+        when(commandExecutor.sendCommands(changes(3)))
+                .thenReturn(List.of(status(4, 0), List.of()));
+
+        queueMirror.getSongs();
+        assertEquals(List.of(), queueMirror.getSongs());
+    }
+
+    @Test
+    void testReloadsWhenVersionGoesBack() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(30, 2), songs(0, "a", "b")))
+                .thenReturn(List.of(status(2, 1), songs(0, "z")));
+        when(commandExecutor.sendCommands(changes(30)))
+                .thenReturn(List.of(status(2, 1), List.of()));
+
+        queueMirror.getSongs();
+        assertEquals(List.of("z"), files(queueMirror.getSongs()));
+        assertEquals(2, queueMirror.getVersion());
+    }
+
+    @Test
+    void testReturnsCopy() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 2), songs(0, "a", "b")));
+        when(commandExecutor.sendCommands(changes(3)))
+                .thenReturn(List.of(status(3, 2), List.of()));
+
+        queueMirror.getSongs().clear();
+        assertEquals(2, queueMirror.getSongs().size());
+    }
+
+    @Test
+    void testReturnsCopiesOfSongs() {
+        when(commandExecutor.sendCommands(info()))
+                .thenReturn(List.of(status(3, 2), songs(0, "a", "b")));
+        when(commandExecutor.sendCommands(changes(3)))
+                .thenReturn(List.of(status(3, 2), List.of()));
+
+        MPDSong song = queueMirror.getSongs().get(0);
+        song.setTitle("changed");
+        song.setPosition(7);
+
+        MPDSong mirrored = queueMirror.getSongs().get(0);
+        assertEquals("a", mirrored.getTitle());
+        assertEquals(0, mirrored.getPosition());
+        assertEquals(100, mirrored.getId());
+    }
+
+    private static List<MPDCommand> info() {
+        return List.of(new MPDCommand("status"), new MPDCommand("playlistinfo"));
+    }
+
+    private static List<MPDCommand> changes(int version) {
+        return List.of(new MPDCommand("status"), new MPDCommand("plchanges", Integer.toString(version)));
+    }
+
+    private static List<String> status(int version, int length) {
+        return List.of("volume: 50", "playlist: " + version, "playlistlength: " + length, "state: play");
+    }
+
+    private static List<String> songs(int firstPosition, String... files) {
+        List<String> response = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            response.add("file: " + files[i]);
+            response.add("Title: " + files[i]);
+            response.add("Pos: " + (firstPosition + i));
+            response.add("Id: " + (firstPosition + i + 100));
+        }
+        return response;
+    }
+
+    private static List<String> files(List<MPDSong> songs) {
+        return songs.stream().map(MPDSong::getFile).collect(Collectors.toList());
+    }
+}
@@ -44,4 +44,24 @@ class TrackTagProcessorTest {
 
         assertEquals(0, song.getTrack());
     }
+
+    @Test
+    void testProcessSongWhitespace() {
+        TrackTagProcessor trackTagProcessor = new TrackTagProcessor();
+        MPDSong song = new MPDSong("testFile", "title");
+
+        trackTagProcessor.processTag(song, "Track: 7 /10");
+
+        assertEquals(7, song.getTrack());
+    }
+
+    @Test
+    void testProcessSongNoTotal() {
+        TrackTagProcessor trackTagProcessor = new TrackTagProcessor();
+        MPDSong song = new MPDSong("testFile", "title");
+
+        trackTagProcessor.processTag(song, "Track: 7");
+
+        assertEquals(7, song.getTrack());
+    }
 }
@@ -0,0 +1,57 @@
+package org.bff.javampd.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteBufferPoolTest {
+
+    @Test
+    void testAcquireNew() {
+        ByteBufferPool pool = new ByteBufferPool(16, 2);
+
+        assertEquals(16, pool.acquire(4).capacity());
+        assertEquals(32, pool.acquire(32).capacity());
+    }
+
+    @Test
+    void testReuse() {
+        ByteBufferPool pool = new ByteBufferPool(16, 2);
+        ByteBuffer buffer = pool.acquire(16);
+        buffer.put((byte) 1);
+
+        pool.release(buffer);
+        assertEquals(1, pool.getPooledCount());
+
+        ByteBuffer reused = pool.acquire(8);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    void testTooSmallReplaced() {
+        ByteBufferPool pool = new ByteBufferPool(16, 2);
+        ByteBuffer buffer = pool.acquire(16);
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(64));
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    void testMaxPooled() {
+        ByteBufferPool pool = new ByteBufferPool(16, 2);
+        ByteBuffer first = pool.acquire(16);
+        ByteBuffer second = pool.acquire(16);
+        ByteBuffer third = pool.acquire(16);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertEquals(2, pool.getPooledCount());
+    }
+}
@@ -0,0 +1,71 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandBufferTest {
+
+    @Test
+    void testParameterless() {
+        CommandBuffer buffer = new CommandBuffer(StandardCharsets.UTF_8);
+        assertEquals("status\n", buffer.append(new MPDCommand("status")).content());
+    }
+
+    @Test
+    void testParams() {
+        CommandBuffer buffer = new CommandBuffer(StandardCharsets.UTF_8);
+        buffer.append(new MPDCommand("find", "artist", "Sigur Rós"));
+        assertEquals("find \"artist\" \"Sigur Rós\"\n", buffer.content());
+    }
+
+    @Test
+    void testEscaping() {
+        CommandBuffer buffer = new CommandBuffer(StandardCharsets.UTF_8);
+        buffer.append(new MPDCommand("search", "title", "a \"b\" \\c"));
+        assertEquals("search \"title\" \"a \\\"b\\\" \\\\c\"\n", buffer.content());
+    }
+
+    @Test
+    void testEncode() {
+        byte[] encoded = CommandBuffer.encode(new MPDCommand("password", "se\"cret"), StandardCharsets.UTF_8);
+        assertEquals("password \"se\\\"cret\"\n", new String(encoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUtf8MatchesCharsetEncoder() {
+        String param = "ü € 𝄞 \uD800 end";
+        CommandBuffer buffer = new CommandBuffer(StandardCharsets.UTF_8);
+        buffer.append(new MPDCommand("add", param));
+
+        byte[] expected = ("add \"" + param + "\"\n").getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.size()));
+    }
+
+    @Test
+    void testOtherCharset() {
+        Charset latin1 = StandardCharsets.ISO_8859_1;
+        CommandBuffer buffer = new CommandBuffer(latin1);
+        buffer.append(new MPDCommand("add", "Björk \"live\""));
+        assertEquals("add \"Björk \\\"live\\\"\"\n", buffer.content());
+    }
+
+    @Test
+    void testResetAndGrow() {
+        CommandBuffer buffer = new CommandBuffer(StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append('x');
+        }
+        buffer.append(new MPDCommand("add", sb.toString()));
+        assertEquals(1000 + "add \"\"\n".length(), buffer.size());
+
+        buffer.reset().append(new MPDCommand("ping"));
+        assertEquals("ping\n", buffer.content());
+    }
+}
@@ -0,0 +1,182 @@
+package org.bff.javampd.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal line based MPD server for exercising the real transports.  Each command line is
+ * answered with the scripted response for it, {@code OK} if there isn't one.  An {@code idle}
+ * is answered by {@link #idleChange(String)} or a {@code noidle}.
+ */
+public class FakeMPDServer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeMPDServer.class);
+
+    public static final String VERSION = "OK MPD 0.22.0";
+
+    private final ServerSocket serverSocket;
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final List<String> commands = new CopyOnWriteArrayList<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final List<OutputStream> idling = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public FakeMPDServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "fake-mpd-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Scripts the response for a command line.  The response must include the
+     * terminating {@code OK} or {@code ACK} line.
+     *
+     * @param command  the full command line as sent by the client
+     * @param response the raw response
+     * @return this server
+     */
+    public FakeMPDServer respond(String command, String response) {
+        responses.put(command, response);
+        return this;
+    }
+
+    public InetAddress getAddress() {
+        return serverSocket.getInetAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public boolean isIdling() {
+        return !idling.isEmpty();
+    }
+
+    /**
+     * Answers every client parked in idle with the changed subsystem
+     *
+     * @param subsystem the subsystem that changed
+     */
+    public void idleChange(String subsystem) throws IOException {
+        for (OutputStream out : idling) {
+            if (idling.remove(out)) {
+                write(out, "changed: " + subsystem + "\nOK\n");
+            }
+        }
+    }
+
+    /**
+     * Drops every client connection while continuing to accept new ones
+     */
+    public void dropClients() throws IOException {
+        for (Socket client : clients) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        dropClients();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                connections.incrementAndGet();
+                clients.add(client);
+                Thread handler = new Thread(() -> serve(client), "fake-mpd-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                LOGGER.debug("fake server stopped accepting", e);
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8))) {
+            OutputStream out = client.getOutputStream();
+            out.write((VERSION + "\n").getBytes(StandardCharsets.UTF_8));
+
+            try {
+                answer(reader, out);
+            } finally {
+                idling.remove(out);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("fake server client closed", e);
+        }
+    }
+
+    private void answer(BufferedReader reader, OutputStream out) throws IOException {
+        List<String> commandList = null;
+        String line = reader.readLine();
+        while (line != null) {
+            commands.add(line);
+            if ("command_list_ok_begin".equals(line)) {
+                commandList = new ArrayList<>();
+            } else if ("command_list_end".equals(line)) {
+                write(out, commandListResponse(commandList));
+                commandList = null;
+            } else if (commandList != null) {
+                commandList.add(line);
+            } else if (line.startsWith("idle")) {
+                idling.add(out);
+            } else if ("noidle".equals(line)) {
+                if (idling.remove(out)) {
+                    write(out, "OK\n");
+                }
+            } else {
+                write(out, responses.getOrDefault(line, "OK\n"));
+            }
+            line = reader.readLine();
+        }
+    }
+
+    private static void write(OutputStream out, String response) throws IOException {
+        synchronized (out) {
+            out.write(response.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private String commandListResponse(List<String> commandList) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < commandList.size(); i++) {
+            String response = responses.getOrDefault(commandList.get(i), "OK\n");
+            if (response.startsWith("ACK") || response.contains("\nACK")) {
+                return sb.append(response.replace("@0]", "@" + i + "]")).toString();
+            }
+            sb.append(response, 0, response.length() - "OK\n".length()).append("list_OK\n");
+        }
+        return sb.append("OK\n").toString();
+    }
+}
@@ -11,10 +11,12 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -42,7 +44,6 @@ class MPDServerStatusTest {
     @BeforeEach
     void setUp() {
         statusList = new ArrayList<>();
-        when(clock.min()).thenReturn(LocalDateTime.MIN);
         serverStatus = new MPDServerStatus(properties, commandExecutor, clock);
     }
 
@@ -61,7 +62,6 @@ class MPDServerStatusTest {
         String version = "5";
         statusList.add("playlist: " + version);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(Integer.parseInt(version), serverStatus.getPlaylistVersion());
     }
@@ -70,7 +70,6 @@ class MPDServerStatusTest {
     void testInvalidPlaylistVersion() {
         statusList.add("playlist: junk");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getPlaylistVersion());
     }
@@ -79,7 +78,6 @@ class MPDServerStatusTest {
     void testEmptyPlaylistVersion() {
         statusList.add("junk: 0");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getPlaylistVersion());
     }
@@ -89,7 +87,6 @@ class MPDServerStatusTest {
         String state = "state";
         statusList.add("state: " + state);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(state, serverStatus.getState());
     }
@@ -99,7 +96,6 @@ class MPDServerStatusTest {
         String xfade = "5";
         statusList.add("xfade: " + xfade);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(Integer.parseInt(xfade), serverStatus.getXFade());
     }
@@ -108,7 +104,6 @@ class MPDServerStatusTest {
     void testInvalidXFade() {
         statusList.add("xfade: junk");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getXFade());
     }
@@ -117,7 +112,6 @@ class MPDServerStatusTest {
     void testEmptyXFade() {
         statusList.add("junk: 0");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
         assertEquals(0, serverStatus.getXFade());
     }
 
@@ -126,7 +120,6 @@ class MPDServerStatusTest {
         String audio = "audio";
         statusList.add("audio: " + audio);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(audio, serverStatus.getAudio());
     }
@@ -136,7 +129,6 @@ class MPDServerStatusTest {
         String error = "true";
         statusList.add("error: " + error);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertTrue(serverStatus.isError());
     }
@@ -146,7 +138,6 @@ class MPDServerStatusTest {
         String error = "true";
         statusList.add("error: " + error);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(error, serverStatus.getError());
     }
@@ -156,7 +147,6 @@ class MPDServerStatusTest {
         String time = "5:6";
         statusList.add("time: " + time);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(Integer.parseInt(time.split(":")[0]), serverStatus.getElapsedTime());
     }
@@ -166,7 +156,6 @@ class MPDServerStatusTest {
     void testElapsedTimes(String input) {
         statusList.add(input);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getElapsedTime());
     }
@@ -176,7 +165,6 @@ class MPDServerStatusTest {
     void testTotalTimeParseException(String input) {
         statusList.add(input);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getTotalTime());
     }
@@ -186,7 +174,6 @@ class MPDServerStatusTest {
         String time = "5:6";
         statusList.add("time: " + time);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(Integer.parseInt(time.split(":")[1]), serverStatus.getTotalTime());
     }
@@ -196,7 +183,6 @@ class MPDServerStatusTest {
         String bitrate = "5";
         statusList.add("bitrate: " + bitrate);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(Integer.parseInt(bitrate), serverStatus.getBitrate());
     }
@@ -205,7 +191,6 @@ class MPDServerStatusTest {
     void testInvalidBitrate() {
         statusList.add("bitrate: junk");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getBitrate());
     }
@@ -214,7 +199,6 @@ class MPDServerStatusTest {
     void testEmptyBitrate() {
         statusList.add("junk: 0");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getBitrate());
     }
@@ -224,7 +208,6 @@ class MPDServerStatusTest {
         String volume = "5";
         statusList.add("volume: " + volume);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(Integer.parseInt(volume), serverStatus.getVolume());
     }
@@ -233,7 +216,6 @@ class MPDServerStatusTest {
     void testInvalidVolume() {
         statusList.add("volume: junk");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getVolume());
     }
@@ -242,7 +224,6 @@ class MPDServerStatusTest {
     void testEmptyVolume() {
         statusList.add("junk: 0");
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertEquals(0, serverStatus.getVolume());
     }
@@ -252,7 +233,6 @@ class MPDServerStatusTest {
     void testIsRepeat(String repeat) {
         statusList.add("repeat: " + repeat);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.isRepeat(), is("1".equals(repeat)));
     }
@@ -262,7 +242,6 @@ class MPDServerStatusTest {
     void testIsDatabaseUpdating(String updating) {
         statusList.add("updating_db: " + updating);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.isDatabaseUpdating(), is(not("".equals(updating))));
     }
@@ -272,7 +251,6 @@ class MPDServerStatusTest {
     void testRandom(String random) {
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.isRandom(), is("1".equals(random)));
     }
@@ -282,7 +260,6 @@ class MPDServerStatusTest {
         String random = "1";
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.isRandom();
         serverStatus.isRandom();
@@ -294,9 +271,8 @@ class MPDServerStatusTest {
         String random = "1";
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
         serverStatus.isRandom();
-        when(clock.now()).thenReturn(LocalDateTime.now().plusMinutes(5));
+        when(clock.nanoTime()).thenReturn(TimeUnit.MINUTES.toNanos(5));
         serverStatus.isRandom();
         Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStatus());
     }
@@ -308,19 +284,78 @@ class MPDServerStatusTest {
         String random = "1";
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
         serverStatus.isRandom();
-        when(clock.now()).thenReturn(LocalDateTime.now().plusMinutes(interval * 2));
+        when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(interval * 2));
         serverStatus.isRandom();
         Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStatus());
     }
 
+    @Test
+    void testInsideSetExpiry() {
+        serverStatus.setExpiryInterval(10);
+        statusList.add("random: 1");
+        when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
+        serverStatus.isRandom();
+        when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(9));
+        serverStatus.isRandom();
+        Mockito.verify(commandExecutor, times(1)).sendCommand(properties.getStatus());
+    }
+
+    @Test
+    void testGetStatusRefreshesSnapshot() {
+        when(commandExecutor.sendCommand(properties.getStatus()))
+                .thenReturn(List.of("volume: 1"))
+                .thenReturn(List.of("volume: 2"));
+        assertEquals(1, serverStatus.getVolume());
+
+        serverStatus.getStatus();
+
+        assertEquals(2, serverStatus.getVolume());
+        Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStatus());
+    }
+
+    @Test
+    void testGetStatusSnapshot() {
+        statusList.add("volume: 5");
+        statusList.add("state: play");
+        when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
+
+        StatusSnapshot snapshot = serverStatus.getStatusSnapshot();
+
+        assertEquals(5, snapshot.getVolume());
+        assertEquals("play", snapshot.getState());
+        assertSame(snapshot, serverStatus.getStatusSnapshot());
+    }
+
+    @Test
+    void testConcurrentRefreshSendsOnce() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(commandExecutor.sendCommand(properties.getStatus())).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return List.of("volume: 7");
+        });
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(serverStatus::getVolume);
+        sending.await();
+        Thread waiting = new Thread(() -> assertEquals(7, serverStatus.getVolume()));
+        waiting.start();
+        while (waiting.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        waiting.join();
+
+        assertEquals(7, first.get());
+        Mockito.verify(commandExecutor, times(1)).sendCommand(properties.getStatus());
+    }
+
     @Test
     void testForceUpdate() {
         String random = "1";
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
         serverStatus.isRandom();
         serverStatus.forceUpdate();
         serverStatus.isRandom();
@@ -334,7 +369,6 @@ class MPDServerStatusTest {
         statusList.add("volume: " + volume);
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
         serverStatus.isRandom();
         serverStatus.forceUpdate();
         serverStatus.isRandom();
@@ -347,7 +381,6 @@ class MPDServerStatusTest {
     void testSingle(String single) {
         statusList.add("single: " + single);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.isSingle(), is("1".equals(single)));
     }
@@ -357,7 +390,6 @@ class MPDServerStatusTest {
     void testConsume(String consume) {
         statusList.add("consume: " + consume);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.isConsume(), is("1".equals(consume)));
     }
@@ -367,7 +399,6 @@ class MPDServerStatusTest {
         var id = 464;
         statusList.add(String.format("song: %s", id));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.playlistSongNumber().ifPresentOrElse( s -> assertThat(s, is(id)),
                 () -> fail("song was empty"));
@@ -376,7 +407,6 @@ class MPDServerStatusTest {
     @Test
     void testPlaylistSongNumberEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.playlistSongNumber(), is(Optional.empty()));
     }
@@ -386,7 +416,6 @@ class MPDServerStatusTest {
         var id = "464";
         statusList.add(String.format("songid: %s", id));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.playlistSongId().ifPresentOrElse( s -> assertThat(s, is(id)),
                 () -> fail("id was empty"));
@@ -395,7 +424,6 @@ class MPDServerStatusTest {
     @Test
     void testPlaylistSongIdEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.playlistSongId(), is(Optional.empty()));
     }
@@ -405,7 +433,6 @@ class MPDServerStatusTest {
         var id = 464;
         statusList.add(String.format("nextsong: %s", id));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.playlistNextSongNumber().ifPresentOrElse( s -> assertThat(s, is(id)),
                 () -> fail("number was empty"));
@@ -414,7 +441,6 @@ class MPDServerStatusTest {
     @Test
     void testPlaylistNextSongNumberEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.playlistNextSongNumber(), is(Optional.empty()));
     }
@@ -424,7 +450,6 @@ class MPDServerStatusTest {
         var id = "464";
         statusList.add(String.format("nextsongid: %s", id));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.playlistNextSongId().ifPresentOrElse( s -> assertThat(s, is(id)),
                 () -> fail("id was empty"));
@@ -433,7 +458,6 @@ class MPDServerStatusTest {
     @Test
     void testPlaylistNextSongIdEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.playlistNextSongId(), is(Optional.empty()));
     }
@@ -443,7 +467,6 @@ class MPDServerStatusTest {
         var duration = 235;
         statusList.add(String.format("duration: %s", duration));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.durationCurrentSong().ifPresentOrElse( s -> assertThat(s, is(duration)),
                 () -> fail("duration was empty"));
@@ -452,7 +475,6 @@ class MPDServerStatusTest {
     @Test
     void testDurationCurrentSongEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.durationCurrentSong(), is(Optional.empty()));
     }
@@ -462,7 +484,6 @@ class MPDServerStatusTest {
         var duration = 235;
         statusList.add(String.format("elapsed: %s", duration));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.elapsedCurrentSong().ifPresentOrElse( s -> assertThat(s, is(duration)),
                 () -> fail("duration was empty"));
@@ -471,7 +492,6 @@ class MPDServerStatusTest {
     @Test
     void testElapsedCurrentSongEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.elapsedCurrentSong(), is(Optional.empty()));
     }
@@ -481,7 +501,6 @@ class MPDServerStatusTest {
     void testMixRampDb(int db) {
         statusList.add(String.format("mixrampdb: %s", db));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.getMixRampDb().ifPresentOrElse( s -> assertThat(s, is(db)),
                 () -> fail("db was empty"));
@@ -490,7 +509,6 @@ class MPDServerStatusTest {
     @Test
     void testMixRampDbEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.getMixRampDb(), is(Optional.empty()));
     }
@@ -500,7 +518,6 @@ class MPDServerStatusTest {
     void testMixRampDelay(int delay) {
         statusList.add(String.format("mixrampdelay: %s", delay));
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         serverStatus.getMixRampDelay().ifPresentOrElse( s -> assertThat(s, is(delay)),
                 () -> fail("delay was empty"));
@@ -509,7 +526,6 @@ class MPDServerStatusTest {
     @Test
     void testMixRampDelayEmpty() {
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
 
         assertThat(serverStatus.getMixRampDelay(), is(Optional.empty()));
     }
@@ -9,6 +9,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -76,9 +77,8 @@ class MPDSocketTest {
         responseList.add(testResponse);
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         MPDCommand command = new MPDCommand("command");
 
@@ -91,11 +91,7 @@ class MPDSocketTest {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null);
+                .thenReturn("OK");
 
         MPDCommand command = new MPDCommand("command");
 
@@ -108,15 +104,11 @@ class MPDSocketTest {
         String testResponse = "testResponse";
         createValidSocket();
 
-        mockedInputStream = new ByteArrayInputStream(VERSION_RESPONSE.getBytes());
-        when(mockSocket.getInputStream()).thenReturn(mockedInputStream);
-
         when(mockedBufferedReader.readLine())
-                .thenReturn(VERSION_RESPONSE)
                 .thenThrow(new SocketException())
                 .thenReturn(VERSION_RESPONSE)
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         MPDCommand command = new MPDCommand("command");
 
@@ -124,6 +116,158 @@ class MPDSocketTest {
         assertEquals(testResponse, response.get(0));
     }
 
+    @Test
+    void testSendCommandNoPing() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("OK");
+
+        mockedOutputStream = mock(OutputStream.class);
+        when(mockSocket.getOutputStream()).thenReturn(mockedOutputStream);
+        socket.sendCommand(new MPDCommand("command"));
+
+        assertArrayEquals("command\n".getBytes(), written());
+    }
+
+    @Test
+    void testSendCommandEscapesParams() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("OK");
+
+        mockedOutputStream = mock(OutputStream.class);
+        when(mockSocket.getOutputStream()).thenReturn(mockedOutputStream);
+        socket.sendCommand(new MPDCommand("find", "title", "say \"hi\" C:\\music", "Sigur Rós ♫ 𝄞"));
+
+        assertArrayEquals("find \"title\" \"say \\\"hi\\\" C:\\\\music\" \"Sigur Rós ♫ 𝄞\"\n".getBytes(StandardCharsets.UTF_8),
+                written());
+    }
+
+    @Test
+    void testSendCommandEndOfStreamReconnects() throws IOException {
+        String testResponse = "testResponse";
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn(testResponse)
+                .thenReturn(null)
+                .thenReturn(VERSION_RESPONSE)
+                .thenReturn(testResponse)
+                .thenReturn("OK");
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("command")));
+        assertEquals(List.of(testResponse), response);
+        verify(mockSocket, times(2)).connect(any(), anyInt());
+    }
+
+    @Test
+    void testSendCloseEndOfStream() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn(null);
+
+        ServerProperties serverProperties = new ServerProperties();
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand(serverProperties.getClose())));
+        assertTrue(response.isEmpty());
+        verify(mockSocket, times(1)).connect(any(), anyInt());
+    }
+
+    @Test
+    void testLastActivity() throws IOException {
+        createValidSocket();
+        long connected = socket.getLastActivity();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("OK");
+        socket.sendCommand(new MPDCommand("command"));
+
+        assertTrue(socket.getLastActivity() - connected >= 0);
+    }
+
+    @Test
+    void testPing() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("OK");
+
+        assertTrue(socket.ping());
+    }
+
+    @Test
+    void testPingFailure() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenThrow(new SocketException());
+
+        assertFalse(socket.ping());
+        verify(mockSocket, times(1)).connect(any(), anyInt());
+    }
+
+    @Test
+    void testSocketKeepAlive() throws IOException {
+        createValidSocket();
+        verify(mockSocket).setKeepAlive(true);
+    }
+
+    @Test
+    void testSendPipelined() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("state: play")
+                .thenReturn("OK")
+                .thenReturn("OK")
+                .thenReturn("songs: 1")
+                .thenReturn("OK");
+
+        mockedOutputStream = mock(OutputStream.class);
+        when(mockSocket.getOutputStream()).thenReturn(mockedOutputStream);
+
+        List<MPDCommand> commands = List.of(
+                new MPDCommand("status"),
+                new MPDCommand("clearerror"),
+                new MPDCommand("stats"));
+        List<List<String>> responses = socket.sendPipelined(commands);
+
+        assertEquals(List.of(List.of("state: play"), List.of(), List.of("songs: 1")), responses);
+        assertArrayEquals("status\nclearerror\nstats\n".getBytes(), written());
+    }
+
+    @Test
+    void testSendPipelinedSecurityExceptionAfterDrain() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("ACK [5@0] {bogus} unknown command")
+                .thenReturn("ACK [4@0] {play} you don't have permission for \"play\"")
+                .thenReturn("OK");
+
+        List<MPDCommand> commands = List.of(new MPDCommand("bogus"), new MPDCommand("play"), new MPDCommand("ping"));
+        assertThrows(MPDSecurityException.class, () -> socket.sendPipelined(commands));
+        verify(mockedBufferedReader, times(4)).readLine();
+    }
+
+    @Test
+    void testSendPipelinedEndOfStreamReconnects() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("OK")
+                .thenReturn(null)
+                .thenReturn(VERSION_RESPONSE)
+                .thenReturn("OK")
+                .thenReturn("OK");
+
+        List<MPDCommand> commands = List.of(new MPDCommand("ping"), new MPDCommand("ping"));
+        assertEquals(List.of(List.of(), List.of()), socket.sendPipelined(commands));
+        verify(mockSocket, times(2)).connect(any(), anyInt());
+    }
+
     @Test
     void testSendCommandNoPermissionResponse() throws IOException {
         String testResponse = "ACK: you don't have permission";
@@ -133,9 +277,7 @@ class MPDSocketTest {
         responseList.add(testResponse);
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
-                .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn(testResponse);
         MPDCommand command = new MPDCommand("command", "params");
         assertThrows(MPDSecurityException.class, () -> socket.sendCommand(command));
     }
@@ -145,8 +287,7 @@ class MPDSocketTest {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
-                .thenThrow(new MPDSecurityException("security exception"));
+                .thenReturn("ACK [4@0] {command} you don't have permission for \"command\"");
 
         List<MPDCommand> commands = new ArrayList<>();
         commands.add(new MPDCommand("command", "params"));
@@ -159,7 +300,6 @@ class MPDSocketTest {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
                 .thenThrow(new RuntimeException("exception"));
 
         List<MPDCommand> commands = new ArrayList<>();
@@ -177,9 +317,7 @@ class MPDSocketTest {
         responseList.add(testResponse);
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
-                .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn(testResponse);
 
         MPDCommand command = new MPDCommand("command", "params");
 
@@ -217,7 +355,7 @@ class MPDSocketTest {
         when(mockedBufferedReader.readLine())
                 .thenReturn("OK")
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         when(mockSocket.isClosed()).thenReturn(true);
 
@@ -239,7 +377,7 @@ class MPDSocketTest {
         when(mockedBufferedReader.readLine())
                 .thenReturn("OK")
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         assertDoesNotThrow(() -> socket.sendCommand(new MPDCommand("command", "params")));
     }
@@ -253,9 +391,7 @@ class MPDSocketTest {
         responseList.add(testResponse);
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
-                .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn(testResponse);
 
         MPDCommand command = new MPDCommand("command", "params");
 
@@ -278,7 +414,6 @@ class MPDSocketTest {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
                 .thenThrow(new RuntimeException());
 
         assertThrows(Exception.class,
@@ -289,13 +424,12 @@ class MPDSocketTest {
     void testSendCommandExceptionWithConnectException() throws IOException {
         createValidSocket();
 
-        mockedInputStream = new ByteArrayInputStream(VERSION_RESPONSE.getBytes());
+        mockedInputStream = new LineInputStream(mockedBufferedReader);
         when(mockSocket.getInputStream())
                 .thenThrow(new SocketException())
                 .thenReturn(mockedInputStream);
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
                 .thenThrow(new SocketException())
                 .thenReturn("OK");
 
@@ -306,7 +440,6 @@ class MPDSocketTest {
     void testSendCommandExceptionWithMaxConnectExceptions() throws IOException {
         createValidSocket();
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
                 .thenThrow(new SocketException())
                 .thenThrow(new SocketException())
                 .thenThrow(new SocketException())
@@ -323,9 +456,10 @@ class MPDSocketTest {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null);
+                .thenReturn("list_OK")
+                .thenReturn("list_OK")
+                .thenReturn("list_OK")
+                .thenReturn("OK");
 
         List<MPDCommand> commands = new ArrayList<>();
 
@@ -339,7 +473,7 @@ class MPDSocketTest {
 
         mockedOutputStream = mock(OutputStream.class);
         when(mockSocket.getOutputStream()).thenReturn(mockedOutputStream);
-        socket.sendCommands(commands);
+        List<List<String>> responses = socket.sendCommands(commands);
 
         ServerProperties serverProperties = new ServerProperties();
         StringBuilder sb = new StringBuilder();
@@ -347,83 +481,93 @@ class MPDSocketTest {
         commands.forEach(command -> sb.append(convertCommand(command)));
         sb.append(convertCommand(new MPDCommand(serverProperties.getEndBulk())));
 
-        verify(mockedOutputStream, times(2)).write(byteArgumentCaptor.capture());
-
-        assertArrayEquals(sb.toString().getBytes(), byteArgumentCaptor.getAllValues().get(1));
+        assertArrayEquals(sb.toString().getBytes(), written());
+        assertEquals(List.of(List.of(), List.of(), List.of()), responses);
     }
 
     @Test
-    void testSendCommandsExtraResponses() throws IOException {
+    void testSendCommandsResponses() throws IOException {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
-                .thenReturn("OK")
-                .thenReturn("unexpected");
-
-        when(mockedBufferedReader.ready())
-                .thenReturn(true)
-                .thenReturn(false);
-
-        List<MPDCommand> commands = new ArrayList<>();
+                .thenReturn("file: song1")
+                .thenReturn("list_OK")
+                .thenReturn("list_OK")
+                .thenReturn("file: song2")
+                .thenReturn("file: song3")
+                .thenReturn("list_OK")
+                .thenReturn("OK");
 
-        MPDCommand command1 = new MPDCommand("command1");
-        MPDCommand command2 = new MPDCommand("command2", "param2");
-        MPDCommand command3 = new MPDCommand("command3");
+        List<MPDCommand> commands = List.of(
+                new MPDCommand("find", "file", "song1"),
+                new MPDCommand("clearerror"),
+                new MPDCommand("playlistinfo", "1:3"));
 
-        commands.add(command1);
-        commands.add(command2);
-        commands.add(command3);
+        List<List<String>> responses = socket.sendCommands(commands);
 
-        mockedOutputStream = mock(OutputStream.class);
-        when(mockSocket.getOutputStream()).thenReturn(mockedOutputStream);
-        socket.sendCommands(commands);
-
-        ServerProperties serverProperties = new ServerProperties();
-        StringBuilder sb = new StringBuilder();
-        sb.append(convertCommand(new MPDCommand(serverProperties.getStartBulk())));
-        commands.forEach(command -> sb.append(convertCommand(command)));
-        sb.append(convertCommand(new MPDCommand(serverProperties.getEndBulk())));
+        assertEquals(List.of(
+                List.of("file: song1"),
+                List.of(),
+                List.of("file: song2", "file: song3")), responses);
+    }
 
-        verify(mockedOutputStream, times(2)).write(byteArgumentCaptor.capture());
+    @Test
+    void testSendCommandsWithError() throws IOException {
+        createValidSocket();
 
-        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getAllValues().get(1)));
+        when(mockedBufferedReader.readLine())
+                .thenReturn("file: song1")
+                .thenReturn("list_OK")
+                .thenReturn("ACK [50@1] {play} song doesn't exist: \"10240\"");
+
+        List<MPDCommand> commands = List.of(
+                new MPDCommand("find", "file", "song1"),
+                new MPDCommand("play", "10240"),
+                new MPDCommand("status"));
+
+        MPDCommandListException exception = assertThrows(MPDCommandListException.class,
+                () -> socket.sendCommands(commands));
+
+        assertAll(
+                () -> assertEquals(1, exception.getIndex()),
+                () -> assertEquals(50, exception.getErrorCode()),
+                () -> assertEquals("play", exception.getCommand()),
+                () -> assertEquals(List.of(List.of("file: song1")), exception.getResponses())
+        );
     }
 
     @Test
-    void testSendCommandsWithError() throws IOException {
+    void testSendCommandsWithUnparseableError() throws IOException {
         createValidSocket();
 
         when(mockedBufferedReader.readLine())
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null)
-                .thenReturn("Error")
-                .thenReturn(null);
+                .thenReturn("list_OK")
+                .thenReturn("ACK");
 
-        List<MPDCommand> commands = new ArrayList<>();
+        List<MPDCommand> commands = List.of(new MPDCommand("command1"), new MPDCommand("command2"));
 
-        MPDCommand command1 = new MPDCommand("command1");
-        MPDCommand command2 = new MPDCommand("command2", "param2");
-        MPDCommand command3 = new MPDCommand("command3");
+        MPDCommandListException exception = assertThrows(MPDCommandListException.class,
+                () -> socket.sendCommands(commands));
 
-        commands.add(command1);
-        commands.add(command2);
-        commands.add(command3);
+        assertEquals(1, exception.getIndex());
+        assertEquals(0, exception.getErrorCode());
+    }
 
-        mockedOutputStream = mock(OutputStream.class);
-        when(mockSocket.getOutputStream()).thenReturn(mockedOutputStream);
-        socket.sendCommands(commands);
+    @Test
+    void testSendCommandsEndOfStreamReconnects() throws IOException {
+        createValidSocket();
 
-        ServerProperties serverProperties = new ServerProperties();
-        StringBuilder sb = new StringBuilder();
-        sb.append(convertCommand(new MPDCommand(serverProperties.getStartBulk())));
-        commands.forEach(command -> sb.append(convertCommand(command)));
-        sb.append(convertCommand(new MPDCommand(serverProperties.getEndBulk())));
+        when(mockedBufferedReader.readLine())
+                .thenReturn("list_OK")
+                .thenReturn(null)
+                .thenReturn(VERSION_RESPONSE)
+                .thenReturn("list_OK")
+                .thenReturn("OK");
 
-        verify(mockedOutputStream, times(2)).write(byteArgumentCaptor.capture());
+        List<List<String>> responses = socket.sendCommands(List.of(new MPDCommand("command1")));
 
-        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getAllValues().get(1)));
+        assertEquals(List.of(List.of()), responses);
+        verify(mockSocket, times(2)).connect(any(), anyInt());
     }
 
     @Test
@@ -447,11 +591,81 @@ class MPDSocketTest {
     }
 
     @Test
-    void testCloseReaderException() throws IOException {
+    void testSendBinaryCommand() throws IOException {
         createValidSocket();
 
-        doThrow(new IOException()).when(mockedBufferedReader).close();
-        assertThrows(MPDConnectionException.class, () -> socket.close());
+        when(mockedBufferedReader.readLine())
+                .thenReturn("size: 2")
+                .thenReturn("binary: 2")
+                .thenReturn("ab")
+                .thenReturn("OK");
+
+        ByteBufferPool pool = new ByteBufferPool(8, 2);
+        try (BinaryResponse response = socket.sendBinaryCommand(new MPDCommand("albumart", "a.flac", "0"), pool)) {
+            assertEquals(List.of("size: 2"), response.getResponse());
+            assertEquals("ab", StandardCharsets.UTF_8.decode(response.getData()).toString());
+        }
+        assertEquals(1, pool.getPooledCount());
+    }
+
+    @Test
+    void testSendBinaryPipelinedError() throws IOException {
+        createValidSocket();
+
+        when(mockedBufferedReader.readLine())
+                .thenReturn("size: 4")
+                .thenReturn("binary: 2")
+                .thenReturn("ab")
+                .thenReturn("OK")
+                .thenReturn("ACK [50@0] {albumart} No file exists");
+
+        ByteBufferPool pool = new ByteBufferPool(8, 2);
+        List<MPDCommand> commands = List.of(new MPDCommand("albumart", "a.flac", "0"),
+                new MPDCommand("albumart", "a.flac", "2"));
+        assertThrows(MPDConnectionException.class, () -> socket.sendBinaryPipelined(commands, pool));
+        assertEquals(1, pool.getPooledCount());
+    }
+
+    @Test
+    void testResponseLinesHandled() throws IOException {
+        createValidSocket();
+
+        MPDCommand command = new MPDCommand("listallinfo");
+        when(mockedBufferedReader.readLine())
+                .thenReturn("file: a.flac")
+                .thenReturn("Title: Glósóli")
+                .thenReturn("OK");
+
+        List<String> values = new ArrayList<>();
+        socket.sendCommand(command, line -> values.add(line.value()));
+        assertEquals(List.of("a.flac", "Glósóli"), values);
+    }
+
+    @Test
+    void testResponseLinesHandledError() throws IOException {
+        createValidSocket();
+
+        MPDCommand command = new MPDCommand("listallinfo");
+        when(mockedBufferedReader.readLine())
+                .thenReturn("ACK [50@0] {listallinfo} No such directory");
+
+        assertThrows(MPDConnectionException.class, () -> socket.sendCommand(command, line -> {
+        }));
+    }
+
+    @Test
+    void testResponseLinesHandledConnectionLost() throws IOException {
+        createValidSocket();
+
+        MPDCommand command = new MPDCommand("listallinfo");
+        when(mockedBufferedReader.readLine())
+                .thenReturn("file: a.flac")
+                .thenThrow(new SocketException())
+                .thenReturn(VERSION_RESPONSE);
+
+        List<String> values = new ArrayList<>();
+        assertThrows(MPDConnectionException.class, () -> socket.sendCommand(command, line -> values.add(line.value())));
+        assertEquals(List.of("a.flac"), values);
     }
 
     @Test
@@ -464,7 +678,7 @@ class MPDSocketTest {
         StringBuilder sb = new StringBuilder(command.getCommand());
 
         for (String param : command.getParams()) {
-            param = param.replaceAll("\"", "\\\\\"");
+            param = param.replace("\\", "\\\\").replace("\"", "\\\"");
             sb.append(" \"").append(param).append("\"");
         }
 
@@ -475,11 +689,21 @@ class MPDSocketTest {
         createValidSocket(true);
     }
 
+    /**
+     * Returns the bytes of the single write to the mocked output stream
+     */
+    private byte[] written() throws IOException {
+        ArgumentCaptor<Integer> offset = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> length = ArgumentCaptor.forClass(Integer.class);
+        verify(mockedOutputStream).write(byteArgumentCaptor.capture(), offset.capture(), length.capture());
+        return Arrays.copyOfRange(byteArgumentCaptor.getValue(), offset.getValue(), offset.getValue() + length.getValue());
+    }
+
     private void createValidSocket(boolean connected) throws IOException {
         mockSocket = mock(Socket.class);
-        mockedInputStream = new ByteArrayInputStream(VERSION_RESPONSE.getBytes());
-        mockedOutputStream = new ByteArrayOutputStream();
         mockedBufferedReader = mock(BufferedReader.class);
+        mockedInputStream = new LineInputStream(mockedBufferedReader);
+        mockedOutputStream = new ByteArrayOutputStream();
         byteArgumentCaptor = ArgumentCaptor.forClass(byte[].class);
 
         when(mockSocket.getInputStream()).thenReturn(mockedInputStream);
@@ -494,7 +718,6 @@ class MPDSocketTest {
         }
 
         socket = new TestSocket(inetAddress, 9999, 10);
-        socket.setReader(mockedBufferedReader);
         if (connected) {
             when(mockSocket.isConnected()).thenReturn(true);
         }
@@ -510,12 +733,44 @@ class MPDSocketTest {
             return mockSocket;
         }
 
-        public void setReader(BufferedReader reader) {
-            super.setReader(mockedBufferedReader);
-        }
-
         Socket createParentSocket() {
             return super.createSocket();
         }
     }
+
+    /**
+     * Serves the lines of a mocked reader as the bytes of the socket, one line per read
+     */
+    private static class LineInputStream extends InputStream {
+        private final BufferedReader reader;
+        private byte[] pending = new byte[0];
+        private int position;
+
+        LineInputStream(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position == pending.length) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return -1;
+                }
+                pending = (line + "\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+
+            int count = Math.min(len, pending.length - position);
+            System.arraycopy(pending, position, b, off, count);
+            position += count;
+            return count;
+        }
+    }
 }
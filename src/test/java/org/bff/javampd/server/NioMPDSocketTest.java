@@ -0,0 +1,296 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioMPDSocketTest {
+
+    private FakeMPDServer server;
+    private NioMPDSocket socket;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeMPDServer();
+        socket = new NioMPDSocket(server.getAddress(), server.getPort(), 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        socket.close();
+        server.close();
+    }
+
+    @Test
+    void testGetVersion() {
+        assertEquals("MPD 0.22.0", socket.getVersion());
+    }
+
+    @Test
+    void testSendCommand() {
+        server.respond("status", "volume: 50\nstate: play\nOK\n");
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("status")));
+
+        assertEquals(List.of("volume: 50", "state: play"), response);
+    }
+
+    @Test
+    void testSendCommandWithParams() {
+        server.respond("find \"album\" \"the album\"", "file: song.flac\nOK\n");
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("find", "album", "the album")));
+
+        assertEquals(List.of("file: song.flac"), response);
+    }
+
+    @Test
+    void testSendCommandLargerThanBuffer() {
+        StringBuilder sb = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String line = "file: artist/album/" + i + ".flac";
+            expected.add(line);
+            sb.append(line).append("\n");
+        }
+        String longLine = "Title: " + "x".repeat(40 * 1024);
+        expected.add(longLine);
+        sb.append(longLine).append("\nOK\n");
+        server.respond("listall", sb.toString());
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("listall")));
+
+        assertEquals(expected, response);
+    }
+
+    @Test
+    void testSendCommandUtf8() {
+        server.respond("currentsong", "Artist: Sigur Rós\nTitle: Hoppípolla\nOK\n");
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("currentsong")));
+
+        assertEquals(List.of("Artist: Sigur Rós", "Title: Hoppípolla"), response);
+    }
+
+    @Test
+    void testSendCommandError() {
+        server.respond("bogus", "ACK [5@0] {bogus} unknown command \"bogus\"\n");
+
+        MPDCommand command = new MPDCommand("bogus");
+        assertThrows(MPDConnectionException.class, () -> socket.sendCommand(command));
+    }
+
+    @Test
+    void testSendPipelined() {
+        server.respond("status", "state: play\nOK\n")
+                .respond("currentsong", "file: song.flac\nTitle: song\nOK\n")
+                .respond("stats", "songs: 1\nOK\n");
+
+        List<List<String>> responses = socket.sendPipelined(List.of(
+                new MPDCommand("status"),
+                new MPDCommand("currentsong"),
+                new MPDCommand("stats")));
+
+        assertEquals(List.of(
+                List.of("state: play"),
+                List.of("file: song.flac", "Title: song"),
+                List.of("songs: 1")), responses);
+    }
+
+    @Test
+    void testSendPipelinedErrorDrainsResponses() {
+        server.respond("bogus", "ACK [5@0] {bogus} unknown command \"bogus\"\n")
+                .respond("status", "state: play\nOK\n");
+
+        List<MPDCommand> commands = List.of(new MPDCommand("bogus"), new MPDCommand("status"));
+        assertThrows(MPDConnectionException.class, () -> socket.sendPipelined(commands));
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("status")));
+        assertEquals(List.of("state: play"), response);
+    }
+
+    @Test
+    void testSendCommands() {
+        server.respond("find \"file\" \"song1\"", "file: song1\nOK\n")
+                .respond("find \"file\" \"song2\"", "file: song2\nOK\n");
+
+        List<List<String>> responses = socket.sendCommands(List.of(
+                new MPDCommand("find", "file", "song1"),
+                new MPDCommand("find", "file", "song2")));
+
+        assertEquals(List.of(List.of("file: song1"), List.of("file: song2")), responses);
+    }
+
+    @Test
+    void testSendCommandsError() {
+        server.respond("play \"10240\"", "ACK [50@0] {play} song doesn't exist: \"10240\"\n");
+
+        List<MPDCommand> commands = List.of(new MPDCommand("status"), new MPDCommand("play", "10240"));
+        MPDCommandListException exception = assertThrows(MPDCommandListException.class,
+                () -> socket.sendCommands(commands));
+
+        assertEquals(1, exception.getIndex());
+        assertEquals(List.of(List.of()), exception.getResponses());
+    }
+
+    @Test
+    void testSendCommandReconnects() throws IOException {
+        server.respond("status", "state: stop\nOK\n");
+        socket.sendCommand(new MPDCommand("status"));
+
+        server.dropClients();
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("status")));
+        assertEquals(List.of("state: stop"), response);
+        assertEquals(2, server.getConnections());
+    }
+
+    @Test
+    void testIdleChange() throws Exception {
+        CompletableFuture<List<String>> idle = idle();
+        await().until(server::isIdling);
+
+        server.idleChange("player");
+
+        assertEquals(List.of("changed: player"), idle.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testNoidleWakesIdle() throws Exception {
+        CompletableFuture<List<String>> idle = idle();
+        await().until(server::isIdling);
+
+        socket.noidle();
+
+        assertEquals(List.of(), idle.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("idle \"player\" \"mixer\"", "noidle"), server.getCommands());
+    }
+
+    @Test
+    void testNoidleNotIdle() {
+        server.respond("status", "state: stop\nOK\n");
+        socket.noidle();
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("status")));
+        assertEquals(List.of("state: stop"), response);
+    }
+
+    @Test
+    void testNoidleAfterClose() {
+        socket.close();
+
+        assertDoesNotThrow(() -> socket.noidle());
+    }
+
+    @Test
+    void testOpenResponse() {
+        server.respond("listallinfo", "file: a.flac\nTitle: a\nfile: b.flac\nOK\n");
+
+        List<String> lines = new ArrayList<>();
+        try (ResponseReader reader = socket.openResponse(new MPDCommand("listallinfo"))) {
+            while (reader.next()) {
+                lines.add(reader.decoder().line());
+            }
+        }
+
+        assertEquals(List.of("file: a.flac", "Title: a", "file: b.flac"), lines);
+    }
+
+    @Test
+    void testOpenResponseEmpty() {
+        try (ResponseReader reader = socket.openResponse(new MPDCommand("listallinfo"))) {
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void testOpenResponseCloseSkipsRest() {
+        server.respond("listallinfo", "file: a.flac\nfile: b.flac\nfile: c.flac\nOK\n");
+        server.respond("status", "volume: 50\nOK\n");
+
+        try (ResponseReader reader = socket.openResponse(new MPDCommand("listallinfo"))) {
+            assertTrue(reader.next());
+        }
+
+        assertEquals(List.of("volume: 50"), new ArrayList<>(socket.sendCommand(new MPDCommand("status"))));
+    }
+
+    @Test
+    void testOpenResponseBlocksOtherCommands() {
+        server.respond("listallinfo", "file: a.flac\nOK\n");
+        MPDCommand status = new MPDCommand("status");
+
+        try (ResponseReader reader = socket.openResponse(new MPDCommand("listallinfo"))) {
+            assertThrows(IllegalStateException.class, () -> socket.sendCommand(status));
+        }
+    }
+
+    @Test
+    void testOpenResponseError() {
+        server.respond("find \"bogus\"", "ACK [2@0] {find} incorrect arguments\n");
+        MPDCommand command = new MPDCommand("find", "bogus");
+
+        assertThrows(MPDConnectionException.class, () -> socket.openResponse(command));
+        assertDoesNotThrow(() -> socket.sendCommand(new MPDCommand("status")));
+    }
+
+    @Test
+    void testSendCommandAfterClose() {
+        socket.close();
+
+        MPDCommand command = new MPDCommand("status");
+        assertThrows(MPDConnectionException.class, () -> socket.sendCommand(command));
+    }
+
+    @Test
+    void testReadTimeout() {
+        server.respond("status", "volume: 50\n");
+        NioMPDSocket timing = new NioMPDSocket(server.getAddress(), server.getPort(), 100);
+
+        MPDCommand command = new MPDCommand("status");
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(MPDConnectionException.class, () -> timing.sendCommand(command)));
+        } finally {
+            timing.close();
+        }
+    }
+
+    @Test
+    void testIdleNotTimedOut() throws Exception {
+        socket.close();
+        socket = new NioMPDSocket(server.getAddress(), server.getPort(), 100);
+        CompletableFuture<List<String>> idle = idle();
+        await().until(server::isIdling);
+
+        await().pollDelay(Duration.ofMillis(300)).until(() -> true);
+        server.idleChange("player");
+
+        assertEquals(List.of("changed: player"), idle.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testConnectRefused() throws IOException {
+        int port = server.getPort();
+        server.close();
+
+        assertThrows(MPDConnectionException.class,
+                () -> new NioMPDSocket(server.getAddress(), port, 1000));
+    }
+
+    private CompletableFuture<List<String>> idle() {
+        return CompletableFuture.supplyAsync(() ->
+                new ArrayList<>(socket.sendCommand(new MPDCommand("idle", "player", "mixer"))));
+    }
+}
@@ -0,0 +1,91 @@
+package org.bff.javampd.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioSelectorTest {
+    private static final NioSelector SELECTOR = new NioSelector("nio-selector-test");
+
+    private ServerSocket serverSocket;
+    private SocketChannel channel;
+    private Socket peer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        channel = SocketChannel.open(new InetSocketAddress(serverSocket.getInetAddress(), serverSocket.getLocalPort()));
+        channel.configureBlocking(false);
+        peer = serverSocket.accept();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        channel.close();
+        peer.close();
+        serverSocket.close();
+    }
+
+    @Test
+    void testReadable() throws Exception {
+        CompletableFuture<Void> readable = waitFor(SelectionKey.OP_READ, 0);
+        peer.getOutputStream().write('x');
+
+        assertDoesNotThrow(() -> readable.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testWritableWhileReading() throws Exception {
+        CompletableFuture<Void> readable = waitFor(SelectionKey.OP_READ, 0);
+
+        SELECTOR.await(channel, SelectionKey.OP_WRITE, 1000);
+        assertFalse(readable.isDone());
+
+        peer.getOutputStream().write('x');
+        assertDoesNotThrow(() -> readable.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTimeout() {
+        assertThrows(SocketTimeoutException.class, () -> SELECTOR.await(channel, SelectionKey.OP_READ, 50));
+    }
+
+    @Test
+    void testClosedReleasesWaiter() throws IOException {
+        CompletableFuture<Void> readable = waitFor(SelectionKey.OP_READ, 0);
+        await().pollDelay(Duration.ofMillis(100)).until(() -> true);
+
+        channel.close();
+        SELECTOR.closed(channel);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> readable.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause().getCause() instanceof AsynchronousCloseException);
+    }
+
+    private CompletableFuture<Void> waitFor(int operation, int timeout) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                SELECTOR.await(channel, operation, timeout);
+            } catch (IOException e) {
+                throw new MPDConnectionException(e);
+            }
+        });
+    }
+}
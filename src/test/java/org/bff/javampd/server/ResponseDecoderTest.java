@@ -0,0 +1,192 @@
+package org.bff.javampd.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseDecoderTest {
+
+    @Test
+    void testKeyValue() throws IOException {
+        ResponseDecoder decoder = decoder("file: music/a.flac\nOK\n");
+
+        assertTrue(decoder.next());
+        assertTrue(decoder.hasKey());
+        assertEquals("file", decoder.key());
+        assertEquals("music/a.flac", decoder.value());
+        assertEquals("file: music/a.flac", decoder.line());
+        assertTrue(decoder.keyEquals(ResponseDecoder.encode("file")));
+        assertFalse(decoder.keyEquals(ResponseDecoder.encode("fil")));
+        assertFalse(decoder.keyEquals(ResponseDecoder.encode("file:")));
+
+        assertTrue(decoder.next());
+        assertTrue(decoder.startsWith(ResponseDecoder.encode("OK")));
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testValueWithSeparator() throws IOException {
+        ResponseDecoder decoder = decoder("Title: Part 1: Intro\n");
+
+        assertTrue(decoder.next());
+        assertEquals("Title", decoder.key());
+        assertEquals("Part 1: Intro", decoder.value());
+    }
+
+    @Test
+    void testNoKey() throws IOException {
+        ResponseDecoder decoder = decoder("OK MPD 0.22.0\n");
+
+        assertTrue(decoder.next());
+        assertFalse(decoder.hasKey());
+        assertEquals("OK MPD 0.22.0", decoder.key());
+        assertEquals("", decoder.value());
+    }
+
+    @Test
+    void testCarriageReturn() throws IOException {
+        ResponseDecoder decoder = decoder("volume: 50\r\nOK\r\n");
+
+        assertTrue(decoder.next());
+        assertEquals("50", decoder.value());
+        assertTrue(decoder.next());
+        assertEquals("OK", decoder.line());
+        assertEquals(2, decoder.length());
+    }
+
+    @Test
+    void testUtf8() throws IOException {
+        ResponseDecoder decoder = decoder("Artist: Sigur Rós\n");
+
+        assertTrue(decoder.next());
+        assertEquals("Sigur Rós", decoder.value());
+    }
+
+    @Test
+    void testLineWithoutTerminator() throws IOException {
+        ResponseDecoder decoder = decoder("OK\nACK [5@0] {} unknown");
+
+        assertTrue(decoder.next());
+        assertTrue(decoder.next());
+        assertEquals("ACK [5@0] {} unknown", decoder.line());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testLinesSplitAcrossReads() throws IOException {
+        byte[] bytes = "Album: One\nAlbum: Two\nOK\n".getBytes(StandardCharsets.UTF_8);
+        int[] position = {0};
+        ResponseDecoder decoder = new ResponseDecoder((buffer, offset, length) -> {
+            if (position[0] == bytes.length) {
+                return -1;
+            }
+            buffer[offset] = bytes[position[0]++];
+            return 1;
+        }, StandardCharsets.UTF_8);
+
+        assertTrue(decoder.next());
+        assertEquals("One", decoder.value());
+        assertTrue(decoder.next());
+        assertEquals("Two", decoder.value());
+        assertTrue(decoder.next());
+        assertEquals("OK", decoder.line());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testLineLargerThanBuffer() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append('x');
+        }
+        String value = sb.toString();
+        ResponseDecoder decoder = decoder("comment: " + value + "\nOK\n");
+
+        assertTrue(decoder.next());
+        assertEquals(value, decoder.value());
+        assertTrue(decoder.next());
+        assertEquals("OK", decoder.line());
+    }
+
+    @Test
+    void testIntValue() throws IOException {
+        ResponseDecoder decoder = decoder("binary: 8192\nsize:\nsize: 12a\n");
+
+        assertTrue(decoder.next());
+        assertEquals(8192, decoder.intValue());
+        assertTrue(decoder.next());
+        assertThrows(NumberFormatException.class, decoder::intValue);
+        assertTrue(decoder.next());
+        assertThrows(NumberFormatException.class, decoder::intValue);
+    }
+
+    @Test
+    void testReadBinary() throws IOException {
+        ResponseDecoder decoder = decoder("size: 6\nbinary: 6\nab\ncd\n\nOK\n");
+
+        assertTrue(decoder.next());
+        assertTrue(decoder.next());
+        assertTrue(decoder.keyEquals(ResponseDecoder.encode("binary")));
+
+        ByteBuffer data = ByteBuffer.allocate(6);
+        decoder.readBinary(data, decoder.intValue());
+        assertArrayEquals("ab\ncd\n".getBytes(StandardCharsets.UTF_8), data.array());
+
+        assertTrue(decoder.next());
+        assertEquals("OK", decoder.line());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testReadBinaryLargerThanBuffer() throws IOException {
+        byte[] payload = new byte[40000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        response.write("binary: 40000\n".getBytes(StandardCharsets.UTF_8));
+        response.write(payload);
+        response.write("\nOK\n".getBytes(StandardCharsets.UTF_8));
+        ResponseDecoder decoder = new ResponseDecoder(new ByteArrayInputStream(response.toByteArray())::read,
+                StandardCharsets.UTF_8);
+
+        assertTrue(decoder.next());
+        ByteBuffer data = ByteBuffer.allocate(payload.length);
+        decoder.readBinary(data, decoder.intValue());
+        assertArrayEquals(payload, data.array());
+        assertTrue(decoder.next());
+        assertEquals("OK", decoder.line());
+    }
+
+    @Test
+    void testReadBinaryEndOfStream() throws IOException {
+        ResponseDecoder decoder = decoder("binary: 6\nab");
+
+        assertTrue(decoder.next());
+        ByteBuffer data = ByteBuffer.allocate(6);
+        assertThrows(EOFException.class, () -> decoder.readBinary(data, 6));
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+        assertFalse(decoder("").next());
+    }
+
+    @Test
+    void testNoData() {
+        ResponseDecoder decoder = new ResponseDecoder((buffer, offset, length) -> 0, StandardCharsets.UTF_8);
+        assertThrows(IOException.class, decoder::next);
+    }
+
+    private static ResponseDecoder decoder(String response) {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+        return new ResponseDecoder(inputStream::read, StandardCharsets.UTF_8);
+    }
+}
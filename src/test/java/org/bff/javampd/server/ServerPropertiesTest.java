@@ -3,6 +3,8 @@ package org.bff.javampd.server;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class ServerPropertiesTest {
@@ -33,6 +35,21 @@ class ServerPropertiesTest {
         assertEquals("ping", serverProperties.getPing());
     }
 
+    @Test
+    void getIdle() {
+        assertEquals("idle", serverProperties.getIdle());
+    }
+
+    @Test
+    void getNoIdle() {
+        assertEquals("noidle", serverProperties.getNoIdle());
+    }
+
+    @Test
+    void getPingIdle() {
+        assertEquals(30000, serverProperties.getPingIdle());
+    }
+
     @Test
     void getPassword() {
         assertEquals("password", serverProperties.getPassword());
@@ -58,4 +75,10 @@ class ServerPropertiesTest {
         assertEquals("UTF-8", serverProperties.getEncoding());
     }
 
+    @Test
+    void getReadOnlyCommands() {
+        assertEquals(Set.of("find", "search", "list", "count", "lsinfo", "listall", "listallinfo", "listfiles"),
+                serverProperties.getReadOnlyCommands());
+    }
+
 }
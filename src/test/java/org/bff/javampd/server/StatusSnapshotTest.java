@@ -0,0 +1,99 @@
+package org.bff.javampd.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatusSnapshotTest {
+
+    @Test
+    void testParsed() {
+        StatusSnapshot snapshot = StatusSnapshot.of(List.of(
+                "volume: 80",
+                "repeat: 1",
+                "random: 0",
+                "single: 0",
+                "consume: 1",
+                "partition: default",
+                "playlist: 12",
+                "playlistlength: 3",
+                "state: play",
+                "song: 1",
+                "songid: 2",
+                "nextsong: 2",
+                "nextsongid: 3",
+                "time: 5:230",
+                "elapsed: 5.123",
+                "bitrate: 320",
+                "duration: 230.400",
+                "audio: 44100:24:2",
+                "xfade: 2"), 42);
+
+        assertEquals(80, snapshot.getVolume());
+        assertTrue(snapshot.isRepeat());
+        assertFalse(snapshot.isRandom());
+        assertFalse(snapshot.isSingle());
+        assertTrue(snapshot.isConsume());
+        assertEquals(12, snapshot.getPlaylistVersion());
+        assertEquals(3, snapshot.getPlaylistLength());
+        assertEquals("play", snapshot.getState());
+        assertEquals(Optional.of(1), snapshot.playlistSongNumber());
+        assertEquals(Optional.of("2"), snapshot.playlistSongId());
+        assertEquals(Optional.of(2), snapshot.playlistNextSongNumber());
+        assertEquals(Optional.of("3"), snapshot.playlistNextSongId());
+        assertEquals(5, snapshot.getElapsedTime());
+        assertEquals(230, snapshot.getTotalTime());
+        assertEquals(Optional.of(5), snapshot.elapsedCurrentSong());
+        assertEquals(Optional.of(230), snapshot.durationCurrentSong());
+        assertEquals(320, snapshot.getBitrate());
+        assertEquals("44100:24:2", snapshot.getAudio());
+        assertEquals(2, snapshot.getXFade());
+        assertFalse(snapshot.isError());
+        assertFalse(snapshot.isDatabaseUpdating());
+        assertEquals(42, snapshot.getFetched());
+    }
+
+    @Test
+    void testMissing() {
+        StatusSnapshot snapshot = StatusSnapshot.of(List.of(), 0);
+
+        assertEquals("", snapshot.getState());
+        assertEquals(0, snapshot.getVolume());
+        assertEquals(0, snapshot.getTotalTime());
+        assertEquals(Optional.empty(), snapshot.playlistSongNumber());
+        assertEquals(Optional.empty(), snapshot.playlistSongId());
+        assertEquals(Optional.empty(), snapshot.getMixRampDb());
+    }
+
+    @Test
+    void testMixRamp() {
+        StatusSnapshot snapshot = StatusSnapshot.of(List.of("mixrampdb: -17.000000", "mixrampdelay: nan"), 0);
+
+        assertEquals(Optional.of(-17), snapshot.getMixRampDb());
+        assertEquals(Optional.empty(), snapshot.getMixRampDelay());
+    }
+
+    @Test
+    void testInvalidOptional() {
+        assertEquals(Optional.empty(), StatusSnapshot.of(List.of("song: junk"), 0).playlistSongNumber());
+    }
+
+    @Test
+    void testIncompleteTime() {
+        assertEquals(0, StatusSnapshot.of(List.of("time: 5:"), 0).getElapsedTime());
+    }
+
+    @Test
+    void testError() {
+        StatusSnapshot snapshot = StatusSnapshot.of(List.of("error: failed", "updating_db: 3"), 0);
+
+        assertTrue(snapshot.isError());
+        assertEquals("failed", snapshot.getError());
+        assertTrue(snapshot.isDatabaseUpdating());
+    }
+}
@@ -0,0 +1,83 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class UnixMPDSocketTest {
+    private static final int UNIX_SOCKET_VERSION = 16;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUnsupportedJava() {
+        assumeFalse(Runtime.version().feature() >= UNIX_SOCKET_VERSION);
+
+        Path socketPath = tempDir.resolve("socket");
+        assertThrows(MPDConnectionException.class, () -> new UnixMPDSocket(socketPath, 0));
+    }
+
+    @Test
+    void testSendCommand() throws Exception {
+        assumeTrue(Runtime.version().feature() >= UNIX_SOCKET_VERSION);
+
+        Path socketPath = tempDir.resolve("socket");
+        try (ServerSocketChannel server = openServer(socketPath)) {
+            CompletableFuture<String> received = CompletableFuture.supplyAsync(() -> serve(server));
+
+            UnixMPDSocket socket = new UnixMPDSocket(socketPath, 0);
+            try {
+                assertEquals("MPD 0.23.0", socket.getVersion());
+                assertEquals(List.of("volume: 50"), new ArrayList<>(socket.sendCommand(new MPDCommand("status"))));
+            } finally {
+                socket.close();
+            }
+            assertEquals("status", received.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static ServerSocketChannel openServer(Path socketPath) throws Exception {
+        ProtocolFamily family = StandardProtocolFamily.valueOf("UNIX");
+        ServerSocketChannel server = (ServerSocketChannel) ServerSocketChannel.class
+                .getMethod("open", ProtocolFamily.class).invoke(null, family);
+        SocketAddress address = (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+                .getMethod("of", Path.class).invoke(null, socketPath);
+        server.bind(address);
+        return server;
+    }
+
+    private static String serve(ServerSocketChannel server) {
+        try (SocketChannel client = server.accept()) {
+            OutputStream out = Channels.newOutputStream(client);
+            BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client),
+                    StandardCharsets.UTF_8));
+            out.write("OK MPD 0.23.0\n".getBytes(StandardCharsets.UTF_8));
+            String command = in.readLine();
+            out.write("volume: 50\nOK\n".getBytes(StandardCharsets.UTF_8));
+            return command;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
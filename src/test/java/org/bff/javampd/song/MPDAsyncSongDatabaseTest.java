@@ -0,0 +1,77 @@
+package org.bff.javampd.song;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MPDAsyncSongDatabaseTest {
+    @Mock
+    private SongDatabase songDatabase;
+
+    private AsyncSongDatabase asyncSongDatabase;
+    private final Collection<MPDSong> songs = List.of(new MPDSong("file", "title"));
+
+    @BeforeEach
+    void setUp() {
+        asyncSongDatabase = new MPDAsyncSongDatabase(songDatabase, Runnable::run);
+    }
+
+    @Test
+    void testFindAlbum() {
+        when(songDatabase.findAlbum("album")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.findAlbum("album").join());
+    }
+
+    @Test
+    void testFindAlbumByArtist() {
+        when(songDatabase.findAlbumByArtist("artist", "album")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.findAlbumByArtist("artist", "album").join());
+    }
+
+    @Test
+    void testFindArtist() {
+        when(songDatabase.findArtist("artist")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.findArtist("artist").join());
+    }
+
+    @Test
+    void testFindTitle() {
+        when(songDatabase.findTitle("title")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.findTitle("title").join());
+    }
+
+    @Test
+    void testFindAny() {
+        when(songDatabase.findAny("any")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.findAny("any").join());
+    }
+
+    @Test
+    void testSearchTitle() {
+        when(songDatabase.searchTitle("title")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.searchTitle("title").join());
+    }
+
+    @Test
+    void testSearchAny() {
+        when(songDatabase.searchAny("any")).thenReturn(songs);
+        assertEquals(songs, asyncSongDatabase.searchAny("any").join());
+    }
+
+    @Test
+    void testFindSong() {
+        MPDSong song = new MPDSong("file", "title");
+        when(songDatabase.findSong("title", "album", "artist")).thenReturn(Optional.of(song));
+        assertEquals(Optional.of(song), asyncSongDatabase.findSong("title", "album", "artist").join());
+    }
+}
@@ -1,15 +1,24 @@
 package org.bff.javampd.song;
 
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.database.StringPool;
 import org.bff.javampd.processor.*;
+import org.bff.javampd.server.FakeMPDServer;
+import org.bff.javampd.server.MPDSocket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MPDSongConverterTest {
 
@@ -149,6 +158,37 @@ class MPDSongConverterTest {
         assertDoesNotThrow(() -> this.converter.convertResponseToSong(response));
     }
 
+    @Test
+    void testConvertResponseToSongStream() throws IOException {
+        try (FakeMPDServer server = new FakeMPDServer()) {
+            server.respond("listallinfo", "directory: dir\n" + String.join("\n", createResponses(true)) + "\nOK\n");
+            MPDSocket socket = new MPDSocket(server.getAddress(), server.getPort(), 5000);
+
+            try (Stream<MPDSong> stream = converter.convertResponseToSongStream(
+                    socket.openResponse(new MPDCommand("listallinfo")))) {
+                assertEquals(songs, stream.collect(Collectors.toList()));
+            }
+            socket.close();
+        }
+    }
+
+    @Test
+    void testConvertResponseToSongStreamClosedEarly() throws IOException {
+        try (FakeMPDServer server = new FakeMPDServer()) {
+            server.respond("listallinfo", String.join("\n", createResponses(true)) + "\nOK\n");
+            server.respond("status", "volume: 50\nOK\n");
+            MPDSocket socket = new MPDSocket(server.getAddress(), server.getPort(), 5000);
+
+            try (Stream<MPDSong> stream = converter.convertResponseToSongStream(
+                    socket.openResponse(new MPDCommand("listallinfo")))) {
+                assertEquals(songs.get(0), stream.findFirst().orElseThrow());
+            }
+
+            assertTrue(socket.sendCommand(new MPDCommand("status")).contains("volume: 50"));
+            socket.close();
+        }
+    }
+
     private List<String> createResponses(boolean includeName) {
         List<String> response = new ArrayList<>();
 
@@ -171,4 +211,23 @@ class MPDSongConverterTest {
         }
         return response;
     }
+
+    @Test
+    void testInternedValues() {
+        StringPool stringPool = new StringPool(100);
+        List<String> response = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            response.add(new FileTagProcessor().getPrefix() + FILE + i);
+            response.add(new ArtistTagProcessor().getPrefix() + ARTIST);
+            response.add(new AlbumTagProcessor().getPrefix() + ALBUM);
+            response.add(new GenreTagProcessor().getPrefix() + GENRE);
+        }
+
+        List<MPDSong> internedSongs = new MPDSongConverter(stringPool).convertResponseToSong(response);
+
+        assertSame(internedSongs.get(0).getArtistName(), internedSongs.get(1).getArtistName());
+        assertSame(internedSongs.get(0).getAlbumName(), internedSongs.get(1).getAlbumName());
+        assertSame(internedSongs.get(0).getGenre(), internedSongs.get(1).getGenre());
+        assertEquals(3, stringPool.getHits());
+    }
 }
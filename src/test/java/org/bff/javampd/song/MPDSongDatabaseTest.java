@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -266,6 +267,26 @@ class MPDSongDatabaseTest {
         testSongs(testSongs, songDatabase.findAny(testAny));
     }
 
+    @Test
+    void testFindAnyStream() {
+        List<MPDSong> testSongs = generateSongs();
+
+        when(mockedSongSearcher.findStream(SongSearcher.ScopeType.ANY, "testAny"))
+                .thenReturn(testSongs.stream());
+
+        testSongs(testSongs, songDatabase.findAnyStream("testAny").collect(Collectors.toList()));
+    }
+
+    @Test
+    void testSearchAnyStream() {
+        List<MPDSong> testSongs = generateSongs();
+
+        when(mockedSongSearcher.searchStream(SongSearcher.ScopeType.ANY, "testAny"))
+                .thenReturn(testSongs.stream());
+
+        testSongs(testSongs, songDatabase.searchAnyStream("testAny").collect(Collectors.toList()));
+    }
+
     @Test
     void testSearchTitle() {
         String testTitle = "testTitle";
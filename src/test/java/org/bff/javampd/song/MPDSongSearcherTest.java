@@ -1,6 +1,11 @@
 package org.bff.javampd.song;
 
+import org.bff.javampd.MPDSystemClock;
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.database.ResultCache;
+import org.bff.javampd.server.ResponseReader;
+import org.bff.javampd.statistics.ServerStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -61,6 +68,36 @@ class MPDSongSearcherTest {
         assertEquals(testSongList.get(0), songList.get(0));
     }
 
+    @Test
+    void testSearchStream() {
+        SongSearcher.ScopeType scopeType = SongSearcher.ScopeType.ANY;
+        MPDSong testSong = new MPDSong("testFile", "testName");
+        ResponseReader reader = mock(ResponseReader.class);
+
+        when(mockedCommandExecuter.openResponse(new MPDCommand(searchProperties.getSearch(),
+                generateParams(scopeType, "")))).thenReturn(reader);
+        when(mockedSongConverter.convertResponseToSongStream(reader)).thenReturn(Stream.of(testSong));
+
+        try (Stream<MPDSong> songs = songSearcher.searchStream(scopeType, "")) {
+            assertEquals(List.of(testSong), songs.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testFindStream() {
+        SongSearcher.ScopeType scopeType = SongSearcher.ScopeType.ARTIST;
+        MPDSong testSong = new MPDSong("testFile", "testName");
+        ResponseReader reader = mock(ResponseReader.class);
+
+        when(mockedCommandExecuter.openResponse(new MPDCommand(searchProperties.getFind(),
+                generateParams(scopeType, "artist")))).thenReturn(reader);
+        when(mockedSongConverter.convertResponseToSongStream(reader)).thenReturn(Stream.of(testSong));
+
+        try (Stream<MPDSong> songs = songSearcher.findStream(scopeType, "artist")) {
+            assertEquals(List.of(testSong), songs.collect(Collectors.toList()));
+        }
+    }
+
     @Test
     void testSearchWindowed() {
         String searchCriteria = "testSearch";
@@ -183,6 +220,25 @@ class MPDSongSearcherTest {
         assertEquals(testSongList.get(0), songList.get(0));
     }
 
+    @Test
+    void testFindCached() {
+        ServerStatistics serverStatistics = mock(ServerStatistics.class);
+        songSearcher = new MPDSongSearcher(searchProperties,
+                mockedCommandExecuter,
+                new MPDSongConverter(),
+                new ResultCache(10, 1000, serverStatistics, new MPDSystemClock()));
+        when(mockedCommandExecuter.sendCommand(searchProperties.getFind(),
+                generateParams(SongSearcher.ScopeType.ARTIST, "artist")))
+                .thenReturn(List.of("file: testFile", "Title: testName"));
+
+        songSearcher.find(SongSearcher.ScopeType.ARTIST, "artist");
+        List<MPDSong> songList = new ArrayList<>(songSearcher.find(SongSearcher.ScopeType.ARTIST, "artist"));
+
+        verify(mockedCommandExecuter, times(1)).sendCommand(searchProperties.getFind(),
+                generateParams(SongSearcher.ScopeType.ARTIST, "artist"));
+        assertEquals("testName", songList.get(0).getTitle());
+    }
+
     private String[] addWindowedParams(String[] params,
                                        int start,
                                        int end) {